@@ -0,0 +1,74 @@
+package io.kestra.plugin.milvus.vector;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Compares the scalar and the SIMD kernels.
+ *
+ * <p>Run with {@code ./gradlew jmh}, the JMH report is written to {@code
+ * build/results/jmh/results.txt}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class VectorMathBenchmark {
+  @Param({"128", "768", "1536"})
+  private int dimension;
+
+  private final ScalarKernel scalar = new ScalarKernel();
+  private final SimdKernel simd = new SimdKernel();
+
+  private float[] a;
+  private float[] b;
+  private byte[] bitsA;
+  private byte[] bitsB;
+
+  @Setup
+  public void setup() {
+    SplittableRandom random = new SplittableRandom(42);
+    a = new float[dimension];
+    b = new float[dimension];
+    bitsA = new byte[dimension / 8];
+    bitsB = new byte[dimension / 8];
+    for (int i = 0; i < dimension; i++) {
+      a[i] = (float) random.nextDouble(-1, 1);
+      b[i] = (float) random.nextDouble(-1, 1);
+    }
+    for (int i = 0; i < bitsA.length; i++) {
+      bitsA[i] = (byte) random.nextInt();
+      bitsB[i] = (byte) random.nextInt();
+    }
+  }
+
+  @Benchmark
+  public float dotScalar() {
+    return scalar.dot(a, b);
+  }
+
+  @Benchmark
+  public float dotSimd() {
+    return simd.dot(a, b);
+  }
+
+  @Benchmark
+  public float l2Scalar() {
+    return scalar.l2Squared(a, b);
+  }
+
+  @Benchmark
+  public float l2Simd() {
+    return simd.l2Squared(a, b);
+  }
+
+  @Benchmark
+  public int hammingScalar() {
+    return scalar.hamming(bitsA, bitsB);
+  }
+
+  @Benchmark
+  public int hammingSimd() {
+    return simd.hamming(bitsA, bitsB);
+  }
+}
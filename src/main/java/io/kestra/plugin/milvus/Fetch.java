@@ -0,0 +1,94 @@
+package io.kestra.plugin.milvus;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/** Returns the results of a task according to its {@link FetchType}. */
+public final class Fetch {
+  private static final int BUFFER_SIZE = 32 * 1024;
+
+  private Fetch() {}
+
+  /**
+   * Consumes the results. They are only iterated once, so that with {@code STORE} they are
+   * streamed to internal storage without being held in memory. The number of results is reported
+   * as the {@code fetch.rows} metric.
+   */
+  public static <T> Fetched<T> of(
+      RunContext runContext, FetchType fetchType, Iterator<T> results, String... tags)
+      throws Exception {
+    List<T> rows = new ArrayList<>();
+    URI uri = null;
+    long size = 0;
+
+    switch (fetchType) {
+      case FETCH_ONE -> {
+        if (results.hasNext()) {
+          rows.add(results.next());
+          size = 1;
+        }
+      }
+      case FETCH -> {
+        while (results.hasNext()) {
+          rows.add(results.next());
+        }
+        size = rows.size();
+      }
+      case STORE -> {
+        Path path = runContext.workingDir().createTempFile(".ion");
+        try (OutputStream output =
+            new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE)) {
+          while (results.hasNext()) {
+            T result = results.next();
+            FileSerde.write(
+                output, result instanceof Map<?, ?> map ? Rows.toPlain(cast(map)) : result);
+            size++;
+          }
+        }
+        uri = runContext.storage().putFile(path.toFile());
+      }
+      default -> {
+        while (results.hasNext()) {
+          results.next();
+          size++;
+        }
+      }
+    }
+
+    runContext.metric(Counter.of("fetch.rows", size, tags));
+    return new Fetched<>(fetchType, rows, uri, size);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, ?> cast(Map<?, ?> map) {
+    return (Map<String, ?>) map;
+  }
+
+  /**
+   * The results returned inline, empty with {@code STORE} and {@code NONE}, and the URI of the
+   * stored file, only set with {@code STORE}.
+   */
+  public record Fetched<T>(FetchType fetchType, List<T> rows, URI uri, long size) {
+
+    /** The first result, or null when there is none or when the results were not fetched. */
+    public T first() {
+      return rows.isEmpty() ? null : rows.getFirst();
+    }
+
+    /** The inline results, or null when they were stored or discarded. */
+    public List<T> fetched() {
+      return fetchType == FetchType.FETCH || fetchType == FetchType.FETCH_ONE ? rows : null;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package io.kestra.plugin.milvus;
+
+import com.google.common.hash.Hashing;
+import io.kestra.core.runners.RunContext;
+import io.milvus.pool.MilvusClientV2Pool;
+import io.milvus.pool.PoolConfig;
+import io.milvus.v2.client.ConnectConfig;
+import io.milvus.v2.client.MilvusClientV2;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Milvus clients kept open across runs, for triggers that would otherwise open a connection on
+ * every evaluation. There is one pool per connection configuration; the credentials are only part
+ * of the pool key as a hash. A pool no client was taken from for {@link #IDLE_TIMEOUT}, such as the
+ * one of a deleted trigger, is closed.
+ */
+public final class MilvusClientPool {
+  private static final String POOL_KEY = "kestra";
+  static final Duration IDLE_TIMEOUT = Duration.ofMinutes(30);
+  static final Map<String, Pooled> POOLS = new ConcurrentHashMap<>();
+
+  private MilvusClientPool() {}
+
+  /** Runs the action with a pooled client, that is returned to the pool afterward. */
+  public static <T> T withClient(
+      RunContext runContext, MilvusConnectionInterface connection, Action<T> action)
+      throws Exception {
+    ConnectConfig config = MilvusConnection.connectConfig(runContext, connection);
+    String key = key(config);
+    closeIdle(Instant.now());
+    // taken under the lock of the key, so that the pool cannot be closed while it is in use
+    Pooled pooled =
+        POOLS.compute(
+            key,
+            (k, current) -> {
+              Pooled next = current == null ? new Pooled(create(config)) : current;
+              next.inUse++;
+              return next;
+            });
+
+    try {
+      MilvusClientV2 client = pooled.pool.getClient(POOL_KEY);
+      if (client == null) {
+        throw new IllegalStateException("Unable to get a Milvus client for " + config.getUri());
+      }
+      try {
+        return action.apply(client);
+      } finally {
+        pooled.pool.returnClient(POOL_KEY, client);
+      }
+    } finally {
+      POOLS.computeIfPresent(
+          key,
+          (k, current) -> {
+            current.inUse--;
+            current.lastUsed = Instant.now();
+            return current;
+          });
+    }
+  }
+
+  /** Closes the pools not in use that were last used more than {@link #IDLE_TIMEOUT} ago. */
+  static void closeIdle(Instant now) {
+    for (String pooledKey : POOLS.keySet()) {
+      List<Pooled> closed = new ArrayList<>(1);
+      POOLS.computeIfPresent(
+          pooledKey,
+          (k, current) -> {
+            if (current.inUse > 0 || current.lastUsed.plus(IDLE_TIMEOUT).isAfter(now)) {
+              return current;
+            }
+            closed.add(current);
+            return null;
+          });
+      closed.forEach(pooled -> pooled.pool.close());
+    }
+  }
+
+  private static MilvusClientV2Pool create(ConnectConfig config) {
+    PoolConfig poolConfig =
+        PoolConfig.builder()
+            .minIdlePerKey(1)
+            .maxIdlePerKey(2)
+            .maxTotalPerKey(4)
+            .maxBlockWaitDuration(Duration.ofSeconds(10))
+            .minEvictableIdleDuration(Duration.ofMinutes(10))
+            .build();
+    try {
+      return new MilvusClientV2Pool(poolConfig, config);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Unable to create a Milvus client pool", e);
+    }
+  }
+
+  private static String key(ConnectConfig config) {
+    return config.getUri()
+        + "/"
+        + config.getDbName()
+        + "#"
+        + Hashing.murmur3_128()
+            .hashString(
+                config.getToken() + ":" + config.getUsername() + ":" + config.getPassword(),
+                StandardCharsets.UTF_8);
+  }
+
+  /** A pool and its usage, only updated under the lock of its key in {@link #POOLS}. */
+  static final class Pooled {
+    private final MilvusClientV2Pool pool;
+    private int inUse;
+    private Instant lastUsed = Instant.now();
+
+    private Pooled(MilvusClientV2Pool pool) {
+      this.pool = pool;
+    }
+  }
+
+  @FunctionalInterface
+  public interface Action<T> {
+    T apply(MilvusClientV2 client) throws Exception;
+  }
+}
@@ -28,35 +28,47 @@ public abstract class MilvusConnection extends Task implements MilvusConnectionI
 
   protected MilvusClientV2 connect(RunContext runContext)
       throws MilvusClientException, AuthenticationException, IllegalVariableEvaluationException {
+    return connect(runContext, this);
+  }
+
+  public static MilvusClientV2 connect(RunContext runContext, MilvusConnectionInterface connection)
+      throws MilvusClientException, AuthenticationException, IllegalVariableEvaluationException {
+    ConnectConfig config = connectConfig(runContext, connection);
+
+    try {
+      return new MilvusClientV2(config);
+    } catch (Exception e) {
+      throw new AuthenticationException(
+          "Unable to connect to Milvus with the provided configuration, please check your configuration.");
+    }
+  }
 
-    String renderedUrl = runContext.render(url);
-    String renderedToken = runContext.render(token).as(String.class).orElse(null);
-    String renderedUserName = runContext.render(userName).as(String.class).orElse(null);
-    String renderedPassword = runContext.render(password).as(String.class).orElse(null);
-    String renderedDbName = runContext.render(dbName).as(String.class).orElse(null);
+  public static ConnectConfig connectConfig(
+      RunContext runContext, MilvusConnectionInterface connection)
+      throws IllegalVariableEvaluationException {
+    String renderedUrl = runContext.render(connection.getUrl());
+    String renderedToken = runContext.render(connection.getToken()).as(String.class).orElse(null);
+    String renderedUserName =
+        runContext.render(connection.getUserName()).as(String.class).orElse(null);
+    String renderedPassword =
+        runContext.render(connection.getPassword()).as(String.class).orElse(null);
+    String renderedDbName = runContext.render(connection.getDbName()).as(String.class).orElse(null);
 
     ConnectConfig.ConnectConfigBuilder builder = ConnectConfig.builder();
 
     builder.uri(renderedUrl);
 
-    if (token != null) {
+    if (renderedToken != null) {
       builder.token(renderedToken);
     }
-    if (userName != null && password != null) {
+    if (renderedUserName != null && renderedPassword != null) {
       builder.username(renderedUserName);
       builder.password(renderedPassword);
     }
-    if (dbName != null) {
+    if (renderedDbName != null) {
       builder.dbName(renderedDbName);
     }
 
-    ConnectConfig config = builder.build();
-
-    try {
-      return new MilvusClientV2(config);
-    } catch (Exception e) {
-      throw new AuthenticationException(
-          "Unable to connect to Milvus with the provided configuration, please check your configuration.");
-    }
+    return builder.build();
   }
 }
@@ -0,0 +1,18 @@
+package io.kestra.plugin.milvus;
+
+import io.kestra.core.models.property.Property;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+/** A connection block, for the tasks that talk to more than one Milvus instance. */
+@Getter
+@Builder
+@Jacksonized
+public class MilvusConnectionProperties implements MilvusConnectionInterface {
+  private String url;
+  private Property<String> token;
+  private Property<String> userName;
+  private Property<String> password;
+  private Property<String> dbName;
+}
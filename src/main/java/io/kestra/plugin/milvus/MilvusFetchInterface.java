@@ -0,0 +1,18 @@
+package io.kestra.plugin.milvus;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public interface MilvusFetchInterface {
+  @Schema(
+      title = "The way the results are returned.",
+      description =
+          """
+              FETCH_ONE - output the first result only.
+              FETCH - output every result.
+              STORE - write every result to an ION file in Kestra internal storage and output its URI, so that large results are not persisted with the execution.
+              NONE - only count the results.
+          """)
+  Property<FetchType> getFetchType();
+}
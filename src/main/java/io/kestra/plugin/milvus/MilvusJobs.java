@@ -0,0 +1,139 @@
+package io.kestra.plugin.milvus;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVEntry;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.IdUtils;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * The operations submitted by the tasks of this plugin in async mode, kept in the KV store of the
+ * namespace until the job trigger sees them complete. A job holds what is needed to poll its state
+ * again, and not the credentials, which come from the trigger.
+ */
+public final class MilvusJobs {
+  private static final String PREFIX = "milvus_job_";
+
+  private MilvusJobs() {}
+
+  /** Records a submitted operation, and returns it with its identifier. */
+  public static Job submit(
+      RunContext runContext,
+      MilvusConnectionInterface connection,
+      Job.JobBuilder job,
+      Duration timeout)
+      throws Exception {
+    if (!NamespaceKv.isAvailable(runContext)) {
+      throw new IllegalStateException("The async mode requires a run inside a flow.");
+    }
+
+    Job submitted =
+        job.id(IdUtils.create())
+            .url(runContext.render(connection.getUrl()))
+            .dbName(runContext.render(connection.getDbName()).as(String.class).orElse("default"))
+            .submitted(Instant.now())
+            .deadline(Instant.now().plus(timeout))
+            .executionId(executionId(runContext))
+            .build();
+    NamespaceKv.of(runContext)
+        .put(
+            PREFIX + submitted.getId(),
+            new KVValueAndMetadata(
+                new KVMetadata("Milvus " + submitted.getType() + " job", (Duration) null),
+                toValue(submitted)));
+    runContext
+        .logger()
+        .info(
+            "{} job {} submitted for collection {}.",
+            submitted.getType(),
+            submitted.getId(),
+            submitted.getCollectionName());
+    return submitted;
+  }
+
+  /** The jobs of the namespace not yet seen complete, in no particular order. */
+  public static List<Job> pending(RunContext runContext) throws Exception {
+    KVStore kv = NamespaceKv.of(runContext);
+    List<Job> jobs = new ArrayList<>();
+    for (KVEntry entry : kv.list()) {
+      if (!entry.key().startsWith(PREFIX)) {
+        continue;
+      }
+      Optional<KVValue> value = kv.getValue(entry.key());
+      if (value.isPresent() && value.get().value() instanceof Map<?, ?> map) {
+        jobs.add(fromValue(map));
+      }
+    }
+    return jobs;
+  }
+
+  /** Forgets a job, once its completion has been handled. */
+  public static void remove(RunContext runContext, String id) throws Exception {
+    NamespaceKv.of(runContext).delete(PREFIX + id);
+  }
+
+  static Map<String, Object> toValue(Job job) {
+    return JacksonMapper.toMap(job);
+  }
+
+  static Job fromValue(Map<?, ?> value) {
+    return JacksonMapper.ofJson().convertValue(value, Job.class);
+  }
+
+  private static String executionId(RunContext runContext) {
+    return runContext.getVariables().get("execution") instanceof Map<?, ?> execution
+        ? (String) execution.get("id")
+        : null;
+  }
+
+  public enum Type {
+    LOAD,
+    COMPACTION
+  }
+
+  @Getter
+  @Builder
+  @Jacksonized
+  public static class Job {
+
+    @Schema(title = "The identifier of the job.")
+    private String id;
+
+    @Schema(title = "The kind of operation.")
+    private Type type;
+
+    @Schema(title = "The URL of the Milvus instance running the operation.")
+    private String url;
+
+    @Schema(title = "The database of the collection.")
+    private String dbName;
+
+    @Schema(title = "The name of the collection.")
+    private String collectionName;
+
+    @Schema(title = "The identifier of the compaction, for a compaction job.")
+    private Long compactionId;
+
+    @Schema(title = "When the operation was submitted.")
+    private Instant submitted;
+
+    @Schema(title = "When the operation is considered failed if it is not complete.")
+    private Instant deadline;
+
+    @Schema(title = "The execution that submitted the operation.")
+    private String executionId;
+  }
+}
@@ -0,0 +1,23 @@
+package io.kestra.plugin.milvus;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVStore;
+import java.util.Map;
+
+/** The KV store of the namespace of a run, where the search cache, the jobs and run ids live. */
+public final class NamespaceKv {
+
+  private NamespaceKv() {}
+
+  /**
+   * Whether the run has a namespace KV store, which is not the case of runs outside of a flow.
+   */
+  public static boolean isAvailable(RunContext runContext) {
+    return runContext.getVariables().get("flow") instanceof Map<?, ?> flow
+        && flow.get("namespace") != null;
+  }
+
+  public static KVStore of(RunContext runContext) {
+    return runContext.namespaceKv(runContext.flowInfo().namespace());
+  }
+}
@@ -0,0 +1,63 @@
+package io.kestra.plugin.milvus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/** Runs independent Milvus calls concurrently, with a bounded number of calls in flight. */
+public final class Parallel {
+  private Parallel() {}
+
+  /**
+   * Applies the action to every item, at most {@code concurrency} at a time, and returns the results
+   * in the order of the items. Every item is processed even if some fail, then the first failure is
+   * rethrown.
+   */
+  public static <T, R> List<R> map(List<T> items, int concurrency, Action<T, R> action)
+      throws Exception {
+    Semaphore permits = new Semaphore(Math.max(1, concurrency));
+    List<Future<R>> futures = new ArrayList<>(items.size());
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (T item : items) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  permits.acquire();
+                  try {
+                    return action.apply(item);
+                  } finally {
+                    permits.release();
+                  }
+                }));
+      }
+
+      List<R> results = new ArrayList<>(items.size());
+      Exception failure = null;
+      for (Future<R> future : futures) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          results.add(null);
+          if (failure == null) {
+            failure = e.getCause() instanceof Exception cause ? cause : e;
+          }
+        }
+      }
+
+      if (failure != null) {
+        throw failure;
+      }
+      return results;
+    }
+  }
+
+  @FunctionalInterface
+  public interface Action<T, R> {
+    R apply(T item) throws Exception;
+  }
+}
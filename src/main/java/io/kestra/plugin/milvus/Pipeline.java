@@ -0,0 +1,121 @@
+package io.kestra.plugin.milvus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves batches from producers to consumers through a bounded buffer, such as rows decoded from a
+ * file or read from a collection on their way to insert requests.
+ *
+ * <p>Producers and consumers run on virtual threads, so that reads and writes overlap, while the
+ * buffer bounds the number of batches held in memory: producers wait when it is full. The first
+ * failure of a producer or a consumer stops every other one and is rethrown.
+ */
+public final class Pipeline {
+  private static final Object END = new Object();
+  private static final long POLL_MILLIS = 100;
+
+  private Pipeline() {}
+
+  public static <T> void run(
+      List<Source<T>> sources, int consumers, int bufferSize, Sink<T> consumer) throws Exception {
+    BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(bufferSize);
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    Sink<T> sink = batch -> offer(buffer, batch, failure);
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<?>> producerFutures = new ArrayList<>();
+      for (Source<T> source : sources) {
+        producerFutures.add(executor.submit(() -> guard(failure, () -> source.produce(sink))));
+      }
+
+      List<Future<?>> consumerFutures = new ArrayList<>();
+      for (int i = 0; i < consumers; i++) {
+        consumerFutures.add(
+            executor.submit(() -> guard(failure, () -> consume(buffer, failure, consumer))));
+      }
+
+      await(producerFutures);
+      for (int i = 0; i < consumers; i++) {
+        offer(buffer, END, failure);
+      }
+      await(consumerFutures);
+    }
+
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void consume(
+      BlockingQueue<Object> buffer, AtomicReference<Exception> failure, Sink<T> consumer)
+      throws Exception {
+    while (failure.get() == null) {
+      Object batch = buffer.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+      if (batch == END) {
+        return;
+      }
+      if (batch != null) {
+        consumer.accept((T) batch);
+      }
+    }
+  }
+
+  private static void offer(
+      BlockingQueue<Object> buffer, Object batch, AtomicReference<Exception> failure)
+      throws InterruptedException {
+    while (failure.get() == null) {
+      if (buffer.offer(batch, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    }
+    if (batch != END) {
+      throw new CancellationException("The pipeline was stopped by a previous failure");
+    }
+  }
+
+  private static Void guard(AtomicReference<Exception> failure, Step step) {
+    try {
+      step.run();
+    } catch (Exception e) {
+      failure.compareAndSet(null, e);
+    }
+    return null;
+  }
+
+  private static void await(List<Future<?>> futures) throws InterruptedException {
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        // failures are recorded by guard
+      }
+    }
+  }
+
+  /** Produces batches, handing each of them to the sink; the sink blocks when the buffer is full. */
+  @FunctionalInterface
+  public interface Source<T> {
+    void produce(Sink<T> sink) throws Exception;
+  }
+
+  @FunctionalInterface
+  public interface Sink<T> {
+    void accept(T batch) throws Exception;
+  }
+
+  @FunctionalInterface
+  private interface Step {
+    void run() throws Exception;
+  }
+}
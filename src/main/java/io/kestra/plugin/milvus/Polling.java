@@ -0,0 +1,50 @@
+package io.kestra.plugin.milvus;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeoutException;
+
+/** Waits for long-running Milvus operations, such as index builds or loads, to complete. */
+public final class Polling {
+  public static final Duration DEFAULT_INITIAL_INTERVAL = Duration.ofMillis(200);
+  public static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(10);
+
+  private Polling() {}
+
+  /**
+   * Calls the probe until it returns a value, sleeping between two calls with an exponential
+   * backoff: the first polls are close to each other so that short operations return quickly, the
+   * later ones are spaced up to {@code maxInterval} to keep the load on Milvus low.
+   */
+  public static <T> T await(
+      String description,
+      Duration timeout,
+      Duration initialInterval,
+      Duration maxInterval,
+      Callable<Optional<T>> probe)
+      throws Exception {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    long interval = initialInterval.toMillis();
+
+    while (true) {
+      Optional<T> result = probe.call();
+      if (result.isPresent()) {
+        return result.get();
+      }
+
+      long remaining = (deadline - System.nanoTime()) / 1_000_000;
+      if (remaining <= 0) {
+        throw new TimeoutException("Timed out after " + timeout + " waiting for " + description);
+      }
+
+      Thread.sleep(Math.min(interval, remaining));
+      interval = Math.min(maxInterval.toMillis(), Math.max(interval + 1, interval * 3 / 2));
+    }
+  }
+
+  public static <T> T await(String description, Duration timeout, Callable<Optional<T>> probe)
+      throws Exception {
+    return await(description, timeout, DEFAULT_INITIAL_INTERVAL, DEFAULT_MAX_INTERVAL, probe);
+  }
+}
@@ -0,0 +1,54 @@
+package io.kestra.plugin.milvus;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Conversions between the rows read from Milvus or from files and the rows sent to Milvus. */
+public final class Rows {
+  private static final Gson GSON = new Gson();
+
+  private Rows() {}
+
+  /**
+   * Converts a row to the JSON object expected by insert and upsert requests, binary and float16
+   * vectors read as byte buffers being turned back into byte arrays.
+   */
+  public static JsonObject toJson(Map<String, ?> row) {
+    Map<String, Object> values = new LinkedHashMap<>(row.size());
+    for (Map.Entry<String, ?> entry : row.entrySet()) {
+      values.put(entry.getKey(), toJsonValue(entry.getValue()));
+    }
+    return GSON.toJsonTree(values).getAsJsonObject();
+  }
+
+  /**
+   * Converts a row read from Milvus to plain Java values that Kestra serializers handle: JSON fields
+   * read as Gson elements become maps and lists, and vectors read as byte buffers become byte
+   * arrays.
+   */
+  public static Map<String, Object> toPlain(Map<String, ?> row) {
+    Map<String, Object> values = new LinkedHashMap<>(row.size());
+    for (Map.Entry<String, ?> entry : row.entrySet()) {
+      Object value = entry.getValue();
+      values.put(
+          entry.getKey(),
+          value instanceof JsonElement json ? GSON.fromJson(json, Object.class) : toJsonValue(value));
+    }
+    return values;
+  }
+
+  private static Object toJsonValue(Object value) {
+    if (value instanceof ByteBuffer buffer) {
+      ByteBuffer duplicate = buffer.duplicate();
+      duplicate.rewind();
+      byte[] bytes = new byte[duplicate.remaining()];
+      duplicate.get(bytes);
+      return bytes;
+    }
+    return value;
+  }
+}
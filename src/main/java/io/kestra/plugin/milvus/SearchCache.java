@@ -0,0 +1,198 @@
+package io.kestra.plugin.milvus;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A cache of search results, shared by the executions of a namespace through the Kestra KV store,
+ * with an in-JVM LRU tier in front of it so that repeated searches on a worker do not even reach
+ * the KV store.
+ *
+ * <p>Cache keys include a generation of the collection, kept in the KV store and replaced by the
+ * tasks of this plugin that write to the collection: a write makes every previous entry of the
+ * collection unreachable, and the stale entries then expire with their TTL. A worker keeps the
+ * generations it read for {@link #LOCAL_TTL}, so a write made from another worker may take that
+ * long to be seen. Writes made outside of this plugin, or from another namespace, are not seen at
+ * all, so the TTL should stay short enough for them.
+ *
+ * <p>Collections are identified by their name, aliases being resolved first, so that searches
+ * through an alias and writes to the collection behind it share the same generation.
+ */
+public final class SearchCache {
+  private static final String ENTRY_PREFIX = "milvus_search_";
+  private static final String GENERATION_PREFIX = "milvus_generation_";
+  private static final int LOCAL_CAPACITY = 1024;
+  static final Duration LOCAL_TTL = Duration.ofSeconds(2);
+
+  private static final Map<String, LocalEntry<List<Map<String, Object>>>> LOCAL = lru();
+  private static final Map<String, LocalEntry<Long>> GENERATIONS = lru();
+  private static final Map<String, LocalEntry<String>> ALIASES = lru();
+
+  private SearchCache() {}
+
+  /**
+   * Identifies a collection across the Milvus instances and databases, the given name being
+   * possibly an alias of the collection.
+   */
+  public static String collectionId(
+      RunContext runContext,
+      MilvusConnectionInterface connection,
+      MilvusClientV2 client,
+      String collectionName)
+      throws Exception {
+    String database =
+        runContext.render(connection.getUrl())
+            + "/"
+            + runContext.render(connection.getDbName()).as(String.class).orElse("default");
+    String name = database + "/" + collectionName;
+    String resolved = local(ALIASES, name);
+    if (resolved == null) {
+      // an alias is described as the collection it points to
+      resolved =
+          client
+              .describeCollection(
+                  DescribeCollectionReq.builder().collectionName(collectionName).build())
+              .getCollectionName();
+      cache(ALIASES, name, resolved, LOCAL_TTL);
+    }
+    return database + "/" + resolved;
+  }
+
+  /** The cache key of a search, given its query vectors and its other parameters. */
+  public static String key(
+      RunContext runContext, String collectionId, float[][] vectors, Object parameters)
+      throws Exception {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (float[] vector : vectors) {
+      hasher.putInt(vector.length);
+      for (float value : vector) {
+        hasher.putFloat(value);
+      }
+    }
+    hasher.putString(
+        collectionId + "#" + generation(runContext, collectionId) + "#" + parameters,
+        StandardCharsets.UTF_8);
+    return ENTRY_PREFIX + hasher.hash();
+  }
+
+  @SuppressWarnings("unchecked")
+  public static Optional<List<Map<String, Object>>> get(RunContext runContext, String key)
+      throws Exception {
+    List<Map<String, Object>> local = local(LOCAL, key);
+    if (local != null) {
+      return Optional.of(local);
+    }
+
+    Optional<KVValue> value = NamespaceKv.of(runContext).getValue(key);
+    if (value.isEmpty() || !(value.get().value() instanceof List<?> rows)) {
+      return Optional.empty();
+    }
+    return Optional.of((List<Map<String, Object>>) rows);
+  }
+
+  public static void put(
+      RunContext runContext, String key, List<Map<String, Object>> rows, Duration ttl)
+      throws Exception {
+    NamespaceKv.of(runContext)
+        .put(key, new KVValueAndMetadata(new KVMetadata("Milvus search results", ttl), rows));
+    cache(LOCAL, key, rows, ttl);
+  }
+
+  /**
+   * Makes the cached results of a collection unreachable, to be called after writing to it.
+   *
+   * <p>The KV store has no compare-and-set, so the generation is replaced by a random value rather
+   * than incremented: whichever of two concurrent writes wins, the generation differs from the one
+   * of the entries cached before both of them.
+   */
+  public static void invalidate(RunContext runContext, String collectionId) throws Exception {
+    if (!NamespaceKv.isAvailable(runContext)) {
+      return;
+    }
+
+    long generation = ThreadLocalRandom.current().nextLong();
+    NamespaceKv.of(runContext)
+        .put(
+            generationKey(collectionId),
+            new KVValueAndMetadata(
+                new KVMetadata("Milvus collection generation", (Duration) null), generation));
+    cache(GENERATIONS, collectionId, generation, LOCAL_TTL);
+    synchronized (ALIASES) {
+      // the write may have been an alias swap
+      ALIASES.clear();
+    }
+  }
+
+  private static long generation(RunContext runContext, String collectionId) throws Exception {
+    Long generation = local(GENERATIONS, collectionId);
+    if (generation == null) {
+      generation =
+          NamespaceKv.of(runContext)
+              .getValue(generationKey(collectionId))
+              .map(value -> ((Number) value.value()).longValue())
+              .orElse(0L);
+      cache(GENERATIONS, collectionId, generation, LOCAL_TTL);
+    }
+    return generation;
+  }
+
+  private static String generationKey(String collectionId) {
+    return GENERATION_PREFIX
+        + Hashing.murmur3_128().hashString(collectionId, StandardCharsets.UTF_8);
+  }
+
+  /** Empties the in-JVM tier, so that the next reads go to the KV store. */
+  static void clearLocal() {
+    for (Map<String, ?> local : List.of(LOCAL, GENERATIONS, ALIASES)) {
+      synchronized (local) {
+        local.clear();
+      }
+    }
+  }
+
+  private static <T> T local(Map<String, LocalEntry<T>> local, String key) {
+    synchronized (local) {
+      LocalEntry<T> entry = local.get(key);
+      if (entry == null) {
+        return null;
+      }
+      if (entry.expiration().isAfter(Instant.now())) {
+        return entry.value();
+      }
+      local.remove(key);
+      return null;
+    }
+  }
+
+  private static <T> void cache(
+      Map<String, LocalEntry<T>> local, String key, T value, Duration ttl) {
+    synchronized (local) {
+      local.put(key, new LocalEntry<>(value, Instant.now().plus(ttl)));
+    }
+  }
+
+  private static <T> Map<String, LocalEntry<T>> lru() {
+    return new LinkedHashMap<>(LOCAL_CAPACITY, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, LocalEntry<T>> eldest) {
+        return size() > LOCAL_CAPACITY;
+      }
+    };
+  }
+
+  private record LocalEntry<T>(T value, Instant expiration) {}
+}
@@ -0,0 +1,150 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.milvus.param.MetricType;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.request.LoadCollectionReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractRecallTask extends MilvusConnection {
+
+  @Schema(title = "The name of the collection to evaluate.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(
+      title = "The name of the vector field to search.",
+      description =
+          "The value defaults to vector, the default of collections created with default settings.")
+  @Builder.Default
+  private Property<String> vectorFieldName = Property.ofValue("vector");
+
+  @Schema(title = "The number of neighbours to retrieve for each query.")
+  @Builder.Default
+  private Property<Integer> topK = Property.ofValue(10);
+
+  @Schema(
+      title = "The query vectors.",
+      description =
+          "If not set, `numQueries` vectors are sampled from the evaluated collection and used as queries. A sampled query is then left out of its own neighbours, both in the ground truth and in the Milvus results, so that it does not count as a hit.")
+  private Property<List<List<Float>>> queries;
+
+  @Schema(title = "The number of queries sampled from the collection when `queries` is not set.")
+  @Builder.Default
+  private Property<Integer> numQueries = Property.ofValue(100);
+
+  @Schema(
+      title = "A boolean expression restricting the evaluated base vectors.",
+      description =
+          "The filter is applied both to the exact scan and to the Milvus searches, so that both are computed on the same sample.")
+  private Property<String> filter;
+
+  @Schema(
+      title = "The number of threads used by the exact scan.",
+      description = "The value defaults to the number of available processors.")
+  private Property<Integer> threads;
+
+  @Schema(
+      title = "The number of base vectors read and scored per block during the exact scan.")
+  @Builder.Default
+  private Property<Integer> blockSize = Property.ofValue(4096);
+
+  /** The rendered settings shared by every recall measurement of a run. */
+  protected Evaluation evaluation(RunContext runContext, MilvusClientV2 client) throws Exception {
+    String renderedCollectionName = runContext.render(collectionName);
+    String renderedVectorField =
+        runContext.render(vectorFieldName).as(String.class).orElse("vector");
+    String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+
+    // sampling the queries and scanning for the exact neighbours both need a loaded collection
+    client.loadCollection(
+        LoadCollectionReq.builder().collectionName(renderedCollectionName).build());
+    String primaryField =
+        client
+            .describeCollection(
+                DescribeCollectionReq.builder().collectionName(renderedCollectionName).build())
+            .getPrimaryFieldName();
+
+    RecallBenchmark.Queries queryVectors;
+    if (queries != null) {
+      queryVectors = RecallBenchmark.toQueries(runContext.render(queries).asList(List.class));
+    } else {
+      queryVectors =
+          RecallBenchmark.sampleQueries(
+              client,
+              renderedCollectionName,
+              primaryField,
+              renderedVectorField,
+              renderedFilter,
+              runContext.render(numQueries).as(Integer.class).orElse(100));
+    }
+
+    return new Evaluation(
+        client,
+        renderedCollectionName,
+        primaryField,
+        renderedVectorField,
+        renderedFilter,
+        queryVectors,
+        runContext.render(topK).as(Integer.class).orElse(10),
+        runContext
+            .render(threads)
+            .as(Integer.class)
+            .orElse(Runtime.getRuntime().availableProcessors()),
+        runContext.render(blockSize).as(Integer.class).orElse(4096));
+  }
+
+  protected record Evaluation(
+      MilvusClientV2 client,
+      String collectionName,
+      String primaryField,
+      String vectorField,
+      String filter,
+      RecallBenchmark.Queries queries,
+      int topK,
+      int threads,
+      int blockSize) {
+
+    RecallBenchmark.GroundTruth groundTruth(MetricType metricType) throws Exception {
+      return RecallBenchmark.groundTruth(
+          client,
+          collectionName,
+          primaryField,
+          vectorField,
+          filter,
+          queries,
+          topK,
+          metricType,
+          threads,
+          blockSize);
+    }
+
+    RecallBenchmark.Measurement search(
+        Map<String, Object> searchParams, RecallBenchmark.GroundTruth groundTruth) {
+      return RecallBenchmark.search(
+          client,
+          collectionName,
+          vectorField,
+          filter,
+          queries,
+          topK,
+          searchParams,
+          groundTruth.neighbours());
+    }
+  }
+}
@@ -0,0 +1,182 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.param.MetricType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Exact k-nearest-neighbour search computed client-side.
+ *
+ * <p>Base vectors are fed block by block through {@link #accept(List, float[][])}, so the whole
+ * corpus never has to be held in memory: only the queries and one top-k heap per query are kept.
+ * Each block is scored against tiles of queries in parallel, a base vector being reused for every
+ * query of the tile while it is still hot in cache. Distances are computed by {@link VectorMath},
+ * on SIMD kernels when the JVM allows it.
+ */
+final class ExactKnn implements AutoCloseable {
+  static final int QUERY_TILE = 16;
+
+  private final float[][] queries;
+  private final float[] queryNorms;
+  private final MetricType metricType;
+  private final TopK[] heaps;
+  private final ExecutorService executor;
+
+  ExactKnn(float[][] queries, int k, MetricType metricType, int threads) {
+    if (metricType != MetricType.L2
+        && metricType != MetricType.IP
+        && metricType != MetricType.COSINE) {
+      throw new IllegalArgumentException(
+          "Exact search only supports L2, IP and COSINE metrics, got " + metricType);
+    }
+
+    this.queries = queries;
+    this.metricType = metricType;
+    this.queryNorms = new float[queries.length];
+    this.heaps = new TopK[queries.length];
+    for (int q = 0; q < queries.length; q++) {
+      this.queryNorms[q] = VectorMath.norm(queries[q]);
+      this.heaps[q] = new TopK(k);
+    }
+    this.executor = Executors.newFixedThreadPool(Math.max(1, threads));
+  }
+
+  /** Scores a block of base vectors against every query. */
+  void accept(List<?> ids, float[][] block) throws InterruptedException, ExecutionException {
+    float[] blockNorms = new float[block.length];
+    if (metricType == MetricType.COSINE) {
+      for (int i = 0; i < block.length; i++) {
+        blockNorms[i] = VectorMath.norm(block[i]);
+      }
+    }
+
+    List<Future<?>> futures = new ArrayList<>();
+    for (int start = 0; start < queries.length; start += QUERY_TILE) {
+      int from = start;
+      int to = Math.min(queries.length, start + QUERY_TILE);
+      futures.add(executor.submit(() -> scoreTile(ids, block, blockNorms, from, to)));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+  }
+
+  /** The ids of the exact neighbours of each query, best first. */
+  List<List<Object>> result() {
+    List<List<Object>> result = new ArrayList<>(heaps.length);
+    for (TopK heap : heaps) {
+      result.add(heap.sortedIds());
+    }
+    return result;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private void scoreTile(List<?> ids, float[][] block, float[] blockNorms, int from, int to) {
+    for (int b = 0; b < block.length; b++) {
+      float[] base = block[b];
+      for (int q = from; q < to; q++) {
+        heaps[q].offer(score(queries[q], queryNorms[q], base, blockNorms[b]), ids.get(b));
+      }
+    }
+  }
+
+  /** A similarity score where higher is always better, whatever the metric. */
+  private float score(float[] query, float queryNorm, float[] base, float baseNorm) {
+    switch (metricType) {
+      case L2:
+        return -VectorMath.l2Squared(query, base);
+      case COSINE:
+        float denominator = queryNorm * baseNorm;
+        return denominator == 0f ? 0f : VectorMath.dot(query, base) / denominator;
+      default:
+        return VectorMath.dot(query, base);
+    }
+  }
+
+  /** A bounded min-heap keeping the k best scores seen so far. */
+  static final class TopK {
+    private final float[] scores;
+    private final Object[] ids;
+    private int size;
+
+    TopK(int k) {
+      this.scores = new float[k];
+      this.ids = new Object[k];
+    }
+
+    void offer(float score, Object id) {
+      if (size < scores.length) {
+        scores[size] = score;
+        ids[size] = id;
+        siftUp(size++);
+      } else if (score > scores[0]) {
+        scores[0] = score;
+        ids[0] = id;
+        siftDown(0);
+      }
+    }
+
+    List<Object> sortedIds() {
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+
+      List<Object> sorted = new ArrayList<>(size);
+      for (Integer i : order) {
+        sorted.add(ids[i]);
+      }
+      return sorted;
+    }
+
+    private void siftUp(int i) {
+      while (i > 0) {
+        int parent = (i - 1) >>> 1;
+        if (scores[parent] <= scores[i]) {
+          return;
+        }
+        swap(i, parent);
+        i = parent;
+      }
+    }
+
+    private void siftDown(int i) {
+      while (true) {
+        int left = 2 * i + 1;
+        int right = left + 1;
+        int smallest = i;
+        if (left < size && scores[left] < scores[smallest]) {
+          smallest = left;
+        }
+        if (right < size && scores[right] < scores[smallest]) {
+          smallest = right;
+        }
+        if (smallest == i) {
+          return;
+        }
+        swap(i, smallest);
+        i = smallest;
+      }
+    }
+
+    private void swap(int a, int b) {
+      float score = scores[a];
+      scores[a] = scores[b];
+      scores[b] = score;
+      Object id = ids[a];
+      ids[a] = ids[b];
+      ids[b] = id;
+    }
+  }
+}
@@ -0,0 +1,288 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.collections.Indexes;
+import io.kestra.plugin.milvus.collections.Segments;
+import io.milvus.param.MetricType;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.service.collection.request.LoadCollectionReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation sweeps a grid of index configurations and reports the recall/latency Pareto front.",
+    description =
+        """
+            For each index configuration of the grid, the current index of the vector field is dropped, the new one is built and the collection is loaded.
+            The build time, the memory of the loaded segments, and the recall and search latency of every search configuration are measured.
+            The exact neighbours are computed client-side once per metric, then reused for every configuration.
+            As the index of the collection is replaced, run it against a sample collection rather than a production one; the last index of the grid is left in place.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Compare HNSW and IVF_FLAT configurations on a sample collection.",
+          full = true,
+          code =
+              """
+                id: milvus_index_sweep
+                namespace: company.team
+
+                tasks:
+                  - id: sweep
+                    type: io.kestra.plugin.milvus.benchmark.IndexSweep
+                    url: "http://localhost:19530"
+                    collectionName: "documents_sample"
+                    vectorFieldName: "vector"
+                    topK: 10
+                    grid:
+                      - indexType: HNSW
+                        metricType: COSINE
+                        buildParams:
+                          M: [8, 16, 32]
+                          efConstruction: [128, 256]
+                        searchParams:
+                          ef: [16, 64, 128]
+                      - indexType: IVF_FLAT
+                        metricType: COSINE
+                        buildParams:
+                          nlist: [128, 1024]
+                        searchParams:
+                          nprobe: [8, 32]
+              """)
+    })
+public class IndexSweep extends AbstractRecallTask implements RunnableTask<IndexSweep.Output> {
+
+  @Schema(
+      title = "The grid of index configurations to evaluate.",
+      description =
+          """
+              Each entry expands to the cartesian product of its build parameter values, each of them built as the IndexParam that `CreateCollection.indexParams` accepts.
+              Every built index is then searched with the cartesian product of the search parameter values.
+          """)
+  @NotNull
+  private Property<List<IndexGrid>> grid;
+
+  @Schema(title = "The maximum time to wait for each index build.")
+  @Builder.Default
+  private Property<Duration> buildTimeout = Property.ofValue(Duration.ofHours(1));
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    List<IndexGrid> renderedGrid = runContext.render(grid).asList(IndexGrid.class);
+    Duration renderedBuildTimeout =
+        runContext.render(buildTimeout).as(Duration.class).orElse(Duration.ofHours(1));
+
+    Evaluation evaluation = evaluation(runContext, client);
+    Map<MetricType, RecallBenchmark.GroundTruth> groundTruths = new EnumMap<>(MetricType.class);
+    List<Result> results = new ArrayList<>();
+
+    for (IndexGrid indexGrid : renderedGrid) {
+      MetricType metric = indexGrid.getMetricType();
+      if (!groundTruths.containsKey(metric)) {
+        runContext.logger().info("Computing exact neighbours with the {} metric.", metric);
+        groundTruths.put(metric, evaluation.groundTruth(metric));
+      }
+      RecallBenchmark.GroundTruth groundTruth = groundTruths.get(metric);
+
+      for (Map<String, Object> buildParams : expand(indexGrid.getBuildParams())) {
+        IndexParam indexParam =
+            IndexParam.builder()
+                .fieldName(evaluation.vectorField())
+                .indexType(indexGrid.getIndexType())
+                .metricType(IndexParam.MetricType.valueOf(metric.name()))
+                .extraParams(buildParams)
+                .build();
+
+        runContext
+            .logger()
+            .info("Building {} index with {}.", indexGrid.getIndexType(), buildParams);
+
+        long buildStart = System.nanoTime();
+        Indexes.rebuild(client, evaluation.collectionName(), indexParam, renderedBuildTimeout);
+        Duration buildTime = Duration.ofNanos(System.nanoTime() - buildStart);
+        String indexType = indexGrid.getIndexType().name();
+        runContext.metric(Timer.of("build.duration", buildTime, "index", indexType));
+
+        client.loadCollection(
+            LoadCollectionReq.builder().collectionName(evaluation.collectionName()).build());
+        long memory = Segments.loadedMemory(client, evaluation.collectionName());
+
+        for (Map<String, Object> searchParams : expand(indexGrid.getSearchParams())) {
+          RecallBenchmark.Measurement measurement = evaluation.search(searchParams, groundTruth);
+
+          Result result =
+              Result.builder()
+                  .indexType(indexType)
+                  .metricType(metric.name())
+                  .buildParams(buildParams)
+                  .searchParams(searchParams)
+                  .buildTime(buildTime)
+                  .memoryBytes(memory)
+                  .recall(measurement.recall())
+                  .meanLatency(measurement.mean())
+                  .p95Latency(measurement.percentile(95))
+                  .build();
+          results.add(result);
+
+          runContext.metric(Counter.of("recall", measurement.recall(), "index", indexType));
+        }
+      }
+    }
+
+    List<Result> pareto =
+        ParetoFront.of(results, Result::getRecall, r -> r.getP95Latency().toNanos());
+
+    runContext.logger().info("Pareto-optimal configurations:\n{}", table(pareto));
+    runContext.metric(Counter.of("configurations", results.size()));
+
+    return Output.builder().results(results).pareto(pareto).build();
+  }
+
+  /** The cartesian product of the parameter values, a scalar value counting as a single value. */
+  static List<Map<String, Object>> expand(Map<String, Object> parameters) {
+    List<Map<String, Object>> combinations = new ArrayList<>();
+    combinations.add(new LinkedHashMap<>());
+    if (parameters == null) {
+      return combinations;
+    }
+
+    for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+      List<?> values =
+          parameter.getValue() instanceof List<?> list ? list : List.of(parameter.getValue());
+
+      List<Map<String, Object>> expanded = new ArrayList<>();
+      for (Map<String, Object> combination : combinations) {
+        for (Object value : values) {
+          Map<String, Object> next = new LinkedHashMap<>(combination);
+          next.put(parameter.getKey(), value);
+          expanded.add(next);
+        }
+      }
+      combinations = expanded;
+    }
+    return combinations;
+  }
+
+  private static String table(List<Result> results) {
+    StringBuilder table =
+        new StringBuilder(
+            String.format(
+                "%-10s %-40s %-25s %8s %12s %12s %14s%n",
+                "index",
+                "build params",
+                "search params",
+                "recall",
+                "p95 (ms)",
+                "build (s)",
+                "memory (MB)"));
+    for (Result result : results) {
+      table.append(
+          String.format(
+              "%-10s %-40s %-25s %8.4f %12.2f %12.1f %14.1f%n",
+              result.getIndexType(),
+              result.getBuildParams(),
+              result.getSearchParams(),
+              result.getRecall(),
+              result.getP95Latency().toNanos() / 1e6,
+              result.getBuildTime().toMillis() / 1e3,
+              result.getMemoryBytes() / (1024.0 * 1024.0)));
+    }
+    return table.toString();
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class IndexGrid {
+
+    @Schema(title = "The type of the index, for example HNSW, IVF_FLAT or IVF_PQ.")
+    @NotNull
+    private IndexParam.IndexType indexType;
+
+    @Schema(
+        title = "The metric of the index.",
+        description = "Only L2, IP and COSINE can be computed client-side. The value defaults to IP.")
+    @Builder.Default
+    private MetricType metricType = MetricType.IP;
+
+    @Schema(
+        title = "The index build parameters, each value being either a single value or a list of values to sweep.",
+        description = "For example `M` and `efConstruction` for HNSW, `nlist` for IVF indexes.")
+    private Map<String, Object> buildParams;
+
+    @Schema(
+        title = "The search parameters, each value being either a single value or a list of values to sweep.",
+        description = "For example `ef` for HNSW, `nprobe` for IVF indexes.")
+    private Map<String, Object> searchParams;
+  }
+
+  @Getter
+  @Builder
+  public static class Result {
+
+    @Schema(title = "The type of the index.")
+    private String indexType;
+
+    @Schema(title = "The metric of the index.")
+    private String metricType;
+
+    @Schema(title = "The index build parameters.")
+    private Map<String, Object> buildParams;
+
+    @Schema(title = "The search parameters.")
+    private Map<String, Object> searchParams;
+
+    @Schema(title = "The time spent building the index.")
+    private Duration buildTime;
+
+    @Schema(title = "The memory used by the loaded segments, in bytes.")
+    private Long memoryBytes;
+
+    @Schema(title = "The mean recall@k.")
+    private Double recall;
+
+    @Schema(title = "The mean search latency.")
+    private Duration meanLatency;
+
+    @Schema(title = "The 95th percentile of the search latency.")
+    private Duration p95Latency;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The measurements of every configuration of the grid.")
+    private List<Result> results;
+
+    @Schema(
+        title = "The Pareto-optimal configurations, by decreasing recall.",
+        description =
+            "No other configuration has both a higher recall and a lower p95 search latency.")
+    private List<Result> pareto;
+  }
+}
@@ -0,0 +1,34 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/** Keeps the configurations no other configuration beats on both recall and latency. */
+final class ParetoFront {
+  private ParetoFront() {}
+
+  /**
+   * The non-dominated items, by decreasing recall. An item is dominated when another one has a
+   * recall at least as high and a latency at least as low, and is strictly better on one of them.
+   */
+  static <T> List<T> of(List<T> items, ToDoubleFunction<T> recall, ToDoubleFunction<T> latency) {
+    List<T> sorted = new ArrayList<>(items);
+    sorted.sort(
+        Comparator.comparingDouble(recall)
+            .reversed()
+            .thenComparing(Comparator.comparingDouble(latency)));
+
+    // once sorted by decreasing recall, an item is on the front iff it is faster than all before
+    List<T> front = new ArrayList<>();
+    double bestLatency = Double.POSITIVE_INFINITY;
+    for (T item : sorted) {
+      if (latency.applyAsDouble(item) < bestLatency) {
+        front.add(item);
+        bestLatency = latency.applyAsDouble(item);
+      }
+    }
+    return front;
+  }
+}
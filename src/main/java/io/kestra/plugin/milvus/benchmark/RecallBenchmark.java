@@ -0,0 +1,225 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.orm.iterator.QueryIterator;
+import io.milvus.param.MetricType;
+import io.milvus.response.QueryResultsWrapper;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.vector.request.QueryIteratorReq;
+import io.milvus.v2.service.vector.request.QueryReq;
+import io.milvus.v2.service.vector.request.SearchReq;
+import io.milvus.v2.service.vector.request.data.FloatVec;
+import io.milvus.v2.service.vector.response.QueryResp;
+import io.milvus.v2.service.vector.response.SearchResp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared steps of the recall evaluation: ground truth computation and timed Milvus searches. Also
+ * used to validate a rebuilt index before it serves queries.
+ */
+public final class RecallBenchmark {
+  private RecallBenchmark() {}
+
+  /** Samples query vectors from the collection, keeping the ids of the rows they come from. */
+  public static Queries sampleQueries(
+      MilvusClientV2 client,
+      String collectionName,
+      String primaryField,
+      String vectorField,
+      String filter,
+      int count) {
+    QueryResp queryResp =
+        client.query(
+            QueryReq.builder()
+                .collectionName(collectionName)
+                .filter(filter == null ? "" : filter)
+                .outputFields(List.of(primaryField, vectorField))
+                .limit(count)
+                .build());
+
+    List<QueryResp.QueryResult> results = queryResp.getQueryResults();
+    float[][] vectors = new float[results.size()][];
+    List<Object> ids = new ArrayList<>(results.size());
+    for (int i = 0; i < results.size(); i++) {
+      Map<String, Object> entity = results.get(i).getEntity();
+      vectors[i] = VectorMath.toFloatArray(entity.get(vectorField));
+      ids.add(entity.get(primaryField));
+    }
+    return new Queries(vectors, ids);
+  }
+
+  static Queries toQueries(List<?> vectors) {
+    float[][] queries = new float[vectors.size()][];
+    for (int i = 0; i < vectors.size(); i++) {
+      queries[i] = VectorMath.toFloatArray(vectors.get(i));
+    }
+    return new Queries(queries, null);
+  }
+
+  /** Streams the collection through the exact kernel, one iterator batch at a time. */
+  public static GroundTruth groundTruth(
+      MilvusClientV2 client,
+      String collectionName,
+      String primaryField,
+      String vectorField,
+      String filter,
+      Queries queries,
+      int k,
+      MetricType metricType,
+      int threads,
+      int blockSize)
+      throws Exception {
+    long start = System.nanoTime();
+    long baseVectors = 0;
+
+    var builder =
+        QueryIteratorReq.builder()
+            .collectionName(collectionName)
+            .outputFields(List.of(primaryField, vectorField))
+            .batchSize(blockSize);
+    if (filter != null) {
+      builder.expr(filter);
+    }
+
+    QueryIterator iterator = client.queryIterator(builder.build());
+    try (ExactKnn knn = new ExactKnn(queries.vectors(), k + queries.extra(), metricType, threads)) {
+      while (true) {
+        List<QueryResultsWrapper.RowRecord> rows = iterator.next();
+        if (rows.isEmpty()) {
+          break;
+        }
+
+        List<Object> ids = new ArrayList<>(rows.size());
+        float[][] block = new float[rows.size()][];
+        for (int i = 0; i < rows.size(); i++) {
+          ids.add(rows.get(i).get(primaryField));
+          block[i] = VectorMath.toFloatArray(rows.get(i).get(vectorField));
+        }
+        knn.accept(ids, block);
+        baseVectors += rows.size();
+      }
+
+      List<List<Object>> result = knn.result();
+      List<List<Object>> neighbours = new ArrayList<>(result.size());
+      for (int q = 0; q < result.size(); q++) {
+        neighbours.add(queries.neighbours(q, result.get(q), id -> id, k));
+      }
+      return new GroundTruth(neighbours, baseVectors, Duration.ofNanos(System.nanoTime() - start));
+    } finally {
+      iterator.close();
+    }
+  }
+
+  /** Runs every query through Milvus, one request per query, and compares with the truth. */
+  public static Measurement search(
+      MilvusClientV2 client,
+      String collectionName,
+      String vectorField,
+      String filter,
+      Queries queries,
+      int k,
+      Map<String, Object> searchParams,
+      List<List<Object>> truth) {
+    long[] latencies = new long[queries.size()];
+    double recallSum = 0;
+
+    for (int q = 0; q < queries.size(); q++) {
+      var builder =
+          SearchReq.builder()
+              .collectionName(collectionName)
+              .annsField(vectorField)
+              .data(List.of(new FloatVec(queries.vectors()[q])))
+              .topK(k + queries.extra())
+              .searchParams(searchParams);
+      if (filter != null) {
+        builder.filter(filter);
+      }
+
+      long start = System.nanoTime();
+      SearchResp searchResp = client.search(builder.build());
+      latencies[q] = System.nanoTime() - start;
+
+      List<SearchResp.SearchResult> hits =
+          queries.neighbours(
+              q, searchResp.getSearchResults().get(0), SearchResp.SearchResult::getId, k);
+      recallSum += recall(hits, truth.get(q), k);
+    }
+
+    return new Measurement(queries.size() == 0 ? 0 : recallSum / queries.size(), latencies);
+  }
+
+  static double recall(List<SearchResp.SearchResult> hits, List<Object> truth, int k) {
+    if (truth.isEmpty()) {
+      return 1.0;
+    }
+
+    Set<String> expected = new HashSet<>();
+    for (Object id : truth) {
+      expected.add(String.valueOf(id));
+    }
+
+    int found = 0;
+    for (SearchResp.SearchResult hit : hits) {
+      if (expected.contains(String.valueOf(hit.getId()))) {
+        found++;
+      }
+    }
+    return (double) found / Math.min(k, truth.size());
+  }
+
+  /**
+   * The query vectors, and the ids of the rows they were sampled from, or null for held-out
+   * vectors. A sampled query is its own exact nearest neighbour, which would inflate the recall:
+   * one more neighbour is retrieved, and the query's own row is left out of both the ground truth
+   * and the Milvus results.
+   */
+  public record Queries(float[][] vectors, List<Object> ids) {
+    public int size() {
+      return vectors.length;
+    }
+
+    int extra() {
+      return ids == null ? 0 : 1;
+    }
+
+    /** The first k neighbours of query q, other than the row the query was sampled from. */
+    <T> List<T> neighbours(int q, List<T> candidates, Function<T, Object> id, int k) {
+      String own = ids == null ? null : String.valueOf(ids.get(q));
+      List<T> neighbours = new ArrayList<>(k);
+      for (T candidate : candidates) {
+        if (neighbours.size() == k) {
+          break;
+        }
+        if (!String.valueOf(id.apply(candidate)).equals(own)) {
+          neighbours.add(candidate);
+        }
+      }
+      return neighbours;
+    }
+  }
+
+  public record GroundTruth(List<List<Object>> neighbours, long baseVectors, Duration duration) {}
+
+  public record Measurement(double recall, long[] latencies) {
+    public Duration percentile(double percentile) {
+      if (latencies.length == 0) {
+        return Duration.ZERO;
+      }
+      long[] sorted = latencies.clone();
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+      return Duration.ofNanos(sorted[Math.max(0, Math.min(sorted.length - 1, index))]);
+    }
+
+    public Duration mean() {
+      return Duration.ofNanos((long) Arrays.stream(latencies).average().orElse(0));
+    }
+  }
+}
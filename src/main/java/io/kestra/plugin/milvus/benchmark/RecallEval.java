@@ -0,0 +1,150 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.milvus.param.MetricType;
+import io.milvus.v2.client.MilvusClientV2;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Duration;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation measures the recall of a collection index against an exact search.",
+    description =
+        """
+            The exact top-k neighbours of each query are computed client-side by a multi-threaded brute-force scan of the collection (optionally narrowed by a filter).
+            The same queries are then sent to Milvus, one at a time, so that recall@k can be reported next to the search latency of the current index configuration.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Measure recall@10 of a HNSW index with a given ef.",
+          full = true,
+          code =
+              """
+                id: milvus_recall_eval
+                namespace: company.team
+
+                tasks:
+                  - id: recall
+                    type: io.kestra.plugin.milvus.benchmark.RecallEval
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    vectorFieldName: "vector"
+                    metricType: COSINE
+                    topK: 10
+                    numQueries: 200
+                    searchParams:
+                      ef: 64
+              """)
+    })
+public class RecallEval extends AbstractRecallTask implements RunnableTask<RecallEval.Output> {
+
+  @Schema(
+      title = "The metric used by the index of the vector field.",
+      description = "Only L2, IP and COSINE can be computed client-side. The value defaults to IP.")
+  @Builder.Default
+  private Property<MetricType> metricType = Property.ofValue(MetricType.IP);
+
+  @Schema(
+      title = "The search parameters sent with each Milvus search.",
+      description = "For example `ef` for HNSW indexes or `nprobe` for IVF indexes.")
+  private Property<Map<String, Object>> searchParams;
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    MetricType renderedMetricType =
+        runContext.render(metricType).as(MetricType.class).orElse(MetricType.IP);
+    Map<String, Object> renderedSearchParams =
+        runContext.render(searchParams).asMap(String.class, Object.class);
+
+    Evaluation evaluation = evaluation(runContext, client);
+
+    runContext
+        .logger()
+        .info(
+            "Computing exact top-{} of {} queries on collection {}.",
+            evaluation.topK(),
+            evaluation.queries().size(),
+            evaluation.collectionName());
+
+    RecallBenchmark.GroundTruth groundTruth = evaluation.groundTruth(renderedMetricType);
+    RecallBenchmark.Measurement measurement =
+        evaluation.search(renderedSearchParams, groundTruth);
+
+    runContext
+        .logger()
+        .info(
+            "Collection {} has a recall@{} of {} with a p95 search latency of {} ms.",
+            evaluation.collectionName(),
+            evaluation.topK(),
+            measurement.recall(),
+            measurement.percentile(95).toMillis());
+
+    runContext.metric(Counter.of("recall", measurement.recall()));
+    runContext.metric(Counter.of("queries", evaluation.queries().size()));
+    runContext.metric(Counter.of("base.vectors", groundTruth.baseVectors()));
+    runContext.metric(Timer.of("ground.truth.duration", groundTruth.duration()));
+    runContext.metric(Timer.of("search.latency.p50", measurement.percentile(50)));
+    runContext.metric(Timer.of("search.latency.p95", measurement.percentile(95)));
+    runContext.metric(Timer.of("search.latency.p99", measurement.percentile(99)));
+
+    return Output.builder()
+        .recall(measurement.recall())
+        .topK(evaluation.topK())
+        .queries(evaluation.queries().size())
+        .baseVectors(groundTruth.baseVectors())
+        .groundTruthDuration(groundTruth.duration())
+        .meanLatency(measurement.mean())
+        .p50Latency(measurement.percentile(50))
+        .p95Latency(measurement.percentile(95))
+        .p99Latency(measurement.percentile(99))
+        .build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The mean recall@k over all the queries.")
+    private Double recall;
+
+    @Schema(title = "The number of neighbours retrieved for each query.")
+    private Integer topK;
+
+    @Schema(title = "The number of evaluated queries.")
+    private Integer queries;
+
+    @Schema(title = "The number of base vectors scanned to compute the exact neighbours.")
+    private Long baseVectors;
+
+    @Schema(title = "The time spent computing the exact neighbours.")
+    private Duration groundTruthDuration;
+
+    @Schema(title = "The mean Milvus search latency.")
+    private Duration meanLatency;
+
+    @Schema(title = "The median Milvus search latency.")
+    private Duration p50Latency;
+
+    @Schema(title = "The 95th percentile of the Milvus search latency.")
+    private Duration p95Latency;
+
+    @Schema(title = "The 99th percentile of the Milvus search latency.")
+    private Duration p99Latency;
+  }
+}
@@ -0,0 +1,8 @@
+@PluginSubGroup(
+    title = "Benchmark",
+    description =
+        "This sub-group of plugins contains tasks for measuring the accuracy and the performance of Milvus indexes.",
+    categories = PluginSubGroup.PluginCategory.DATABASE)
+package io.kestra.plugin.milvus.benchmark;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
@@ -0,0 +1,218 @@
+package io.kestra.plugin.milvus.collections;
+
+import com.google.gson.JsonObject;
+import io.kestra.plugin.milvus.Pipeline;
+import io.kestra.plugin.milvus.Rows;
+import io.milvus.orm.iterator.QueryIterator;
+import io.milvus.response.QueryResultsWrapper;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.ConsistencyLevel;
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.vector.request.InsertReq;
+import io.milvus.v2.service.vector.request.QueryIteratorReq;
+import io.milvus.v2.service.vector.request.QueryReq;
+import io.milvus.v2.service.vector.response.QueryResp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Builder;
+import lombok.Getter;
+import org.slf4j.Logger;
+
+/**
+ * Copies the rows of a collection into another one, possibly on another Milvus instance.
+ *
+ * <p>One reader per lane pages through the source with a query iterator, and a pool of writers
+ * sends the batches to the target. Readers and writers exchange batches through the bounded buffer
+ * of a {@link Pipeline}, so that reads and writes overlap while the memory stays capped.
+ */
+@Builder
+@Getter
+final class CollectionCopier {
+  private final MilvusClientV2 source;
+  private final String sourceCollection;
+  private final MilvusClientV2 target;
+  private final String targetCollection;
+  private final String filter;
+  private final Map<String, String> fieldMapping;
+  private final List<String> laneBoundaries;
+  private final int lanes;
+  private final int batchSize;
+  private final int writers;
+  private final int bufferSize;
+  private final Logger logger;
+
+  /**
+   * Copies the rows and returns the number of rows written, failing if it differs from the number
+   * of rows of the source matching the filter.
+   */
+  long copy() throws Exception {
+    DescribeCollectionResp sourceDescription =
+        source.describeCollection(
+            DescribeCollectionReq.builder().collectionName(sourceCollection).build());
+    DescribeCollectionResp targetDescription =
+        target.describeCollection(
+            DescribeCollectionReq.builder().collectionName(targetCollection).build());
+
+    // the target generates its own primary keys, sending the source ones would be rejected
+    String droppedField =
+        Boolean.TRUE.equals(targetDescription.getAutoID())
+            ? targetDescription.getPrimaryFieldName()
+            : null;
+
+    List<String> laneFilters = laneFilters(sourceDescription);
+    logger.info(
+        "Copying collection {} to {} with {} lanes and {} writers.",
+        sourceCollection,
+        targetCollection,
+        laneFilters.size(),
+        writers);
+
+    AtomicLong written = new AtomicLong();
+    List<Pipeline.Source<List<JsonObject>>> readers = new ArrayList<>();
+    for (String laneFilter : laneFilters) {
+      readers.add(sink -> read(laneFilter, droppedField, sink));
+    }
+
+    Pipeline.run(
+        readers,
+        writers,
+        bufferSize,
+        batch -> {
+          target.insert(InsertReq.builder().collectionName(targetCollection).data(batch).build());
+          long total = written.addAndGet(batch.size());
+          logger.debug("{} rows copied to collection {}.", total, targetCollection);
+        });
+
+    // the lanes must partition the source: a row missed by every lane would be silently lost
+    long expected = count();
+    if (written.get() != expected) {
+      throw new IllegalStateException(
+          "Copied "
+              + written.get()
+              + " rows of collection "
+              + sourceCollection
+              + " but it has "
+              + expected
+              + " rows"
+              + (filter == null ? "." : " matching the filter."));
+    }
+    return written.get();
+  }
+
+  /** The number of rows of the source matching the filter, counted with a strong consistency. */
+  long count() {
+    QueryResp queryResp =
+        source.query(
+            QueryReq.builder()
+                .collectionName(sourceCollection)
+                .filter(filter == null ? "" : filter)
+                .outputFields(List.of("count(*)"))
+                .consistencyLevel(ConsistencyLevel.STRONG)
+                .build());
+    return ((Number) queryResp.getQueryResults().getFirst().getEntity().get("count(*)"))
+        .longValue();
+  }
+
+  private void read(String laneFilter, String droppedField, Pipeline.Sink<List<JsonObject>> sink)
+      throws Exception {
+    var builder =
+        QueryIteratorReq.builder()
+            .collectionName(sourceCollection)
+            .outputFields(List.of("*"))
+            .batchSize(batchSize);
+    if (laneFilter != null) {
+      builder.expr(laneFilter);
+    }
+
+    QueryIterator iterator = source.queryIterator(builder.build());
+    try {
+      List<QueryResultsWrapper.RowRecord> records;
+      while (!(records = iterator.next()).isEmpty()) {
+        List<JsonObject> batch = new ArrayList<>(records.size());
+        for (QueryResultsWrapper.RowRecord record : records) {
+          batch.add(Rows.toJson(map(record.getFieldValues(), droppedField)));
+        }
+        sink.accept(batch);
+      }
+    } finally {
+      iterator.close();
+    }
+  }
+
+  private Map<String, Object> map(Map<String, Object> row, String droppedField) {
+    Map<String, Object> mapped = new LinkedHashMap<>(row.size());
+    for (Map.Entry<String, Object> field : row.entrySet()) {
+      if (field.getKey().equals(droppedField)) {
+        continue;
+      }
+      String name =
+          fieldMapping == null
+              ? field.getKey()
+              : fieldMapping.getOrDefault(field.getKey(), field.getKey());
+      mapped.put(name, field.getValue());
+    }
+    return mapped;
+  }
+
+  /**
+   * One filter per lane: explicit primary key ranges when boundaries are given, otherwise a modulo
+   * on integer primary keys. Each lane filter is combined with the user filter.
+   *
+   * <p>The remainder of a negative key is negative, so lane {@code l} also takes the keys whose
+   * remainder is {@code l - lanes}, and every key falls in exactly one lane.
+   */
+  List<String> laneFilters(DescribeCollectionResp sourceDescription) {
+    String primaryField = sourceDescription.getPrimaryFieldName();
+    boolean varChar =
+        sourceDescription.getCollectionSchema().getField(primaryField).getDataType()
+            == DataType.VarChar;
+
+    List<String> ranges = new ArrayList<>();
+    if (laneBoundaries != null && !laneBoundaries.isEmpty()) {
+      String previous = null;
+      for (String boundary : laneBoundaries) {
+        String literal = varChar ? quote(boundary) : boundary;
+        ranges.add(
+            (previous == null ? "" : primaryField + " >= " + previous + " && ")
+                + primaryField
+                + " < "
+                + literal);
+        previous = literal;
+      }
+      ranges.add(primaryField + " >= " + previous);
+    } else if (lanes > 1 && !varChar) {
+      String remainder = primaryField + " % " + lanes;
+      ranges.add(remainder + " == 0");
+      for (int lane = 1; lane < lanes; lane++) {
+        ranges.add(remainder + " == " + lane + " || " + remainder + " == " + (lane - lanes));
+      }
+    } else {
+      if (lanes > 1) {
+        logger.warn(
+            "Primary key {} is a VarChar, set `laneBoundaries` to copy with several lanes.",
+            primaryField);
+      }
+      ranges.add(null);
+    }
+
+    List<String> filters = new ArrayList<>(ranges.size());
+    for (String range : ranges) {
+      if (range == null) {
+        filters.add(filter);
+      } else {
+        filters.add(filter == null ? range : "(" + filter + ") && (" + range + ")");
+      }
+    }
+    return filters;
+  }
+
+  /** A string literal of a filter expression. */
+  private static String quote(String value) {
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+}
@@ -0,0 +1,234 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.Parallel;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.request.GetLoadStateReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.index.request.DescribeIndexReq;
+import io.milvus.v2.service.index.request.ListIndexesReq;
+import io.milvus.v2.service.index.response.DescribeIndexResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation gathers the capacity statistics of the collections of a database.",
+    description =
+        """
+            For each collection, the row and segment counts, the sizes of the segments, the progress of the index builds, the load state and the memory used are returned, and emitted as metrics tagged with the collection name.
+            The memory is the one reported by the query nodes for loaded collections, and an estimate computed from the schema for the others.
+            Collections are queried concurrently.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Gather the statistics of every collection of a database.",
+          full = true,
+          code =
+              """
+                id: milvus_collection_stats
+                namespace: company.team
+
+                triggers:
+                  - id: hourly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 * * * *"
+
+                tasks:
+                  - id: collection_stats
+                    type: io.kestra.plugin.milvus.collections.CollectionStats
+                    url: "http://localhost:19530"
+                    dbName: "default"
+              """)
+    })
+public class CollectionStats extends MilvusConnection
+    implements RunnableTask<CollectionStats.Output> {
+
+  @Schema(
+      title = "The names of the collections.",
+      description = "If not set, every collection of the database is described.")
+  private Property<List<String>> collectionNames;
+
+  @Schema(title = "The maximum number of collections queried concurrently.")
+  @Builder.Default
+  private Property<Integer> concurrency = Property.ofValue(4);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    List<String> renderedCollectionNames = runContext.render(collectionNames).asList(String.class);
+    if (renderedCollectionNames.isEmpty()) {
+      renderedCollectionNames = client.listCollections().getCollectionNames();
+    }
+
+    List<Stats> stats =
+        Parallel.map(
+            renderedCollectionNames,
+            runContext.render(concurrency).as(Integer.class).orElse(4),
+            collectionName -> {
+              Stats collectionStats = stats(client, collectionName);
+
+              String[] tags = {"collection", collectionName};
+              Segments.Stats segments = collectionStats.getSegments();
+              runContext.metric(Counter.of("collection.rows", segments.getRows(), tags));
+              runContext.metric(Counter.of("collection.segments", segments.getSegments(), tags));
+              runContext.metric(
+                  Counter.of("collection.segments.loaded", segments.getLoadedSegments(), tags));
+              runContext.metric(
+                  Counter.of("collection.memory", collectionStats.getMemoryBytes(), tags));
+              runContext.metric(
+                  Counter.of(
+                      "collection.index.pending.rows",
+                      collectionStats.getIndexes().stream()
+                          .mapToLong(IndexProgress::getPendingRows)
+                          .sum(),
+                      tags));
+              return collectionStats;
+            });
+
+    Map<String, Stats> collections = new LinkedHashMap<>();
+    long rows = 0;
+    long memory = 0;
+    for (int i = 0; i < renderedCollectionNames.size(); i++) {
+      collections.put(renderedCollectionNames.get(i), stats.get(i));
+      rows += stats.get(i).getSegments().getRows();
+      memory += stats.get(i).getMemoryBytes();
+    }
+
+    runContext
+        .logger()
+        .info(
+            "{} collections hold {} rows, using about {} bytes of memory.",
+            collections.size(),
+            rows,
+            memory);
+
+    return Output.builder().collections(collections).rows(rows).memoryBytes(memory).build();
+  }
+
+  static Stats stats(MilvusClientV2 client, String collectionName) {
+    boolean loaded =
+        Boolean.TRUE.equals(
+            client.getLoadState(GetLoadStateReq.builder().collectionName(collectionName).build()));
+    Segments.Stats segments = Segments.stats(client, collectionName);
+
+    List<IndexProgress> indexes = new ArrayList<>();
+    for (String indexName :
+        client.listIndexes(ListIndexesReq.builder().collectionName(collectionName).build())) {
+      DescribeIndexResp describeIndexResp =
+          client.describeIndex(
+              DescribeIndexReq.builder()
+                  .collectionName(collectionName)
+                  .indexName(indexName)
+                  .build());
+      for (DescribeIndexResp.IndexDesc indexDesc : describeIndexResp.getIndexDescriptions()) {
+        indexes.add(
+            IndexProgress.builder()
+                .indexName(indexDesc.getIndexName())
+                .fieldName(indexDesc.getFieldName())
+                .indexType(String.valueOf(indexDesc.getIndexType()))
+                .state(String.valueOf(indexDesc.getIndexState()))
+                .totalRows(indexDesc.getTotalRows())
+                .indexedRows(indexDesc.getIndexedRows())
+                .pendingRows(indexDesc.getPendingIndexRows())
+                .build());
+      }
+    }
+
+    long memory = segments.getLoadedMemoryBytes();
+    if (!loaded) {
+      DescribeCollectionResp description =
+          client.describeCollection(
+              DescribeCollectionReq.builder().collectionName(collectionName).build());
+      memory = segments.getRows() * Segments.estimatedRowBytes(description);
+    }
+
+    return Stats.builder()
+        .loaded(loaded)
+        .segments(segments)
+        .indexes(indexes)
+        .memoryBytes(memory)
+        .memoryEstimated(!loaded)
+        .build();
+  }
+
+  @Getter
+  @Builder
+  public static class IndexProgress {
+
+    @Schema(title = "The name of the index.")
+    private String indexName;
+
+    @Schema(title = "The name of the indexed field.")
+    private String fieldName;
+
+    @Schema(title = "The type of the index.")
+    private String indexType;
+
+    @Schema(title = "The state of the index build.")
+    private String state;
+
+    @Schema(title = "The number of rows to index.")
+    private Long totalRows;
+
+    @Schema(title = "The number of rows already indexed.")
+    private Long indexedRows;
+
+    @Schema(title = "The number of rows waiting to be indexed.")
+    private Long pendingRows;
+  }
+
+  @Getter
+  @Builder
+  public static class Stats {
+
+    @Schema(title = "Whether the collection is loaded on the query nodes.")
+    private Boolean loaded;
+
+    @Schema(title = "The segment statistics of the collection.")
+    private Segments.Stats segments;
+
+    @Schema(title = "The build progress of each index of the collection.")
+    private List<IndexProgress> indexes;
+
+    @Schema(
+        title = "The memory used by the collection on the query nodes, in bytes.",
+        description = "Estimated from the schema, without the indexes, if not loaded.")
+    private Long memoryBytes;
+
+    @Schema(title = "Whether `memoryBytes` is an estimate.")
+    private Boolean memoryEstimated;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The statistics of each collection.")
+    private Map<String, Stats> collections;
+
+    @Schema(title = "The total number of rows of the collections.")
+    private Long rows;
+
+    @Schema(title = "The total memory used by the collections, in bytes.")
+    private Long memoryBytes;
+  }
+}
@@ -0,0 +1,232 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusJobs;
+import io.kestra.plugin.milvus.Parallel;
+import io.kestra.plugin.milvus.Polling;
+import io.milvus.grpc.CompactionState;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.utility.request.CompactReq;
+import io.milvus.v2.service.utility.request.FlushReq;
+import io.milvus.v2.service.utility.request.GetCompactionStateReq;
+import io.milvus.v2.service.utility.response.CompactResp;
+import io.milvus.v2.service.utility.response.GetCompactionStateResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation flushes collections, compacts them and waits for the compaction to complete.",
+    description =
+        """
+            Use it right after a bulk load: the growing segments are sealed and flushed, then merged by the compaction into fewer, larger segments.
+            The segment statistics before and after are returned, so that the improvement of the read path can be checked.
+            With `async`, the task returns once the compactions are started, with a job per collection that a `JobTrigger` of the same namespace reports when the compaction is complete.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Compact a collection after a bulk load.",
+          full = true,
+          code =
+              """
+                id: compact_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: collection_compact
+                    type: io.kestra.plugin.milvus.collections.Compact
+                    url: "http://localhost:19530"
+                    collectionNames:
+                      - documents
+              """)
+    })
+public class Compact extends MilvusConnection implements RunnableTask<Compact.Output> {
+
+  @Schema(title = "The names of the collections to compact.")
+  @NotNull
+  private Property<List<String>> collectionNames;
+
+  @Schema(
+      title = "Whether to run a clustering compaction.",
+      description = "Requires a clustering key on the collection. The value defaults to false.")
+  @Builder.Default
+  private Property<Boolean> clustering = Property.ofValue(false);
+
+  @Schema(title = "The maximum time to wait for each compaction to complete.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofHours(1));
+
+  @Schema(
+      title = "Whether to return as soon as the compactions are started.",
+      description =
+          "Each compaction is then recorded as a job in the KV store of the namespace, and `timeout` is the time after which the job trigger reports it failed. The segment statistics after the compaction are not returned.")
+  @Builder.Default
+  private Property<Boolean> async = Property.ofValue(false);
+
+  @Schema(title = "The maximum number of collections compacted concurrently.")
+  @Builder.Default
+  private Property<Integer> concurrency = Property.ofValue(4);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    List<String> renderedCollectionNames = runContext.render(collectionNames).asList(String.class);
+    boolean renderedClustering = runContext.render(clustering).as(Boolean.class).orElse(false);
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofHours(1));
+    int renderedConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+    boolean renderedAsync = runContext.render(async).as(Boolean.class).orElse(false);
+
+    List<Result> results =
+        Parallel.map(
+            renderedCollectionNames,
+            renderedConcurrency,
+            collectionName -> {
+              long start = System.nanoTime();
+              client.flush(FlushReq.builder().collectionNames(List.of(collectionName)).build());
+              Duration flushDuration = Duration.ofNanos(System.nanoTime() - start);
+
+              // only persisted segments are reported, so growing ones are counted once flushed
+              Segments.Stats before = Segments.stats(client, collectionName);
+
+              long compactionStart = System.nanoTime();
+              CompactResp compactResp =
+                  client.compact(
+                      CompactReq.builder()
+                          .collectionName(collectionName)
+                          .isClustering(renderedClustering)
+                          .build());
+              runContext
+                  .logger()
+                  .info(
+                      "Compaction {} of collection {} started.",
+                      compactResp.getCompactionID(),
+                      collectionName);
+
+              if (renderedAsync) {
+                MilvusJobs.Job job =
+                    MilvusJobs.submit(
+                        runContext,
+                        this,
+                        MilvusJobs.Job.builder()
+                            .type(MilvusJobs.Type.COMPACTION)
+                            .collectionName(collectionName)
+                            .compactionId(compactResp.getCompactionID()),
+                        renderedTimeout);
+                return Result.builder()
+                    .compactionId(compactResp.getCompactionID())
+                    .jobId(job.getId())
+                    .flushDuration(flushDuration)
+                    .before(before)
+                    .build();
+              }
+
+              awaitCompaction(
+                  client, collectionName, compactResp.getCompactionID(), renderedTimeout);
+              Duration compactionDuration = Duration.ofNanos(System.nanoTime() - compactionStart);
+
+              Segments.Stats after = Segments.stats(client, collectionName);
+
+              String[] tags = {"collection", collectionName};
+              runContext.metric(Timer.of("flush.duration", flushDuration, tags));
+              runContext.metric(Timer.of("compaction.duration", compactionDuration, tags));
+              runContext.metric(Counter.of("segments.before", before.getSegments(), tags));
+              runContext.metric(Counter.of("segments.after", after.getSegments(), tags));
+              runContext
+                  .logger()
+                  .info(
+                      "Collection {} compacted from {} to {} segments.",
+                      collectionName,
+                      before.getSegments(),
+                      after.getSegments());
+
+              return Result.builder()
+                  .compactionId(compactResp.getCompactionID())
+                  .flushDuration(flushDuration)
+                  .compactionDuration(compactionDuration)
+                  .before(before)
+                  .after(after)
+                  .build();
+            });
+
+    Map<String, Result> collections = new LinkedHashMap<>();
+    for (int i = 0; i < renderedCollectionNames.size(); i++) {
+      collections.put(renderedCollectionNames.get(i), results.get(i));
+    }
+
+    return Output.builder().collections(collections).build();
+  }
+
+  /** Polls the compaction state, sparsely once the compaction is known to take a while. */
+  public static void awaitCompaction(
+      MilvusClientV2 client, String collectionName, Long compactionId, Duration timeout)
+      throws Exception {
+    Polling.await(
+        "the compaction of collection " + collectionName,
+        timeout,
+        Duration.ofMillis(500),
+        Duration.ofSeconds(30),
+        () -> {
+          GetCompactionStateResp stateResp =
+              client.getCompactionState(
+                  GetCompactionStateReq.builder().compactionID(compactionId).build());
+          return isCompleted(stateResp) ? Optional.of(stateResp) : Optional.empty();
+        });
+  }
+
+  /** Whether a polled compaction is complete. */
+  public static boolean isCompleted(GetCompactionStateResp stateResp) {
+    return stateResp.getState() == CompactionState.Completed;
+  }
+
+  @Getter
+  @Builder
+  public static class Result {
+
+    @Schema(title = "The identifier of the compaction.")
+    private Long compactionId;
+
+    @Schema(title = "The identifier of the compaction job, in async mode.")
+    private String jobId;
+
+    @Schema(title = "The time spent flushing the collection.")
+    private Duration flushDuration;
+
+    @Schema(title = "The time spent compacting the collection.")
+    private Duration compactionDuration;
+
+    @Schema(title = "The segment statistics after the flush, before the compaction.")
+    private Segments.Stats before;
+
+    @Schema(title = "The segment statistics after the compaction.")
+    private Segments.Stats after;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The result of the compaction of each collection.")
+    private Map<String, Result> collections;
+  }
+}
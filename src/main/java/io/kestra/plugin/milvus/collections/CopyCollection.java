@@ -0,0 +1,202 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusConnectionProperties;
+import io.kestra.plugin.milvus.SearchCache;
+import io.milvus.v2.client.MilvusClientV2;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation copies the rows of a collection into another collection, possibly on another Milvus instance.",
+    description =
+        """
+            The target collection must already exist with a compatible schema.
+            The source is read by several lanes in parallel, each one paging through a slice of the primary keys, while writers insert the batches into the target.
+            Reads and writes overlap through a bounded buffer, so the memory used stays capped to `bufferSize` batches whatever the size of the collection.
+            Integer primary keys are split into lanes by modulo; VarChar primary keys need explicit `laneBoundaries` to be read by more than one lane.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Copy a collection to another Milvus instance.",
+          full = true,
+          code =
+              """
+                id: copy_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: collection_copy
+                    type: io.kestra.plugin.milvus.collections.CopyCollection
+                    source:
+                      url: "http://milvus-a:19530"
+                      token: "{{ secret('MILVUS_A_TOKEN') }}"
+                    target:
+                      url: "http://milvus-b:19530"
+                      token: "{{ secret('MILVUS_B_TOKEN') }}"
+                    sourceCollection: "documents"
+                    targetCollection: "documents"
+                    lanes: 4
+                    writers: 4
+              """),
+      @Example(
+          title = "Copy a subset of a collection on the same instance, renaming a field.",
+          full = true,
+          code =
+              """
+                id: copy_milvus_collection_subset
+                namespace: company.team
+
+                tasks:
+                  - id: collection_copy
+                    type: io.kestra.plugin.milvus.collections.CopyCollection
+                    source:
+                      url: "http://localhost:19530"
+                    target:
+                      url: "http://localhost:19530"
+                    sourceCollection: "documents"
+                    targetCollection: "documents_2024"
+                    filter: "year == 2024"
+                    fieldMapping:
+                      embedding: vector
+              """)
+    })
+public class CopyCollection extends Task implements RunnableTask<CopyCollection.Output> {
+
+  @Schema(title = "The connection to the Milvus instance to read from.")
+  @NotNull
+  private MilvusConnectionProperties source;
+
+  @Schema(
+      title = "The connection to the Milvus instance to write to.",
+      description = "It may be the same instance as the source.")
+  @NotNull
+  private MilvusConnectionProperties target;
+
+  @Schema(title = "The name of the collection to copy.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String sourceCollection;
+
+  @Schema(title = "The name of the collection to copy the rows into.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String targetCollection;
+
+  @Schema(title = "A boolean expression selecting the rows to copy.")
+  private Property<String> filter;
+
+  @Schema(
+      title = "The renaming of source fields to target fields.",
+      description = "Fields not listed keep their name.")
+  private Property<Map<String, String>> fieldMapping;
+
+  @Schema(title = "The number of rows read and inserted per batch.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "The number of lanes reading the source in parallel.",
+      description = "Ignored when `laneBoundaries` is set.")
+  @Builder.Default
+  private Property<Integer> lanes = Property.ofValue(4);
+
+  @Schema(
+      title = "The primary key values splitting the source into lanes.",
+      description =
+          "N boundaries make N + 1 lanes. Use them for VarChar primary keys, or for integer keys that are not uniformly distributed.")
+  private Property<List<String>> laneBoundaries;
+
+  @Schema(title = "The number of concurrent insert requests sent to the target.")
+  @Builder.Default
+  private Property<Integer> writers = Property.ofValue(4);
+
+  @Schema(
+      title = "The maximum number of batches buffered between the readers and the writers.",
+      description = "Readers wait when the buffer is full, bounding the memory used by the copy.")
+  @Builder.Default
+  private Property<Integer> bufferSize = Property.ofValue(16);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 sourceClient = MilvusConnection.connect(runContext, source);
+    MilvusClientV2 targetClient = MilvusConnection.connect(runContext, target);
+
+    String renderedSourceCollection = runContext.render(sourceCollection);
+    String renderedTargetCollection = runContext.render(targetCollection);
+
+    CollectionCopier copier =
+        CollectionCopier.builder()
+            .source(sourceClient)
+            .sourceCollection(renderedSourceCollection)
+            .target(targetClient)
+            .targetCollection(renderedTargetCollection)
+            .filter(runContext.render(filter).as(String.class).orElse(null))
+            .fieldMapping(runContext.render(fieldMapping).asMap(String.class, String.class))
+            .laneBoundaries(runContext.render(laneBoundaries).asList(String.class))
+            .lanes(runContext.render(lanes).as(Integer.class).orElse(4))
+            .batchSize(runContext.render(batchSize).as(Integer.class).orElse(1000))
+            .writers(runContext.render(writers).as(Integer.class).orElse(4))
+            .bufferSize(runContext.render(bufferSize).as(Integer.class).orElse(16))
+            .logger(runContext.logger())
+            .build();
+
+    long start = System.nanoTime();
+    long rows = copier.copy();
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    SearchCache.invalidate(
+        runContext,
+        SearchCache.collectionId(runContext, target, targetClient, renderedTargetCollection));
+
+    double rowsPerSecond = duration.isZero() ? 0 : rows * 1e9 / duration.toNanos();
+    runContext
+        .logger()
+        .info(
+            "{} rows copied from collection {} to {} in {} ({} rows/s).",
+            rows,
+            renderedSourceCollection,
+            renderedTargetCollection,
+            duration,
+            Math.round(rowsPerSecond));
+
+    runContext.metric(Counter.of("rows", rows, "collection", renderedTargetCollection));
+    runContext.metric(Timer.of("copy.duration", duration, "collection", renderedTargetCollection));
+
+    return Output.builder().rows(rows).duration(duration).rowsPerSecond(rowsPerSecond).build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The number of rows copied.")
+    private Long rows;
+
+    @Schema(title = "The time spent copying the rows.")
+    private Duration duration;
+
+    @Schema(title = "The copy throughput, in rows per second.")
+    private Double rowsPerSecond;
+  }
+}
@@ -1,5 +1,6 @@
 package io.kestra.plugin.milvus.collections;
 
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.annotations.PluginProperty;
@@ -145,42 +146,38 @@ public class CreateCollection extends MilvusConnection
           "The algorithm used for this collection to measure similarities between vector embeddings.",
       description =
           """
-              The value defaults to IP. Possible values are L2, IP, and COSINE. For details on these metric types, refer to Similarity Metrics.
+              If not set, the Milvus default applies, COSINE. Possible values are L2, IP, and COSINE. For details on these metric types, refer to Similarity Metrics.
             """)
-  @Builder.Default
-  private Property<MetricType> metricType = Property.ofValue(MetricType.IP);
+  private Property<MetricType> metricType;
 
   @Schema(
       title =
           "Whether the primary field automatically increments upon data insertions into this collection.",
       description =
           """
-              The value defaults to False. Setting this to True makes the primary field automatically increment.
+              If not set, the Milvus default applies, False. Setting this to True makes the primary field automatically increment.
               Skip this parameter if you need to set up a collection with a customized schema.
               The auto-generated IDs have a fixed length and cannot be altered.
             """)
-  @Builder.Default
-  private Property<Boolean> autoID = Property.ofValue(false);
+  private Property<Boolean> autoID;
 
   @Schema(
       title =
           "Whether to use a reserved JSON field named $meta to store undefined fields and their values in key-value pairs.",
       description =
           """
-              The value defaults to True, indicating that the meta field is used.
+              If not set, the Milvus default applies, True, indicating that the meta field is used.
               If you create a collection with a schema, configure this parameter using the CreateSchema method.
             """)
-  @Builder.Default
-  private Property<Boolean> enableDynamicField = Property.ofValue(true);
+  private Property<Boolean> enableDynamicField;
 
   @Schema(
       title = "The number of shards to create along with the collection.",
       description =
           """
-              The value defaults to 1, indicating that one shard is to be created along with this collection.
+              If not set, the Milvus default applies, 1, indicating that one shard is to be created along with this collection.
             """)
-  @Builder.Default
-  private Property<Integer> numShards = Property.ofValue(1);
+  private Property<Integer> numShards;
 
   @Schema(
       title = "The schema of this collection.",
@@ -222,58 +219,9 @@ public class CreateCollection extends MilvusConnection
   public Output run(RunContext runContext) throws Exception {
     MilvusClientV2 client = connect(runContext);
 
-    String renderedCollectionName = runContext.render(collectionName);
-
-    String renderedDescription =
-        runContext.render(collectionDescription).as(String.class).orElse("");
-
-    Integer renderedDimension = runContext.render(dimension).as(Integer.class).orElse(2);
-
-    String renderedPrimaryFieldName =
-        runContext.render(primaryFieldName).as(String.class).orElse("id");
-
-    DataType renderedIdType = runContext.render(idType).as(DataType.class).orElse(DataType.Int64);
-
-    Integer renderedMaxLength = runContext.render(maxLength).as(Integer.class).orElse(65535);
-
-    Map<String, String> renderedProperties =
-        runContext.render(properties).asMap(String.class, String.class);
-
-    CreateCollectionReq.CreateCollectionReqBuilder<?, ?> builder = CreateCollectionReq.builder();
-    builder.collectionName(renderedCollectionName);
-
-    builder.dimension(renderedDimension);
-
-    builder.description(renderedDescription);
-    builder.primaryFieldName(renderedPrimaryFieldName);
-
-    builder.idType(renderedIdType);
-
-    builder.maxLength(renderedMaxLength);
-
-    builder.properties(renderedProperties);
-
-    client.createCollection(builder.build());
-
-    //      CreateCollectionReq createCollectionReq =
-    //          CreateCollectionReq.builder()
-    //              .collectionName(renderedCollectionName)
-    //              .description(renderedDescription)
-    //              .dimension(renderedDimension)
-    //              .primaryFieldName(renderedPrimaryFieldName)
-    //              .idType(renderedIdType)
-    //              .maxLength(renderedMaxLength)
-    //              .vectorFieldName(vectorFieldName)
-    //              .metricType(metricType)
-    //              .autoID(autoID)
-    //              .enableDynamicField(enableDynamicField)
-    //              .numShards(numShards)
-    //              .collectionSchema(collectionSchema)
-    //              .indexParams(indexParams)
-    //              .numPartitions(numPartitions)
-    //              .consistencyLevel(consistencyLevel)
-    //              .properties(properties)
-    //              .build();
+    CreateCollectionReq createCollectionReq = createCollectionReq(runContext);
+    String renderedCollectionName = createCollectionReq.getCollectionName();
+    client.createCollection(createCollectionReq);
 
     DescribeCollectionResp describeCollectionResp =
         client.describeCollection(
@@ -288,6 +236,51 @@ public class CreateCollection extends MilvusConnection
     }
   }
 
+  /**
+   * The creation request of the collection: a quick setup from the dimension and the field names,
+   * or a customized one when a schema is set. Shared with the tasks that create collections, so
+   * that they accept the same settings.
+   */
+  CreateCollectionReq createCollectionReq(RunContext runContext)
+      throws IllegalVariableEvaluationException {
+    CreateCollectionReq.CreateCollectionReqBuilder<?, ?> builder = CreateCollectionReq.builder();
+    builder.collectionName(runContext.render(collectionName));
+    builder.description(runContext.render(collectionDescription).as(String.class).orElse(""));
+    builder.dimension(runContext.render(dimension).as(Integer.class).orElse(2));
+    builder.primaryFieldName(runContext.render(primaryFieldName).as(String.class).orElse("id"));
+    builder.idType(runContext.render(idType).as(DataType.class).orElse(DataType.Int64));
+    builder.maxLength(runContext.render(maxLength).as(Integer.class).orElse(65535));
+    runContext.render(vectorFieldName).as(String.class).ifPresent(builder::vectorFieldName);
+    // the defaults of Milvus apply to the settings left unset
+    runContext
+        .render(metricType)
+        .as(MetricType.class)
+        .ifPresent(metric -> builder.metricType(metric.name()));
+    runContext.render(autoID).as(Boolean.class).ifPresent(builder::autoID);
+    runContext
+        .render(enableDynamicField)
+        .as(Boolean.class)
+        .ifPresent(builder::enableDynamicField);
+    runContext.render(numShards).as(Integer.class).ifPresent(builder::numShards);
+
+    runContext
+        .render(collectionSchema)
+        .as(CreateCollectionReq.CollectionSchema.class)
+        .ifPresent(builder::collectionSchema);
+    List<IndexParam> renderedIndexParams = runContext.render(indexParams).asList(IndexParam.class);
+    if (!renderedIndexParams.isEmpty()) {
+      builder.indexParams(renderedIndexParams);
+    }
+    runContext.render(numPartitions).as(Integer.class).ifPresent(builder::numPartitions);
+    runContext
+        .render(consistencyLevel)
+        .as(ConsistencyLevel.class)
+        .ifPresent(builder::consistencyLevel);
+    builder.properties(runContext.render(properties).asMap(String.class, String.class));
+
+    return builder.build();
+  }
+
   @Getter
   @Builder
   public static class Output implements io.kestra.core.models.tasks.Output {
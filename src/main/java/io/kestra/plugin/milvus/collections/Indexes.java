@@ -0,0 +1,99 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.plugin.milvus.Polling;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.IndexBuildState;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.service.collection.request.ReleaseCollectionReq;
+import io.milvus.v2.service.index.request.CreateIndexReq;
+import io.milvus.v2.service.index.request.DescribeIndexReq;
+import io.milvus.v2.service.index.request.DropIndexReq;
+import io.milvus.v2.service.index.request.ListIndexesReq;
+import io.milvus.v2.service.index.response.DescribeIndexResp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/** Index build helpers shared by the tasks that create or replace collection indexes. */
+public final class Indexes {
+  private Indexes() {}
+
+  /**
+   * Releases the collection, drops the current indexes of the field, then builds the given one and
+   * waits for the build to complete.
+   */
+  public static void rebuild(
+      MilvusClientV2 client, String collectionName, IndexParam indexParam, Duration timeout)
+      throws Exception {
+    client.releaseCollection(ReleaseCollectionReq.builder().collectionName(collectionName).build());
+
+    List<String> indexNames =
+        client.listIndexes(
+            ListIndexesReq.builder()
+                .collectionName(collectionName)
+                .fieldName(indexParam.getFieldName())
+                .build());
+    for (String indexName : indexNames) {
+      client.dropIndex(
+          DropIndexReq.builder()
+              .collectionName(collectionName)
+              .fieldName(indexParam.getFieldName())
+              .indexName(indexName)
+              .build());
+    }
+
+    create(client, collectionName, List.of(indexParam), timeout);
+  }
+
+  /** Submits the index builds and waits until every index has indexed all the rows. */
+  public static void create(
+      MilvusClientV2 client, String collectionName, List<IndexParam> indexParams, Duration timeout)
+      throws Exception {
+    client.createIndex(
+        CreateIndexReq.builder()
+            .collectionName(collectionName)
+            .indexParams(indexParams)
+            .sync(false)
+            .build());
+
+    for (IndexParam indexParam : indexParams) {
+      await(client, collectionName, indexParam.getFieldName(), timeout);
+    }
+  }
+
+  /** Waits until the index of the field is built, failing if Milvus reports a failed build. */
+  public static void await(
+      MilvusClientV2 client, String collectionName, String fieldName, Duration timeout)
+      throws Exception {
+    Polling.await(
+        "the index of " + collectionName + "." + fieldName,
+        timeout,
+        () -> isBuilt(client, collectionName, fieldName) ? Optional.of(true) : Optional.empty());
+  }
+
+  /** Whether the index of the field is fully built, failing if Milvus reports a failed build. */
+  public static boolean isBuilt(MilvusClientV2 client, String collectionName, String fieldName) {
+    DescribeIndexResp describeIndexResp =
+        client.describeIndex(
+            DescribeIndexReq.builder().collectionName(collectionName).fieldName(fieldName).build());
+    return isBuilt(collectionName + "." + fieldName, describeIndexResp.getIndexDescriptions());
+  }
+
+  /** Whether every index is built, no description meaning that the index is not created yet. */
+  static boolean isBuilt(String field, List<DescribeIndexResp.IndexDesc> indexDescriptions) {
+    if (indexDescriptions == null || indexDescriptions.isEmpty()) {
+      return false;
+    }
+
+    for (DescribeIndexResp.IndexDesc indexDesc : indexDescriptions) {
+      if (indexDesc.getIndexState() == IndexBuildState.Failed) {
+        throw new IllegalStateException(
+            "Index build of " + field + " failed: " + indexDesc.getIndexFailedReason());
+      }
+      if (indexDesc.getIndexState() != IndexBuildState.Finished) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
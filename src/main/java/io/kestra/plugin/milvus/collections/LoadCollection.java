@@ -0,0 +1,341 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusJobs;
+import io.kestra.plugin.milvus.Parallel;
+import io.kestra.plugin.milvus.Polling;
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.GetLoadStateReq;
+import io.milvus.v2.service.collection.request.LoadCollectionReq;
+import io.milvus.v2.service.database.request.DescribeDatabaseReq;
+import io.milvus.v2.service.vector.request.QueryReq;
+import io.milvus.v2.service.vector.request.SearchReq;
+import io.milvus.v2.service.vector.request.data.FloatVec;
+import io.milvus.v2.service.vector.response.QueryResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation loads a collection into the memory of the query nodes.",
+    description =
+        """
+            The task waits until the collection is fully loaded, polling the load state with an increasing interval.
+            With `warmUp`, representative searches are then sent to the collection before the task succeeds, so that the first user searches hit warm caches and segments.
+            With `async`, the task returns as soon as the load is submitted, with a job that a `JobTrigger` of the same namespace reports when the collection is loaded.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Load a collection with two replicas and warm it up.",
+          full = true,
+          code =
+              """
+                id: load_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: collection_load
+                    type: io.kestra.plugin.milvus.collections.LoadCollection
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    numReplicas: 2
+                    resourceGroups:
+                      - rg_search
+                    warmUp:
+                      numQueries: 200
+                      rounds: 2
+                      topK: 10
+              """)
+    })
+public class LoadCollection extends MilvusConnection
+    implements RunnableTask<LoadCollection.Output> {
+  private static final String REPLICA_NUMBER = "database.replica.number";
+  private static final String RESOURCE_GROUPS = "database.resource_groups";
+
+  @Schema(title = "The name of the collection to load.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(
+      title = "The number of replicas of the collection to load.",
+      description =
+          "If not set, the `database.replica.number` property of the database applies, or one replica.")
+  private Property<Integer> numReplicas;
+
+  @Schema(
+      title = "The resource groups in which the replicas are loaded.",
+      description =
+          "If not set, the `database.resource_groups` property of the database applies, or the default resource group.")
+  private Property<List<String>> resourceGroups;
+
+  @Schema(title = "The maximum time to wait for the collection to be loaded.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofMinutes(10));
+
+  @Schema(title = "The searches to send once the collection is loaded.")
+  private Property<WarmUp> warmUp;
+
+  @Schema(
+      title = "Whether to return as soon as the load is submitted.",
+      description =
+          "The load is then recorded as a job in the KV store of the namespace, and `timeout` is the time after which the job trigger reports it failed. It cannot be combined with `warmUp`.")
+  @Builder.Default
+  private Property<Boolean> async = Property.ofValue(false);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    Integer renderedNumReplicas = runContext.render(numReplicas).as(Integer.class).orElse(null);
+    List<String> renderedResourceGroups = runContext.render(resourceGroups).asList(String.class);
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofMinutes(10));
+
+    // the load request would otherwise ask for its own defaults, one replica in the default
+    // resource group, over the properties of the database
+    if (renderedNumReplicas == null || renderedResourceGroups.isEmpty()) {
+      String renderedDbName = runContext.render(getDbName()).as(String.class).orElse("default");
+      Map<String, String> properties =
+          client
+              .describeDatabase(DescribeDatabaseReq.builder().databaseName(renderedDbName).build())
+              .getProperties();
+      if (properties == null) {
+        properties = Map.of();
+      }
+      if (renderedNumReplicas == null && properties.containsKey(REPLICA_NUMBER)) {
+        renderedNumReplicas = Integer.valueOf(properties.get(REPLICA_NUMBER).trim());
+      }
+      if (renderedResourceGroups.isEmpty() && properties.containsKey(RESOURCE_GROUPS)) {
+        renderedResourceGroups =
+            Arrays.stream(properties.get(RESOURCE_GROUPS).split(","))
+                .map(String::trim)
+                .filter(group -> !group.isEmpty())
+                .toList();
+      }
+    }
+
+    var builder = LoadCollectionReq.builder().collectionName(renderedCollectionName).sync(false);
+    if (renderedNumReplicas != null) {
+      builder.numReplicas(renderedNumReplicas);
+    }
+    if (!renderedResourceGroups.isEmpty()) {
+      builder.resourceGroups(renderedResourceGroups);
+    }
+
+    boolean renderedAsync = runContext.render(async).as(Boolean.class).orElse(false);
+    WarmUp renderedWarmUp = runContext.render(warmUp).as(WarmUp.class).orElse(null);
+    if (renderedAsync && renderedWarmUp != null) {
+      throw new IllegalArgumentException("`warmUp` cannot be combined with `async`.");
+    }
+
+    runContext.logger().info("Collection {} is being loaded.", renderedCollectionName);
+
+    long start = System.nanoTime();
+    client.loadCollection(builder.build());
+    if (renderedAsync) {
+      MilvusJobs.Job job =
+          MilvusJobs.submit(
+              runContext,
+              this,
+              MilvusJobs.Job.builder()
+                  .type(MilvusJobs.Type.LOAD)
+                  .collectionName(renderedCollectionName),
+              renderedTimeout);
+      return Output.builder().collectionName(renderedCollectionName).jobId(job.getId()).build();
+    }
+    awaitLoadState(client, renderedCollectionName, true, renderedTimeout);
+    Duration loadDuration = Duration.ofNanos(System.nanoTime() - start);
+
+    runContext.metric(Timer.of("load.duration", loadDuration));
+    runContext
+        .logger()
+        .info("Collection {} was loaded in {}.", renderedCollectionName, loadDuration);
+
+    Output.OutputBuilder output =
+        Output.builder().collectionName(renderedCollectionName).loadDuration(loadDuration);
+
+    if (renderedWarmUp != null) {
+      warmUp(runContext, client, renderedCollectionName, renderedWarmUp, output);
+    }
+
+    return output.build();
+  }
+
+  /** Waits until the load state of the collection is the expected one. */
+  public static void awaitLoadState(
+      MilvusClientV2 client, String collectionName, boolean loaded, Duration timeout)
+      throws Exception {
+    Polling.await(
+        (loaded ? "the load of collection " : "the release of collection ") + collectionName,
+        timeout,
+        () ->
+            Boolean.valueOf(loaded)
+                    .equals(
+                        client.getLoadState(
+                            GetLoadStateReq.builder().collectionName(collectionName).build()))
+                ? Optional.of(true)
+                : Optional.empty());
+  }
+
+  private void warmUp(
+      RunContext runContext,
+      MilvusClientV2 client,
+      String collectionName,
+      WarmUp warmUp,
+      Output.OutputBuilder output)
+      throws Exception {
+    List<float[]> queries = new ArrayList<>();
+    if (warmUp.getVectors() != null) {
+      for (List<Float> vector : warmUp.getVectors()) {
+        queries.add(VectorMath.toFloatArray(vector));
+      }
+    } else {
+      QueryResp queryResp =
+          client.query(
+              QueryReq.builder()
+                  .collectionName(collectionName)
+                  .filter(warmUp.getFilter() == null ? "" : warmUp.getFilter())
+                  .outputFields(List.of(warmUp.getVectorFieldName()))
+                  .limit(warmUp.getNumQueries())
+                  .build());
+      for (QueryResp.QueryResult result : queryResp.getQueryResults()) {
+        queries.add(VectorMath.toFloatArray(result.getEntity().get(warmUp.getVectorFieldName())));
+      }
+    }
+
+    runContext
+        .logger()
+        .info(
+            "Warming up collection {} with {} rounds of {} searches.",
+            collectionName,
+            warmUp.getRounds(),
+            queries.size());
+
+    List<Duration> roundLatencies = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int round = 0; round < warmUp.getRounds(); round++) {
+      List<Long> latencies =
+          Parallel.map(
+              queries,
+              warmUp.getConcurrency(),
+              query -> {
+                var builder =
+                    SearchReq.builder()
+                        .collectionName(collectionName)
+                        .annsField(warmUp.getVectorFieldName())
+                        .data(List.of(new FloatVec(query)))
+                        .topK(warmUp.getTopK())
+                        .searchParams(
+                            warmUp.getSearchParams() == null
+                                ? Collections.emptyMap()
+                                : warmUp.getSearchParams());
+                if (warmUp.getFilter() != null) {
+                  builder.filter(warmUp.getFilter());
+                }
+
+                long searchStart = System.nanoTime();
+                client.search(builder.build());
+                return System.nanoTime() - searchStart;
+              });
+
+      Duration meanLatency =
+          Duration.ofNanos(
+              (long) latencies.stream().mapToLong(Long::longValue).average().orElse(0));
+      roundLatencies.add(meanLatency);
+      runContext.logger().info("Warm-up round {} mean latency: {}.", round + 1, meanLatency);
+    }
+
+    Duration warmUpDuration = Duration.ofNanos(System.nanoTime() - start);
+    runContext.metric(Timer.of("warmup.duration", warmUpDuration));
+
+    output
+        .warmUpQueries(queries.size() * warmUp.getRounds())
+        .warmUpDuration(warmUpDuration)
+        .warmUpLatencies(roundLatencies);
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class WarmUp {
+
+    @Schema(title = "The name of the vector field to search.")
+    @Builder.Default
+    private String vectorFieldName = "vector";
+
+    @Schema(
+        title = "The query vectors.",
+        description = "If not set, `numQueries` vectors are sampled from the collection.")
+    private List<List<Float>> vectors;
+
+    @Schema(title = "The number of vectors sampled from the collection when `vectors` is not set.")
+    @Builder.Default
+    private Integer numQueries = 100;
+
+    @Schema(title = "The number of times every query is sent.")
+    @Builder.Default
+    private Integer rounds = 1;
+
+    @Schema(title = "The maximum number of searches in flight.")
+    @Builder.Default
+    private Integer concurrency = 4;
+
+    @Schema(title = "The number of neighbours to retrieve for each query.")
+    @Builder.Default
+    private Integer topK = 10;
+
+    @Schema(title = "A boolean expression applied to every search.")
+    private String filter;
+
+    @Schema(title = "The search parameters, for example `ef` or `nprobe`.")
+    private Map<String, Object> searchParams;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The name of the loaded collection.")
+    private String collectionName;
+
+    @Schema(title = "The time spent loading the collection.")
+    private Duration loadDuration;
+
+    @Schema(title = "The identifier of the load job, in async mode.")
+    private String jobId;
+
+    @Schema(title = "The number of warm-up searches sent.")
+    private Integer warmUpQueries;
+
+    @Schema(title = "The time spent warming the collection up.")
+    private Duration warmUpDuration;
+
+    @Schema(title = "The mean search latency of each warm-up round.")
+    private List<Duration> warmUpLatencies;
+  }
+}
@@ -0,0 +1,458 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.SearchCache;
+import io.kestra.plugin.milvus.benchmark.RecallBenchmark;
+import io.milvus.param.MetricType;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.exception.MilvusClientException;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.collection.request.LoadCollectionReq;
+import io.milvus.v2.service.collection.request.ReleaseCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.utility.request.AlterAliasReq;
+import io.milvus.v2.service.utility.request.CreateAliasReq;
+import io.milvus.v2.service.utility.request.DescribeAliasReq;
+import io.milvus.v2.service.utility.request.FlushReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation rebuilds the collection behind an alias with new index parameters, then switches the alias.",
+    description =
+        """
+            A shadow collection is created with the settings of `CreateCollection`, the schema of the current collection unless `collectionSchema` is set, and the dynamic field and consistency level of the current collection.
+            The entities are copied in parallel lanes, flushed, indexed with `indexParams`, and the shadow collection is loaded; when `validation` is set, its recall against an exact search and its search latency are measured on a sample of its own vectors.
+            The alias is then switched to the shadow collection in a single atomic request, so that the queries made through the alias never see a partially built collection, and the previous collection is released, dropped or kept.
+            If a phase fails before the switch, the shadow collection is dropped and the alias left untouched.
+            Writers must pause during the reindex: the entities written to the current collection after they are copied would be lost at the switch. Before switching, the current collection is counted again with a strong consistency, and the reindex fails if its count changed; an update keeping the count is not detected.
+            The primary keys are copied as they are, so a current collection with an auto-generated primary key is refused unless `collectionSchema` sets a primary field that is not auto-generated, in which case the writers must then send the primary keys.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Rebuild the collection behind an alias with an HNSW index, validated before the switch.",
+          full = true,
+          code =
+              """
+                id: reindex_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: reindex
+                    type: io.kestra.plugin.milvus.collections.Reindex
+                    url: "http://localhost:19530"
+                    alias: "documents"
+                    indexParams:
+                      - fieldName: vector
+                        indexType: HNSW
+                        metricType: COSINE
+                        extraParams:
+                          M: 16
+                          efConstruction: 200
+                    validation:
+                      minRecall: 0.95
+                      maxP95Latency: PT0.05S
+                      searchParams:
+                        ef: 64
+                    previousCollection: DROP
+              """)
+    })
+public class Reindex extends MilvusConnection implements RunnableTask<Reindex.Output> {
+  /** The error code of Milvus for an alias that does not exist. */
+  private static final int ALIAS_NOT_FOUND = 1600;
+
+  @Schema(title = "The alias through which the collection is queried.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String alias;
+
+  @Schema(
+      title = "The collection to rebuild.",
+      description =
+          "Defaults to the collection of the alias; required when the alias does not exist yet, in which case it is created.")
+  private Property<String> sourceCollection;
+
+  @Schema(
+      title = "The name of the shadow collection.",
+      description = "Defaults to the alias followed by the current epoch second.")
+  private Property<String> shadowCollection;
+
+  @Schema(
+      title = "The schema of the shadow collection.",
+      description = "Defaults to the schema of the current collection.")
+  private Property<CreateCollectionReq.CollectionSchema> collectionSchema;
+
+  @Schema(title = "The indexes built on the shadow collection.")
+  @NotNull
+  private Property<List<IndexParam>> indexParams;
+
+  @Schema(title = "Extra properties of the shadow collection.")
+  private Property<Map<String, String>> properties;
+
+  @Schema(title = "The number of lanes reading the current collection in parallel.")
+  @Builder.Default
+  private Property<Integer> lanes = Property.ofValue(4);
+
+  @Schema(title = "The number of entities read and inserted per batch.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(title = "The number of concurrent insert requests sent to the shadow collection.")
+  @Builder.Default
+  private Property<Integer> writers = Property.ofValue(4);
+
+  @Schema(title = "The maximum number of batches buffered between the readers and the writers.")
+  @Builder.Default
+  private Property<Integer> bufferSize = Property.ofValue(16);
+
+  @Schema(
+      title = "The checks the shadow collection must pass before the alias is switched.",
+      description = "If not set, the alias is switched once the shadow collection is loaded.")
+  private Validation validation;
+
+  @Schema(title = "What happens to the previous collection once the alias is switched.")
+  @Builder.Default
+  private Property<PreviousCollection> previousCollection =
+      Property.ofValue(PreviousCollection.RELEASE);
+
+  @Schema(title = "The maximum time to wait for the index builds, and then for the load.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofMinutes(30));
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedAlias = runContext.render(alias);
+    String current = aliasedCollection(client, renderedAlias);
+    String previous = runContext.render(sourceCollection).as(String.class).orElse(current);
+    if (previous == null) {
+      throw new IllegalArgumentException(
+          "Alias " + renderedAlias + " does not exist, set `sourceCollection`.");
+    }
+    String shadow =
+        runContext
+            .render(shadowCollection)
+            .as(String.class)
+            .orElse(renderedAlias + "_" + Instant.now().getEpochSecond());
+    List<IndexParam> renderedIndexParams = runContext.render(indexParams).asList(IndexParam.class);
+    if (renderedIndexParams.isEmpty()) {
+      throw new IllegalArgumentException("At least one index is required.");
+    }
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofMinutes(30));
+
+    Map<String, Duration> phases = new LinkedHashMap<>();
+    long phaseStart = System.nanoTime();
+    DescribeCollectionResp previousDescription =
+        client.describeCollection(DescribeCollectionReq.builder().collectionName(previous).build());
+    CreateCollectionReq.CollectionSchema shadowSchema =
+        runContext
+            .render(collectionSchema)
+            .as(CreateCollectionReq.CollectionSchema.class)
+            .orElse(previousDescription.getCollectionSchema());
+    // new primary keys would break every reference to the entities held outside of Milvus
+    if (shadowSchema.getFieldSchemaList().stream()
+        .anyMatch(
+            field ->
+                Boolean.TRUE.equals(field.getIsPrimaryKey())
+                    && Boolean.TRUE.equals(field.getAutoID()))) {
+      throw new IllegalArgumentException(
+          "Collection "
+              + previous
+              + " has an auto-generated primary key that the copy would change, set a"
+              + " `collectionSchema` whose primary field is not auto-generated.");
+    }
+    CreateCollectionReq createCollectionReq =
+        CreateCollection.builder()
+            .collectionName(shadow)
+            .collectionSchema(Property.ofValue(shadowSchema))
+            .enableDynamicField(
+                Property.ofValue(Boolean.TRUE.equals(previousDescription.getEnableDynamicField())))
+            .consistencyLevel(
+                previousDescription.getConsistencyLevel() == null
+                    ? null
+                    : Property.ofValue(previousDescription.getConsistencyLevel()))
+            .properties(properties)
+            .build()
+            .createCollectionReq(runContext);
+    client.createCollection(createCollectionReq);
+    phaseStart = phase(runContext, phases, "create", phaseStart);
+
+    Output.OutputBuilder output =
+        Output.builder().alias(renderedAlias).previousCollection(previous).collectionName(shadow);
+    try {
+      CollectionCopier copier =
+          CollectionCopier.builder()
+              .source(client)
+              .sourceCollection(previous)
+              .target(client)
+              .targetCollection(shadow)
+              .lanes(runContext.render(lanes).as(Integer.class).orElse(4))
+              .batchSize(runContext.render(batchSize).as(Integer.class).orElse(1000))
+              .writers(runContext.render(writers).as(Integer.class).orElse(4))
+              .bufferSize(runContext.render(bufferSize).as(Integer.class).orElse(16))
+              .logger(runContext.logger())
+              .build();
+      long rows = copier.copy();
+      client.flush(FlushReq.builder().collectionNames(List.of(shadow)).build());
+      output.rows(rows);
+      runContext.metric(Counter.of("rows", rows, "collection", shadow));
+      phaseStart = phase(runContext, phases, "copy", phaseStart);
+
+      Indexes.create(client, shadow, renderedIndexParams, renderedTimeout);
+      phaseStart = phase(runContext, phases, "index", phaseStart);
+
+      client.loadCollection(LoadCollectionReq.builder().collectionName(shadow).sync(false).build());
+      LoadCollection.awaitLoadState(client, shadow, true, renderedTimeout);
+      phaseStart = phase(runContext, phases, "load", phaseStart);
+
+      if (validation != null) {
+        validate(runContext, client, shadow, renderedIndexParams, output);
+        phaseStart = phase(runContext, phases, "validate", phaseStart);
+      }
+
+      // the entities written since the copy would be lost by the switch
+      long sourceRows = copier.count();
+      if (sourceRows != rows) {
+        throw new IllegalStateException(
+            "Collection "
+                + previous
+                + " has "
+                + sourceRows
+                + " entities but "
+                + rows
+                + " were copied, it was written during the reindex.");
+      }
+    } catch (Exception e) {
+      runContext.logger().warn("Reindex of {} failed, dropping collection {}.", previous, shadow);
+      try {
+        client.dropCollection(DropCollectionReq.builder().collectionName(shadow).build());
+      } catch (Exception dropException) {
+        e.addSuppressed(dropException);
+      }
+      throw e;
+    }
+
+    if (current == null) {
+      client.createAlias(
+          CreateAliasReq.builder().collectionName(shadow).alias(renderedAlias).build());
+    } else {
+      client.alterAlias(
+          AlterAliasReq.builder().collectionName(shadow).alias(renderedAlias).build());
+    }
+    SearchCache.invalidate(
+        runContext, SearchCache.collectionId(runContext, this, client, renderedAlias));
+    phaseStart = phase(runContext, phases, "swap", phaseStart);
+
+    switch (runContext
+        .render(previousCollection)
+        .as(PreviousCollection.class)
+        .orElse(PreviousCollection.RELEASE)) {
+      case RELEASE ->
+          client.releaseCollection(
+              ReleaseCollectionReq.builder().collectionName(previous).build());
+      case DROP ->
+          client.dropCollection(DropCollectionReq.builder().collectionName(previous).build());
+      case KEEP -> {}
+    }
+    phase(runContext, phases, "retire", phaseStart);
+
+    runContext
+        .logger()
+        .info("Alias {} switched from collection {} to {}.", renderedAlias, previous, shadow);
+    return output.phases(phases).build();
+  }
+
+  /** The collection of the alias, or null if the alias does not exist. */
+  private static String aliasedCollection(MilvusClientV2 client, String alias) {
+    try {
+      return client
+          .describeAlias(DescribeAliasReq.builder().alias(alias).build())
+          .getCollectionName();
+    } catch (MilvusClientException e) {
+      // an unreachable server or a denied request must not be mistaken for a missing alias
+      if (e.getServerErrCode() == ALIAS_NOT_FOUND) {
+        return null;
+      }
+      throw e;
+    }
+  }
+
+  /** Measures the recall and latency of the shadow collection, failing if they are not met. */
+  private void validate(
+      RunContext runContext,
+      MilvusClientV2 client,
+      String collectionName,
+      List<IndexParam> indexParams,
+      Output.OutputBuilder output)
+      throws Exception {
+    IndexParam index =
+        validation.getVectorFieldName() == null
+            ? indexParams.getFirst()
+            : indexParams.stream()
+                .filter(param -> param.getFieldName().equals(validation.getVectorFieldName()))
+                .findFirst()
+                .orElseThrow(
+                    () ->
+                        new IllegalArgumentException(
+                            "No index on the field " + validation.getVectorFieldName() + "."));
+    MetricType metricType =
+        index.getMetricType() == null
+            ? MetricType.COSINE
+            : MetricType.valueOf(index.getMetricType().name());
+    String primaryField =
+        client
+            .describeCollection(
+                DescribeCollectionReq.builder().collectionName(collectionName).build())
+            .getPrimaryFieldName();
+
+    RecallBenchmark.Queries queries =
+        RecallBenchmark.sampleQueries(
+            client,
+            collectionName,
+            primaryField,
+            index.getFieldName(),
+            null,
+            validation.getNumQueries());
+    RecallBenchmark.GroundTruth groundTruth =
+        RecallBenchmark.groundTruth(
+            client,
+            collectionName,
+            primaryField,
+            index.getFieldName(),
+            null,
+            queries,
+            validation.getTopK(),
+            metricType,
+            Runtime.getRuntime().availableProcessors(),
+            4096);
+    RecallBenchmark.Measurement measurement =
+        RecallBenchmark.search(
+            client,
+            collectionName,
+            index.getFieldName(),
+            null,
+            queries,
+            validation.getTopK(),
+            validation.getSearchParams() == null ? Map.of() : validation.getSearchParams(),
+            groundTruth.neighbours());
+
+    Duration p95 = measurement.percentile(95);
+    output.recall(measurement.recall()).p95Latency(p95);
+    runContext
+        .logger()
+        .info(
+            "Collection {} has a recall@{} of {} and a p95 latency of {}.",
+            collectionName,
+            validation.getTopK(),
+            measurement.recall(),
+            p95);
+
+    if (validation.getMinRecall() != null && measurement.recall() < validation.getMinRecall()) {
+      throw new IllegalStateException(
+          "Recall " + measurement.recall() + " is below " + validation.getMinRecall() + ".");
+    }
+    if (validation.getMaxP95Latency() != null
+        && p95.compareTo(validation.getMaxP95Latency()) > 0) {
+      throw new IllegalStateException(
+          "p95 latency " + p95 + " is above " + validation.getMaxP95Latency() + ".");
+    }
+  }
+
+  private static long phase(
+      RunContext runContext, Map<String, Duration> phases, String name, long start) {
+    long now = System.nanoTime();
+    Duration duration = Duration.ofNanos(now - start);
+    phases.put(name, duration);
+    runContext.metric(Timer.of("reindex.duration", duration, "phase", name));
+    runContext.logger().debug("Reindex phase {} done in {}.", name, duration);
+    return now;
+  }
+
+  public enum PreviousCollection {
+    KEEP,
+    RELEASE,
+    DROP
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class Validation {
+
+    @Schema(
+        title = "The vector field searched.",
+        description = "Defaults to the field of the first index.")
+    private String vectorFieldName;
+
+    @Schema(title = "The number of vectors of the collection used as queries.")
+    @Builder.Default
+    private Integer numQueries = 100;
+
+    @Schema(title = "The number of neighbours compared for each query.")
+    @Builder.Default
+    private Integer topK = 10;
+
+    @Schema(title = "The search parameters of the index.")
+    private Map<String, Object> searchParams;
+
+    @Schema(title = "The minimal recall, between 0 and 1, against an exact search.")
+    private Double minRecall;
+
+    @Schema(title = "The maximal 95th percentile of the search latency.")
+    private Duration maxP95Latency;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The alias switched to the new collection.")
+    private String alias;
+
+    @Schema(title = "The collection the alias pointed to before the reindex.")
+    private String previousCollection;
+
+    @Schema(title = "The collection the alias now points to.")
+    private String collectionName;
+
+    @Schema(title = "The number of copied entities.")
+    private Long rows;
+
+    @Schema(title = "The recall measured by the validation.")
+    private Double recall;
+
+    @Schema(title = "The 95th percentile of the search latency measured by the validation.")
+    private Duration p95Latency;
+
+    @Schema(title = "The duration of each phase of the reindex.")
+    private Map<String, Duration> phases;
+  }
+}
@@ -0,0 +1,91 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.ReleaseCollectionReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation releases a collection from the memory of the query nodes.",
+    description = "The task waits until the collection is no longer reported as loaded.")
+@Plugin(
+    examples = {
+      @Example(
+          title = "Release a collection.",
+          full = true,
+          code =
+              """
+                id: release_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: collection_release
+                    type: io.kestra.plugin.milvus.collections.ReleaseCollection
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+              """)
+    })
+public class ReleaseCollection extends MilvusConnection
+    implements RunnableTask<ReleaseCollection.Output> {
+
+  @Schema(title = "The name of the collection to release.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(title = "The maximum time to wait for the collection to be released.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofMinutes(5));
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofMinutes(5));
+
+    long start = System.nanoTime();
+    client.releaseCollection(
+        ReleaseCollectionReq.builder().collectionName(renderedCollectionName).build());
+    LoadCollection.awaitLoadState(client, renderedCollectionName, false, renderedTimeout);
+    Duration releaseDuration = Duration.ofNanos(System.nanoTime() - start);
+
+    runContext.metric(Timer.of("release.duration", releaseDuration));
+    runContext
+        .logger()
+        .info("Collection {} was released in {}.", renderedCollectionName, releaseDuration);
+
+    return Output.builder()
+        .collectionName(renderedCollectionName)
+        .releaseDuration(releaseDuration)
+        .build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The name of the released collection.")
+    private String collectionName;
+
+    @Schema(title = "The time spent releasing the collection.")
+    private Duration releaseDuration;
+  }
+}
@@ -0,0 +1,128 @@
+package io.kestra.plugin.milvus.collections;
+
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.utility.request.GetPersistentSegmentInfoReq;
+import io.milvus.v2.service.utility.request.GetQuerySegmentInfoReq;
+import io.milvus.v2.service.utility.response.GetPersistentSegmentInfoResp;
+import io.milvus.v2.service.utility.response.GetQuerySegmentInfoResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+
+/** Segment-level statistics of collections. */
+public final class Segments {
+  private static final int NOMINAL_FIELD_BYTES = 256;
+  private static final int NOMINAL_ELEMENT_BYTES = 8;
+
+  private Segments() {}
+
+  /** The memory used by the loaded segments of the collection on the query nodes, in bytes. */
+  public static long loadedMemory(MilvusClientV2 client, String collectionName) {
+    long memory = 0;
+    for (GetQuerySegmentInfoResp.QuerySegmentInfo segment : loaded(client, collectionName)) {
+      memory += segment.getMemSize();
+    }
+    return memory;
+  }
+
+  /** The persisted and loaded segments of the collection. */
+  public static Stats stats(MilvusClientV2 client, String collectionName) {
+    GetPersistentSegmentInfoResp persistentResp =
+        client.getPersistentSegmentInfo(
+            GetPersistentSegmentInfoReq.builder().collectionName(collectionName).build());
+
+    long segments = 0;
+    long rows = 0;
+    long minRows = Long.MAX_VALUE;
+    long maxRows = 0;
+    for (GetPersistentSegmentInfoResp.PersistentSegmentInfo segment :
+        persistentResp.getSegmentInfos()) {
+      segments++;
+      rows += segment.getNumOfRows();
+      minRows = Math.min(minRows, segment.getNumOfRows());
+      maxRows = Math.max(maxRows, segment.getNumOfRows());
+    }
+
+    long loadedSegments = 0;
+    long memory = 0;
+    for (GetQuerySegmentInfoResp.QuerySegmentInfo segment : loaded(client, collectionName)) {
+      loadedSegments++;
+      memory += segment.getMemSize();
+    }
+
+    return Stats.builder()
+        .segments(segments)
+        .rows(rows)
+        .meanRowsPerSegment(segments == 0 ? 0 : rows / segments)
+        .minRowsPerSegment(segments == 0 ? 0 : minRows)
+        .maxRowsPerSegment(maxRows)
+        .loadedSegments(loadedSegments)
+        .loadedMemoryBytes(memory)
+        .build();
+  }
+
+  /**
+   * The estimated size of a row of the collection once loaded, without its index: vectors and
+   * fixed-width scalars are counted exactly, VarChar fields at their maximum length and JSON, array
+   * and sparse vector fields at a nominal size.
+   */
+  public static long estimatedRowBytes(DescribeCollectionResp description) {
+    long bytes = 0;
+    for (CreateCollectionReq.FieldSchema field :
+        description.getCollectionSchema().getFieldSchemaList()) {
+      int dimension = field.getDimension() == null ? 0 : field.getDimension();
+      bytes +=
+          switch (field.getDataType()) {
+            case Bool, Int8 -> 1;
+            case Int16 -> 2;
+            case Int32, Float -> 4;
+            case Int64, Double -> 8;
+            case VarChar, String -> field.getMaxLength() == null ? 64 : field.getMaxLength();
+            case FloatVector -> (long) dimension * Float.BYTES;
+            case Float16Vector, BFloat16Vector -> dimension * 2L;
+            case BinaryVector -> dimension / 8;
+            case Array ->
+                (field.getMaxCapacity() == null ? 16L : field.getMaxCapacity())
+                    * NOMINAL_ELEMENT_BYTES;
+            default -> NOMINAL_FIELD_BYTES;
+          };
+    }
+    return bytes;
+  }
+
+  private static Iterable<GetQuerySegmentInfoResp.QuerySegmentInfo> loaded(
+      MilvusClientV2 client, String collectionName) {
+    return client
+        .getQuerySegmentInfo(
+            GetQuerySegmentInfoReq.builder().collectionName(collectionName).build())
+        .getSegmentInfos();
+  }
+
+  @Getter
+  @Builder
+  public static class Stats {
+
+    @Schema(title = "The number of persisted segments.")
+    private Long segments;
+
+    @Schema(title = "The number of rows in the persisted segments.")
+    private Long rows;
+
+    @Schema(title = "The mean number of rows per persisted segment.")
+    private Long meanRowsPerSegment;
+
+    @Schema(title = "The number of rows of the smallest persisted segment.")
+    private Long minRowsPerSegment;
+
+    @Schema(title = "The number of rows of the largest persisted segment.")
+    private Long maxRowsPerSegment;
+
+    @Schema(title = "The number of segments loaded on the query nodes.")
+    private Long loadedSegments;
+
+    @Schema(title = "The memory used by the loaded segments on the query nodes, in bytes.")
+    private Long loadedMemoryBytes;
+  }
+}
@@ -0,0 +1,203 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.plugin.milvus.Pipeline;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decodes a file of one value per line, such as JSON Lines or the Ion files written by Kestra, on
+ * several threads. The file is split into chunks of about {@code chunkSize} bytes that end at a
+ * line break, and every chunk is read with a positional read and decoded on its own, so the
+ * decoders share nothing but the file.
+ */
+final class ChunkedLines<T> {
+  static final long DEFAULT_CHUNK_SIZE = 8L << 20;
+
+  private final Path path;
+  private final long[] offsets;
+  private final int batchSize;
+  private final Decoder<T> decoder;
+  private final AtomicLong decodedBytes = new AtomicLong();
+  private final AtomicLong decodeNanos = new AtomicLong();
+
+  ChunkedLines(Path path, long chunkSize, int batchSize, Decoder<T> decoder) throws IOException {
+    this.path = path;
+    this.batchSize = batchSize;
+    this.decoder = decoder;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      this.offsets = boundaries(channel, chunkSize);
+    }
+  }
+
+  /** The start of every chunk, followed by the size of the file. */
+  static long[] boundaries(FileChannel channel, long chunkSize) throws IOException {
+    long size = channel.size();
+    List<Long> offsets = new ArrayList<>();
+    offsets.add(0L);
+
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+    long position = chunkSize;
+    while (position < size) {
+      long boundary = nextLine(channel, position, buffer);
+      if (boundary < 0 || boundary >= size) {
+        break;
+      }
+      offsets.add(boundary);
+      position = boundary + chunkSize;
+    }
+    offsets.add(size);
+
+    return offsets.stream().mapToLong(Long::longValue).toArray();
+  }
+
+  /** The position right after the first line break at or after the position, or -1. */
+  private static long nextLine(FileChannel channel, long position, ByteBuffer buffer)
+      throws IOException {
+    while (true) {
+      buffer.clear();
+      int read = channel.read(buffer, position);
+      if (read <= 0) {
+        return -1;
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+  }
+
+  int chunks() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * A single source handing the batches over in the order of the file: up to {@code threads}
+   * chunks are decoded ahead of the one being handed over, on a fork-join pool.
+   */
+  Pipeline.Source<List<T>> ordered(int threads) {
+    return sink -> {
+      ExecutorService executor = new ForkJoinPool(Math.max(1, threads));
+      Deque<Future<List<T>>> window = new ArrayDeque<>();
+      try {
+        int next = 0;
+        List<T> batch = new ArrayList<>(batchSize);
+        for (int chunk = 0; chunk < chunks(); chunk++) {
+          while (next < chunks() && window.size() <= threads) {
+            int submitted = next++;
+            window.add(executor.submit(() -> decode(submitted)));
+          }
+          for (T value : get(window.removeFirst())) {
+            batch.add(value);
+            if (batch.size() == batchSize) {
+              sink.accept(batch);
+              batch = new ArrayList<>(batchSize);
+            }
+          }
+        }
+        if (!batch.isEmpty()) {
+          sink.accept(batch);
+        }
+      } finally {
+        window.forEach(future -> future.cancel(true));
+        executor.shutdownNow();
+      }
+    };
+  }
+
+  /** One source per thread, each of them taking the next chunk to decode when it is done. */
+  List<Pipeline.Source<List<T>>> unordered(int threads) {
+    AtomicInteger next = new AtomicInteger();
+    int decoders = Math.max(1, Math.min(threads, chunks()));
+    List<Pipeline.Source<List<T>>> sources = new ArrayList<>(decoders);
+    for (int i = 0; i < decoders; i++) {
+      sources.add(
+          sink -> {
+            List<T> batch = new ArrayList<>(batchSize);
+            for (int chunk = next.getAndIncrement();
+                chunk < chunks();
+                chunk = next.getAndIncrement()) {
+              for (T value : decode(chunk)) {
+                batch.add(value);
+                if (batch.size() == batchSize) {
+                  sink.accept(batch);
+                  batch = new ArrayList<>(batchSize);
+                }
+              }
+            }
+            if (!batch.isEmpty()) {
+              sink.accept(batch);
+            }
+          });
+    }
+    return sources;
+  }
+
+  /** The number of bytes decoded so far. */
+  long decodedBytes() {
+    return decodedBytes.get();
+  }
+
+  /** The time spent decoding so far, summed over the threads. */
+  Duration decodeDuration() {
+    return Duration.ofNanos(decodeNanos.get());
+  }
+
+  List<T> decode(int chunk) throws Exception {
+    long start = System.nanoTime();
+    ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(offsets[chunk + 1] - offsets[chunk]));
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, offsets[chunk] + buffer.position()) < 0) {
+          break;
+        }
+      }
+    }
+
+    byte[] bytes = buffer.array();
+    List<T> values = new ArrayList<>();
+    int from = 0;
+    for (int i = 0; i <= bytes.length; i++) {
+      if (i == bytes.length || bytes[i] == '\n') {
+        String line = new String(bytes, from, i - from, StandardCharsets.UTF_8);
+        if (!line.isBlank()) {
+          values.add(decoder.decode(line));
+        }
+        from = i + 1;
+      }
+    }
+
+    decodedBytes.addAndGet(bytes.length);
+    decodeNanos.addAndGet(System.nanoTime() - start);
+    return values;
+  }
+
+  private static <V> V get(Future<V> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception cause ? cause : e;
+    }
+  }
+
+  @FunctionalInterface
+  interface Decoder<T> {
+    T decode(String line) throws Exception;
+  }
+}
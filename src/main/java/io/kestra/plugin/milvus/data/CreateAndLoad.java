@@ -0,0 +1,317 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.gson.JsonObject;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.Pipeline;
+import io.kestra.plugin.milvus.SearchCache;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.service.collection.request.AddFieldReq;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.vector.request.InsertReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation creates a collection from the entities of a file, then inserts them.",
+    description =
+        """
+            The first `sampleSize` entities of the file are read to infer the fields of the collection: booleans, integers, doubles, strings as VarChar fields of `maxLength` bytes, objects as JSON fields, lists of booleans, numbers or strings as arrays, other lists as JSON fields, and lists of decimal numbers of a constant length as float vector fields of that dimension.
+            The primary key is `primaryFieldName`, or a field named `id` holding integers or strings, or else an auto-generated Int64 `id` field.
+            The collection and an index per vector field are created, and the collection loaded, in a single request; the sampled entities and the rest of the file are then inserted as the file is read, without reading it twice.
+            The dynamic field is enabled by default, so that fields first seen after the sample are kept; a value longer than its VarChar field or of another type than the sampled ones fails the insert.
+            ION and JSON Lines files are supported.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Create a collection from an uploaded dataset and load it.",
+          full = true,
+          code =
+              """
+                id: milvus_create_and_load
+                namespace: company.team
+
+                inputs:
+                  - id: dataset
+                    type: FILE
+
+                tasks:
+                  - id: create_and_load
+                    type: io.kestra.plugin.milvus.data.CreateAndLoad
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    from: "{{ inputs.dataset }}"
+                    format: JSONL
+                    sampleSize: 1000
+                    metricType: COSINE
+              """)
+    })
+public class CreateAndLoad extends MilvusConnection implements RunnableTask<CreateAndLoad.Output> {
+
+  @Schema(title = "The name of the collection to create.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(title = "The URI of the file to insert, in Kestra internal storage.")
+  @NotNull
+  private Property<String> from;
+
+  @Schema(title = "The format of the file.", description = "Only ION and JSONL are supported.")
+  @Builder.Default
+  private Property<FileFormat> format = Property.ofValue(FileFormat.ION);
+
+  @Schema(title = "The number of entities read to infer the fields of the collection.")
+  @Builder.Default
+  private Property<Integer> sampleSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "The name of the primary field.",
+      description =
+          "If not set, a field named `id` holding integers or strings is used, otherwise an auto-generated Int64 `id` field is added.")
+  private Property<String> primaryFieldName;
+
+  @Schema(
+      title = "The maximum length in bytes of the VarChar fields and array elements.",
+      description =
+          "Every inferred VarChar field gets this limit rather than one derived from the sample, as entities after the sample may hold longer values. Milvus stores VarChar values at their own length, so the default of 65535, the largest allowed, costs nothing; a lower limit rejects longer values at insert.")
+  @Builder.Default
+  private Property<Integer> maxLength = Property.ofValue(SchemaInference.MAX_VARCHAR_LENGTH);
+
+  @Schema(title = "The type of the index of the vector fields.")
+  @Builder.Default
+  private Property<IndexParam.IndexType> indexType =
+      Property.ofValue(IndexParam.IndexType.AUTOINDEX);
+
+  @Schema(title = "The metric type of the index of the vector fields.")
+  @Builder.Default
+  private Property<IndexParam.MetricType> metricType =
+      Property.ofValue(IndexParam.MetricType.COSINE);
+
+  @Schema(title = "Whether the fields that are not in the inferred schema are kept.")
+  @Builder.Default
+  private Property<Boolean> enableDynamicField = Property.ofValue(true);
+
+  @Schema(title = "The number of entities sent per insert request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(title = "The number of concurrent insert requests.")
+  @Builder.Default
+  private Property<Integer> writers = Property.ofValue(4);
+
+  @Schema(
+      title = "The maximum number of decoded batches waiting for an insert request.",
+      description = "Reading pauses when the buffer is full, bounding the memory used.")
+  @Builder.Default
+  private Property<Integer> bufferSize = Property.ofValue(16);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    FileFormat renderedFormat =
+        runContext.render(format).as(FileFormat.class).orElse(FileFormat.ION);
+    if (renderedFormat == FileFormat.PARQUET) {
+      throw new IllegalArgumentException(
+          "Schema inference only supports ION and JSONL files, use Insert for Parquet exports.");
+    }
+    int renderedSampleSize = runContext.render(sampleSize).as(Integer.class).orElse(1000);
+    int renderedBatchSize = runContext.render(batchSize).as(Integer.class).orElse(1000);
+    IndexParam.IndexType renderedIndexType =
+        runContext
+            .render(indexType)
+            .as(IndexParam.IndexType.class)
+            .orElse(IndexParam.IndexType.AUTOINDEX);
+    IndexParam.MetricType renderedMetricType =
+        runContext
+            .render(metricType)
+            .as(IndexParam.MetricType.class)
+            .orElse(IndexParam.MetricType.COSINE);
+
+    AtomicLong rows = new AtomicLong();
+    SchemaInference.Inferred inferred;
+    long start = System.nanoTime();
+    URI renderedFrom = URI.create(runContext.render(from).as(String.class).orElseThrow());
+    try (InputStream input = runContext.storage().getFile(renderedFrom);
+        BufferedReader reader =
+            new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), RowWriter.BUFFER_SIZE)) {
+      Iterator<?> values = Insert.values(reader, renderedFormat);
+
+      // the sample is kept to be inserted first, the iterator then resumes after it
+      List<Map<String, Object>> sample = new ArrayList<>(renderedSampleSize);
+      while (sample.size() < renderedSampleSize && values.hasNext()) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> row = (Map<String, Object>) values.next();
+        sample.add(row);
+      }
+      if (sample.isEmpty()) {
+        throw new IllegalArgumentException("The file " + renderedFrom + " has no entities.");
+      }
+
+      inferred =
+          SchemaInference.infer(
+              sample,
+              runContext.render(primaryFieldName).as(String.class).orElse(null),
+              runContext
+                  .render(maxLength)
+                  .as(Integer.class)
+                  .orElse(SchemaInference.MAX_VARCHAR_LENGTH));
+      CreateCollectionReq.CollectionSchema schema =
+          CreateCollectionReq.CollectionSchema.builder()
+              .enableDynamicField(
+                  runContext.render(enableDynamicField).as(Boolean.class).orElse(true))
+              .build();
+      inferred.fields().forEach(schema::addField);
+      List<IndexParam> indexParams =
+          inferred.vectorFields().stream()
+              .map(
+                  field ->
+                      IndexParam.builder()
+                          .fieldName(field)
+                          .indexType(renderedIndexType)
+                          .metricType(renderedMetricType)
+                          .build())
+              .toList();
+
+      client.createCollection(
+          CreateCollectionReq.builder()
+              .collectionName(renderedCollectionName)
+              .collectionSchema(schema)
+              .indexParams(indexParams)
+              .build());
+      runContext
+          .logger()
+          .info(
+              "Collection {} created with the fields {} inferred from {} entities.",
+              renderedCollectionName,
+              fieldTypes(inferred),
+              sample.size());
+
+      Insert.Target target =
+          Insert.Target.of(
+              client.describeCollection(
+                  DescribeCollectionReq.builder().collectionName(renderedCollectionName).build()));
+      Pipeline.run(
+          List.of(
+              sink -> {
+                List<JsonObject> batch = new ArrayList<>(renderedBatchSize);
+                for (Map<String, Object> row : sample) {
+                  batch.add(target.toRow(row));
+                  if (batch.size() == renderedBatchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>(renderedBatchSize);
+                  }
+                }
+                sample.clear();
+                while (values.hasNext()) {
+                  batch.add(target.toRow(values.next()));
+                  if (batch.size() == renderedBatchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>(renderedBatchSize);
+                  }
+                }
+                if (!batch.isEmpty()) {
+                  sink.accept(batch);
+                }
+              }),
+          runContext.render(writers).as(Integer.class).orElse(4),
+          runContext.render(bufferSize).as(Integer.class).orElse(16),
+          batch -> {
+            client.insert(
+                InsertReq.builder().collectionName(renderedCollectionName).data(batch).build());
+            rows.addAndGet(batch.size());
+          });
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    SearchCache.invalidate(
+        runContext, SearchCache.collectionId(runContext, this, client, renderedCollectionName));
+
+    runContext
+        .logger()
+        .info(
+            "{} entities inserted into collection {} in {}.",
+            rows.get(),
+            renderedCollectionName,
+            duration);
+    runContext.metric(Counter.of("rows", rows.get(), "collection", renderedCollectionName));
+    runContext.metric(
+        Timer.of("insert.duration", duration, "collection", renderedCollectionName));
+
+    return Output.builder()
+        .collectionName(renderedCollectionName)
+        .primaryFieldName(inferred.primaryField())
+        .fields(fieldTypes(inferred))
+        .rows(rows.get())
+        .duration(duration)
+        .build();
+  }
+
+  private static Map<String, String> fieldTypes(SchemaInference.Inferred inferred) {
+    Map<String, String> types = new LinkedHashMap<>();
+    for (AddFieldReq field : inferred.fields()) {
+      String type =
+          switch (field.getDataType()) {
+            case FloatVector -> "FloatVector(" + field.getDimension() + ")";
+            case VarChar -> "VarChar(" + field.getMaxLength() + ")";
+            case Array ->
+                "Array<" + field.getElementType() + ">(" + field.getMaxCapacity() + ")";
+            default -> field.getDataType().name();
+          };
+      types.put(field.getFieldName(), type);
+    }
+    return types;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The name of the created collection.")
+    private String collectionName;
+
+    @Schema(title = "The name of the primary field of the collection.")
+    private String primaryFieldName;
+
+    @Schema(title = "The inferred type of each field of the collection.")
+    private Map<String, String> fields;
+
+    @Schema(title = "The number of inserted entities.")
+    private Long rows;
+
+    @Schema(title = "The time spent creating the collection and inserting the entities.")
+    private Duration duration;
+  }
+}
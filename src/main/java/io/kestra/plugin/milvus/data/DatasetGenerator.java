@@ -0,0 +1,277 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.plugin.milvus.Pipeline;
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.v2.common.DataType;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates the rows of a synthetic dataset. Every row only depends on the seed and on its index,
+ * so the same dataset comes out whatever the number of threads and the batch size, and any range of
+ * rows can be generated on its own. The random numbers come from a SplitMix64 generator reseeded
+ * in place for every row.
+ *
+ * <p>The rows are maps of boxed values, as taken by the file writers, and are converted again to
+ * JSON by {@link Insert.Target#toRow} when they are inserted.
+ */
+final class DatasetGenerator {
+  private static final long CENTROIDS_SALT = 0x5DEECE66DL;
+
+  private final long seed;
+  private final long rows;
+  private final int dimension;
+  private final GenerateDataset.Distribution distribution;
+  private final double clusterSpread;
+  private final String primaryFieldName;
+  private final String vectorFieldName;
+  private final List<GenerateDataset.ScalarField> scalarFields;
+  private final GenerateDataset.SparseVector sparseVector;
+  private final float[][] centroids;
+
+  DatasetGenerator(
+      long seed,
+      long rows,
+      int dimension,
+      GenerateDataset.Distribution distribution,
+      int clusters,
+      double clusterSpread,
+      String primaryFieldName,
+      String vectorFieldName,
+      List<GenerateDataset.ScalarField> scalarFields,
+      GenerateDataset.SparseVector sparseVector) {
+    this.seed = seed;
+    this.rows = rows;
+    this.dimension = dimension;
+    this.distribution = distribution;
+    this.clusterSpread = clusterSpread;
+    this.primaryFieldName = primaryFieldName;
+    this.vectorFieldName = vectorFieldName;
+    this.scalarFields = scalarFields;
+    this.sparseVector = sparseVector;
+
+    SplitMix random = new SplitMix();
+    random.seed(SplitMix.mix(seed ^ CENTROIDS_SALT));
+    this.centroids =
+        new float[distribution == GenerateDataset.Distribution.GAUSSIAN_CLUSTERS ? clusters : 0]
+            [dimension];
+    for (float[] centroid : centroids) {
+      for (int i = 0; i < dimension; i++) {
+        centroid[i] = random.nextFloat() * 2 - 1;
+      }
+    }
+  }
+
+  /** The rows from index {@code from}, at most {@code count} of them. */
+  List<Map<String, Object>> rows(long from, int count) {
+    int size = (int) Math.max(0, Math.min(count, rows - from));
+    List<Map<String, Object>> batch = new ArrayList<>(size);
+    SplitMix random = new SplitMix();
+    for (long row = from; row < from + size; row++) {
+      batch.add(row(row, random));
+    }
+    return batch;
+  }
+
+  Map<String, Object> row(long index, SplitMix random) {
+    random.seed(SplitMix.mix(SplitMix.mix(index) ^ seed));
+
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put(primaryFieldName, index);
+    row.put(vectorFieldName, vector(random));
+    for (GenerateDataset.ScalarField field : scalarFields) {
+      row.put(field.getName(), scalar(random, field));
+    }
+    if (sparseVector != null) {
+      row.put(sparseVector.getFieldName(), sparse(random));
+    }
+    return row;
+  }
+
+  /** The Parquet columns of the rows, for the files written by the task. */
+  List<ParquetRows.Column> columns() {
+    List<ParquetRows.Column> columns = new ArrayList<>();
+    columns.add(new ParquetRows.Column(primaryFieldName, DataType.Int64, null, 0, false));
+    columns.add(
+        new ParquetRows.Column(vectorFieldName, DataType.FloatVector, null, dimension, false));
+    for (GenerateDataset.ScalarField field : scalarFields) {
+      columns.add(new ParquetRows.Column(field.getName(), field.getType(), null, 0, false));
+    }
+    if (sparseVector != null) {
+      columns.add(
+          new ParquetRows.Column(
+              sparseVector.getFieldName(), DataType.SparseFloatVector, null, 0, false));
+    }
+    return columns;
+  }
+
+  /**
+   * A single source handing the batches over in the order of the rows: up to {@code threads}
+   * batches are generated ahead of the one being handed over, on a fork-join pool.
+   */
+  Pipeline.Source<List<Map<String, Object>>> ordered(int threads, int batchSize) {
+    long batches = (rows + batchSize - 1) / batchSize;
+    return sink -> {
+      ExecutorService executor = new ForkJoinPool(Math.max(1, threads));
+      Deque<Future<List<Map<String, Object>>>> window = new ArrayDeque<>();
+      try {
+        long next = 0;
+        for (long batch = 0; batch < batches; batch++) {
+          while (next < batches && window.size() <= threads) {
+            long from = next++ * batchSize;
+            window.add(executor.submit(() -> rows(from, batchSize)));
+          }
+          try {
+            sink.accept(window.removeFirst().get());
+          } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+          }
+        }
+      } finally {
+        window.forEach(future -> future.cancel(true));
+        executor.shutdownNow();
+      }
+    };
+  }
+
+  /** One source per thread, each of them taking the next batch to generate when it is done. */
+  List<Pipeline.Source<List<Map<String, Object>>>> unordered(int threads, int batchSize) {
+    AtomicLong next = new AtomicLong();
+    List<Pipeline.Source<List<Map<String, Object>>>> sources = new ArrayList<>();
+    for (int i = 0; i < Math.max(1, threads); i++) {
+      sources.add(
+          sink -> {
+            for (long from = next.getAndAdd(batchSize);
+                from < rows;
+                from = next.getAndAdd(batchSize)) {
+              sink.accept(rows(from, batchSize));
+            }
+          });
+    }
+    return sources;
+  }
+
+  private float[] vector(SplitMix random) {
+    float[] vector = new float[dimension];
+    switch (distribution) {
+      case UNIFORM -> {
+        for (int i = 0; i < dimension; i++) {
+          vector[i] = random.nextFloat() * 2 - 1;
+        }
+      }
+      case GAUSSIAN_CLUSTERS -> {
+        float[] centroid = centroids[random.nextInt(centroids.length)];
+        for (int i = 0; i < dimension; i++) {
+          vector[i] = (float) (centroid[i] + random.nextGaussian() * clusterSpread);
+        }
+      }
+      case NORMALIZED -> {
+        // a gaussian vector has no preferred direction, so its projection on the unit sphere is
+        // uniformly distributed on it
+        for (int i = 0; i < dimension; i++) {
+          vector[i] = (float) random.nextGaussian();
+        }
+        VectorMath.normalize(vector);
+      }
+    }
+    return vector;
+  }
+
+  private static Object scalar(SplitMix random, GenerateDataset.ScalarField field) {
+    Integer cardinality = field.getCardinality();
+    long value = cardinality == null ? random.nextLong() : random.nextInt(cardinality);
+    return switch (field.getType()) {
+      case Bool -> (value & 1) == 1;
+      case Int8 -> (byte) value;
+      case Int16 -> (short) value;
+      case Int32 -> (int) value;
+      case Int64 -> value;
+      case Float -> cardinality == null ? random.nextFloat() : (float) value;
+      case Double -> cardinality == null ? random.nextDouble() : (double) value;
+      case VarChar -> field.getName() + "_" + Long.toHexString(value);
+      default ->
+          throw new IllegalArgumentException(
+              "Unsupported type " + field.getType() + " of scalar field " + field.getName());
+    };
+  }
+
+  /** A sparse vector with distinct indices, and weights in (0, 1]. */
+  private TreeMap<Long, Float> sparse(SplitMix random) {
+    TreeMap<Long, Float> vector = new TreeMap<>();
+    int nonZeros = Math.min(sparseVector.getNonZeros(), sparseVector.getDimension());
+    while (vector.size() < nonZeros) {
+      vector.put((long) random.nextInt(sparseVector.getDimension()), 1 - random.nextFloat());
+    }
+    return vector;
+  }
+
+  /** SplitMix64, the generator of {@link java.util.SplittableRandom}, reseedable in place. */
+  static final class SplitMix {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+    private double spareGaussian;
+    private boolean hasSpareGaussian;
+
+    void seed(long seed) {
+      state = seed;
+      hasSpareGaussian = false;
+    }
+
+    long nextLong() {
+      return mix(state += GAMMA);
+    }
+
+    /** A uniform integer in [0, bound). */
+    int nextInt(int bound) {
+      return (int) (((nextLong() >>> 32) * bound) >>> 32);
+    }
+
+    /** A uniform float in [0, 1). */
+    float nextFloat() {
+      return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+
+    /** A uniform double in [0, 1). */
+    double nextDouble() {
+      return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /** A standard normal value, the Marsaglia polar method giving them two at a time. */
+    double nextGaussian() {
+      if (hasSpareGaussian) {
+        hasSpareGaussian = false;
+        return spareGaussian;
+      }
+      double u;
+      double v;
+      double s;
+      do {
+        u = nextDouble() * 2 - 1;
+        v = nextDouble() * 2 - 1;
+        s = u * u + v * v;
+      } while (s >= 1 || s == 0);
+      double scale = Math.sqrt(-2 * Math.log(s) / s);
+      spareGaussian = v * scale;
+      hasSpareGaussian = true;
+      return u * scale;
+    }
+
+    /** The variant 13 of the MurmurHash3 finalizer by Stafford, as used by SplitMix64. */
+    static long mix(long z) {
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.SearchCache;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.vector.request.DeleteReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation deletes the entities of a collection by primary key or by filter.",
+    description =
+        """
+            Either `ids` or `filter` must be set; the ids are deleted in batches of `batchSize`.
+            Large value lists are better bound with `filterTemplateValues` than rendered into the filter: Milvus parses the template once and the values are sent as they are.
+            The search results cached for the collection are invalidated.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Delete the documents of a list of tenants.",
+          full = true,
+          code =
+              """
+                id: delete_milvus_entities
+                namespace: company.team
+
+                tasks:
+                  - id: delete
+                    type: io.kestra.plugin.milvus.data.Delete
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    filter: "tenant_id in {tenants}"
+                    filterTemplateValues:
+                      tenants: [12, 27, 31, 48]
+              """)
+    })
+public class Delete extends MilvusConnection implements RunnableTask<Delete.Output> {
+
+  @Schema(title = "The name of the collection to delete the entities from.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(title = "The name of the partition to delete the entities from.")
+  private Property<String> partitionName;
+
+  @Schema(title = "The primary keys of the entities to delete.")
+  private Property<List<Object>> ids;
+
+  @Schema(title = "A boolean expression selecting the entities to delete.")
+  private Property<String> filter;
+
+  @Schema(
+      title = "The values of the placeholders of the filter.",
+      description =
+          "The filter is then a template such as `tenant_id in {tenants}`, with a `tenants` list as value.")
+  private Property<Map<String, Object>> filterTemplateValues;
+
+  @Schema(title = "The number of primary keys sent per delete request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    String renderedPartitionName = runContext.render(partitionName).as(String.class).orElse(null);
+    List<Object> renderedIds = runContext.render(ids).asList(Object.class);
+    String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+    Map<String, Object> renderedFilterTemplateValues =
+        runContext.render(filterTemplateValues).asMap(String.class, Object.class);
+    if (renderedIds.isEmpty() == (renderedFilter == null)) {
+      throw new IllegalArgumentException("Exactly one of `ids` or `filter` is required.");
+    }
+    if (!renderedFilterTemplateValues.isEmpty() && renderedFilter == null) {
+      throw new IllegalArgumentException("`filterTemplateValues` requires a `filter`.");
+    }
+
+    long deleted = 0;
+    long start = System.nanoTime();
+    if (renderedFilter != null) {
+      var request =
+          DeleteReq.builder().collectionName(renderedCollectionName).filter(renderedFilter);
+      if (!renderedFilterTemplateValues.isEmpty()) {
+        request.filterTemplateValues(renderedFilterTemplateValues);
+      }
+      if (renderedPartitionName != null) {
+        request.partitionName(renderedPartitionName);
+      }
+      deleted = client.delete(request.build()).getDeleteCnt();
+    } else {
+      int renderedBatchSize = runContext.render(batchSize).as(Integer.class).orElse(1000);
+      for (int from = 0; from < renderedIds.size(); from += renderedBatchSize) {
+        int to = Math.min(from + renderedBatchSize, renderedIds.size());
+        var request =
+            DeleteReq.builder()
+                .collectionName(renderedCollectionName)
+                .ids(renderedIds.subList(from, to));
+        if (renderedPartitionName != null) {
+          request.partitionName(renderedPartitionName);
+        }
+        deleted += client.delete(request.build()).getDeleteCnt();
+      }
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    SearchCache.invalidate(
+        runContext, SearchCache.collectionId(runContext, this, client, renderedCollectionName));
+
+    runContext
+        .logger()
+        .info(
+            "{} entities deleted from collection {} in {}.",
+            deleted,
+            renderedCollectionName,
+            duration);
+    runContext.metric(Counter.of("deleted", deleted, "collection", renderedCollectionName));
+    runContext.metric(
+        Timer.of("delete.duration", duration, "collection", renderedCollectionName));
+
+    return Output.builder().deleteCount(deleted).build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The number of deleted entities.")
+    private Long deleteCount;
+  }
+}
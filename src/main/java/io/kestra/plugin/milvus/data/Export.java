@@ -0,0 +1,207 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.milvus.orm.iterator.QueryIterator;
+import io.milvus.response.QueryResultsWrapper;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.vector.request.QueryIteratorReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation exports the entities of a collection to a file in Kestra internal storage.",
+    description =
+        """
+            The collection is read with a query iterator, so that collections of any size can be exported with a bounded memory.
+            ION and JSONL write every float of a vector as text; use PARQUET for snapshots of collections with vectors, where scalar fields are native columns and vectors are stored as raw little-endian binary of fixed length.
+            The Parquet file keeps the Milvus type of each field in its metadata, so that it can be restored with the Insert task.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Snapshot a collection to Parquet.",
+          full = true,
+          code =
+              """
+                id: export_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.milvus.data.Export
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    format: PARQUET
+              """),
+      @Example(
+          title = "Export the scalar fields of a subset of a collection as JSON Lines.",
+          full = true,
+          code =
+              """
+                id: export_milvus_entities
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.milvus.data.Export
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    filter: "year == 2024"
+                    outputFields:
+                      - id
+                      - title
+                    format: JSONL
+              """)
+    })
+public class Export extends MilvusConnection implements RunnableTask<Export.Output> {
+
+  @Schema(title = "The name of the collection to export.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(title = "A boolean expression selecting the entities to export.")
+  private Property<String> filter;
+
+  @Schema(
+      title = "The fields to export.",
+      description = "The value defaults to every field, vectors and dynamic fields included.")
+  private Property<List<String>> outputFields;
+
+  @Schema(title = "The format of the exported file.")
+  @Builder.Default
+  private Property<FileFormat> format = Property.ofValue(FileFormat.ION);
+
+  @Schema(title = "The number of entities read per request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "The size of a Parquet row group, in bytes.",
+      description =
+          """
+              A row group is buffered in memory before being written, so this bounds the memory used by the export.
+              Larger row groups compress better and are read with fewer seeks. The value defaults to 64 MiB.
+          """)
+  @Builder.Default
+  private Property<Long> rowGroupSize = Property.ofValue(64L * 1024 * 1024);
+
+  @Schema(title = "The compression codec of the Parquet file.")
+  @Builder.Default
+  private Property<CompressionCodecName> compression =
+      Property.ofValue(CompressionCodecName.SNAPPY);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    FileFormat renderedFormat =
+        runContext.render(format).as(FileFormat.class).orElse(FileFormat.ION);
+    List<String> renderedOutputFields = runContext.render(outputFields).asList(String.class);
+
+    List<ParquetRows.Column> columns =
+        ParquetRows.columns(
+            client.describeCollection(
+                DescribeCollectionReq.builder().collectionName(renderedCollectionName).build()));
+    if (!renderedOutputFields.isEmpty()) {
+      columns =
+          columns.stream()
+              .filter(column -> renderedOutputFields.contains(column.name()))
+              .toList();
+    }
+
+    var request =
+        QueryIteratorReq.builder()
+            .collectionName(renderedCollectionName)
+            .outputFields(renderedOutputFields.isEmpty() ? List.of("*") : renderedOutputFields)
+            .batchSize(runContext.render(batchSize).as(Integer.class).orElse(1000));
+    String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+    if (renderedFilter != null) {
+      request.expr(renderedFilter);
+    }
+
+    Path path = runContext.workingDir().createTempFile(renderedFormat.extension());
+    long rows = 0;
+    long start = System.nanoTime();
+
+    QueryIterator iterator = client.queryIterator(request.build());
+    try (RowWriter writer =
+        RowWriter.open(
+            renderedFormat,
+            path,
+            renderedCollectionName,
+            columns,
+            runContext.render(rowGroupSize).as(Long.class).orElse(64L * 1024 * 1024),
+            runContext
+                .render(compression)
+                .as(CompressionCodecName.class)
+                .orElse(CompressionCodecName.SNAPPY))) {
+      List<QueryResultsWrapper.RowRecord> records;
+      while (!(records = iterator.next()).isEmpty()) {
+        for (QueryResultsWrapper.RowRecord record : records) {
+          writer.write(record.getFieldValues());
+        }
+        rows += records.size();
+      }
+    } finally {
+      iterator.close();
+    }
+
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    long size = Files.size(path);
+    URI uri = runContext.storage().putFile(path.toFile());
+
+    runContext
+        .logger()
+        .info(
+            "{} entities of collection {} exported as {} ({} bytes) in {}.",
+            rows,
+            renderedCollectionName,
+            renderedFormat,
+            size,
+            duration);
+    runContext.metric(Counter.of("rows", rows, "collection", renderedCollectionName));
+    runContext.metric(Counter.of("size", size, "format", renderedFormat.name()));
+    runContext.metric(
+        Timer.of("export.duration", duration, "collection", renderedCollectionName));
+
+    return Output.builder().uri(uri).rows(rows).size(size).build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The URI of the exported file in Kestra internal storage.")
+    private URI uri;
+
+    @Schema(title = "The number of exported entities.")
+    private Long rows;
+
+    @Schema(title = "The size of the exported file, in bytes.")
+    private Long size;
+  }
+}
@@ -0,0 +1,21 @@
+package io.kestra.plugin.milvus.data;
+
+/** The formats of the files exchanged with Kestra internal storage. */
+public enum FileFormat {
+  /** Amazon Ion, one value per row, the format of most Kestra plugins. */
+  ION(".ion"),
+  /** JSON Lines, one JSON object per line. */
+  JSONL(".jsonl"),
+  /** Apache Parquet, scalar fields as native columns and vectors as fixed-length binary columns. */
+  PARQUET(".parquet");
+
+  private final String extension;
+
+  FileFormat(String extension) {
+    this.extension = extension;
+  }
+
+  public String extension() {
+    return extension;
+  }
+}
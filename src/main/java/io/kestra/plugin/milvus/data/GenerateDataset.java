@@ -0,0 +1,344 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.gson.JsonObject;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.Task;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusConnectionProperties;
+import io.kestra.plugin.milvus.Pipeline;
+import io.kestra.plugin.milvus.SearchCache;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.vector.request.InsertReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation generates a reproducible synthetic dataset of vectors.",
+    description =
+        """
+            Every row only depends on `seed` and on its index: the same parameters give the same dataset whatever the number of threads or the batch size, so datasets do not have to be shared to compare clusters or index configurations.
+            Each row has an Int64 primary key equal to its index, a float vector, and optionally scalar fields and a sparse vector.
+            With `collectionName`, the rows are inserted into an existing collection, for example created by `CreateCollection`, batches being generated on several threads while others are inserted.
+            Otherwise, the rows are written in order to a file of `format` in Kestra internal storage, which `Insert` can load later.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Fill a collection with a million clustered vectors.",
+          full = true,
+          code =
+              """
+                id: milvus_benchmark_dataset
+                namespace: company.team
+
+                tasks:
+                  - id: create
+                    type: io.kestra.plugin.milvus.collections.CreateCollection
+                    url: "http://localhost:19530"
+                    collectionName: "benchmark"
+                    dimension: 768
+                    metricType: COSINE
+
+                  - id: generate
+                    type: io.kestra.plugin.milvus.data.GenerateDataset
+                    connection:
+                      url: "http://localhost:19530"
+                    collectionName: "benchmark"
+                    rows: 1000000
+                    dimension: 768
+                    distribution: GAUSSIAN_CLUSTERS
+                    clusters: 1000
+                    seed: 7
+              """),
+      @Example(
+          title = "Write a normalized dataset with scalar fields and sparse vectors to a Parquet file.",
+          full = true,
+          code =
+              """
+                id: milvus_dataset_file
+                namespace: company.team
+
+                tasks:
+                  - id: generate
+                    type: io.kestra.plugin.milvus.data.GenerateDataset
+                    rows: 100000
+                    dimension: 128
+                    distribution: NORMALIZED
+                    format: PARQUET
+                    scalarFields:
+                      - name: category
+                        type: VarChar
+                        cardinality: 20
+                      - name: price
+                        type: Double
+                    sparseVector:
+                      fieldName: keywords
+                      dimension: 30000
+                      nonZeros: 16
+              """)
+    })
+public class GenerateDataset extends Task implements RunnableTask<GenerateDataset.Output> {
+
+  @Schema(
+      title = "The connection to the Milvus instance to insert the rows into.",
+      description =
+          "Required with `collectionName`. Unlike the other tasks, the task does not take the connection properties itself: without `collectionName` it only writes a file, and needs no Milvus instance.")
+  private MilvusConnectionProperties connection;
+
+  @Schema(
+      title = "The name of the collection to insert the rows into.",
+      description = "If not set, the rows are written to a file in Kestra internal storage.")
+  private Property<String> collectionName;
+
+  @Schema(title = "The number of rows to generate.")
+  @NotNull
+  private Property<Long> rows;
+
+  @Schema(title = "The dimension of the float vectors.")
+  @NotNull
+  private Property<Integer> dimension;
+
+  @Schema(
+      title = "The distribution of the float vectors.",
+      description =
+          """
+              - UNIFORM: every coordinate is uniform in [-1, 1).
+              - GAUSSIAN_CLUSTERS: the vectors are spread around `clusters` random centroids, with a standard deviation of `clusterSpread` on every coordinate, which is closer to real embeddings.
+              - NORMALIZED: the vectors are uniformly distributed on the unit sphere, for the inner product and cosine metrics.
+          """)
+  @Builder.Default
+  private Property<Distribution> distribution = Property.ofValue(Distribution.UNIFORM);
+
+  @Schema(title = "The number of centroids of the GAUSSIAN_CLUSTERS distribution.")
+  @Builder.Default
+  private Property<Integer> clusters = Property.ofValue(100);
+
+  @Schema(
+      title = "The standard deviation of the GAUSSIAN_CLUSTERS distribution around the centroids.")
+  @Builder.Default
+  private Property<Double> clusterSpread = Property.ofValue(0.1);
+
+  @Schema(title = "The seed of the dataset.")
+  @Builder.Default
+  private Property<Long> seed = Property.ofValue(42L);
+
+  @Schema(title = "The name of the primary key field.")
+  @Builder.Default
+  private Property<String> primaryFieldName = Property.ofValue("id");
+
+  @Schema(title = "The name of the float vector field.")
+  @Builder.Default
+  private Property<String> vectorFieldName = Property.ofValue("vector");
+
+  @Schema(title = "The scalar fields of the rows.")
+  private Property<List<ScalarField>> scalarFields;
+
+  @Schema(title = "The sparse vector field of the rows.")
+  private Property<SparseVector> sparseVector;
+
+  @Schema(title = "The format of the file written when `collectionName` is not set.")
+  @Builder.Default
+  private Property<FileFormat> format = Property.ofValue(FileFormat.PARQUET);
+
+  @Schema(title = "The number of rows per batch, and per insert request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "The number of threads generating the rows.",
+      description = "The value defaults to the number of available processors.")
+  private Property<Integer> threads;
+
+  @Schema(title = "The number of concurrent insert requests.")
+  @Builder.Default
+  private Property<Integer> writers = Property.ofValue(4);
+
+  @Schema(
+      title = "The maximum number of generated batches waiting to be inserted or written.",
+      description = "Generation pauses when the buffer is full, bounding the memory used.")
+  @Builder.Default
+  private Property<Integer> bufferSize = Property.ofValue(16);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    String renderedCollectionName = runContext.render(collectionName).as(String.class).orElse(null);
+    if (renderedCollectionName != null && connection == null) {
+      throw new IllegalArgumentException("`connection` is required with `collectionName`.");
+    }
+    long renderedRows = runContext.render(rows).as(Long.class).orElseThrow();
+    int renderedBatchSize = runContext.render(batchSize).as(Integer.class).orElse(1000);
+    int renderedThreads =
+        runContext
+            .render(threads)
+            .as(Integer.class)
+            .orElse(Runtime.getRuntime().availableProcessors());
+    int renderedBufferSize = runContext.render(bufferSize).as(Integer.class).orElse(16);
+
+    DatasetGenerator generator =
+        new DatasetGenerator(
+            runContext.render(seed).as(Long.class).orElse(42L),
+            renderedRows,
+            runContext.render(dimension).as(Integer.class).orElseThrow(),
+            runContext.render(distribution).as(Distribution.class).orElse(Distribution.UNIFORM),
+            runContext.render(clusters).as(Integer.class).orElse(100),
+            runContext.render(clusterSpread).as(Double.class).orElse(0.1),
+            runContext.render(primaryFieldName).as(String.class).orElse("id"),
+            runContext.render(vectorFieldName).as(String.class).orElse("vector"),
+            runContext.render(scalarFields).asList(ScalarField.class),
+            runContext.render(sparseVector).as(SparseVector.class).orElse(null));
+
+    AtomicLong generated = new AtomicLong();
+    long start = System.nanoTime();
+    URI uri = null;
+    Long size = null;
+    if (renderedCollectionName != null) {
+      MilvusClientV2 client = MilvusConnection.connect(runContext, connection);
+      Insert.Target target =
+          Insert.Target.of(
+              client.describeCollection(
+                  DescribeCollectionReq.builder().collectionName(renderedCollectionName).build()));
+      Pipeline.run(
+          generator.unordered(renderedThreads, renderedBatchSize),
+          runContext.render(writers).as(Integer.class).orElse(4),
+          renderedBufferSize,
+          batch -> {
+            List<JsonObject> data = new ArrayList<>(batch.size());
+            for (Map<String, Object> row : batch) {
+              data.add(target.toRow(row));
+            }
+            client.insert(
+                InsertReq.builder().collectionName(renderedCollectionName).data(data).build());
+            generated.addAndGet(batch.size());
+          });
+      SearchCache.invalidate(
+          runContext,
+          SearchCache.collectionId(runContext, connection, client, renderedCollectionName));
+    } else {
+      FileFormat renderedFormat =
+          runContext.render(format).as(FileFormat.class).orElse(FileFormat.PARQUET);
+      Path path = runContext.workingDir().createTempFile(renderedFormat.extension());
+      try (RowWriter writer =
+          RowWriter.open(
+              renderedFormat,
+              path,
+              "dataset",
+              generator.columns(),
+              64L * 1024 * 1024,
+              CompressionCodecName.SNAPPY)) {
+        Pipeline.run(
+            List.of(generator.ordered(renderedThreads, renderedBatchSize)),
+            1,
+            renderedBufferSize,
+            batch -> {
+              for (Map<String, Object> row : batch) {
+                writer.write(row);
+              }
+              generated.addAndGet(batch.size());
+            });
+      }
+      size = Files.size(path);
+      uri = runContext.storage().putFile(path.toFile());
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+    runContext
+        .logger()
+        .info(
+            "{} rows generated into {} in {}.",
+            generated.get(),
+            renderedCollectionName != null ? "collection " + renderedCollectionName : uri,
+            duration);
+    runContext.metric(Counter.of("rows", generated.get()));
+    runContext.metric(Timer.of("generate.duration", duration));
+
+    return Output.builder().uri(uri).rows(generated.get()).size(size).duration(duration).build();
+  }
+
+  public enum Distribution {
+    UNIFORM,
+    GAUSSIAN_CLUSTERS,
+    NORMALIZED
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class ScalarField {
+
+    @Schema(title = "The name of the field.")
+    @NotNull
+    private String name;
+
+    @Schema(
+        title = "The type of the field.",
+        description = "One of Bool, Int8, Int16, Int32, Int64, Float, Double or VarChar.")
+    @Builder.Default
+    private DataType type = DataType.Int64;
+
+    @Schema(
+        title = "The number of distinct values of the field.",
+        description =
+            "The values are then drawn uniformly among as many values, which gives filters a predictable selectivity. If not set, the values are drawn from the whole range of the type.")
+    private Integer cardinality;
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class SparseVector {
+
+    @Schema(title = "The name of the sparse vector field.")
+    @Builder.Default
+    private String fieldName = "sparse_vector";
+
+    @Schema(title = "The number of dimensions, such as the size of a vocabulary.")
+    @Builder.Default
+    private Integer dimension = 30000;
+
+    @Schema(title = "The number of non-zero values of every vector.")
+    @Builder.Default
+    private Integer nonZeros = 32;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The URI of the generated file in Kestra internal storage.")
+    private URI uri;
+
+    @Schema(title = "The number of generated rows.")
+    private Long rows;
+
+    @Schema(title = "The size of the generated file, in bytes.")
+    private Long size;
+
+    @Schema(title = "The time spent generating and inserting or writing the rows.")
+    private Duration duration;
+  }
+}
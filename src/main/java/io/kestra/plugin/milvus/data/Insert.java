@@ -0,0 +1,582 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.Pipeline;
+import io.kestra.plugin.milvus.Rows;
+import io.kestra.plugin.milvus.SearchCache;
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.index.request.DescribeIndexReq;
+import io.milvus.v2.service.index.request.ListIndexesReq;
+import io.milvus.v2.service.index.response.DescribeIndexResp;
+import io.milvus.v2.service.vector.request.InsertReq;
+import io.milvus.v2.service.vector.request.UpsertReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation inserts the entities of a file from Kestra internal storage into a collection.",
+    description =
+        """
+            Use it to restore a snapshot made by the Export task, or to load entities produced by another task.
+            Parquet files are memory-mapped and their row groups are decoded in parallel, vector columns being read straight from the page buffers.
+            ION and JSON Lines files are split into chunks at line breaks, one value per line as Kestra writes them, and the chunks are decoded in parallel; the batches keep the order of the file unless `ordered` is false.
+            Decoded batches go through a bounded buffer to concurrent insert requests, so decoding and inserting overlap while the memory stays capped.
+            Columns are converted according to the schema of the target collection; the primary key is skipped when the collection generates its own ids.
+            Float vectors are checked against the dimension of their field, and normalized when the field is indexed with COSINE unless `normalize` is false.
+            With `idGeneration`, the primary keys are instead derived from the run and from the offset of each entity in the file, and the entities are upserted: a batch or the whole task can then be retried without creating duplicates.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Restore a Parquet snapshot of a collection.",
+          full = true,
+          code =
+              """
+                id: restore_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.milvus.data.Export
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    format: PARQUET
+
+                  - id: restore
+                    type: io.kestra.plugin.milvus.data.Insert
+                    url: "http://localhost:19530"
+                    collectionName: "documents_restored"
+                    from: "{{ outputs.export.uri }}"
+                    format: PARQUET
+              """)
+    })
+public class Insert extends MilvusConnection implements RunnableTask<Insert.Output> {
+
+  @Schema(title = "The name of the collection to insert the entities into.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(title = "The name of the partition to insert the entities into.")
+  private Property<String> partitionName;
+
+  @Schema(title = "The URI of the file to insert, in Kestra internal storage.")
+  @NotNull
+  private Property<String> from;
+
+  @Schema(title = "The format of the file.")
+  @Builder.Default
+  private Property<FileFormat> format = Property.ofValue(FileFormat.ION);
+
+  @Schema(title = "The number of entities sent per insert request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "The number of threads decoding the file.",
+      description = "The value defaults to the number of available processors.")
+  private Property<Integer> threads;
+
+  @Schema(
+      title = "Whether the entities of an ION or JSON Lines file are inserted in the order of the file.",
+      description =
+          "When false, every thread hands its batches over as soon as they are decoded, which keeps all of them busy. The row groups of a Parquet file are always inserted as they are decoded.")
+  @Builder.Default
+  private Property<Boolean> ordered = Property.ofValue(true);
+
+  @Schema(title = "The number of concurrent insert requests.")
+  @Builder.Default
+  private Property<Integer> writers = Property.ofValue(4);
+
+  @Schema(
+      title = "Generate the primary keys of the entities.",
+      description =
+          """
+              The primary key of the collection must be an Int64 field without `autoID`. Every key holds the run id in its 23 high bits and the offset of the entity in the file in its 40 low bits: the keys of a run are increasing, they need no coordination between the decoding threads, and a retry of the task generates the same keys again.
+              The entities are upserted rather than inserted, and a failed batch is sent again up to `retries` times.
+              ION and JSON Lines files must then be read `ordered`, for the offsets to be known.
+          """)
+  private Property<IdGeneration> idGeneration;
+
+  @Schema(
+      title = "Whether the float vectors of the fields indexed with COSINE are normalized.",
+      description =
+          "The vectors are scaled to unit length before insert, so that the stored vectors are the ones the similarities are computed on. The dimension of every float vector is checked against the schema either way.")
+  @Builder.Default
+  private Property<Boolean> normalize = Property.ofValue(true);
+
+  @Schema(
+      title = "The maximum number of decoded batches waiting for an insert request.",
+      description = "Decoding pauses when the buffer is full, bounding the memory used.")
+  @Builder.Default
+  private Property<Integer> bufferSize = Property.ofValue(16);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    String renderedPartitionName = runContext.render(partitionName).as(String.class).orElse(null);
+    FileFormat renderedFormat =
+        runContext.render(format).as(FileFormat.class).orElse(FileFormat.ION);
+    int renderedBatchSize = runContext.render(batchSize).as(Integer.class).orElse(1000);
+    int renderedThreads =
+        runContext
+            .render(threads)
+            .as(Integer.class)
+            .orElse(Runtime.getRuntime().availableProcessors());
+
+    DescribeCollectionResp description =
+        client.describeCollection(
+            DescribeCollectionReq.builder().collectionName(renderedCollectionName).build());
+    Target target =
+        Target.of(
+            client, description, runContext.render(normalize).as(Boolean.class).orElse(true));
+
+    IdGeneration renderedIdGeneration =
+        runContext.render(idGeneration).as(IdGeneration.class).orElse(null);
+    RowIds ids = null;
+    String idField = null;
+    if (renderedIdGeneration != null) {
+      idField = description.getPrimaryFieldName();
+      if (Boolean.TRUE.equals(description.getAutoID())
+          || target.fieldTypes().get(idField) != DataType.Int64) {
+        throw new IllegalArgumentException(
+            "`idGeneration` requires an Int64 primary key without autoID, but "
+                + idField
+                + " is not one.");
+      }
+      if (renderedIdGeneration.getRunId() != null) {
+        ids = new RowIds(renderedIdGeneration.getRunId());
+      } else {
+        ids = new RowIds(RowIds.run(runContext));
+        RowIds.claim(
+            runContext,
+            client,
+            renderedCollectionName,
+            SearchCache.collectionId(runContext, this, client, renderedCollectionName),
+            idField,
+            ids.run());
+      }
+      runContext.logger().info("Primary keys are generated with run id {}.", ids.run());
+    }
+
+    // a local copy, that can be memory-mapped whatever the internal storage
+    Path path = runContext.workingDir().createTempFile(renderedFormat.extension());
+    URI renderedFrom = URI.create(runContext.render(from).as(String.class).orElseThrow());
+    try (InputStream input = runContext.storage().getFile(renderedFrom)) {
+      Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    ChunkedLines<JsonObject> lines = null;
+    List<Pipeline.Source<List<JsonObject>>> sources;
+    if (renderedFormat == FileFormat.PARQUET) {
+      sources = parquetSources(path, target, renderedBatchSize, renderedThreads, idField, ids);
+    } else {
+      lines =
+          new ChunkedLines<>(
+              path,
+              ChunkedLines.DEFAULT_CHUNK_SIZE,
+              renderedBatchSize,
+              line -> target.toRow(parse(line, renderedFormat)));
+      boolean renderedOrdered = runContext.render(ordered).as(Boolean.class).orElse(true);
+      if (ids != null && !renderedOrdered) {
+        throw new IllegalArgumentException(
+            "`idGeneration` requires `ordered` for ION and JSON Lines files.");
+      }
+      sources =
+          !renderedOrdered
+              ? lines.unordered(renderedThreads)
+              : List.of(
+                  ids == null
+                      ? lines.ordered(renderedThreads)
+                      : numbered(lines.ordered(renderedThreads), idField, ids));
+    }
+    boolean upsert = renderedIdGeneration != null;
+    int retries = upsert ? renderedIdGeneration.getRetries() : 0;
+
+    AtomicLong rows = new AtomicLong();
+    long start = System.nanoTime();
+    Pipeline.run(
+        sources,
+        runContext.render(writers).as(Integer.class).orElse(4),
+        runContext.render(bufferSize).as(Integer.class).orElse(16),
+        batch -> {
+          if (!upsert) {
+            var request = InsertReq.builder().collectionName(renderedCollectionName).data(batch);
+            if (renderedPartitionName != null) {
+              request.partitionName(renderedPartitionName);
+            }
+            client.insert(request.build());
+          } else {
+            var request = UpsertReq.builder().collectionName(renderedCollectionName).data(batch);
+            if (renderedPartitionName != null) {
+              request.partitionName(renderedPartitionName);
+            }
+            upsert(runContext, client, request.build(), retries);
+          }
+          rows.addAndGet(batch.size());
+        });
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    SearchCache.invalidate(
+        runContext, SearchCache.collectionId(runContext, this, client, renderedCollectionName));
+
+    runContext
+        .logger()
+        .info(
+            "{} entities inserted into collection {} in {}.",
+            rows.get(),
+            renderedCollectionName,
+            duration);
+    runContext.metric(Counter.of("rows", rows.get(), "collection", renderedCollectionName));
+    runContext.metric(
+        Timer.of("insert.duration", duration, "collection", renderedCollectionName));
+    if (lines != null) {
+      decodeMetrics(runContext, lines, renderedCollectionName);
+    }
+
+    return Output.builder()
+        .rows(rows.get())
+        .duration(duration)
+        .runId(ids == null ? null : ids.run())
+        .build();
+  }
+
+  /** Upserts a batch, sending it again after a failure: its keys make it idempotent. */
+  private static void upsert(
+      RunContext runContext, MilvusClientV2 client, UpsertReq request, int retries)
+      throws Exception {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        client.upsert(request);
+        return;
+      } catch (Exception e) {
+        if (attempt >= retries) {
+          throw e;
+        }
+        long backoff = Math.min(100L << attempt, 10_000L);
+        runContext
+            .logger()
+            .warn(
+                "Upsert of {} entities failed, retrying in {} ms: {}",
+                request.getData().size(),
+                backoff,
+                e.getMessage());
+        Thread.sleep(backoff);
+      }
+    }
+  }
+
+  /** Sets the generated keys of the batches of a single ordered source, by offset in the file. */
+  private static Pipeline.Source<List<JsonObject>> numbered(
+      Pipeline.Source<List<JsonObject>> source, String idField, RowIds ids) {
+    return sink -> {
+      long[] offset = {0};
+      source.produce(
+          batch -> {
+            for (JsonObject row : batch) {
+              row.addProperty(idField, ids.id(offset[0]++));
+            }
+            sink.accept(batch);
+          });
+    };
+  }
+
+  /**
+   * One decoder per thread, each of them decoding every n-th row group. With ids, the key of each
+   * row is generated from the offset of its row group in the file.
+   */
+  private static List<Pipeline.Source<List<JsonObject>>> parquetSources(
+      Path path, Target target, int batchSize, int threads, String idField, RowIds ids)
+      throws Exception {
+    InputFile file = MappedInputFile.of(path);
+    int rowGroups;
+    long[] rowGroupOffsets;
+    MessageType schema;
+    try (ParquetFileReader reader = ParquetFileReader.open(file)) {
+      rowGroups = reader.getRowGroups().size();
+      rowGroupOffsets = new long[rowGroups];
+      for (int rowGroup = 1; rowGroup < rowGroups; rowGroup++) {
+        rowGroupOffsets[rowGroup] =
+            rowGroupOffsets[rowGroup - 1] + reader.getRowGroups().get(rowGroup - 1).getRowCount();
+      }
+      schema = reader.getFileMetaData().getSchema();
+    }
+
+    int decoders = Math.max(1, Math.min(threads, rowGroups));
+    List<Pipeline.Source<List<JsonObject>>> sources = new ArrayList<>(decoders);
+    for (int decoder = 0; decoder < decoders; decoder++) {
+      int first = decoder;
+      sources.add(
+          sink -> {
+            MessageColumnIO columnIO = new ColumnIOFactory().getColumnIO(schema);
+            try (ParquetFileReader reader = ParquetFileReader.open(file)) {
+              for (int rowGroup = first; rowGroup < rowGroups; rowGroup += decoders) {
+                PageReadStore pages = reader.readRowGroup(rowGroup);
+                RecordReader<JsonObject> records =
+                    columnIO.getRecordReader(
+                        pages,
+                        new RowMaterializer(
+                            schema, target.fieldTypes(), target.droppedField(), target.dynamic()));
+
+                List<JsonObject> batch = new ArrayList<>(batchSize);
+                for (long row = 0; row < pages.getRowCount(); row++) {
+                  JsonObject record = target.checkVectors(records.read());
+                  if (ids != null) {
+                    record.addProperty(idField, ids.id(rowGroupOffsets[rowGroup] + row));
+                  }
+                  batch.add(record);
+                  if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                  }
+                }
+                if (!batch.isEmpty()) {
+                  sink.accept(batch);
+                }
+              }
+            }
+          });
+    }
+    return sources;
+  }
+
+  /**
+   * The decoded bytes, the decoding time summed over the threads, and the decoding throughput of a
+   * thread in bytes per second.
+   */
+  private static void decodeMetrics(
+      RunContext runContext, ChunkedLines<?> lines, String collectionName) {
+    long bytes = lines.decodedBytes();
+    Duration decodeDuration = lines.decodeDuration();
+    String[] tags = {"collection", collectionName};
+    runContext.metric(Counter.of("decode.bytes", bytes, tags));
+    runContext.metric(Timer.of("decode.duration", decodeDuration, tags));
+    if (!decodeDuration.isZero()) {
+      double throughput = bytes * 1e9 / decodeDuration.toNanos();
+      runContext.metric(Counter.of("decode.throughput", throughput, tags));
+      runContext
+          .logger()
+          .debug(
+              "{} chunks decoded at {} MB/s per thread.",
+              lines.chunks(),
+              String.format("%.1f", throughput / (1 << 20)));
+    }
+  }
+
+  /** The entities of an ION or JSON Lines file, read one at a time. */
+  static Iterator<?> values(BufferedReader reader, FileFormat format) throws Exception {
+    return format == FileFormat.ION
+        ? FileSerde.readAll(reader).toIterable().iterator()
+        : reader.lines().filter(line -> !line.isBlank()).map(Insert::parseJson).iterator();
+  }
+
+  /** A line of an ION or JSON Lines file. */
+  static Object parse(String line, FileFormat format) throws Exception {
+    return format == FileFormat.ION
+        ? JacksonMapper.ofIon().readValue(line, Object.class)
+        : parseJson(line);
+  }
+
+  private static Object parseJson(String line) {
+    try {
+      return JacksonMapper.ofJson().readValue(line, Map.class);
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Invalid JSON line: " + line, e);
+    }
+  }
+
+  /**
+   * What the decoding needs to know about the target collection.
+   *
+   * @param dimensions the dimension of each float vector field, checked before insert
+   * @param normalized the float vector fields scaled to unit length before insert
+   */
+  record Target(
+      Map<String, DataType> fieldTypes,
+      String droppedField,
+      boolean dynamic,
+      Map<String, Integer> dimensions,
+      Set<String> normalized) {
+
+    static Target of(DescribeCollectionResp description) {
+      return of(description, Set.of());
+    }
+
+    /** The target, normalizing the float vectors of the fields indexed with COSINE if asked. */
+    static Target of(MilvusClientV2 client, DescribeCollectionResp description, boolean normalize) {
+      Set<String> normalized = new HashSet<>();
+      if (normalize) {
+        String collectionName = description.getCollectionName();
+        for (String indexName :
+            client.listIndexes(ListIndexesReq.builder().collectionName(collectionName).build())) {
+          for (DescribeIndexResp.IndexDesc index :
+              client
+                  .describeIndex(
+                      DescribeIndexReq.builder()
+                          .collectionName(collectionName)
+                          .indexName(indexName)
+                          .build())
+                  .getIndexDescriptions()) {
+            if (index.getMetricType() == IndexParam.MetricType.COSINE) {
+              normalized.add(index.getFieldName());
+            }
+          }
+        }
+      }
+      return of(description, normalized);
+    }
+
+    private static Target of(DescribeCollectionResp description, Set<String> normalized) {
+      Map<String, DataType> fieldTypes = new HashMap<>();
+      Map<String, Integer> dimensions = new HashMap<>();
+      for (CreateCollectionReq.FieldSchema field :
+          description.getCollectionSchema().getFieldSchemaList()) {
+        fieldTypes.put(field.getName(), field.getDataType());
+        if (field.getDataType() == DataType.FloatVector && field.getDimension() != null) {
+          dimensions.put(field.getName(), field.getDimension());
+        }
+      }
+      Set<String> normalizedVectors = new HashSet<>(normalized);
+      normalizedVectors.retainAll(dimensions.keySet());
+      return new Target(
+          fieldTypes,
+          Boolean.TRUE.equals(description.getAutoID()) ? description.getPrimaryFieldName() : null,
+          Boolean.TRUE.equals(description.getEnableDynamicField()),
+          dimensions,
+          normalizedVectors);
+    }
+
+    @SuppressWarnings("unchecked")
+    JsonObject toRow(Object value) {
+      Map<String, Object> row = new LinkedHashMap<>((Map<String, Object>) value);
+      if (droppedField != null) {
+        row.remove(droppedField);
+      }
+      for (Map.Entry<String, Integer> field : dimensions.entrySet()) {
+        Object vector = row.get(field.getKey());
+        if (vector != null) {
+          row.put(field.getKey(), vector(field.getKey(), VectorMath.toFloatArray(vector)));
+        }
+      }
+      return Rows.toJson(row);
+    }
+
+    /** Checks, and normalizes, the float vectors of a row decoded from a Parquet file. */
+    JsonObject checkVectors(JsonObject row) {
+      for (Map.Entry<String, Integer> field : dimensions.entrySet()) {
+        if (!(row.get(field.getKey()) instanceof JsonArray array)) {
+          continue;
+        }
+        if (!normalized.contains(field.getKey())) {
+          checkDimension(field.getKey(), array.size());
+          continue;
+        }
+        float[] vector = new float[array.size()];
+        for (int i = 0; i < vector.length; i++) {
+          vector[i] = array.get(i).getAsFloat();
+        }
+        JsonArray normalizedArray = new JsonArray(vector.length);
+        for (float component : vector(field.getKey(), vector)) {
+          normalizedArray.add(component);
+        }
+        row.add(field.getKey(), normalizedArray);
+      }
+      return row;
+    }
+
+    /** Checks the dimension of a float vector of the field, and normalizes it in place if asked. */
+    private float[] vector(String fieldName, float[] vector) {
+      checkDimension(fieldName, vector.length);
+      return normalized.contains(fieldName) ? VectorMath.normalize(vector) : vector;
+    }
+
+    private void checkDimension(String fieldName, int length) {
+      try {
+        VectorMath.checkDimension(length, dimensions.get(fieldName));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Field " + fieldName + ": " + e.getMessage(), e);
+      }
+    }
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class IdGeneration {
+
+    @Schema(
+        title = "The run id, between 0 and 8388607.",
+        description =
+            "If not set, it is hashed from the ids of the execution and of the task run, which stay the same when the task is retried. Distinct task runs may hash to the same run id, and the upserts of one would then overwrite the entities of the other, whenever they ran: the task fails instead when the collection already holds ids of the hashed run written by another task run, which requires the collection to be loaded. Set it explicitly, for example from a counter, to choose the run ids of every load into the collection.")
+    private Long runId;
+
+    @Schema(title = "The number of times a failed upsert request is sent again.")
+    @Builder.Default
+    private Integer retries = 3;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The number of inserted entities.")
+    private Long rows;
+
+    @Schema(title = "The time spent decoding and inserting the entities.")
+    private Duration duration;
+
+    @Schema(title = "The run id of the generated primary keys, with `idGeneration`.")
+    private Long runId;
+  }
+}
@@ -0,0 +1,111 @@
+package io.kestra.plugin.milvus.data;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.io.SeekableInputStream;
+
+/**
+ * A Parquet file mapped in memory. Every stream reads from its own view of the same mapping, so
+ * that the row groups can be decoded by several threads without copying the file or sharing a
+ * file position.
+ */
+final class MappedInputFile implements InputFile {
+  private final MappedByteBuffer buffer;
+
+  private MappedInputFile(MappedByteBuffer buffer) {
+    this.buffer = buffer;
+  }
+
+  /** Maps the file, falling back to regular reads when it is too large for a single mapping. */
+  static InputFile of(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        return new LocalInputFile(path);
+      }
+      return new MappedInputFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  @Override
+  public long getLength() {
+    return buffer.capacity();
+  }
+
+  @Override
+  public SeekableInputStream newStream() {
+    return new Stream(buffer.duplicate());
+  }
+
+  private static final class Stream extends SeekableInputStream {
+    private final ByteBuffer view;
+
+    private Stream(ByteBuffer view) {
+      this.view = view;
+    }
+
+    @Override
+    public long getPos() {
+      return view.position();
+    }
+
+    @Override
+    public void seek(long newPos) {
+      view.position((int) newPos);
+    }
+
+    @Override
+    public int read() {
+      return view.hasRemaining() ? view.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) {
+      if (!view.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(len, view.remaining());
+      view.get(bytes, off, read);
+      return read;
+    }
+
+    @Override
+    public void readFully(byte[] bytes) throws IOException {
+      readFully(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int start, int len) throws IOException {
+      if (view.remaining() < len) {
+        throw new EOFException("Reached the end of the file with " + len + " bytes to read");
+      }
+      view.get(bytes, start, len);
+    }
+
+    @Override
+    public int read(ByteBuffer target) {
+      if (!view.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(target.remaining(), view.remaining());
+      target.put(view.slice(view.position(), read));
+      view.position(view.position() + read);
+      return read;
+    }
+
+    @Override
+    public void readFully(ByteBuffer target) throws IOException {
+      if (view.remaining() < target.remaining()) {
+        throw new EOFException(
+            "Reached the end of the file with " + target.remaining() + " bytes to read");
+      }
+      read(target);
+    }
+  }
+}
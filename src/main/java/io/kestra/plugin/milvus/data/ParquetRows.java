@@ -0,0 +1,334 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.conf.ParquetConfiguration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Types;
+
+/**
+ * The Parquet layout of collection snapshots.
+ *
+ * <p>Scalar fields are native Parquet columns. Vectors are {@code FIXED_LEN_BYTE_ARRAY} columns
+ * holding the raw little-endian vector, {@code dimension * 4} bytes for float vectors, so that a
+ * value is read back as one contiguous buffer instead of a list of boxed floats. The Milvus type of
+ * every column is kept in the file metadata, as the Parquet type alone does not tell a float vector
+ * from a float16 one.
+ */
+final class ParquetRows {
+  static final String COLLECTION_KEY = "milvus.collection";
+  static final String TYPE_KEY_PREFIX = "milvus.type.";
+  static final String DIMENSION_KEY_PREFIX = "milvus.dimension.";
+  static final String DYNAMIC_FIELD = "$meta";
+
+  private static final Gson GSON = new Gson();
+
+  private ParquetRows() {}
+
+  /** The columns of a collection, in the order of its schema. */
+  static List<Column> columns(DescribeCollectionResp description) {
+    List<Column> columns = new ArrayList<>();
+    for (CreateCollectionReq.FieldSchema field :
+        description.getCollectionSchema().getFieldSchemaList()) {
+      columns.add(
+          new Column(
+              field.getName(),
+              field.getDataType(),
+              field.getElementType(),
+              field.getDimension() == null ? 0 : field.getDimension(),
+              Boolean.TRUE.equals(field.getIsNullable())));
+    }
+    if (Boolean.TRUE.equals(description.getEnableDynamicField())) {
+      columns.add(new Column(DYNAMIC_FIELD, DataType.JSON, null, 0, true));
+    }
+    return columns;
+  }
+
+  static MessageType schema(List<Column> columns) {
+    Types.MessageTypeBuilder builder = Types.buildMessage();
+    for (Column column : columns) {
+      builder.addField(column.parquetType());
+    }
+    return builder.named("milvus");
+  }
+
+  static Map<String, String> metadata(String collectionName, List<Column> columns) {
+    Map<String, String> metadata = new LinkedHashMap<>();
+    metadata.put(COLLECTION_KEY, collectionName);
+    for (Column column : columns) {
+      metadata.put(TYPE_KEY_PREFIX + column.name(), column.type().name());
+      if (column.dimension() > 0) {
+        metadata.put(DIMENSION_KEY_PREFIX + column.name(), String.valueOf(column.dimension()));
+      }
+    }
+    return metadata;
+  }
+
+  /**
+   * A writer of rows as returned by the query iterator. The row group size bounds the memory held
+   * by the writer, a row group being buffered in full before being flushed.
+   */
+  static ParquetWriter<Map<String, Object>> writer(
+      Path path,
+      String collectionName,
+      List<Column> columns,
+      long rowGroupSize,
+      CompressionCodecName compression)
+      throws IOException {
+    Builder builder =
+        new Builder(new LocalOutputFile(path), columns, metadata(collectionName, columns))
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .withRowGroupSize(rowGroupSize)
+            .withCompressionCodec(compression);
+    for (Column column : columns) {
+      if (column.isVector()) {
+        // vectors are almost never repeated, a dictionary would only cost memory
+        builder = builder.withDictionaryEncoding(column.name(), false);
+      }
+    }
+    return builder.build();
+  }
+
+  /** A field of the collection and its Parquet counterpart. */
+  record Column(
+      String name, DataType type, DataType elementType, int dimension, boolean nullable) {
+
+    boolean isVector() {
+      return switch (type) {
+        case FloatVector, BinaryVector, Float16Vector, BFloat16Vector -> true;
+        default -> false;
+      };
+    }
+
+    /** The length of a vector value, in bytes. */
+    int byteWidth() {
+      return switch (type) {
+        case FloatVector -> dimension * Float.BYTES;
+        case Float16Vector, BFloat16Vector -> dimension * 2;
+        case BinaryVector -> dimension / 8;
+        default -> throw new IllegalStateException(name + " is not a dense vector field");
+      };
+    }
+
+    Type parquetType() {
+      Type.Repetition repetition =
+          nullable ? Type.Repetition.OPTIONAL : Type.Repetition.REQUIRED;
+      if (type == DataType.Array) {
+        return Types.list(repetition)
+            .element(primitive(elementType, Type.Repetition.REQUIRED, "element"))
+            .named(name);
+      }
+      return primitive(type, repetition, name);
+    }
+
+    private Type primitive(DataType dataType, Type.Repetition repetition, String named) {
+      return switch (dataType) {
+        case Bool -> Types.primitive(PrimitiveTypeName.BOOLEAN, repetition).named(named);
+        case Int8 ->
+            Types.primitive(PrimitiveTypeName.INT32, repetition)
+                .as(LogicalTypeAnnotation.intType(8, true))
+                .named(named);
+        case Int16 ->
+            Types.primitive(PrimitiveTypeName.INT32, repetition)
+                .as(LogicalTypeAnnotation.intType(16, true))
+                .named(named);
+        case Int32 -> Types.primitive(PrimitiveTypeName.INT32, repetition).named(named);
+        case Int64 -> Types.primitive(PrimitiveTypeName.INT64, repetition).named(named);
+        case Float -> Types.primitive(PrimitiveTypeName.FLOAT, repetition).named(named);
+        case Double -> Types.primitive(PrimitiveTypeName.DOUBLE, repetition).named(named);
+        case String, VarChar ->
+            Types.primitive(PrimitiveTypeName.BINARY, repetition)
+                .as(LogicalTypeAnnotation.stringType())
+                .named(named);
+        // sparse vectors have no fixed width, they are stored as their JSON index:value map
+        case JSON, SparseFloatVector ->
+            Types.primitive(PrimitiveTypeName.BINARY, repetition)
+                .as(LogicalTypeAnnotation.jsonType())
+                .named(named);
+        case FloatVector, BinaryVector, Float16Vector, BFloat16Vector ->
+            Types.primitive(PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY, repetition)
+                .length(byteWidth())
+                .named(named);
+        default ->
+            throw new IllegalArgumentException(
+                "Field " + name + " of type " + dataType + " can't be exported to Parquet");
+      };
+    }
+  }
+
+  private static final class Builder
+      extends ParquetWriter.Builder<Map<String, Object>, Builder> {
+    private final List<Column> columns;
+    private final Map<String, String> metadata;
+
+    private Builder(OutputFile file, List<Column> columns, Map<String, String> metadata) {
+      super(file);
+      this.columns = columns;
+      this.metadata = metadata;
+    }
+
+    @Override
+    protected Builder self() {
+      return this;
+    }
+
+    @Override
+    protected WriteSupport<Map<String, Object>> getWriteSupport(Configuration conf) {
+      return new RowWriteSupport(columns, metadata);
+    }
+
+    @Override
+    protected WriteSupport<Map<String, Object>> getWriteSupport(ParquetConfiguration conf) {
+      return new RowWriteSupport(columns, metadata);
+    }
+  }
+
+  private static final class RowWriteSupport extends WriteSupport<Map<String, Object>> {
+    private final List<Column> columns;
+    private final Map<String, String> metadata;
+    private RecordConsumer consumer;
+
+    private RowWriteSupport(List<Column> columns, Map<String, String> metadata) {
+      this.columns = columns;
+      this.metadata = metadata;
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+      return new WriteContext(schema(columns), metadata);
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+      this.consumer = recordConsumer;
+    }
+
+    @Override
+    public void write(Map<String, Object> row) {
+      consumer.startMessage();
+      for (int i = 0; i < columns.size(); i++) {
+        Column column = columns.get(i);
+        Object value =
+            column.name().equals(DYNAMIC_FIELD) ? dynamicFields(row) : row.get(column.name());
+        if (value == null) {
+          if (!column.nullable()) {
+            throw new IllegalArgumentException("Field " + column.name() + " is missing a value");
+          }
+          continue;
+        }
+
+        consumer.startField(column.name(), i);
+        if (column.type() == DataType.Array) {
+          writeList(column, (List<?>) value);
+        } else {
+          writeValue(column, column.type(), value);
+        }
+        consumer.endField(column.name(), i);
+      }
+      consumer.endMessage();
+    }
+
+    private void writeList(Column column, List<?> values) {
+      consumer.startGroup();
+      if (!values.isEmpty()) {
+        consumer.startField("list", 0);
+        for (Object value : values) {
+          consumer.startGroup();
+          consumer.startField("element", 0);
+          writeValue(column, column.elementType(), value);
+          consumer.endField("element", 0);
+          consumer.endGroup();
+        }
+        consumer.endField("list", 0);
+      }
+      consumer.endGroup();
+    }
+
+    private void writeValue(Column column, DataType dataType, Object value) {
+      switch (dataType) {
+        case Bool -> consumer.addBoolean((Boolean) value);
+        case Int8, Int16, Int32 -> consumer.addInteger(((Number) value).intValue());
+        case Int64 -> consumer.addLong(((Number) value).longValue());
+        case Float -> consumer.addFloat(((Number) value).floatValue());
+        case Double -> consumer.addDouble(((Number) value).doubleValue());
+        case String, VarChar -> consumer.addBinary(Binary.fromString(value.toString()));
+        case JSON, SparseFloatVector ->
+            consumer.addBinary(
+                Binary.fromString(
+                    value instanceof JsonElement json ? json.toString() : GSON.toJson(value)));
+        case FloatVector -> consumer.addBinary(Binary.fromConstantByteArray(floats(value)));
+        default -> consumer.addBinary(Binary.fromConstantByteArray(bytes(column, value)));
+      }
+    }
+
+    /** The dynamic fields, flattened into the row by the query iterator, gathered back. */
+    private Object dynamicFields(Map<String, Object> row) {
+      if (row.get(DYNAMIC_FIELD) != null) {
+        return row.get(DYNAMIC_FIELD);
+      }
+
+      Map<String, Object> dynamic = new LinkedHashMap<>();
+      for (Map.Entry<String, Object> entry : row.entrySet()) {
+        if (columns.stream().noneMatch(column -> column.name().equals(entry.getKey()))) {
+          dynamic.put(entry.getKey(), entry.getValue());
+        }
+      }
+      return dynamic.isEmpty() ? null : dynamic;
+    }
+
+    private static byte[] floats(Object value) {
+      float[] vector = VectorMath.toFloatArray(value);
+      ByteBuffer buffer =
+          ByteBuffer.allocate(vector.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.asFloatBuffer().put(vector);
+      return buffer.array();
+    }
+
+    private static byte[] bytes(Column column, Object value) {
+      byte[] bytes;
+      if (value instanceof ByteBuffer buffer) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.rewind();
+        bytes = new byte[duplicate.remaining()];
+        duplicate.get(bytes);
+      } else {
+        bytes = (byte[]) value;
+      }
+
+      if (bytes.length != column.byteWidth()) {
+        throw new IllegalArgumentException(
+            "Vector of field "
+                + column.name()
+                + " has "
+                + bytes.length
+                + " bytes, expected "
+                + column.byteWidth());
+      }
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,305 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Fetch;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusFetchInterface;
+import io.kestra.plugin.milvus.Rows;
+import io.milvus.orm.iterator.QueryIterator;
+import io.milvus.response.QueryResultsWrapper;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.vector.request.QueryIteratorReq;
+import io.milvus.v2.service.vector.request.QueryReq;
+import io.milvus.v2.service.vector.response.QueryResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation queries the entities of a collection matching a filter.",
+    description =
+        """
+            The entities are read page by page with a query iterator, so that the size of the result is not limited by the memory of the worker.
+            By default the result is stored in Kestra internal storage; use `fetchType: FETCH` for small results that are needed in the outputs.
+            Large value lists are better bound with `filterTemplateValues` than rendered into the filter: Milvus parses the template once and the values are sent as they are.
+            As the query iterator does not bind template values, a templated query is read page by page after the primary key of the previous page, bound as the `__cursor` template value, so that it is not limited by the maximum query window of Milvus.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Store the entities of a collection matching a filter.",
+          full = true,
+          code =
+              """
+                id: query_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: query
+                    type: io.kestra.plugin.milvus.data.Query
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    filter: "year == 2024 && lang == 'en'"
+                    outputFields:
+                      - id
+                      - title
+              """)
+    })
+public class Query extends MilvusConnection
+    implements RunnableTask<Query.Output>, MilvusFetchInterface {
+
+  @Schema(title = "The name of the collection to query.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(
+      title = "A boolean expression selecting the entities.",
+      description = "If not set, every entity of the collection is returned.")
+  private Property<String> filter;
+
+  @Schema(
+      title = "The values of the placeholders of the filter.",
+      description =
+          "The filter is then a template such as `tenant_id in {tenants}`, with a `tenants` list as value.")
+  private Property<Map<String, Object>> filterTemplateValues;
+
+  @Schema(title = "The fields returned for each entity.")
+  private Property<List<String>> outputFields;
+
+  @Schema(title = "The names of the partitions to query.")
+  private Property<List<String>> partitionNames;
+
+  @Schema(title = "The maximum number of entities returned.")
+  private Property<Long> limit;
+
+  @Schema(title = "The number of entities read per request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Builder.Default private Property<FetchType> fetchType = Property.ofValue(FetchType.STORE);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+    String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+    Map<String, Object> renderedFilterTemplateValues =
+        runContext.render(filterTemplateValues).asMap(String.class, Object.class);
+    List<String> renderedOutputFields = runContext.render(outputFields).asList(String.class);
+    List<String> renderedPartitionNames = runContext.render(partitionNames).asList(String.class);
+    int renderedBatchSize = runContext.render(batchSize).as(Integer.class).orElse(1000);
+    Long renderedLimit = runContext.render(limit).as(Long.class).orElse(null);
+    FetchType renderedFetchType =
+        runContext.render(fetchType).as(FetchType.class).orElse(FetchType.STORE);
+
+    long start = System.nanoTime();
+    Fetch.Fetched<Map<String, Object>> fetched;
+    if (!renderedFilterTemplateValues.isEmpty()) {
+      if (renderedFilter == null) {
+        throw new IllegalArgumentException("`filterTemplateValues` requires a `filter`.");
+      }
+      if (renderedFilterTemplateValues.containsKey(TemplatePages.CURSOR)) {
+        throw new IllegalArgumentException(
+            "`" + TemplatePages.CURSOR + "` is reserved, use another template value name.");
+      }
+      String primaryField =
+          client
+              .describeCollection(
+                  DescribeCollectionReq.builder().collectionName(renderedCollectionName).build())
+              .getPrimaryFieldName();
+      TemplatePages pages =
+          new TemplatePages(
+              client,
+              QueryReq.builder()
+                  .collectionName(renderedCollectionName)
+                  .filter(renderedFilter)
+                  .filterTemplateValues(new HashMap<>(renderedFilterTemplateValues))
+                  .outputFields(renderedOutputFields)
+                  .partitionNames(renderedPartitionNames)
+                  .build(),
+              primaryField,
+              renderedBatchSize,
+              renderedLimit);
+      fetched =
+          Fetch.of(
+              runContext,
+              renderedFetchType,
+              new Entities(pages),
+              "collection",
+              renderedCollectionName);
+    } else {
+      var request =
+          QueryIteratorReq.builder()
+              .collectionName(renderedCollectionName)
+              .outputFields(renderedOutputFields)
+              .partitionNames(renderedPartitionNames)
+              .batchSize(renderedBatchSize);
+      if (renderedFilter != null) {
+        request.expr(renderedFilter);
+      }
+      if (renderedLimit != null) {
+        request.limit(renderedLimit);
+      }
+
+      QueryIterator iterator = client.queryIterator(request.build());
+      try {
+        fetched =
+            Fetch.of(
+                runContext,
+                renderedFetchType,
+                new Entities(() -> Entities.fieldValues(iterator.next())),
+                "collection",
+                renderedCollectionName);
+      } finally {
+        iterator.close();
+      }
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+    runContext
+        .logger()
+        .info(
+            "{} entities of collection {} queried in {}.",
+            fetched.size(),
+            renderedCollectionName,
+            duration);
+    runContext.metric(Timer.of("query.duration", duration, "collection", renderedCollectionName));
+
+    return Output.builder()
+        .row(fetched.fetchType() == FetchType.FETCH_ONE ? fetched.first() : null)
+        .rows(fetched.fetchType() == FetchType.FETCH ? fetched.rows() : null)
+        .uri(fetched.uri())
+        .size(fetched.size())
+        .build();
+  }
+
+  /**
+   * The pages of a query whose filter is a template, read since the query iterator does not bind
+   * template values. As for the iterator, each page follows the last primary key of the previous
+   * one, Milvus returning the entities of a limited query in primary key order, and no offset
+   * bounds how far the query goes. The request is built once: after the first page, its filter
+   * only gains the cursor, bound as the {@code __cursor} template value.
+   */
+  private static final class TemplatePages implements Supplier<List<Map<String, Object>>> {
+    static final String CURSOR = "__cursor";
+
+    private final MilvusClientV2 client;
+    private final QueryReq request;
+    private final String primaryField;
+    private final int batchSize;
+    private final Long limit;
+    private long read;
+    private boolean exhausted;
+
+    TemplatePages(
+        MilvusClientV2 client, QueryReq request, String primaryField, int batchSize, Long limit) {
+      this.client = client;
+      this.request = request;
+      this.primaryField = primaryField;
+      this.batchSize = batchSize;
+      this.limit = limit;
+    }
+
+    @Override
+    public List<Map<String, Object>> get() {
+      long size = limit == null ? batchSize : Math.min(batchSize, limit - read);
+      if (exhausted || size <= 0) {
+        return List.of();
+      }
+
+      request.setLimit(size);
+      List<Map<String, Object>> page =
+          client.query(request).getQueryResults().stream()
+              .map(QueryResp.QueryResult::getEntity)
+              .toList();
+      read += page.size();
+      exhausted = page.size() < size;
+      if (!exhausted) {
+        if (!request.getFilterTemplateValues().containsKey(CURSOR)) {
+          request.setFilter(
+              "(" + request.getFilter() + ") && " + primaryField + " > {" + CURSOR + "}");
+        }
+        request.getFilterTemplateValues().put(CURSOR, page.getLast().get(primaryField));
+      }
+      return page;
+    }
+  }
+
+  /**
+   * The entities of a query or search, fetched one page at a time, an empty page marking the end.
+   */
+  static final class Entities implements Iterator<Map<String, Object>> {
+    private final Supplier<List<Map<String, Object>>> pages;
+    private List<Map<String, Object>> page = List.of();
+    private int position;
+    private boolean exhausted;
+
+    Entities(Supplier<List<Map<String, Object>>> pages) {
+      this.pages = pages;
+    }
+
+    /** The fields of the entities of a page of a query or search iterator. */
+    static List<Map<String, Object>> fieldValues(List<QueryResultsWrapper.RowRecord> records) {
+      return records.stream().map(QueryResultsWrapper.RowRecord::getFieldValues).toList();
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (position == page.size() && !exhausted) {
+        page = pages.get();
+        position = 0;
+        exhausted = page.isEmpty();
+      }
+      return position < page.size();
+    }
+
+    @Override
+    public Map<String, Object> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return Rows.toPlain(page.get(position++));
+    }
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The first entity, when `fetchType` is FETCH_ONE.")
+    private Map<String, Object> row;
+
+    @Schema(title = "The entities, when `fetchType` is FETCH.")
+    private List<Map<String, Object>> rows;
+
+    @Schema(title = "The URI of the stored entities, when `fetchType` is STORE.")
+    private URI uri;
+
+    @Schema(title = "The number of entities.")
+    private Long size;
+  }
+}
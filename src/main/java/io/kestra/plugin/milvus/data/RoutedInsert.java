@@ -0,0 +1,257 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusClientPool;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.SearchCache;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation inserts the entities of a file into many collections or partitions, routed by their content.",
+    description =
+        """
+            The route key of each entity is the value of `routeField`, or `routeExpression` rendered with the fields of the entity.
+            It selects a destination in `destinations`, or `defaultDestination` for the keys that are not listed; the collection and partition names of the destinations are rendered once per key, with the key as the `route` variable.
+            The file is read once: each destination has its own batch, sent when full or after `maxBatchAge`, and its own window of in-flight insert requests, all of them sharing one client.
+            ION and JSON Lines files are supported.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Split an event stream into one collection per tenant.",
+          full = true,
+          code =
+              """
+                id: route_milvus_events
+                namespace: company.team
+
+                inputs:
+                  - id: events
+                    type: FILE
+
+                tasks:
+                  - id: route
+                    type: io.kestra.plugin.milvus.data.RoutedInsert
+                    url: "http://localhost:19530"
+                    from: "{{ inputs.events }}"
+                    format: JSONL
+                    routeField: tenant
+                    defaultDestination:
+                      collectionName: "tenant_{{ route }}"
+                    destinations:
+                      internal:
+                        collectionName: "internal_events"
+                        partitionName: "staff"
+              """)
+    })
+public class RoutedInsert extends MilvusConnection implements RunnableTask<RoutedInsert.Output> {
+
+  @Schema(title = "The URI of the file to insert, in Kestra internal storage.")
+  @NotNull
+  private Property<String> from;
+
+  @Schema(title = "The format of the file.", description = "Only ION and JSONL are supported.")
+  @Builder.Default
+  private Property<FileFormat> format = Property.ofValue(FileFormat.ION);
+
+  @Schema(
+      title = "The field whose value is the route key of an entity.",
+      description = "Either `routeField` or `routeExpression` must be set.")
+  private Property<String> routeField;
+
+  @Schema(
+      title = "A template rendered with the fields of each entity into its route key.",
+      description =
+          "For example `{{ region }}_{{ kind }}`. It is rendered for every entity; prefer `routeField` when the key is a single field.")
+  private String routeExpression;
+
+  @Schema(title = "The destination of each route key.")
+  private Map<String, Destination> destinations;
+
+  @Schema(
+      title = "The destination of the route keys not listed in `destinations`.",
+      description = "If not set, an entity with another route key fails the task.")
+  private Destination defaultDestination;
+
+  @Schema(title = "The number of entities sent per insert request.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "How long an entity may wait in the batch of its destination before it is sent.",
+      description = "It bounds the delay of the destinations that receive few entities.")
+  @Builder.Default
+  private Property<Duration> maxBatchAge = Property.ofValue(Duration.ofSeconds(5));
+
+  @Schema(title = "The maximum number of concurrent insert requests per destination.")
+  @Builder.Default
+  private Property<Integer> inFlight = Property.ofValue(2);
+
+  @Schema(
+      title = "Whether the float vectors of the fields indexed with COSINE are normalized.",
+      description =
+          "As for `Insert`, the dimension of every float vector is checked against the schema of its destination either way.")
+  @Builder.Default
+  private Property<Boolean> normalize = Property.ofValue(true);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    // the router shares its client with its flushing threads until it is closed
+    return MilvusClientPool.withClient(runContext, this, client -> run(runContext, client));
+  }
+
+  private Output run(RunContext runContext, MilvusClientV2 client) throws Exception {
+    FileFormat renderedFormat =
+        runContext.render(format).as(FileFormat.class).orElse(FileFormat.ION);
+    if (renderedFormat == FileFormat.PARQUET) {
+      throw new IllegalArgumentException("Routed inserts only support ION and JSONL files.");
+    }
+    String renderedRouteField = runContext.render(routeField).as(String.class).orElse(null);
+    if ((renderedRouteField == null) == (routeExpression == null)) {
+      throw new IllegalArgumentException(
+          "Exactly one of `routeField` or `routeExpression` is required.");
+    }
+    boolean renderedNormalize = runContext.render(normalize).as(Boolean.class).orElse(true);
+    Map<String, Insert.Target> targets = new HashMap<>();
+    Router.Resolver resolver =
+        key -> {
+          Destination destination =
+              destinations == null
+                  ? defaultDestination
+                  : destinations.getOrDefault(key, defaultDestination);
+          if (destination == null) {
+            throw new IllegalArgumentException("No destination for the route key '" + key + "'.");
+          }
+          Map<String, Object> variables = Map.of("route", key);
+          String collectionName = runContext.render(destination.getCollectionName(), variables);
+          String partitionName =
+              destination.getPartitionName() == null
+                  ? null
+                  : runContext.render(destination.getPartitionName(), variables);
+          Insert.Target target =
+              targets.computeIfAbsent(
+                  collectionName,
+                  name ->
+                      Insert.Target.of(
+                          client,
+                          client.describeCollection(
+                              DescribeCollectionReq.builder().collectionName(name).build()),
+                          renderedNormalize));
+          runContext.logger().debug("Route {} goes to {}/{}.", key, collectionName, partitionName);
+          return new Router.Destination(collectionName, partitionName, target);
+        };
+
+    long start = System.nanoTime();
+    Map<Router.Destination, Long> routed;
+    URI renderedFrom = URI.create(runContext.render(from).as(String.class).orElseThrow());
+    try (InputStream input = runContext.storage().getFile(renderedFrom);
+        BufferedReader reader =
+            new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), RowWriter.BUFFER_SIZE)) {
+      Router router =
+          new Router(
+              client,
+              runContext.render(batchSize).as(Integer.class).orElse(1000),
+              runContext.render(maxBatchAge).as(Duration.class).orElse(Duration.ofSeconds(5)),
+              runContext.render(inFlight).as(Integer.class).orElse(2),
+              resolver);
+      try (router) {
+        Iterator<?> values = Insert.values(reader, renderedFormat);
+        while (values.hasNext()) {
+          @SuppressWarnings("unchecked")
+          Map<String, Object> row = (Map<String, Object>) values.next();
+          router.route(routeKey(runContext, renderedRouteField, row), row);
+        }
+      }
+      routed = router.rows();
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+    Map<String, Long> rows = new LinkedHashMap<>();
+    long total = 0;
+    for (Map.Entry<Router.Destination, Long> entry : routed.entrySet()) {
+      String collectionName = entry.getKey().collectionName();
+      rows.put(entry.getKey().toString(), entry.getValue());
+      total += entry.getValue();
+      runContext.metric(Counter.of("rows", entry.getValue(), "collection", collectionName));
+    }
+    for (String collectionName : targets.keySet()) {
+      SearchCache.invalidate(
+          runContext, SearchCache.collectionId(runContext, this, client, collectionName));
+    }
+    runContext.metric(Timer.of("insert.duration", duration));
+
+    runContext
+        .logger()
+        .info("{} entities inserted into {} destinations in {}.", total, rows.size(), duration);
+
+    return Output.builder().rows(total).destinations(rows).duration(duration).build();
+  }
+
+  private String routeKey(RunContext runContext, String routeField, Map<String, Object> row)
+      throws Exception {
+    if (routeField != null) {
+      return String.valueOf(row.get(routeField));
+    }
+    return runContext.render(routeExpression, row);
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class Destination {
+
+    @Schema(
+        title = "The name of the collection.",
+        description = "Rendered with the route key as the `route` variable.")
+    @NotBlank
+    private String collectionName;
+
+    @Schema(
+        title = "The name of the partition.",
+        description = "Rendered with the route key as the `route` variable.")
+    private String partitionName;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The total number of inserted entities.")
+    private Long rows;
+
+    @Schema(title = "The number of entities inserted into each collection or partition.")
+    private Map<String, Long> destinations;
+
+    @Schema(title = "The time spent reading and inserting the entities.")
+    private Duration duration;
+  }
+}
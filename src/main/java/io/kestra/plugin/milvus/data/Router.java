@@ -0,0 +1,175 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.gson.JsonObject;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.vector.request.InsertReq;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Inserts the rows of a single stream into many destinations. Every destination has its own batch,
+ * flushed when full or when its oldest row has waited for {@code maxBatchAge}, and its own window
+ * of in-flight insert requests: a slow collection only holds back the stream once its window is
+ * full, while the other destinations keep being written.
+ */
+final class Router implements AutoCloseable {
+  private final MilvusClientV2 client;
+  private final int batchSize;
+  private final long maxBatchAgeNanos;
+  private final int inFlight;
+  private final Resolver resolver;
+
+  private final Map<String, Lane> routes = new HashMap<>();
+  private final Map<Destination, Lane> lanes = new LinkedHashMap<>();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final AtomicReference<Exception> failure = new AtomicReference<>();
+  private long nextAgeCheck;
+
+  Router(
+      MilvusClientV2 client, int batchSize, Duration maxBatchAge, int inFlight, Resolver resolver) {
+    this.client = client;
+    this.batchSize = batchSize;
+    this.maxBatchAgeNanos = maxBatchAge.toNanos();
+    this.inFlight = Math.max(1, inFlight);
+    this.resolver = resolver;
+    this.nextAgeCheck = System.nanoTime() + maxBatchAgeNanos;
+  }
+
+  /** Adds the row to the batch of the destination of the route key. */
+  void route(String key, Map<String, Object> row) throws Exception {
+    rethrow();
+
+    Lane lane = routes.get(key);
+    if (lane == null) {
+      lane = lanes.computeIfAbsent(resolver.resolve(key), Lane::new);
+      routes.put(key, lane);
+    }
+
+    long now = System.nanoTime();
+    if (lane.batch.isEmpty()) {
+      lane.since = now;
+    }
+    lane.batch.add(lane.destination.target().toRow(row));
+    if (lane.batch.size() >= batchSize) {
+      flush(lane);
+    }
+
+    if (now >= nextAgeCheck) {
+      for (Lane aged : lanes.values()) {
+        if (!aged.batch.isEmpty() && now - aged.since >= maxBatchAgeNanos) {
+          flush(aged);
+        }
+      }
+      nextAgeCheck = now + maxBatchAgeNanos / 2;
+    }
+  }
+
+  /** The number of rows inserted into each destination. */
+  Map<Destination, Long> rows() {
+    Map<Destination, Long> rows = new LinkedHashMap<>();
+    lanes.forEach((destination, lane) -> rows.put(destination, lane.rows.get()));
+    return rows;
+  }
+
+  /** Flushes the remaining batches and waits for every insert request. */
+  @Override
+  public void close() throws Exception {
+    try {
+      if (failure.get() == null) {
+        for (Lane lane : lanes.values()) {
+          if (!lane.batch.isEmpty()) {
+            flush(lane);
+          }
+        }
+      }
+    } finally {
+      executor.close();
+    }
+    rethrow();
+  }
+
+  private void flush(Lane lane) throws InterruptedException {
+    List<JsonObject> batch = lane.batch;
+    lane.batch = new ArrayList<>(batchSize);
+
+    lane.window.acquire();
+    executor.submit(
+        () -> {
+          try {
+            if (failure.get() == null) {
+              var request =
+                  InsertReq.builder()
+                      .collectionName(lane.destination.collectionName())
+                      .data(batch);
+              if (lane.destination.partitionName() != null) {
+                request.partitionName(lane.destination.partitionName());
+              }
+              client.insert(request.build());
+              lane.rows.addAndGet(batch.size());
+            }
+          } catch (Exception e) {
+            failure.compareAndSet(null, e);
+          } finally {
+            lane.window.release();
+          }
+        });
+  }
+
+  private void rethrow() throws Exception {
+    Exception e = failure.get();
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  /**
+   * The collection, and optionally the partition, that rows are inserted into; the target only
+   * describes the collection and is not part of the identity of the destination.
+   */
+  record Destination(String collectionName, String partitionName, Insert.Target target) {
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Destination destination
+          && collectionName.equals(destination.collectionName)
+          && Objects.equals(partitionName, destination.partitionName);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(collectionName, partitionName);
+    }
+
+    @Override
+    public String toString() {
+      return partitionName == null ? collectionName : collectionName + "/" + partitionName;
+    }
+  }
+
+  @FunctionalInterface
+  interface Resolver {
+    Destination resolve(String key) throws Exception;
+  }
+
+  private final class Lane {
+    private final Destination destination;
+    private final Semaphore window = new Semaphore(inFlight);
+    private final AtomicLong rows = new AtomicLong();
+    private List<JsonObject> batch = new ArrayList<>(batchSize);
+    private long since;
+
+    Lane(Destination destination) {
+      this.destination = destination;
+    }
+  }
+}
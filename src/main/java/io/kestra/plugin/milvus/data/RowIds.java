@@ -0,0 +1,184 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.common.hash.Hashing;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.milvus.NamespaceKv;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.ConsistencyLevel;
+import io.milvus.v2.service.collection.request.GetLoadStateReq;
+import io.milvus.v2.service.vector.request.QueryReq;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Primary keys laid out like Snowflake ids, but derived from the input rather than from the clock:
+ * the 23 high bits identify the run and the 40 low bits are the offset of the row in the input. An
+ * id only depends on its offset, so the lanes of a load need no coordination, and a retried run
+ * writes the same ids again.
+ *
+ * <p>A hashed run id may collide with the one of another task run, whose entities would then be
+ * overwritten by the upserts: {@link #claim} refuses such a run id before anything is written.
+ */
+final class RowIds {
+  static final int OFFSET_BITS = 40;
+  static final long MAX_RUN = (1L << (Long.SIZE - 1 - OFFSET_BITS)) - 1;
+  static final long MAX_OFFSET = (1L << OFFSET_BITS) - 1;
+
+  /**
+   * How long a claim outlives its last check. Once its run has written, the ids in the collection
+   * refuse the run id to other task runs, so the claim only covers the time before the first write.
+   */
+  static final Duration CLAIM_TTL = Duration.ofDays(1);
+
+  private final long run;
+
+  RowIds(long run) {
+    if (run < 0 || run > MAX_RUN) {
+      throw new IllegalArgumentException("The run id must be between 0 and " + MAX_RUN);
+    }
+    this.run = run;
+  }
+
+  /**
+   * The run id of the task run, hashed from the ids of the execution and of the task run, which do
+   * not change when the task is retried.
+   */
+  static long run(RunContext runContext) {
+    byte[] key = owner(runContext).getBytes(StandardCharsets.UTF_8);
+    return UUID.nameUUIDFromBytes(key).getMostSignificantBits() & MAX_RUN;
+  }
+
+  /**
+   * Records the task run as the owner of the hashed run id in the collection, in the KV store of
+   * the namespace. Fails if another task run claimed the run id, or if the collection already holds
+   * ids of the run that another task run wrote; a retry of the owner writes its ids again. The
+   * collection must be loaded to be checked.
+   *
+   * <p>The KV store has no compare-and-set: the claim is only written if the key is still missing,
+   * then read back, so that of two task runs checking at once only the one whose claim was kept
+   * goes on.
+   */
+  static void claim(
+      RunContext runContext,
+      MilvusClientV2 client,
+      String collectionName,
+      String collectionId,
+      String idField,
+      long run)
+      throws Exception {
+    String owner = owner(runContext);
+    KVStore kv = NamespaceKv.of(runContext);
+    String key = claimKey(collectionId, run);
+    Optional<KVValue> claimed = kv.getValue(key);
+    if (claimed.isPresent()) {
+      if (owner.equals(claimed.get().value())) {
+        return;
+      }
+      throw claimedBy(run, collectionName, claimed.get().value());
+    }
+
+    if (!Boolean.TRUE.equals(
+        client.getLoadState(GetLoadStateReq.builder().collectionName(collectionName).build()))) {
+      throw new IllegalStateException(
+          "Collection "
+              + collectionName
+              + " is not loaded, the hashed run id "
+              + run
+              + " cannot be checked against its ids: load it or set `idGeneration.runId`.");
+    }
+    Object existing =
+        client
+            .query(
+                QueryReq.builder()
+                    .collectionName(collectionName)
+                    .filter(new RowIds(run).filter(idField))
+                    .outputFields(List.of("count(*)"))
+                    .consistencyLevel(ConsistencyLevel.STRONG)
+                    .build())
+            .getQueryResults()
+            .getFirst()
+            .getEntity()
+            .get("count(*)");
+    if (((Number) existing).longValue() > 0) {
+      throw new IllegalStateException(
+          "The hashed run id "
+              + run
+              + " already has "
+              + existing
+              + " entities in collection "
+              + collectionName
+              + " written by another task run, that the upserts would overwrite: set"
+              + " `idGeneration.runId`.");
+    }
+
+    Exception putException = null;
+    try {
+      kv.put(
+          key,
+          new KVValueAndMetadata(new KVMetadata("Milvus run id owner", CLAIM_TTL), owner),
+          false);
+    } catch (Exception e) {
+      // most likely claimed since it was read, which the value read back tells
+      putException = e;
+    }
+    Optional<KVValue> kept = kv.getValue(key);
+    if (kept.isEmpty() || !owner.equals(kept.get().value())) {
+      IllegalStateException exception =
+          claimedBy(run, collectionName, kept.map(KVValue::value).orElse(null));
+      if (putException != null) {
+        exception.addSuppressed(putException);
+      }
+      throw exception;
+    }
+  }
+
+  /** The KV key of the claim of a run id in a collection. */
+  static String claimKey(String collectionId, long run) {
+    return "milvus_run_"
+        + Hashing.murmur3_128().hashString(collectionId + "/" + run, StandardCharsets.UTF_8);
+  }
+
+  private static IllegalStateException claimedBy(long run, String collectionName, Object owner) {
+    return new IllegalStateException(
+        "The hashed run id "
+            + run
+            + " of collection "
+            + collectionName
+            + " is claimed by the task run "
+            + owner
+            + ": set `idGeneration.runId`.");
+  }
+
+  private static String owner(RunContext runContext) {
+    Map<String, Object> variables = runContext.getVariables();
+    if (!(variables.get("execution") instanceof Map<?, ?> execution)
+        || !(variables.get("taskrun") instanceof Map<?, ?> taskRun)) {
+      throw new IllegalArgumentException("The run id is required outside of a flow.");
+    }
+    return execution.get("id") + "/" + taskRun.get("id");
+  }
+
+  long run() {
+    return run;
+  }
+
+  /** The filter matching the ids of the run. */
+  String filter(String idField) {
+    return idField + " >= " + id(0) + " && " + idField + " <= " + id(MAX_OFFSET);
+  }
+
+  long id(long offset) {
+    if (offset < 0 || offset > MAX_OFFSET) {
+      throw new IllegalArgumentException("The offset " + offset + " does not fit in an id");
+    }
+    return run << OFFSET_BITS | offset;
+  }
+}
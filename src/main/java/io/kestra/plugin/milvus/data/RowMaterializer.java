@@ -0,0 +1,242 @@
+package io.kestra.plugin.milvus.data;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.milvus.v2.common.DataType;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.Type;
+
+/**
+ * Decodes Parquet records straight into the JSON rows of insert requests, each column being
+ * converted according to the type of the target field.
+ *
+ * <p>Vector columns are read as the little-endian buffers written by {@link Export}: the float
+ * values are taken from a view of the page data, without materializing a boxed value per float.
+ * Columns of float lists are accepted as well, for files written by other tools.
+ */
+final class RowMaterializer extends RecordMaterializer<JsonObject> {
+  private final Root root;
+
+  /**
+   * @param fieldTypes the types of the fields of the target collection
+   * @param droppedField a field to skip, the primary key of collections with auto generated ids
+   * @param dynamic whether the columns unknown to the collection are kept as dynamic fields
+   */
+  RowMaterializer(
+      MessageType schema, Map<String, DataType> fieldTypes, String droppedField, boolean dynamic) {
+    this.root = new Root(schema, fieldTypes, droppedField, dynamic);
+  }
+
+  @Override
+  public JsonObject getCurrentRecord() {
+    return root.row;
+  }
+
+  @Override
+  public GroupConverter getRootConverter() {
+    return root;
+  }
+
+  private static final class Root extends GroupConverter {
+    private final Converter[] converters;
+    private JsonObject row;
+
+    private Root(
+        MessageType schema,
+        Map<String, DataType> fieldTypes,
+        String droppedField,
+        boolean dynamic) {
+      this.converters = new Converter[schema.getFieldCount()];
+      for (int i = 0; i < converters.length; i++) {
+        Type field = schema.getType(i);
+        String name = field.getName();
+        DataType dataType = fieldTypes.get(name);
+
+        if (name.equals(droppedField) || (dataType == null && !dynamic)) {
+          converters[i] = ignored(field);
+        } else if (field.isPrimitive()) {
+          converters[i] = new Value(dataType, name, value -> put(name, value));
+        } else {
+          converters[i] = new ListValue(field.asGroupType(), dataType, value -> put(name, value));
+        }
+      }
+    }
+
+    private void put(String name, JsonElement value) {
+      if (name.equals(ParquetRows.DYNAMIC_FIELD) && value.isJsonObject()) {
+        for (Map.Entry<String, JsonElement> entry : value.getAsJsonObject().entrySet()) {
+          row.add(entry.getKey(), entry.getValue());
+        }
+      } else {
+        row.add(name, value);
+      }
+    }
+
+    @Override
+    public Converter getConverter(int fieldIndex) {
+      return converters[fieldIndex];
+    }
+
+    @Override
+    public void start() {
+      row = new JsonObject();
+    }
+
+    @Override
+    public void end() {}
+  }
+
+  /** A Parquet list, in the standard three-level layout or the legacy two-level one. */
+  private static final class ListValue extends GroupConverter {
+    private final Converter repeated;
+    private final Consumer<JsonElement> consumer;
+    private JsonArray values;
+
+    private ListValue(GroupType listType, DataType dataType, Consumer<JsonElement> consumer) {
+      this.consumer = consumer;
+      Type repeatedType = listType.getType(0);
+      Value element = new Value(dataType, listType.getName(), value -> values.add(value));
+      if (repeatedType.isPrimitive()) {
+        this.repeated = element;
+      } else {
+        this.repeated =
+            new GroupConverter() {
+              @Override
+              public Converter getConverter(int fieldIndex) {
+                return element;
+              }
+
+              @Override
+              public void start() {}
+
+              @Override
+              public void end() {}
+            };
+      }
+    }
+
+    @Override
+    public Converter getConverter(int fieldIndex) {
+      return repeated;
+    }
+
+    @Override
+    public void start() {
+      values = new JsonArray();
+    }
+
+    @Override
+    public void end() {
+      consumer.accept(values);
+    }
+  }
+
+  private static final class Value extends PrimitiveConverter {
+    private final DataType dataType;
+    private final String name;
+    private final Consumer<JsonElement> consumer;
+
+    private Value(DataType dataType, String name, Consumer<JsonElement> consumer) {
+      this.dataType = dataType;
+      this.name = name;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+      if (dataType == null) {
+        consumer.accept(
+            name.equals(ParquetRows.DYNAMIC_FIELD)
+                ? JsonParser.parseString(value.toStringUsingUTF8())
+                : new JsonPrimitive(value.toStringUsingUTF8()));
+        return;
+      }
+
+      switch (dataType) {
+        case FloatVector -> {
+          FloatBuffer floats =
+              value.toByteBuffer().order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+          JsonArray vector = new JsonArray(floats.remaining());
+          for (int i = 0; i < floats.remaining(); i++) {
+            vector.add(floats.get(i));
+          }
+          consumer.accept(vector);
+        }
+        case BinaryVector, Float16Vector, BFloat16Vector -> {
+          byte[] bytes = value.getBytesUnsafe();
+          JsonArray vector = new JsonArray(bytes.length);
+          for (byte b : bytes) {
+            vector.add(b);
+          }
+          consumer.accept(vector);
+        }
+        case JSON, SparseFloatVector ->
+            consumer.accept(JsonParser.parseString(value.toStringUsingUTF8()));
+        default -> consumer.accept(new JsonPrimitive(value.toStringUsingUTF8()));
+      }
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+      consumer.accept(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void addInt(int value) {
+      consumer.accept(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void addLong(long value) {
+      consumer.accept(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void addFloat(float value) {
+      consumer.accept(new JsonPrimitive(value));
+    }
+
+    @Override
+    public void addDouble(double value) {
+      consumer.accept(new JsonPrimitive(value));
+    }
+  }
+
+  /** A converter discarding the values of a column and of its nested columns. */
+  private static Converter ignored(Type type) {
+    if (type.isPrimitive()) {
+      return new PrimitiveConverter() {};
+    }
+
+    GroupType group = type.asGroupType();
+    Converter[] children = new Converter[group.getFieldCount()];
+    for (int i = 0; i < children.length; i++) {
+      children[i] = ignored(group.getType(i));
+    }
+    return new GroupConverter() {
+      @Override
+      public Converter getConverter(int fieldIndex) {
+        return children[fieldIndex];
+      }
+
+      @Override
+      public void start() {}
+
+      @Override
+      public void end() {}
+    };
+  }
+}
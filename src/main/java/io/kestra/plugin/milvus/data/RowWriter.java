@@ -0,0 +1,83 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.milvus.Rows;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+/** Writes the rows read from a collection to a file of a given format. */
+interface RowWriter extends AutoCloseable {
+  int BUFFER_SIZE = 32 * 1024;
+
+  void write(Map<String, Object> row) throws IOException;
+
+  @Override
+  void close() throws IOException;
+
+  static RowWriter open(
+      FileFormat format,
+      Path path,
+      String collectionName,
+      List<ParquetRows.Column> columns,
+      long rowGroupSize,
+      CompressionCodecName compression)
+      throws IOException {
+    return switch (format) {
+      case ION -> {
+        OutputStream output =
+            new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE);
+        yield new RowWriter() {
+          @Override
+          public void write(Map<String, Object> row) throws IOException {
+            FileSerde.write(output, Rows.toPlain(row));
+          }
+
+          @Override
+          public void close() throws IOException {
+            output.close();
+          }
+        };
+      }
+      case JSONL -> {
+        Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        yield new RowWriter() {
+          @Override
+          public void write(Map<String, Object> row) throws IOException {
+            writer.write(JacksonMapper.ofJson().writeValueAsString(Rows.toPlain(row)));
+            writer.write('\n');
+          }
+
+          @Override
+          public void close() throws IOException {
+            writer.close();
+          }
+        };
+      }
+      case PARQUET -> {
+        ParquetWriter<Map<String, Object>> writer =
+            ParquetRows.writer(path, collectionName, columns, rowGroupSize, compression);
+        yield new RowWriter() {
+          @Override
+          public void write(Map<String, Object> row) throws IOException {
+            writer.write(row);
+          }
+
+          @Override
+          public void close() throws IOException {
+            writer.close();
+          }
+        };
+      }
+    };
+  }
+}
@@ -0,0 +1,246 @@
+package io.kestra.plugin.milvus.data;
+
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.service.collection.request.AddFieldReq;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Infers the fields of a collection from a sample of its entities.
+ *
+ * <ul>
+ *   <li>lists of numbers of a constant length holding at least one non-integer value are float
+ *       vectors, lists of booleans, numbers or strings are arrays, other lists are JSON;
+ *   <li>VarChar fields and elements get the maximum length given, whatever the sample holds, as
+ *       the rest of the file may hold longer values; arrays get the largest capacity allowed;
+ *   <li>fields missing or null in some entities are nullable;
+ *   <li>values of conflicting types make a JSON field.
+ * </ul>
+ */
+final class SchemaInference {
+  static final int MAX_VARCHAR_LENGTH = 65_535;
+  static final int MAX_ARRAY_CAPACITY = 4_096;
+  static final String GENERATED_PRIMARY_FIELD = "id";
+
+  private SchemaInference() {}
+
+  /**
+   * The fields of the sampled entities, the primary key first. If the primary field is not set,
+   * a field named {@code id} holding integers or strings is used, otherwise an auto-generated
+   * Int64 key is added.
+   */
+  static Inferred infer(List<Map<String, Object>> samples, String primaryField, int maxLength) {
+    if (maxLength < 1 || maxLength > MAX_VARCHAR_LENGTH) {
+      throw new IllegalArgumentException(
+          "The maximum length must be between 1 and " + MAX_VARCHAR_LENGTH + ", not " + maxLength);
+    }
+    Map<String, Observation> observations = new LinkedHashMap<>();
+    for (Map<String, Object> sample : samples) {
+      sample.forEach(
+          (name, value) ->
+              observations.computeIfAbsent(name, k -> new Observation()).observe(value));
+    }
+
+    String primary = primaryField;
+    if (primary == null
+        && observations.get(GENERATED_PRIMARY_FIELD) instanceof Observation id
+        && (id.type() == DataType.Int64 || id.type() == DataType.VarChar)) {
+      primary = GENERATED_PRIMARY_FIELD;
+    }
+    boolean autoID = primary == null;
+    if (autoID) {
+      primary = GENERATED_PRIMARY_FIELD;
+      if (observations.containsKey(primary)) {
+        throw new IllegalArgumentException(
+            "Field " + primary + " can't be a primary key, set the primary field explicitly.");
+      }
+    } else if (!observations.containsKey(primary)) {
+      throw new IllegalArgumentException("Primary field " + primary + " is not in the entities.");
+    }
+
+    List<AddFieldReq> fields = new ArrayList<>();
+    List<String> vectorFields = new ArrayList<>();
+    if (autoID) {
+      fields.add(
+          AddFieldReq.builder()
+              .fieldName(primary)
+              .dataType(DataType.Int64)
+              .isPrimaryKey(true)
+              .autoID(true)
+              .build());
+    }
+
+    for (Map.Entry<String, Observation> entry : observations.entrySet()) {
+      String name = entry.getKey();
+      Observation observation = entry.getValue();
+      boolean isPrimary = name.equals(primary);
+      boolean nullable = observation.seen < samples.size() || observation.nulls > 0;
+      DataType type = observation.type();
+
+      var field = AddFieldReq.builder().fieldName(name).dataType(type);
+      switch (type) {
+        case FloatVector -> {
+          if (nullable) {
+            throw new IllegalArgumentException("Vector field " + name + " is missing in entities.");
+          }
+          field.dimension(observation.dimension);
+          vectorFields.add(name);
+        }
+        case VarChar -> field.maxLength(checkLength(name, observation, maxLength));
+        case Array ->
+            field
+                .elementType(observation.elementType())
+                .maxCapacity(MAX_ARRAY_CAPACITY)
+                .maxLength(checkLength(name, observation, maxLength));
+        default -> {}
+      }
+      if (isPrimary) {
+        if (type != DataType.Int64 && type != DataType.VarChar) {
+          throw new IllegalArgumentException(
+              "Primary field " + name + " must hold integers or strings, not " + type + ".");
+        }
+        field.isPrimaryKey(true).autoID(false);
+        fields.addFirst(field.build());
+      } else {
+        if (nullable && type != DataType.FloatVector) {
+          field.isNullable(true);
+        }
+        fields.add(field.build());
+      }
+    }
+
+    if (vectorFields.isEmpty()) {
+      throw new IllegalArgumentException("No vector field found in the sampled entities.");
+    }
+    return new Inferred(fields, vectorFields, primary, autoID);
+  }
+
+  private static int checkLength(String name, Observation observation, int maxLength) {
+    if (observation.maxLength > maxLength) {
+      throw new IllegalArgumentException(
+          "Field "
+              + name
+              + " holds strings of "
+              + observation.maxLength
+              + " bytes, longer than the maximum length of "
+              + maxLength
+              + ".");
+    }
+    return maxLength;
+  }
+
+  record Inferred(
+      List<AddFieldReq> fields, List<String> vectorFields, String primaryField, boolean autoID) {}
+
+  /** The types of the values seen for a field. */
+  private static final class Observation {
+    private int seen;
+    private int nulls;
+    private boolean booleans;
+    private boolean integers;
+    private boolean decimals;
+    private boolean strings;
+    private boolean objects;
+    private boolean lists;
+    private boolean numericLists = true;
+    private boolean decimalElements;
+    private int dimension = -1;
+    private boolean constantDimension = true;
+    private int maxLength;
+    private int maxCapacity;
+    private Observation elementObservation;
+
+    void observe(Object value) {
+      seen++;
+      switch (value) {
+        case null -> nulls++;
+        case Boolean b -> booleans = true;
+        case Float f -> decimals = true;
+        case Double d -> decimals = true;
+        case Number n -> integers = true;
+        case CharSequence s -> {
+          strings = true;
+          maxLength = Math.max(maxLength, s.toString().getBytes(StandardCharsets.UTF_8).length);
+        }
+        case List<?> list -> observeList(list);
+        default -> objects = true;
+      }
+    }
+
+    private void observeList(List<?> list) {
+      lists = true;
+      maxCapacity = Math.max(maxCapacity, list.size());
+      if (dimension == -1) {
+        dimension = list.size();
+      } else if (dimension != list.size()) {
+        constantDimension = false;
+      }
+
+      if (elementObservation == null) {
+        elementObservation = new Observation();
+      }
+      for (Object element : list) {
+        if (!(element instanceof Number)) {
+          numericLists = false;
+        }
+        if (element instanceof Float || element instanceof Double) {
+          decimalElements = true;
+        }
+        elementObservation.observe(element);
+      }
+      maxLength = Math.max(maxLength, elementObservation.maxLength);
+    }
+
+    DataType type() {
+      int kinds =
+          (booleans ? 1 : 0)
+              + (integers || decimals ? 1 : 0)
+              + (strings ? 1 : 0)
+              + (lists ? 1 : 0)
+              + (objects ? 1 : 0);
+      if (kinds != 1) {
+        return DataType.JSON;
+      }
+      if (booleans) {
+        return DataType.Bool;
+      }
+      if (decimals) {
+        return DataType.Double;
+      }
+      if (integers) {
+        return DataType.Int64;
+      }
+      if (strings) {
+        return DataType.VarChar;
+      }
+      if (lists) {
+        if (numericLists && decimalElements && constantDimension && dimension > 1) {
+          return DataType.FloatVector;
+        }
+        DataType elementType = elementType();
+        return elementType == DataType.JSON || maxCapacity > MAX_ARRAY_CAPACITY
+            ? DataType.JSON
+            : DataType.Array;
+      }
+      return DataType.JSON;
+    }
+
+    /** The element type of an array field, or JSON if the elements can't make one. */
+    DataType elementType() {
+      // arrays hold neither null nor nested values
+      if (elementObservation == null
+          || elementObservation.seen == 0
+          || elementObservation.nulls > 0) {
+        return DataType.JSON;
+      }
+      DataType type = elementObservation.type();
+      return switch (type) {
+        case Bool, Int64, Double, VarChar -> type;
+        default -> DataType.JSON;
+      };
+    }
+  }
+}
@@ -0,0 +1,540 @@
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Fetch;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusFetchInterface;
+import io.kestra.plugin.milvus.NamespaceKv;
+import io.kestra.plugin.milvus.Rows;
+import io.kestra.plugin.milvus.SearchCache;
+import io.kestra.plugin.milvus.vector.VectorMath;
+import io.milvus.common.utils.JsonUtils;
+import io.milvus.orm.iterator.SearchIterator;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.index.request.DescribeIndexReq;
+import io.milvus.v2.service.index.response.DescribeIndexResp;
+import io.milvus.v2.service.vector.request.SearchIteratorReq;
+import io.milvus.v2.service.vector.request.SearchReq;
+import io.milvus.v2.service.vector.request.data.BaseVector;
+import io.milvus.v2.service.vector.request.data.FloatVec;
+import io.milvus.v2.service.vector.response.SearchResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation searches a collection for the nearest neighbours of query vectors.",
+    description =
+        """
+            Each hit is returned as one row holding the index of its query vector, its rank, its id, its distance and its output fields.
+            Use `fetchType: STORE` for large result sets, so that they are written to internal storage instead of being stored with the execution.
+            Set `radius` and `rangeFilter` for a range search, returning the neighbours within a distance instead of a fixed number of them, and `groupByFieldName` for a grouping search.
+            With `iterate: true`, the hits are read in batches with a search iterator, which is not bound by the `topK` limit of a single search: the memory used stays constant with `fetchType: STORE`, whatever the number of hits.
+            The search iterator takes a single query vector and does not support grouping.
+            Large value lists are better bound with `filterTemplateValues` than rendered into the filter: Milvus parses the template once and the values are sent as they are.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Search the ten nearest documents of a query vector.",
+          full = true,
+          code =
+              """
+                id: search_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.milvus.data.Search
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    vectors:
+                      - [0.12, 0.53, 0.08, 0.91]
+                    topK: 10
+                    filter: "year >= 2024"
+                    outputFields:
+                      - title
+                    searchParams:
+                      ef: 64
+              """),
+      @Example(
+          title = "Store every neighbour within a distance of a query vector.",
+          full = true,
+          code =
+              """
+                id: range_search_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.milvus.data.Search
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    vectors:
+                      - [0.12, 0.53, 0.08, 0.91]
+                    radius: 0.8
+                    iterate: true
+                    batchSize: 5000
+                    fetchType: STORE
+              """),
+      @Example(
+          title = "Search the documents of a list of tenants, bound as a filter template value.",
+          full = true,
+          code =
+              """
+                id: tenant_search_milvus_collection
+                namespace: company.team
+
+                tasks:
+                  - id: search
+                    type: io.kestra.plugin.milvus.data.Search
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    vectors:
+                      - [0.12, 0.53, 0.08, 0.91]
+                    filter: "tenant_id in {tenants}"
+                    filterTemplateValues:
+                      tenants: [12, 27, 31, 48]
+              """)
+    })
+public class Search extends MilvusConnection
+    implements RunnableTask<Search.Output>, MilvusFetchInterface {
+
+  @Schema(title = "The name of the collection to search.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(
+      title = "The name of the vector field to search.",
+      description = "Required when the collection has more than one vector field.")
+  private Property<String> vectorFieldName;
+
+  @Schema(title = "The query vectors.")
+  @NotNull
+  private Property<List<List<Float>>> vectors;
+
+  @Schema(title = "The number of neighbours returned for each query vector.")
+  @Builder.Default
+  private Property<Integer> topK = Property.ofValue(10);
+
+  @Schema(title = "A boolean expression filtering the searched entities.")
+  private Property<String> filter;
+
+  @Schema(
+      title = "The values of the placeholders of the filter.",
+      description =
+          "The filter is then a template such as `tenant_id in {tenants}`, with a `tenants` list as value. The search iterator does not support templates.")
+  private Property<Map<String, Object>> filterTemplateValues;
+
+  @Schema(title = "The fields returned with each hit.")
+  private Property<List<String>> outputFields;
+
+  @Schema(title = "The names of the partitions to search.")
+  private Property<List<String>> partitionNames;
+
+  @Schema(
+      title = "The search parameters of the index.",
+      description = "For example `ef` for HNSW, `nprobe` for IVF indexes.")
+  private Property<Map<String, Object>> searchParams;
+
+  @Schema(
+      title = "The outer bound of the range search.",
+      description =
+          "Only the hits whose score is better than the radius are returned: above it for the IP and COSINE metrics, below it for the others.")
+  private Property<Double> radius;
+
+  @Schema(
+      title = "The inner bound of the range search.",
+      description = "Excludes the hits whose score is better than it, such as exact duplicates.")
+  private Property<Double> rangeFilter;
+
+  @Schema(
+      title = "The scalar field by which the hits are grouped.",
+      description = "With a grouping search, `topK` is the number of groups returned.")
+  private Property<String> groupByFieldName;
+
+  @Schema(title = "The number of hits returned per group.")
+  private Property<Integer> groupSize;
+
+  @Schema(title = "Whether every group must hold `groupSize` hits.")
+  private Property<Boolean> strictGroupSize;
+
+  @Schema(
+      title = "Whether the hits are read in batches with a search iterator.",
+      description = "The iterator is not bound by the limit of `topK` of a single search.")
+  @Builder.Default
+  private Property<Boolean> iterate = Property.ofValue(false);
+
+  @Schema(title = "The number of hits read per request of the search iterator.")
+  @Builder.Default
+  private Property<Integer> batchSize = Property.ofValue(1000);
+
+  @Schema(
+      title = "The maximum number of hits returned by the search iterator.",
+      description = "If not set, every hit is returned; `topK` is ignored by the search iterator.")
+  private Property<Long> limit;
+
+  @Schema(
+      title = "How long the results are cached; if not set, results are not cached.",
+      description =
+          """
+              Results are cached in the KV store of the namespace, keyed by a hash of the query vectors and of the search parameters, with an in-memory tier on each worker.
+              The cache of a collection is invalidated when a task of this plugin writes to it; writes made by other clients are only seen once the entries expire.
+          """)
+  private Property<Duration> cacheTtl;
+
+  @Builder.Default private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    String renderedCollectionName = runContext.render(collectionName);
+
+    float[][] queries = toQueries(runContext.render(vectors).asList(List.class));
+    List<BaseVector> data = new ArrayList<>(queries.length);
+    for (float[] query : queries) {
+      data.add(new FloatVec(query));
+    }
+
+    String renderedVectorField = runContext.render(vectorFieldName).as(String.class).orElse(null);
+    String renderedFilter = runContext.render(filter).as(String.class).orElse(null);
+    Map<String, Object> renderedFilterTemplateValues =
+        new TreeMap<>(runContext.render(filterTemplateValues).asMap(String.class, Object.class));
+    int renderedTopK = runContext.render(topK).as(Integer.class).orElse(10);
+    List<String> renderedOutputFields = runContext.render(outputFields).asList(String.class);
+    List<String> renderedPartitionNames = runContext.render(partitionNames).asList(String.class);
+    Map<String, Object> renderedSearchParams =
+        new TreeMap<>(runContext.render(searchParams).asMap(String.class, Object.class));
+    runContext
+        .render(radius)
+        .as(Double.class)
+        .ifPresent(value -> renderedSearchParams.put("radius", value));
+    runContext
+        .render(rangeFilter)
+        .as(Double.class)
+        .ifPresent(value -> renderedSearchParams.put("range_filter", value));
+    String renderedGroupByFieldName =
+        runContext.render(groupByFieldName).as(String.class).orElse(null);
+    Integer renderedGroupSize = runContext.render(groupSize).as(Integer.class).orElse(null);
+    Boolean renderedStrictGroupSize =
+        runContext.render(strictGroupSize).as(Boolean.class).orElse(null);
+
+    if (runContext.render(iterate).as(Boolean.class).orElse(false)) {
+      if (renderedGroupByFieldName != null) {
+        throw new IllegalArgumentException("The search iterator does not support grouping.");
+      }
+      if (!renderedFilterTemplateValues.isEmpty()) {
+        throw new IllegalArgumentException(
+            "The search iterator does not support filter templates.");
+      }
+      return iterate(
+          runContext,
+          client,
+          renderedCollectionName,
+          queries,
+          renderedVectorField,
+          renderedFilter,
+          renderedOutputFields,
+          renderedPartitionNames,
+          renderedSearchParams);
+    }
+
+    String cacheKey = null;
+    Duration renderedCacheTtl = runContext.render(cacheTtl).as(Duration.class).orElse(null);
+    if (renderedCacheTtl != null && !NamespaceKv.isAvailable(runContext)) {
+      runContext.logger().warn("No namespace KV store is available, results won't be cached.");
+    } else if (renderedCacheTtl != null) {
+      cacheKey =
+          SearchCache.key(
+              runContext,
+              SearchCache.collectionId(runContext, this, client, renderedCollectionName),
+              queries,
+              Arrays.asList(
+                  renderedVectorField,
+                  renderedFilter,
+                  renderedFilterTemplateValues,
+                  renderedTopK,
+                  renderedOutputFields,
+                  renderedPartitionNames,
+                  renderedSearchParams,
+                  renderedGroupByFieldName,
+                  renderedGroupSize,
+                  renderedStrictGroupSize));
+    }
+
+    List<Map<String, Object>> hits =
+        cacheKey == null ? null : SearchCache.get(runContext, cacheKey).orElse(null);
+    boolean cached = hits != null;
+    if (cacheKey != null) {
+      runContext.metric(
+          Counter.of(cached ? "cache.hit" : "cache.miss", 1, "collection", renderedCollectionName));
+    }
+
+    if (!cached) {
+      var request =
+          SearchReq.builder()
+              .collectionName(renderedCollectionName)
+              .data(data)
+              .topK(renderedTopK)
+              .outputFields(renderedOutputFields)
+              .partitionNames(renderedPartitionNames);
+      if (renderedVectorField != null) {
+        request.annsField(renderedVectorField);
+      }
+      if (renderedFilter != null) {
+        request.filter(renderedFilter);
+      }
+      if (!renderedFilterTemplateValues.isEmpty()) {
+        request.filterTemplateValues(renderedFilterTemplateValues);
+      }
+      if (!renderedSearchParams.isEmpty()) {
+        request.searchParams(renderedSearchParams);
+      }
+      if (renderedGroupByFieldName != null) {
+        request.groupByFieldName(renderedGroupByFieldName);
+      }
+      if (renderedGroupSize != null) {
+        request.groupSize(renderedGroupSize);
+      }
+      if (renderedStrictGroupSize != null) {
+        request.strictGroupSize(renderedStrictGroupSize);
+      }
+
+      long start = System.nanoTime();
+      SearchResp searchResp = client.search(request.build());
+      Duration duration = Duration.ofNanos(System.nanoTime() - start);
+      runContext.metric(
+          Timer.of("search.duration", duration, "collection", renderedCollectionName));
+
+      hits = rows(searchResp.getSearchResults());
+      if (cacheKey != null) {
+        SearchCache.put(runContext, cacheKey, hits, renderedCacheTtl);
+      }
+    }
+
+    runContext
+        .logger()
+        .info(
+            "{} hits found in collection {} for {} query vectors{}.",
+            hits.size(),
+            renderedCollectionName,
+            data.size(),
+            cached ? " in the cache" : "");
+
+    Fetch.Fetched<Map<String, Object>> fetched =
+        Fetch.of(
+            runContext,
+            runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH),
+            hits.iterator(),
+            "collection",
+            renderedCollectionName);
+
+    return Output.builder()
+        .row(fetched.fetchType() == FetchType.FETCH_ONE ? fetched.first() : null)
+        .rows(fetched.fetchType() == FetchType.FETCH ? fetched.rows() : null)
+        .uri(fetched.uri())
+        .size(fetched.size())
+        .cached(cached)
+        .build();
+  }
+
+  /** Streams the hits of a single query vector, one batch at a time, with a search iterator. */
+  private Output iterate(
+      RunContext runContext,
+      MilvusClientV2 client,
+      String collectionName,
+      float[][] queries,
+      String vectorField,
+      String filter,
+      List<String> outputFields,
+      List<String> partitionNames,
+      Map<String, Object> params)
+      throws Exception {
+    if (queries.length != 1) {
+      throw new IllegalArgumentException(
+          "The search iterator takes a single query vector, got " + queries.length + ".");
+    }
+
+    DescribeCollectionResp description =
+        client.describeCollection(
+            DescribeCollectionReq.builder().collectionName(collectionName).build());
+    String primaryField = null;
+    String firstVectorField = null;
+    for (CreateCollectionReq.FieldSchema field :
+        description.getCollectionSchema().getFieldSchemaList()) {
+      if (Boolean.TRUE.equals(field.getIsPrimaryKey())) {
+        primaryField = field.getName();
+      }
+      if (firstVectorField == null && field.getDataType().name().endsWith("Vector")) {
+        firstVectorField = field.getName();
+      }
+    }
+
+    // the iterator does not read the metric from the index and would search with L2 otherwise
+    String searchedField = vectorField != null ? vectorField : firstVectorField;
+    DescribeIndexResp index =
+        client.describeIndex(
+            DescribeIndexReq.builder()
+                .collectionName(collectionName)
+                .fieldName(searchedField)
+                .build());
+
+    var request =
+        SearchIteratorReq.builder()
+            .collectionName(collectionName)
+            .vectorFieldName(searchedField)
+            .vectors(List.of(new FloatVec(queries[0])))
+            .outputFields(outputFields)
+            .partitionNames(partitionNames)
+            .params(JsonUtils.toJson(params))
+            .batchSize(runContext.render(batchSize).as(Integer.class).orElse(1000));
+    index.getIndexDescriptions().stream()
+        .map(DescribeIndexResp.IndexDesc::getMetricType)
+        .filter(Objects::nonNull)
+        .findFirst()
+        .ifPresent(request::metricType);
+    if (filter != null) {
+      request.expr(filter);
+    }
+    runContext.render(limit).as(Long.class).ifPresent(request::limit);
+
+    long start = System.nanoTime();
+    Fetch.Fetched<Map<String, Object>> fetched;
+    SearchIterator iterator = client.searchIterator(request.build());
+    try {
+      Iterator<Map<String, Object>> entities =
+          new Query.Entities(() -> Query.Entities.fieldValues(iterator.next()));
+      String idField = primaryField;
+      fetched =
+          Fetch.of(
+              runContext,
+              runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH),
+              new Iterator<>() {
+                private int rank;
+
+                @Override
+                public boolean hasNext() {
+                  return entities.hasNext();
+                }
+
+                @Override
+                public Map<String, Object> next() {
+                  return hit(entities.next(), rank++, idField);
+                }
+              },
+              "collection",
+              collectionName);
+    } finally {
+      iterator.close();
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    runContext.metric(Timer.of("search.duration", duration, "collection", collectionName));
+
+    runContext
+        .logger()
+        .info(
+            "{} hits found in collection {} by the search iterator in {}.",
+            fetched.size(),
+            collectionName,
+            duration);
+
+    return Output.builder()
+        .row(fetched.fetchType() == FetchType.FETCH_ONE ? fetched.first() : null)
+        .rows(fetched.fetchType() == FetchType.FETCH ? fetched.rows() : null)
+        .uri(fetched.uri())
+        .size(fetched.size())
+        .cached(false)
+        .build();
+  }
+
+  /** A hit of the search iterator, shaped like the rows of a single search. */
+  static Map<String, Object> hit(Map<String, Object> entity, int rank, String primaryField) {
+    Map<String, Object> fields = new LinkedHashMap<>(entity);
+    Map<String, Object> row = new LinkedHashMap<>();
+    row.put("query", 0);
+    row.put("rank", rank);
+    row.put("id", fields.remove(primaryField));
+    row.put("score", fields.remove("distance"));
+    row.putAll(fields);
+    return row;
+  }
+
+  static float[][] toQueries(List<?> vectors) {
+    float[][] queries = new float[vectors.size()][];
+    for (int i = 0; i < queries.length; i++) {
+      queries[i] = VectorMath.toFloatArray(vectors.get(i));
+    }
+    return queries;
+  }
+
+  /** One row per hit, the hits of every query vector being concatenated in query order. */
+  static List<Map<String, Object>> rows(List<List<SearchResp.SearchResult>> results) {
+    List<Map<String, Object>> rows = new ArrayList<>();
+    for (int query = 0; query < results.size(); query++) {
+      List<SearchResp.SearchResult> hits = results.get(query);
+      for (int rank = 0; rank < hits.size(); rank++) {
+        SearchResp.SearchResult hit = hits.get(rank);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("query", query);
+        row.put("rank", rank);
+        row.put("id", hit.getId());
+        row.put("score", hit.getScore());
+        if (hit.getEntity() != null) {
+          row.putAll(Rows.toPlain(hit.getEntity()));
+        }
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The first hit, when `fetchType` is FETCH_ONE.")
+    private Map<String, Object> row;
+
+    @Schema(title = "The hits, when `fetchType` is FETCH.")
+    private List<Map<String, Object>> rows;
+
+    @Schema(title = "The URI of the stored hits, when `fetchType` is STORE.")
+    private URI uri;
+
+    @Schema(title = "The number of hits.")
+    private Long size;
+
+    @Schema(title = "Whether the hits were read from the cache.")
+    private Boolean cached;
+  }
+}
@@ -0,0 +1,7 @@
+@PluginSubGroup(
+    title = "Data",
+    description = "This sub-group of plugins contains tasks for reading and writing Milvus entities.",
+    categories = PluginSubGroup.PluginCategory.DATABASE)
+package io.kestra.plugin.milvus.data;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
@@ -0,0 +1,73 @@
+package io.kestra.plugin.milvus.database;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.milvus.v2.client.MilvusClientV2;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractDatabasesTask extends MilvusConnection {
+
+  @Schema(title = "The name of the database.")
+  @PluginProperty(dynamic = true)
+  private String databaseName;
+
+  @Schema(
+      title = "The names of the databases.",
+      description = "They are processed along with `databaseName`.")
+  private Property<List<String>> databaseNames;
+
+  @Schema(
+      title = "A regular expression matched against the names of the existing databases.",
+      description = "The databases whose names fully match the expression are also processed.")
+  private Property<String> databasePattern;
+
+  @Schema(title = "The maximum number of databases processed concurrently.")
+  @Builder.Default
+  private Property<Integer> concurrency = Property.ofValue(4);
+
+  /**
+   * The explicitly named databases followed by the existing databases matching the pattern, each
+   * one only once.
+   */
+  protected List<String> databases(RunContext runContext, MilvusClientV2 client)
+      throws Exception {
+    Set<String> databases = new LinkedHashSet<>();
+    if (databaseName != null) {
+      databases.add(runContext.render(databaseName));
+    }
+    databases.addAll(runContext.render(databaseNames).asList(String.class));
+
+    String renderedPattern = runContext.render(databasePattern).as(String.class).orElse(null);
+    if (renderedPattern == null && databases.isEmpty()) {
+      throw new IllegalArgumentException(
+          "One of `databaseName`, `databaseNames` or `databasePattern` must be set.");
+    }
+    if (renderedPattern != null) {
+      Pattern pattern = Pattern.compile(renderedPattern);
+      for (String database : client.listDatabases().getDatabaseNames()) {
+        if (pattern.matcher(database).matches()) {
+          databases.add(database);
+        }
+      }
+    }
+
+    return List.copyOf(databases);
+  }
+
+  protected int concurrency(RunContext runContext) throws Exception {
+    return runContext.render(concurrency).as(Integer.class).orElse(4);
+  }
+}
@@ -2,18 +2,18 @@ package io.kestra.plugin.milvus.database;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
-import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.Parallel;
 import io.milvus.common.utils.JsonUtils;
 import io.milvus.v2.client.MilvusClientV2;
 import io.milvus.v2.service.database.request.AlterDatabasePropertiesReq;
 import io.milvus.v2.service.database.request.DescribeDatabaseReq;
 import io.milvus.v2.service.database.response.DescribeDatabaseResp;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotBlank;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -23,7 +23,13 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @EqualsAndHashCode
 @NoArgsConstructor
-@Schema(title = "This operation alters a database’s properties.")
+@Schema(
+    title = "This operation alters a database’s properties.",
+    description =
+        """
+            Several databases can be altered at once, by name or by a regular expression, concurrently on the same connection.
+            Every database is processed even if some fail, then the first failure fails the task.
+        """)
 @Plugin(
     examples = {
       @Example(
@@ -67,16 +73,28 @@ import lombok.experimental.SuperBuilder;
                     databaseName: "{{ inputs.database_name }}"
                     properties:
                       database.replica.number: "2"
+              """),
+      @Example(
+          title = "Apply a disk quota to every tenant database.",
+          full = true,
+          code =
+              """
+                id: alter_milvus_tenant_databases
+                namespace: company.team
+
+                tasks:
+                  - id: databases_alter
+                    type: io.kestra.plugin.milvus.database.AlterDatabaseProperties
+                    url: "http://localhost:19530"
+                    databasePattern: "tenant_.*"
+                    concurrency: 16
+                    properties:
+                      database.diskQuota.mb: "10240"
               """)
     })
-public class AlterDatabaseProperties extends MilvusConnection
+public class AlterDatabaseProperties extends AbstractDatabasesTask
     implements RunnableTask<AlterDatabaseProperties.Output> {
 
-  @Schema(title = "The name of the database to alter.")
-  @PluginProperty(dynamic = true)
-  @NotBlank
-  private String databaseName;
-
   @Schema(
       title = "The properties of the database, such as replica number, resource groups.",
       description =
@@ -95,7 +113,7 @@ public class AlterDatabaseProperties extends MilvusConnection
   public Output run(RunContext runContext) throws Exception {
     MilvusClientV2 client = connect(runContext);
 
-    String renderedDatabaseName = runContext.render(databaseName);
+    List<String> databases = databases(runContext, client);
 
     Map<String, String> renderedProperties =
         runContext.render(properties).asMap(String.class, String.class);
@@ -103,29 +121,44 @@ public class AlterDatabaseProperties extends MilvusConnection
     runContext
         .logger()
         .info(
-            "Database {} is being altered with properties: {}.",
-            renderedDatabaseName,
+            "Databases {} are being altered with properties: {}.",
+            databases,
             JsonUtils.toJson(renderedProperties));
 
-    AlterDatabasePropertiesReq alterDatabaseReq =
-        AlterDatabasePropertiesReq.builder()
-            .databaseName(renderedDatabaseName)
-            .properties(renderedProperties)
-            .build();
-    client.alterDatabaseProperties(alterDatabaseReq);
-
-    DescribeDatabaseResp descDBResp =
-        client.describeDatabase(
-            DescribeDatabaseReq.builder().databaseName(renderedDatabaseName).build());
-
-    runContext
-        .logger()
-        .info(
-            "Database {} has been altered, the properties are: {}",
-            descDBResp.getDatabaseName(),
-            descDBResp.getProperties());
-
-    return Output.builder().success(true).properties(descDBResp.getProperties()).build();
+    List<Map<String, String>> altered =
+        Parallel.map(
+            databases,
+            concurrency(runContext),
+            database -> {
+              client.alterDatabaseProperties(
+                  AlterDatabasePropertiesReq.builder()
+                      .databaseName(database)
+                      .properties(renderedProperties)
+                      .build());
+
+              DescribeDatabaseResp descDBResp =
+                  client.describeDatabase(
+                      DescribeDatabaseReq.builder().databaseName(database).build());
+
+              runContext
+                  .logger()
+                  .info(
+                      "Database {} has been altered, the properties are: {}",
+                      database,
+                      descDBResp.getProperties());
+              return descDBResp.getProperties();
+            });
+
+    Map<String, Map<String, String>> results = new LinkedHashMap<>();
+    for (int i = 0; i < databases.size(); i++) {
+      results.put(databases.get(i), altered.get(i));
+    }
+
+    return Output.builder()
+        .success(true)
+        .properties(altered.size() == 1 ? altered.getFirst() : null)
+        .databases(results)
+        .build();
   }
 
   @Getter
@@ -136,7 +169,11 @@ public class AlterDatabaseProperties extends MilvusConnection
     private Boolean success;
 
     @Schema(
-        title = "Output the properties of the database, such as replica number, resource groups.")
+        title = "Output the properties of the database, such as replica number, resource groups.",
+        description = "Only set when a single database was altered.")
     private Map<String, String> properties;
+
+    @Schema(title = "The properties of each altered database, by database name.")
+    private Map<String, Map<String, String>> databases;
   }
 }
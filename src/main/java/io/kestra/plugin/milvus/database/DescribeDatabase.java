@@ -2,15 +2,20 @@ package io.kestra.plugin.milvus.database;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
-import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.Fetch;
+import io.kestra.plugin.milvus.MilvusFetchInterface;
+import io.kestra.plugin.milvus.Parallel;
 import io.milvus.v2.client.MilvusClientV2;
 import io.milvus.v2.service.database.request.DescribeDatabaseReq;
 import io.milvus.v2.service.database.response.DescribeDatabaseResp;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotBlank;
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -31,6 +36,9 @@ import lombok.experimental.SuperBuilder;
                 database.max.collections - Maximum number of collections allowed in the database.
                 database.force.deny.writing - Whether to deny all write operations in the database.
                 database.force.deny.reading -  Whether to deny all read operations in the database.
+
+            Several databases can be described at once, by name or by a regular expression, concurrently on the same connection.
+            Every description is output when several databases are described, unless `fetchType` is set; use `STORE` to write them to internal storage.
         """)
 @Plugin(
     examples = {
@@ -70,43 +78,106 @@ import lombok.experimental.SuperBuilder;
                     url: "https://cluster-id.serverless.cluster-region.cloud.zilliz.com"
                     token: "{{ secret('MILIVUS_API_KEY') }}"
                     databaseName: "{{ inputs.database_name }}"
+              """),
+      @Example(
+          title = "Describe every tenant database.",
+          full = true,
+          code =
+              """
+                id: describe_milvus_tenant_databases
+                namespace: company.team
+
+                tasks:
+                  - id: databases_describe
+                    type: io.kestra.plugin.milvus.database.DescribeDatabase
+                    url: "http://localhost:19530"
+                    databasePattern: "tenant_.*"
               """)
     })
-public class DescribeDatabase extends MilvusConnection
-    implements RunnableTask<DescribeDatabase.Output> {
+public class DescribeDatabase extends AbstractDatabasesTask
+    implements RunnableTask<DescribeDatabase.Output>, MilvusFetchInterface {
 
-  @Schema(title = "The name of the database to describe.")
-  @PluginProperty(dynamic = true)
-  @NotBlank
-  private String databaseName;
+  @Schema(
+      title = "The way the descriptions are returned.",
+      description =
+          "If not set, FETCH_ONE when a single database is described and FETCH when several are, so that no description is dropped.")
+  private Property<FetchType> fetchType;
 
   @Override
   public Output run(RunContext runContext) throws Exception {
     MilvusClientV2 client = connect(runContext);
 
-    String renderedDatabaseName = runContext.render(databaseName);
+    List<String> databases = databases(runContext, client);
+
+    runContext.logger().info("Databases {} are being described.", databases);
+
+    List<Map<String, Object>> descriptions =
+        Parallel.map(
+            databases,
+            concurrency(runContext),
+            database -> {
+              DescribeDatabaseResp descDBResp =
+                  client.describeDatabase(
+                      DescribeDatabaseReq.builder().databaseName(database).build());
 
-    DescribeDatabaseResp descDBResp =
-        client.describeDatabase(
-            DescribeDatabaseReq.builder().databaseName(renderedDatabaseName).build());
+              Map<String, Object> description = new LinkedHashMap<>();
+              description.put("databaseName", descDBResp.getDatabaseName());
+              description.put("properties", descDBResp.getProperties());
+              return description;
+            });
 
-    runContext.logger().info("Database {} is being described.", descDBResp.getDatabaseName());
+    Fetch.Fetched<Map<String, Object>> fetched =
+        Fetch.of(
+            runContext,
+            runContext
+                .render(fetchType)
+                .as(FetchType.class)
+                .orElse(databases.size() > 1 ? FetchType.FETCH : FetchType.FETCH_ONE),
+            descriptions.iterator());
+    if (fetched.fetched() == null) {
+      return Output.builder().uri(fetched.uri()).size(fetched.size()).build();
+    }
 
+    Map<String, Map<String, String>> results = new LinkedHashMap<>();
+    for (Map<String, Object> description : fetched.fetched()) {
+      results.put((String) description.get("databaseName"), properties(description));
+    }
+
+    Map<String, Object> first = fetched.first();
     return Output.builder()
-        .databaseName(descDBResp.getDatabaseName())
-        .properties(descDBResp.getProperties())
+        .databaseName(first == null ? null : (String) first.get("databaseName"))
+        .properties(first == null ? null : properties(first))
+        .databases(results)
+        .size(fetched.size())
         .build();
   }
 
+  @SuppressWarnings("unchecked")
+  private static Map<String, String> properties(Map<String, Object> description) {
+    return (Map<String, String>) description.get("properties");
+  }
+
   @Getter
   @Builder
   public static class Output implements io.kestra.core.models.tasks.Output {
 
     @Schema(
-        title = "Output the properties of the database, such as replica number, resource groups.")
+        title = "Output the properties of the database, such as replica number, resource groups.",
+        description = "The properties of the first described database.")
     private Map<String, String> properties;
 
     @Schema(title = "Output the name of the database.")
     private String databaseName;
+
+    @Schema(
+        title = "The properties of each described database, by database name.",
+        description = "Only the first database with `fetchType: FETCH_ONE`.")
+    private Map<String, Map<String, String>> databases;
+
+    @Schema(title = "The URI of the stored descriptions, when `fetchType` is STORE.")
+    private URI uri;
+
+    @Schema(title = "The number of databases described.")
+    private Long size;
   }
 }
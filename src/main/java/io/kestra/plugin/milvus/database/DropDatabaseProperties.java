@@ -2,17 +2,16 @@ package io.kestra.plugin.milvus.database;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
-import io.kestra.core.models.annotations.PluginProperty;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.Parallel;
 import io.milvus.v2.client.MilvusClientV2;
 import io.milvus.v2.service.database.request.DescribeDatabaseReq;
 import io.milvus.v2.service.database.request.DropDatabasePropertiesReq;
 import io.milvus.v2.service.database.response.DescribeDatabaseResp;
 import io.swagger.v3.oas.annotations.media.Schema;
-import jakarta.validation.constraints.NotBlank;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import lombok.*;
@@ -23,7 +22,13 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @EqualsAndHashCode
 @NoArgsConstructor
-@Schema(title = "This operation resets the database properties to their default values.")
+@Schema(
+    title = "This operation resets the database properties to their default values.",
+    description =
+        """
+            Several databases can be reset at once, by name or by a regular expression, concurrently on the same connection.
+            Every database is processed even if some fail, then the first failure fails the task.
+        """)
 @Plugin(
     examples = {
       @Example(
@@ -87,14 +92,9 @@ import lombok.experimental.SuperBuilder;
                     propertyKeys: [ inputs.property_keys ]
               """)
     })
-public class DropDatabaseProperties extends MilvusConnection
+public class DropDatabaseProperties extends AbstractDatabasesTask
     implements RunnableTask<DropDatabaseProperties.Output> {
 
-  @Schema(title = "The name of the database to reset.")
-  @PluginProperty(dynamic = true)
-  @NotBlank
-  private String databaseName;
-
   @Schema(
       title = "The properties of the database, such as replica number, resource groups.",
       description =
@@ -113,34 +113,48 @@ public class DropDatabaseProperties extends MilvusConnection
   public Output run(RunContext runContext) throws Exception {
     MilvusClientV2 client = connect(runContext);
 
-    String renderedDatabaseName = runContext.render(databaseName);
+    List<String> databases = databases(runContext, client);
 
     List<String> renderedPropertyKeys = runContext.render(propertyKeys).asList(String.class);
 
     runContext
         .logger()
-        .info(
-            "Database {} is being reset with properties: {}.",
-            renderedDatabaseName,
-            renderedPropertyKeys);
-    DropDatabasePropertiesReq alterDatabaseReq =
-        DropDatabasePropertiesReq.builder()
-            .databaseName(renderedDatabaseName)
-            .propertyKeys(renderedPropertyKeys)
-            .build();
-    client.dropDatabaseProperties(alterDatabaseReq);
-    DescribeDatabaseResp descDBResp =
-        client.describeDatabase(
-            DescribeDatabaseReq.builder().databaseName(renderedDatabaseName).build());
-
-    runContext
-        .logger()
-        .info(
-            "Database {} has been reset, the properties are: {}",
-            descDBResp.getDatabaseName(),
-            descDBResp.getProperties());
-
-    return Output.builder().success(true).properties(descDBResp.getProperties()).build();
+        .info("Databases {} are being reset with properties: {}.", databases, renderedPropertyKeys);
+
+    List<Map<String, String>> reset =
+        Parallel.map(
+            databases,
+            concurrency(runContext),
+            database -> {
+              client.dropDatabaseProperties(
+                  DropDatabasePropertiesReq.builder()
+                      .databaseName(database)
+                      .propertyKeys(renderedPropertyKeys)
+                      .build());
+
+              DescribeDatabaseResp descDBResp =
+                  client.describeDatabase(
+                      DescribeDatabaseReq.builder().databaseName(database).build());
+
+              runContext
+                  .logger()
+                  .info(
+                      "Database {} has been reset, the properties are: {}",
+                      database,
+                      descDBResp.getProperties());
+              return descDBResp.getProperties();
+            });
+
+    Map<String, Map<String, String>> results = new LinkedHashMap<>();
+    for (int i = 0; i < databases.size(); i++) {
+      results.put(databases.get(i), reset.get(i));
+    }
+
+    return Output.builder()
+        .success(true)
+        .properties(reset.size() == 1 ? reset.getFirst() : null)
+        .databases(results)
+        .build();
   }
 
   @Getter
@@ -151,7 +165,11 @@ public class DropDatabaseProperties extends MilvusConnection
     private Boolean success;
 
     @Schema(
-        title = "Output the properties of the database, such as replica number, resource groups.")
+        title = "Output the properties of the database, such as replica number, resource groups.",
+        description = "Only set when a single database was reset.")
     private Map<String, String> properties;
+
+    @Schema(title = "The properties of each reset database, by database name.")
+    private Map<String, Map<String, String>> databases;
   }
 }
@@ -2,12 +2,17 @@ package io.kestra.plugin.milvus.database;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Fetch;
 import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusFetchInterface;
 import io.milvus.v2.client.MilvusClientV2;
 import io.milvus.v2.service.database.response.ListDatabasesResp;
 import io.swagger.v3.oas.annotations.media.Schema;
+import java.net.URI;
 import java.util.List;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
@@ -48,7 +53,10 @@ import lombok.experimental.SuperBuilder;
                     token: "{{ secret('MILIVUS_API_KEY') }}"
               """)
     })
-public class ListDatabases extends MilvusConnection implements RunnableTask<ListDatabases.Output> {
+public class ListDatabases extends MilvusConnection
+    implements RunnableTask<ListDatabases.Output>, MilvusFetchInterface {
+
+  @Builder.Default private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
 
   @Override
   public Output run(RunContext runContext) throws Exception {
@@ -59,7 +67,17 @@ public class ListDatabases extends MilvusConnection implements RunnableTask<List
 
     runContext.logger().info("Database {} is being listed.", dbNames);
 
-    return Output.builder().dbNames(dbNames).build();
+    Fetch.Fetched<String> fetched =
+        Fetch.of(
+            runContext,
+            runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH),
+            dbNames.iterator());
+
+    return Output.builder()
+        .dbNames(fetched.fetched())
+        .uri(fetched.uri())
+        .size(fetched.size())
+        .build();
   }
 
   @Getter
@@ -68,5 +86,11 @@ public class ListDatabases extends MilvusConnection implements RunnableTask<List
 
     @Schema(title = "Output a list of all database names.")
     private java.util.List<String> dbNames;
+
+    @Schema(title = "The URI of the stored database names, when `fetchType` is STORE.")
+    private URI uri;
+
+    @Schema(title = "The number of databases.")
+    private Long size;
   }
 }
@@ -0,0 +1,231 @@
+package io.kestra.plugin.milvus.monitoring;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusClientPool;
+import io.kestra.plugin.milvus.MilvusConnectionInterface;
+import io.kestra.plugin.milvus.MilvusConnectionProperties;
+import io.kestra.plugin.milvus.MilvusJobs;
+import io.kestra.plugin.milvus.collections.Compact;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.GetLoadStateReq;
+import io.milvus.v2.service.utility.request.GetCompactionStateReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow when the operations submitted in async mode complete.",
+    description =
+        """
+            Tasks such as `LoadCollection` and `Compact` run with `async: true` return as soon as their operation is submitted, and record it as a job in the KV store of the namespace.
+            On every interval, this trigger reads the pending jobs of its namespace on the instance of `url`, and polls their states with one pooled client per database: the load state of a collection is asked once for all the jobs loading it.
+            The jobs that completed, or that are still running past their deadline, are removed from the KV store and a single flow is triggered with all of them.
+            Only one such trigger should watch an instance from a namespace, or the jobs would be reported more than once.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Log the Milvus jobs as they finish.",
+          full = true,
+          code =
+              """
+                id: milvus_jobs
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.jobs | length }} jobs finished: {{ trigger.jobs }}"
+
+                triggers:
+                  - id: jobs
+                    type: io.kestra.plugin.milvus.monitoring.JobTrigger
+                    url: "http://localhost:19530"
+                    interval: PT30S
+              """)
+    })
+public class JobTrigger extends AbstractTrigger
+    implements PollingTriggerInterface,
+        TriggerOutput<JobTrigger.Output>,
+        MilvusConnectionInterface {
+
+  private String url;
+  private Property<String> token;
+  private Property<String> userName;
+  private Property<String> password;
+
+  @Schema(
+      title = "The name of the database whose jobs are polled.",
+      description = "If not set, the jobs of every database of the instance are polled.")
+  private Property<String> dbName;
+
+  @Schema(title = "The interval between two polls of the job states.")
+  @Builder.Default
+  private Duration interval = Duration.ofSeconds(30);
+
+  @Override
+  public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context)
+      throws Exception {
+    RunContext runContext = conditionContext.getRunContext();
+
+    String renderedUrl = runContext.render(url);
+    String renderedDbName = runContext.render(dbName).as(String.class).orElse(null);
+
+    Map<String, List<MilvusJobs.Job>> byDatabase = new TreeMap<>();
+    for (MilvusJobs.Job job : MilvusJobs.pending(runContext)) {
+      if (renderedUrl.equals(job.getUrl())
+          && (renderedDbName == null || renderedDbName.equals(job.getDbName()))) {
+        byDatabase.computeIfAbsent(job.getDbName(), k -> new ArrayList<>()).add(job);
+      }
+    }
+
+    List<Finished> finished = new ArrayList<>();
+    for (Map.Entry<String, List<MilvusJobs.Job>> entry : byDatabase.entrySet()) {
+      MilvusConnectionProperties connection =
+          MilvusConnectionProperties.builder()
+              .url(url)
+              .token(token)
+              .userName(userName)
+              .password(password)
+              .dbName(Property.ofValue(entry.getKey()))
+              .build();
+      try {
+        MilvusClientPool.withClient(
+            runContext,
+            connection,
+            client -> {
+              poll(runContext, client, entry.getValue(), finished);
+              return null;
+            });
+      } catch (Exception e) {
+        runContext
+            .logger()
+            .warn("Unable to poll the jobs of database {}: {}", entry.getKey(), e.getMessage());
+      }
+    }
+
+    if (finished.isEmpty()) {
+      return Optional.empty();
+    }
+
+    Execution execution =
+        TriggerService.generateExecution(
+            this, conditionContext, context, Output.builder().jobs(finished).build());
+    for (Finished job : finished) {
+      MilvusJobs.remove(runContext, job.getJob().getId());
+      runContext.metric(
+          Timer.of("job.duration", job.getDuration(), "type", job.getJob().getType().name()));
+    }
+    runContext.logger().info("{} Milvus jobs finished.", finished.size());
+    return Optional.of(execution);
+  }
+
+  /** Polls the jobs of a database, and adds the finished ones. */
+  private static void poll(
+      RunContext runContext,
+      MilvusClientV2 client,
+      List<MilvusJobs.Job> jobs,
+      List<Finished> finished) {
+    Map<String, Boolean> loaded = new HashMap<>();
+    Instant now = Instant.now();
+    for (MilvusJobs.Job job : jobs) {
+      String error = null;
+      boolean complete = false;
+      try {
+        complete =
+            switch (job.getType()) {
+              case LOAD ->
+                  loaded.computeIfAbsent(
+                      job.getCollectionName(),
+                      collectionName ->
+                          client.getLoadState(
+                              GetLoadStateReq.builder().collectionName(collectionName).build()));
+              case COMPACTION ->
+                  Compact.isCompleted(
+                      client.getCompactionState(
+                          GetCompactionStateReq.builder()
+                              .compactionID(job.getCompactionId())
+                              .build()));
+            };
+      } catch (Exception e) {
+        runContext.logger().warn("Unable to poll job {}: {}", job.getId(), e.getMessage());
+        error = e.getMessage();
+      }
+
+      if (complete) {
+        finished.add(finished(job, State.COMPLETED, null, now));
+      } else if (now.isAfter(job.getDeadline())) {
+        finished.add(
+            finished(
+                job,
+                State.FAILED,
+                error != null ? error : "Not complete before " + job.getDeadline(),
+                now));
+      }
+    }
+  }
+
+  private static Finished finished(MilvusJobs.Job job, State state, String error, Instant now) {
+    return Finished.builder()
+        .job(job)
+        .state(state)
+        .duration(Duration.between(job.getSubmitted(), now))
+        .error(error)
+        .build();
+  }
+
+  public enum State {
+    COMPLETED,
+    FAILED
+  }
+
+  @Getter
+  @Builder
+  public static class Finished {
+
+    @Schema(title = "The finished job.")
+    private MilvusJobs.Job job;
+
+    @Schema(title = "Whether the operation completed or failed.")
+    private State state;
+
+    @Schema(
+        title = "The time from the submission of the operation to the poll that saw it finished.")
+    private Duration duration;
+
+    @Schema(title = "The reason of the failure, for a failed job.")
+    private String error;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The jobs finished since the previous evaluation.")
+    private List<Finished> jobs;
+  }
+}
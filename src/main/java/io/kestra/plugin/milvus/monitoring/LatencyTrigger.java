@@ -0,0 +1,361 @@
+package io.kestra.plugin.milvus.monitoring;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusClientPool;
+import io.kestra.plugin.milvus.MilvusConnectionInterface;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
+import io.milvus.v2.service.vector.request.SearchReq;
+import io.milvus.v2.service.vector.request.data.FloatVec;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow when the latency of a Milvus instance degrades or its calls fail.",
+    description =
+        """
+            On every interval, cheap probes are sent to the instance: a list of the databases and, when `collectionName` is set, a describe of the collection and a search of its first float vector field for the nearest neighbour of a unit vector.
+            The latencies of the last probes are kept in a rolling window per probe, and a flow is triggered with the latency statistics when the 95th percentile of a probe exceeds `p95Threshold`, or when a probe fails.
+            A flow is triggered when the instance becomes degraded, and not again until every probe is back under the threshold; with `fireOnRecovery`, a flow is also triggered when it does.
+            The client is kept open between evaluations, so that the probes measure the calls and not the connection.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Alert when the search latency of a collection degrades.",
+          full = true,
+          code =
+              """
+                id: milvus_latency_alert
+                namespace: company.team
+
+                tasks:
+                  - id: alert
+                    type: io.kestra.plugin.notifications.slack.SlackIncomingWebhook
+                    url: "{{ secret('SLACK_WEBHOOK') }}"
+                    payload: |
+                      {"text": "Milvus {{ trigger.state }}: {{ trigger.breaches | join(', ') }}"}
+
+                triggers:
+                  - id: latency
+                    type: io.kestra.plugin.milvus.monitoring.LatencyTrigger
+                    url: "http://localhost:19530"
+                    collectionName: "documents"
+                    interval: PT30S
+                    p95Threshold: PT0.2S
+                    fireOnRecovery: true
+              """)
+    })
+public class LatencyTrigger extends AbstractTrigger
+    implements PollingTriggerInterface,
+        TriggerOutput<LatencyTrigger.Output>,
+        MilvusConnectionInterface {
+
+  /**
+   * The windows of a trigger are dropped once it was not evaluated for that many intervals, and at
+   * least for {@link #MIN_STALE_DURATION}.
+   */
+  private static final int STALE_INTERVALS = 10;
+
+  private static final Duration MIN_STALE_DURATION = Duration.ofHours(1);
+
+  static final Map<String, TriggerWindows> WINDOWS = new ConcurrentHashMap<>();
+
+  private String url;
+  private Property<String> token;
+  private Property<String> userName;
+  private Property<String> password;
+  private Property<String> dbName;
+
+  @Schema(title = "The interval between two evaluations of the probes.")
+  @Builder.Default
+  private Duration interval = Duration.ofSeconds(60);
+
+  @Schema(
+      title = "The name of a loaded collection to describe and search.",
+      description = "If not set, only the list of the databases is probed.")
+  private Property<String> collectionName;
+
+  @Schema(title = "The 95th percentile of the latency of a probe above which a flow is triggered.")
+  @NotNull
+  private Property<Duration> p95Threshold;
+
+  @Schema(title = "The number of latencies kept for each probe.")
+  @Builder.Default
+  private Property<Integer> windowSize = Property.ofValue(60);
+
+  @Schema(
+      title = "The number of latencies a probe needs before its percentile is compared.",
+      description = "It prevents the first slow calls after a restart from triggering a flow.")
+  @Builder.Default
+  private Property<Integer> minSamples = Property.ofValue(10);
+
+  @Schema(title = "Whether a failed probe triggers a flow.")
+  @Builder.Default
+  private Property<Boolean> fireOnError = Property.ofValue(true);
+
+  @Schema(title = "Whether a flow is triggered when a degraded instance is healthy again.")
+  @Builder.Default
+  private Property<Boolean> fireOnRecovery = Property.ofValue(false);
+
+  @Override
+  public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context)
+      throws Exception {
+    RunContext runContext = conditionContext.getRunContext();
+
+    String renderedCollectionName = runContext.render(collectionName).as(String.class).orElse(null);
+    Duration renderedThreshold = runContext.render(p95Threshold).as(Duration.class).orElseThrow();
+    int renderedWindowSize = runContext.render(windowSize).as(Integer.class).orElse(60);
+    int renderedMinSamples = runContext.render(minSamples).as(Integer.class).orElse(10);
+    boolean renderedFireOnError = runContext.render(fireOnError).as(Boolean.class).orElse(true);
+    boolean renderedFireOnRecovery =
+        runContext.render(fireOnRecovery).as(Boolean.class).orElse(false);
+
+    // deleted or renamed triggers are never evaluated again, their windows are dropped
+    Instant now = Instant.now();
+    evictStale(now);
+    TriggerWindows triggerWindows =
+        WINDOWS.compute(
+            context.getTenantId()
+                + "/"
+                + context.getNamespace()
+                + "/"
+                + context.getFlowId()
+                + "/"
+                + context.getTriggerId(),
+            (k, current) ->
+                current == null
+                    ? new TriggerWindows(
+                        new ConcurrentHashMap<>(), new AtomicBoolean(), now, interval)
+                    : new TriggerWindows(current.probes(), current.breached(), now, interval));
+    Map<String, LatencyWindow> windows = triggerWindows.probes();
+    Probes probes = new Probes(runContext, windows, renderedWindowSize);
+
+    try {
+      MilvusClientPool.withClient(
+          runContext,
+          this,
+          client -> {
+            probes.run("listDatabases", client::listDatabases);
+            if (renderedCollectionName != null) {
+              DescribeCollectionResp description =
+                  probes.run(
+                      "describeCollection",
+                      () ->
+                          client.describeCollection(
+                              DescribeCollectionReq.builder()
+                                  .collectionName(renderedCollectionName)
+                                  .build()));
+              if (description != null) {
+                searchProbe(probes, client, renderedCollectionName, description);
+              }
+            }
+            return null;
+          });
+    } catch (Exception e) {
+      probes.errors.put("connection", String.valueOf(e.getMessage()));
+    }
+
+    Map<String, ProbeStats> stats = new LinkedHashMap<>();
+    List<String> breaches = new ArrayList<>();
+    for (Map.Entry<String, LatencyWindow> entry : windows.entrySet()) {
+      LatencyWindow window = entry.getValue();
+      Duration p95 = window.percentile(95);
+      stats.put(
+          entry.getKey(),
+          ProbeStats.builder()
+              .samples(window.size())
+              .p50(window.percentile(50))
+              .p95(p95)
+              .max(window.percentile(100))
+              .error(probes.errors.get(entry.getKey()))
+              .build());
+      if (p95 != null
+          && window.size() >= renderedMinSamples
+          && p95.compareTo(renderedThreshold) > 0) {
+        breaches.add(entry.getKey() + " p95 of " + p95 + " exceeds " + renderedThreshold);
+      }
+    }
+    if (renderedFireOnError) {
+      probes.errors.forEach((probe, error) -> breaches.add(probe + " failed: " + error));
+    }
+
+    // only the transitions trigger a flow, not every evaluation of a lasting degradation
+    boolean breached = !breaches.isEmpty();
+    boolean wasBreached = triggerWindows.breached().getAndSet(breached);
+    State state;
+    if (breached && !wasBreached) {
+      state = State.DEGRADED;
+      runContext.logger().warn("Milvus instance {} is degraded: {}", url, breaches);
+    } else if (!breached && wasBreached) {
+      state = State.RECOVERED;
+      runContext.logger().info("Milvus instance {} recovered.", url);
+      if (!renderedFireOnRecovery) {
+        return Optional.empty();
+      }
+    } else {
+      return Optional.empty();
+    }
+
+    Output output = Output.builder().state(state).breaches(breaches).probes(stats).build();
+    return Optional.of(TriggerService.generateExecution(this, conditionContext, context, output));
+  }
+
+  /** Drops the windows of the triggers that are no longer evaluated. */
+  static void evictStale(Instant now) {
+    WINDOWS.values().removeIf(windows -> windows.isStale(now));
+  }
+
+  /**
+   * The latency windows of the probes of a trigger, whether the instance was degraded at the last
+   * evaluation, and when the trigger last used them.
+   */
+  record TriggerWindows(
+      Map<String, LatencyWindow> probes,
+      AtomicBoolean breached,
+      Instant lastEvaluation,
+      Duration interval) {
+    boolean isStale(Instant now) {
+      Duration staleAfter = interval.multipliedBy(STALE_INTERVALS);
+      if (staleAfter.compareTo(MIN_STALE_DURATION) < 0) {
+        staleAfter = MIN_STALE_DURATION;
+      }
+      return lastEvaluation.plus(staleAfter).isBefore(now);
+    }
+  }
+
+  /** Searches the first float vector field for the nearest neighbour of a unit vector. */
+  private static void searchProbe(
+      Probes probes,
+      MilvusClientV2 client,
+      String collectionName,
+      DescribeCollectionResp description)
+      throws Exception {
+    for (CreateCollectionReq.FieldSchema field :
+        description.getCollectionSchema().getFieldSchemaList()) {
+      if (field.getDataType() == DataType.FloatVector) {
+        float[] vector = new float[field.getDimension()];
+        vector[0] = 1;
+        probes.run(
+            "search",
+            () ->
+                client.search(
+                    SearchReq.builder()
+                        .collectionName(collectionName)
+                        .annsField(field.getName())
+                        .data(List.of(new FloatVec(vector)))
+                        .topK(1)
+                        .build()));
+        return;
+      }
+    }
+  }
+
+  /** Times the probes of an evaluation into their windows, and collects their failures. */
+  private static final class Probes {
+    private final RunContext runContext;
+    private final Map<String, LatencyWindow> windows;
+    private final int windowSize;
+    private final Map<String, String> errors = new LinkedHashMap<>();
+
+    Probes(RunContext runContext, Map<String, LatencyWindow> windows, int windowSize) {
+      this.runContext = runContext;
+      this.windows = windows;
+      this.windowSize = windowSize;
+    }
+
+    /** The result of the call, or null if it failed. */
+    <T> T run(String probe, Call<T> call) {
+      LatencyWindow window = windows.computeIfAbsent(probe, k -> new LatencyWindow(windowSize));
+      window.resize(windowSize);
+
+      long start = System.nanoTime();
+      try {
+        T result = call.call();
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+        window.add(latency);
+        runContext.metric(Timer.of("probe.duration", latency, "probe", probe));
+        return result;
+      } catch (Exception e) {
+        errors.put(probe, String.valueOf(e.getMessage()));
+        runContext.metric(Counter.of("probe.errors", 1, "probe", probe));
+        return null;
+      }
+    }
+  }
+
+  public enum State {
+    DEGRADED,
+    RECOVERED
+  }
+
+  @FunctionalInterface
+  private interface Call<T> {
+    T call() throws Exception;
+  }
+
+  @Getter
+  @Builder
+  public static class ProbeStats {
+
+    @Schema(title = "The number of latencies in the window of the probe.")
+    private Integer samples;
+
+    @Schema(title = "The median latency of the probe.")
+    private Duration p50;
+
+    @Schema(title = "The 95th percentile of the latency of the probe.")
+    private Duration p95;
+
+    @Schema(title = "The highest latency of the probe.")
+    private Duration max;
+
+    @Schema(title = "The error of the probe at this evaluation, if it failed.")
+    private String error;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "Whether the instance became degraded, or recovered.")
+    private State state;
+
+    @Schema(title = "The reasons why the instance is degraded, empty when it recovered.")
+    private List<String> breaches;
+
+    @Schema(title = "The latency statistics of each probe.")
+    private Map<String, ProbeStats> probes;
+  }
+}
@@ -0,0 +1,60 @@
+package io.kestra.plugin.milvus.monitoring;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/** The latencies of the last probes, in a ring buffer of fixed capacity. */
+final class LatencyWindow {
+  private long[] nanos;
+  private int size;
+  private int next;
+
+  LatencyWindow(int capacity) {
+    this.nanos = new long[Math.max(1, capacity)];
+  }
+
+  synchronized void add(Duration latency) {
+    nanos[next] = latency.toNanos();
+    next = (next + 1) % nanos.length;
+    size = Math.min(size + 1, nanos.length);
+  }
+
+  /** Keeps the most recent latencies when the capacity of the window is changed. */
+  synchronized void resize(int capacity) {
+    if (Math.max(1, capacity) == nanos.length) {
+      return;
+    }
+    long[] latest = latest();
+    nanos = new long[Math.max(1, capacity)];
+    size = 0;
+    next = 0;
+    for (int i = Math.max(0, latest.length - nanos.length); i < latest.length; i++) {
+      add(Duration.ofNanos(latest[i]));
+    }
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /** The nearest-rank percentile of the latencies, or null when the window is empty. */
+  synchronized Duration percentile(double percentile) {
+    if (size == 0) {
+      return null;
+    }
+    long[] sorted = latest();
+    Arrays.sort(sorted);
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+    return Duration.ofNanos(sorted[Math.clamp(rank - 1, 0, sorted.length - 1)]);
+  }
+
+  /** The latencies, oldest first. */
+  private long[] latest() {
+    long[] latest = new long[size];
+    int start = (next - size + nanos.length) % nanos.length;
+    for (int i = 0; i < size; i++) {
+      latest[i] = nanos[(start + i) % nanos.length];
+    }
+    return latest;
+  }
+}
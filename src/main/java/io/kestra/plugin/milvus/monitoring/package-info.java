@@ -0,0 +1,7 @@
+@PluginSubGroup(
+    title = "Monitoring",
+    description = "This sub-group of plugins contains triggers watching Milvus instances.",
+    categories = PluginSubGroup.PluginCategory.DATABASE)
+package io.kestra.plugin.milvus.monitoring;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
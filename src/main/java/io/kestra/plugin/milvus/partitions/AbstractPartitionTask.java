@@ -0,0 +1,74 @@
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.partition.request.ListPartitionsReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractPartitionTask extends MilvusConnection {
+
+  @Schema(title = "The name of the collection the partitions belong to.")
+  @PluginProperty(dynamic = true)
+  @NotBlank
+  private String collectionName;
+
+  @Schema(title = "The names of the partitions.")
+  private Property<List<String>> partitionNames;
+
+  @Schema(
+      title = "A regular expression matched against the names of the existing partitions.",
+      description =
+          "The partitions whose names fully match the expression are added to `partitionNames`.")
+  private Property<String> partitionPattern;
+
+  @Schema(title = "The maximum number of partitions processed concurrently.")
+  @Builder.Default
+  private Property<Integer> concurrency = Property.ofValue(4);
+
+  /** The explicitly named partitions followed by the existing partitions matching the pattern. */
+  protected List<String> partitions(RunContext runContext, MilvusClientV2 client)
+      throws Exception {
+    Set<String> partitions = new LinkedHashSet<>(names(runContext));
+
+    String renderedPattern = runContext.render(partitionPattern).as(String.class).orElse(null);
+    if (renderedPattern != null) {
+      Pattern pattern = Pattern.compile(renderedPattern);
+      for (String partition : existingPartitions(runContext, client)) {
+        if (pattern.matcher(partition).matches()) {
+          partitions.add(partition);
+        }
+      }
+    }
+
+    return List.copyOf(partitions);
+  }
+
+  protected List<String> names(RunContext runContext) throws Exception {
+    return runContext.render(partitionNames).asList(String.class);
+  }
+
+  protected List<String> existingPartitions(RunContext runContext, MilvusClientV2 client)
+      throws Exception {
+    return client.listPartitions(
+        ListPartitionsReq.builder().collectionName(runContext.render(collectionName)).build());
+  }
+
+  protected int concurrency(RunContext runContext) throws Exception {
+    return runContext.render(concurrency).as(Integer.class).orElse(4);
+  }
+}
@@ -0,0 +1,88 @@
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Parallel;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.partition.request.CreatePartitionReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation creates partitions in a collection.",
+    description =
+        "Partitions that already exist are skipped. `partitionPattern` cannot be used, as it only matches existing partitions.")
+@Plugin(
+    examples = {
+      @Example(
+          title = "Create the partitions of the next days.",
+          full = true,
+          code =
+              """
+                id: create_milvus_partitions
+                namespace: company.team
+
+                tasks:
+                  - id: partitions_create
+                    type: io.kestra.plugin.milvus.partitions.CreatePartitions
+                    url: "http://localhost:19530"
+                    collectionName: "events"
+                    partitionNames:
+                      - "day_{{ now() | dateAdd(1, 'DAYS') | date('yyyyMMdd') }}"
+                      - "day_{{ now() | dateAdd(2, 'DAYS') | date('yyyyMMdd') }}"
+              """)
+    })
+public class CreatePartitions extends AbstractPartitionTask
+    implements RunnableTask<CreatePartitions.Output> {
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    if (getPartitionPattern() != null) {
+      throw new IllegalArgumentException(
+          "`partitionPattern` only matches existing partitions, use `partitionNames` to create partitions.");
+    }
+
+    MilvusClientV2 client = connect(runContext);
+    String renderedCollectionName = runContext.render(getCollectionName());
+
+    Set<String> existing = new HashSet<>(existingPartitions(runContext, client));
+    List<String> toCreate = names(runContext).stream().filter(p -> !existing.contains(p)).toList();
+
+    runContext
+        .logger()
+        .info("Creating partitions {} in collection {}.", toCreate, renderedCollectionName);
+
+    Parallel.map(
+        toCreate,
+        concurrency(runContext),
+        partition -> {
+          client.createPartition(
+              CreatePartitionReq.builder()
+                  .collectionName(renderedCollectionName)
+                  .partitionName(partition)
+                  .build());
+          return partition;
+        });
+
+    return Output.builder().partitionNames(toCreate).build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The names of the partitions that were created.")
+    private List<String> partitionNames;
+  }
+}
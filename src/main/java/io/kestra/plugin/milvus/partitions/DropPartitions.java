@@ -0,0 +1,83 @@
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Parallel;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.partition.request.DropPartitionReq;
+import io.milvus.v2.service.partition.request.ReleasePartitionsReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation drops partitions and all the data they hold.",
+    description = "Loaded partitions are released before being dropped.")
+@Plugin(
+    examples = {
+      @Example(
+          title = "Drop the daily partitions of last year.",
+          full = true,
+          code =
+              """
+                id: drop_milvus_partitions
+                namespace: company.team
+
+                tasks:
+                  - id: partitions_drop
+                    type: io.kestra.plugin.milvus.partitions.DropPartitions
+                    url: "http://localhost:19530"
+                    collectionName: "events"
+                    partitionPattern: "day_{{ now() | dateAdd(-1, 'YEARS') | date('yyyy') }}\\\\d{4}"
+              """)
+    })
+public class DropPartitions extends AbstractPartitionTask
+    implements RunnableTask<DropPartitions.Output> {
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+    String renderedCollectionName = runContext.render(getCollectionName());
+
+    List<String> partitions = partitions(runContext, client);
+
+    runContext
+        .logger()
+        .info("Dropping partitions {} of collection {}.", partitions, renderedCollectionName);
+
+    Parallel.map(
+        partitions,
+        concurrency(runContext),
+        partition -> {
+          client.releasePartitions(
+              ReleasePartitionsReq.builder()
+                  .collectionName(renderedCollectionName)
+                  .partitionNames(List.of(partition))
+                  .build());
+          client.dropPartition(
+              DropPartitionReq.builder()
+                  .collectionName(renderedCollectionName)
+                  .partitionName(partition)
+                  .build());
+          return partition;
+        });
+
+    return Output.builder().partitionNames(partitions).build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The names of the partitions that were dropped.")
+    private List<String> partitionNames;
+  }
+}
@@ -0,0 +1,90 @@
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Fetch;
+import io.kestra.plugin.milvus.MilvusFetchInterface;
+import io.milvus.v2.client.MilvusClientV2;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.net.URI;
+import java.util.List;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation lists the partitions of a collection.",
+    description =
+        "If `partitionNames` or `partitionPattern` is set, only the matching existing partitions are listed.")
+@Plugin(
+    examples = {
+      @Example(
+          title = "List the daily partitions of a collection.",
+          full = true,
+          code =
+              """
+                id: list_milvus_partitions
+                namespace: company.team
+
+                tasks:
+                  - id: partitions_list
+                    type: io.kestra.plugin.milvus.partitions.ListPartitions
+                    url: "http://localhost:19530"
+                    collectionName: "events"
+                    partitionPattern: "day_\\\\d{8}"
+              """)
+    })
+public class ListPartitions extends AbstractPartitionTask
+    implements RunnableTask<ListPartitions.Output>, MilvusFetchInterface {
+
+  @Builder.Default private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    List<String> existing = existingPartitions(runContext, client);
+    List<String> partitions = existing;
+    if (getPartitionNames() != null || getPartitionPattern() != null) {
+      partitions = partitions(runContext, client).stream().filter(existing::contains).toList();
+    }
+
+    runContext.logger().info("Partitions {} are being listed.", partitions);
+
+    Fetch.Fetched<String> fetched =
+        Fetch.of(
+            runContext,
+            runContext.render(fetchType).as(FetchType.class).orElse(FetchType.FETCH),
+            partitions.iterator(),
+            "collection",
+            runContext.render(getCollectionName()));
+
+    return Output.builder()
+        .partitionNames(fetched.fetched())
+        .uri(fetched.uri())
+        .size(fetched.size())
+        .build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "Output a list of partition names.")
+    private List<String> partitionNames;
+
+    @Schema(title = "The URI of the stored partition names, when `fetchType` is STORE.")
+    private URI uri;
+
+    @Schema(title = "The number of partitions.")
+    private Long size;
+  }
+}
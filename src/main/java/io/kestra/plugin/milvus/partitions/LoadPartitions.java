@@ -0,0 +1,144 @@
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Parallel;
+import io.kestra.plugin.milvus.Polling;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.GetLoadStateReq;
+import io.milvus.v2.service.partition.request.LoadPartitionsReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation loads partitions into the memory of the query nodes.",
+    description =
+        """
+            The partitions are loaded concurrently, and the task waits until every partition is fully loaded, polling the load state with an increasing interval.
+            The load time of each partition is reported as the `partition.load.duration` metric.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Load the partitions of the last three days.",
+          full = true,
+          code =
+              """
+                id: load_milvus_partitions
+                namespace: company.team
+
+                tasks:
+                  - id: partitions_load
+                    type: io.kestra.plugin.milvus.partitions.LoadPartitions
+                    url: "http://localhost:19530"
+                    collectionName: "events"
+                    partitionNames:
+                      - "day_{{ now() | date('yyyyMMdd') }}"
+                      - "day_{{ now() | dateAdd(-1, 'DAYS') | date('yyyyMMdd') }}"
+                      - "day_{{ now() | dateAdd(-2, 'DAYS') | date('yyyyMMdd') }}"
+              """)
+    })
+public class LoadPartitions extends AbstractPartitionTask
+    implements RunnableTask<LoadPartitions.Output> {
+
+  @Schema(
+      title = "The number of replicas of the partitions to load.",
+      description = "If not set, the replica number of the collection or the database is used.")
+  private Property<Integer> numReplicas;
+
+  @Schema(title = "The resource groups in which the replicas are loaded.")
+  private Property<List<String>> resourceGroups;
+
+  @Schema(title = "The maximum time to wait for each partition to be loaded.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofMinutes(10));
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+    String renderedCollectionName = runContext.render(getCollectionName());
+    Integer renderedNumReplicas = runContext.render(numReplicas).as(Integer.class).orElse(null);
+    List<String> renderedResourceGroups = runContext.render(resourceGroups).asList(String.class);
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofMinutes(10));
+
+    List<String> partitions = partitions(runContext, client);
+
+    runContext
+        .logger()
+        .info("Loading partitions {} of collection {}.", partitions, renderedCollectionName);
+
+    List<Duration> durations =
+        Parallel.map(
+            partitions,
+            concurrency(runContext),
+            partition -> {
+              long start = System.nanoTime();
+
+              var builder =
+                  LoadPartitionsReq.builder()
+                      .collectionName(renderedCollectionName)
+                      .partitionNames(List.of(partition))
+                      .sync(false);
+              if (renderedNumReplicas != null) {
+                builder.numReplicas(renderedNumReplicas);
+              }
+              if (!renderedResourceGroups.isEmpty()) {
+                builder.resourceGroups(renderedResourceGroups);
+              }
+              client.loadPartitions(builder.build());
+
+              Polling.await(
+                  "the load of partition " + partition,
+                  renderedTimeout,
+                  () ->
+                      Boolean.TRUE.equals(
+                              client.getLoadState(
+                                  GetLoadStateReq.builder()
+                                      .collectionName(renderedCollectionName)
+                                      .partitionName(partition)
+                                      .build()))
+                          ? Optional.of(true)
+                          : Optional.empty());
+
+              Duration duration = Duration.ofNanos(System.nanoTime() - start);
+              runContext.metric(
+                  Timer.of("partition.load.duration", duration, "partition", partition));
+              runContext.logger().info("Partition {} loaded in {}.", partition, duration);
+              return duration;
+            });
+
+    Map<String, Duration> loadDurations = new LinkedHashMap<>();
+    for (int i = 0; i < partitions.size(); i++) {
+      loadDurations.put(partitions.get(i), durations.get(i));
+    }
+
+    return Output.builder().partitionNames(partitions).loadDurations(loadDurations).build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The names of the partitions that were loaded.")
+    private List<String> partitionNames;
+
+    @Schema(title = "The load time of each partition.")
+    private Map<String, Duration> loadDurations;
+  }
+}
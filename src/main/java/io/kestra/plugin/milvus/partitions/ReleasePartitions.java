@@ -0,0 +1,99 @@
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.Parallel;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.partition.request.ReleasePartitionsReq;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation releases partitions from the memory of the query nodes.",
+    description =
+        "The release time of each partition is reported as the `partition.release.duration` metric.")
+@Plugin(
+    examples = {
+      @Example(
+          title = "Release the daily partitions of the previous month.",
+          full = true,
+          code =
+              """
+                id: release_milvus_partitions
+                namespace: company.team
+
+                tasks:
+                  - id: partitions_release
+                    type: io.kestra.plugin.milvus.partitions.ReleasePartitions
+                    url: "http://localhost:19530"
+                    collectionName: "events"
+                    partitionPattern: "day_{{ now() | dateAdd(-1, 'MONTHS') | date('yyyyMM') }}\\\\d{2}"
+              """)
+    })
+public class ReleasePartitions extends AbstractPartitionTask
+    implements RunnableTask<ReleasePartitions.Output> {
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+    String renderedCollectionName = runContext.render(getCollectionName());
+
+    List<String> partitions = partitions(runContext, client);
+
+    runContext
+        .logger()
+        .info("Releasing partitions {} of collection {}.", partitions, renderedCollectionName);
+
+    List<Duration> durations =
+        Parallel.map(
+            partitions,
+            concurrency(runContext),
+            partition -> {
+              long start = System.nanoTime();
+              client.releasePartitions(
+                  ReleasePartitionsReq.builder()
+                      .collectionName(renderedCollectionName)
+                      .partitionNames(List.of(partition))
+                      .build());
+
+              Duration duration = Duration.ofNanos(System.nanoTime() - start);
+              runContext.metric(
+                  Timer.of("partition.release.duration", duration, "partition", partition));
+              return duration;
+            });
+
+    Map<String, Duration> releaseDurations = new LinkedHashMap<>();
+    for (int i = 0; i < partitions.size(); i++) {
+      releaseDurations.put(partitions.get(i), durations.get(i));
+    }
+
+    return Output.builder()
+        .partitionNames(partitions)
+        .releaseDurations(releaseDurations)
+        .build();
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The names of the partitions that were released.")
+    private List<String> partitionNames;
+
+    @Schema(title = "The release time of each partition.")
+    private Map<String, Duration> releaseDurations;
+  }
+}
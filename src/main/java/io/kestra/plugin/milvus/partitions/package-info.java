@@ -0,0 +1,7 @@
+@PluginSubGroup(
+    title = "Partitions",
+    description = "This sub-group of plugins contains tasks for managing Milvus partitions.",
+    categories = PluginSubGroup.PluginCategory.DATABASE)
+package io.kestra.plugin.milvus.partitions;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
@@ -0,0 +1,437 @@
+package io.kestra.plugin.milvus.resourcegroups;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusConnectionProperties;
+import io.kestra.plugin.milvus.Parallel;
+import io.kestra.plugin.milvus.Polling;
+import io.milvus.common.resourcegroup.ResourceGroupConfig;
+import io.milvus.common.resourcegroup.ResourceGroupLimit;
+import io.milvus.common.resourcegroup.ResourceGroupTransfer;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.GetLoadStateReq;
+import io.milvus.v2.service.collection.request.LoadCollectionReq;
+import io.milvus.v2.service.database.request.AlterDatabasePropertiesReq;
+import io.milvus.v2.service.resourcegroup.request.CreateResourceGroupReq;
+import io.milvus.v2.service.resourcegroup.request.DescribeResourceGroupReq;
+import io.milvus.v2.service.resourcegroup.request.ListResourceGroupsReq;
+import io.milvus.v2.service.resourcegroup.request.UpdateResourceGroupsReq;
+import io.milvus.v2.service.resourcegroup.response.DescribeResourceGroupResp;
+import io.milvus.v2.service.utility.request.GetQuerySegmentInfoReq;
+import io.milvus.v2.service.utility.response.GetQuerySegmentInfoResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation scales the read capacity of Milvus: resource groups, query nodes and replicas.",
+    description =
+        """
+            The resource groups in `resourceGroups` are created, or updated in a single request: query nodes move between groups as their requested and limited numbers of nodes change. The properties of an existing group that are not set keep their current values.
+            Then the collections of `collectionNames`, and the loaded collections of `databaseNames`, are loaded again with `replicaNumber` replicas placed in `replicaResourceGroups`; the replica number and resource groups properties of the databases are also altered, so that the collections loaded later follow them.
+            The task waits until the resource groups have their requested nodes, and until the segments of every collection are served by all of its replicas and their distribution over the query nodes is stable, polling with an exponential backoff.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Add query nodes and replicas ahead of business hours.",
+          full = true,
+          code =
+              """
+                id: milvus_scale_up
+                namespace: company.team
+
+                tasks:
+                  - id: scale_up
+                    type: io.kestra.plugin.milvus.resourcegroups.Scale
+                    url: "http://localhost:19530"
+                    resourceGroups:
+                      - name: serving
+                        requests: 4
+                        limits: 4
+                        transferFrom:
+                          - __default_resource_group
+                    collectionNames:
+                      - documents
+                    replicaNumber: 2
+                    replicaResourceGroups:
+                      - serving
+
+                triggers:
+                  - id: morning
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 7 * * MON-FRI"
+              """)
+    })
+public class Scale extends MilvusConnection implements RunnableTask<Scale.Output> {
+
+  @Schema(title = "The resource groups to create or resize.")
+  private List<ResourceGroup> resourceGroups;
+
+  @Schema(title = "The collections, of the database of the connection, to replicate.")
+  private Property<List<String>> collectionNames;
+
+  @Schema(title = "The databases whose loaded collections are replicated.")
+  private Property<List<String>> databaseNames;
+
+  @Schema(
+      title = "The number of replicas of the collections.",
+      description = "If not set, the collections and databases are left as they are.")
+  private Property<Integer> replicaNumber;
+
+  @Schema(
+      title = "The resource groups the replicas are placed in.",
+      description = "As many groups as replicas, or a single group holding all of them.")
+  private Property<List<String>> replicaResourceGroups;
+
+  @Schema(title = "Whether the task waits until the nodes and segments are balanced.")
+  @Builder.Default
+  private Property<Boolean> waitForBalance = Property.ofValue(true);
+
+  @Schema(
+      title = "The number of consecutive polls the distribution of the segments must be stable.",
+      description = "The balancer moves segments in steps; a single poll may see a pause.")
+  @Builder.Default
+  private Property<Integer> stablePolls = Property.ofValue(3);
+
+  @Schema(title = "The number of collections reloaded and awaited concurrently.")
+  @Builder.Default
+  private Property<Integer> concurrency = Property.ofValue(4);
+
+  @Schema(title = "The maximum time to wait for the nodes, and then for the segments.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofMinutes(30));
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    Integer renderedReplicaNumber = runContext.render(replicaNumber).as(Integer.class).orElse(null);
+    List<String> renderedReplicaResourceGroups =
+        runContext.render(replicaResourceGroups).asList(String.class);
+    boolean renderedWaitForBalance =
+        runContext.render(waitForBalance).as(Boolean.class).orElse(true);
+    int renderedStablePolls = runContext.render(stablePolls).as(Integer.class).orElse(3);
+    int renderedConcurrency = runContext.render(concurrency).as(Integer.class).orElse(4);
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofMinutes(30));
+
+    long start = System.nanoTime();
+    Output.OutputBuilder output = Output.builder();
+    if (resourceGroups != null && !resourceGroups.isEmpty()) {
+      Map<String, Integer> nodes =
+          scaleResourceGroups(runContext, client, renderedWaitForBalance, renderedTimeout);
+      output.resourceGroups(nodes);
+    }
+
+    List<Replicated> targets = new ArrayList<>();
+    List<MilvusClientV2> databaseClients = new ArrayList<>();
+    try {
+      if (renderedReplicaNumber != null) {
+        for (String collectionName : runContext.render(collectionNames).asList(String.class)) {
+          targets.add(new Replicated(client, null, collectionName));
+        }
+        for (String database : runContext.render(databaseNames).asList(String.class)) {
+          Map<String, String> properties = new LinkedHashMap<>();
+          properties.put("database.replica.number", String.valueOf(renderedReplicaNumber));
+          if (!renderedReplicaResourceGroups.isEmpty()) {
+            properties.put(
+                "database.resource_groups", String.join(",", renderedReplicaResourceGroups));
+          }
+          client.alterDatabaseProperties(
+              AlterDatabasePropertiesReq.builder()
+                  .databaseName(database)
+                  .properties(properties)
+                  .build());
+
+          MilvusClientV2 databaseClient = connect(runContext, database);
+          databaseClients.add(databaseClient);
+          for (String collectionName : databaseClient.listCollections().getCollectionNames()) {
+            if (databaseClient.getLoadState(
+                GetLoadStateReq.builder().collectionName(collectionName).build())) {
+              targets.add(new Replicated(databaseClient, database, collectionName));
+            }
+          }
+        }
+      }
+
+      List<Placement> placements =
+          Parallel.map(
+              targets,
+              renderedConcurrency,
+              target -> {
+                long replicateStart = System.nanoTime();
+                var request =
+                    LoadCollectionReq.builder()
+                        .collectionName(target.collectionName())
+                        .numReplicas(renderedReplicaNumber)
+                        .sync(false);
+                if (!renderedReplicaResourceGroups.isEmpty()) {
+                  request.resourceGroups(renderedReplicaResourceGroups);
+                }
+                target.client().loadCollection(request.build());
+
+                SegmentBalance balance =
+                    new SegmentBalance(renderedReplicaNumber, renderedStablePolls);
+                if (renderedWaitForBalance) {
+                  Polling.await(
+                      "the balance of collection " + target,
+                      renderedTimeout,
+                      () -> isBalanced(target, balance) ? Optional.of(true) : Optional.empty());
+                }
+
+                Duration duration = Duration.ofNanos(System.nanoTime() - replicateStart);
+                runContext.metric(
+                    Timer.of("balance.duration", duration, "collection", target.toString()));
+                runContext
+                    .logger()
+                    .info(
+                        "Collection {} has {} replicas over {} query nodes after {}.",
+                        target,
+                        renderedReplicaNumber,
+                        balance.segmentsPerNode().size(),
+                        duration);
+
+                Map<String, Integer> segmentsPerNode = new LinkedHashMap<>();
+                balance
+                    .segmentsPerNode()
+                    .forEach((node, count) -> segmentsPerNode.put(String.valueOf(node), count));
+                return Placement.builder()
+                    .replicas(renderedReplicaNumber)
+                    .segmentsPerNode(segmentsPerNode)
+                    .duration(duration)
+                    .build();
+              });
+
+      Map<String, Placement> collections = new LinkedHashMap<>();
+      for (int i = 0; i < targets.size(); i++) {
+        collections.put(targets.get(i).toString(), placements.get(i));
+      }
+      output.collections(collections);
+    } finally {
+      for (MilvusClientV2 databaseClient : databaseClients) {
+        databaseClient.close();
+      }
+    }
+
+    return output.duration(Duration.ofNanos(System.nanoTime() - start)).build();
+  }
+
+  /**
+   * Creates the missing resource groups, updates the others in a single request, then waits for
+   * their requested nodes.
+   */
+  private Map<String, Integer> scaleResourceGroups(
+      RunContext runContext, MilvusClientV2 client, boolean wait, Duration timeout)
+      throws Exception {
+    Set<String> existing =
+        new HashSet<>(
+            client.listResourceGroups(ListResourceGroupsReq.builder().build()).getGroupNames());
+
+    Map<String, ResourceGroupConfig> updates = new LinkedHashMap<>();
+    for (ResourceGroup resourceGroup : resourceGroups) {
+      String name = runContext.render(resourceGroup.getName());
+      if (existing.contains(name)) {
+        updates.put(name, resourceGroup.config(describe(client, name).getConfig()));
+      } else {
+        client.createResourceGroup(
+            CreateResourceGroupReq.builder()
+                .groupName(name)
+                .config(resourceGroup.config(null))
+                .build());
+        runContext.logger().info("Resource group {} created.", name);
+      }
+    }
+    if (!updates.isEmpty()) {
+      client.updateResourceGroups(
+          UpdateResourceGroupsReq.builder().resourceGroups(updates).build());
+      runContext.logger().info("Resource groups {} updated.", updates.keySet());
+    }
+
+    Map<String, Integer> nodes = new LinkedHashMap<>();
+    for (ResourceGroup resourceGroup : resourceGroups) {
+      String name = runContext.render(resourceGroup.getName());
+      DescribeResourceGroupResp description =
+          wait && resourceGroup.getRequests() != null
+              ? Polling.await(
+                  "the nodes of resource group " + name,
+                  timeout,
+                  () -> {
+                    DescribeResourceGroupResp resp = describe(client, name);
+                    return resp.getNumberOfAvailableNode() >= resourceGroup.getRequests()
+                        ? Optional.of(resp)
+                        : Optional.empty();
+                  })
+              : describe(client, name);
+      nodes.put(name, description.getNumberOfAvailableNode());
+    }
+    return nodes;
+  }
+
+  private static DescribeResourceGroupResp describe(MilvusClientV2 client, String name) {
+    return client.describeResourceGroup(
+        DescribeResourceGroupReq.builder().groupName(name).build());
+  }
+
+  private static boolean isBalanced(Replicated target, SegmentBalance balance) {
+    MilvusClientV2 client = target.client();
+    if (!client.getLoadState(
+        GetLoadStateReq.builder().collectionName(target.collectionName()).build())) {
+      return false;
+    }
+
+    List<List<Long>> segmentNodes = new ArrayList<>();
+    for (GetQuerySegmentInfoResp.QuerySegmentInfo segment :
+        client
+            .getQuerySegmentInfo(
+                GetQuerySegmentInfoReq.builder().collectionName(target.collectionName()).build())
+            .getSegmentInfos()) {
+      segmentNodes.add(segment.getNodeIDs());
+    }
+    return balance.observe(segmentNodes);
+  }
+
+  private MilvusClientV2 connect(RunContext runContext, String database) throws Exception {
+    return MilvusConnection.connect(
+        runContext,
+        MilvusConnectionProperties.builder()
+            .url(getUrl())
+            .token(getToken())
+            .userName(getUserName())
+            .password(getPassword())
+            .dbName(Property.ofValue(database))
+            .build());
+  }
+
+  /** A collection replicated by the task, with a client of its database. */
+  private record Replicated(MilvusClientV2 client, String database, String collectionName) {
+    @Override
+    public String toString() {
+      return database == null ? collectionName : database + "." + collectionName;
+    }
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class ResourceGroup {
+
+    @Schema(title = "The name of the resource group.")
+    @NotBlank
+    private String name;
+
+    @Schema(
+        title = "The number of query nodes the resource group requests.",
+        description =
+            "Defaults to the current number of an existing group, lowered to `limits` if it is above.")
+    private Integer requests;
+
+    @Schema(
+        title = "The maximum number of query nodes of the resource group.",
+        description =
+            "Defaults to the current maximum of an existing group, raised to `requests` if it is below, or else to the number of requested nodes.")
+    private Integer limits;
+
+    @Schema(title = "The resource groups nodes are taken from when the group misses nodes.")
+    private List<String> transferFrom;
+
+    @Schema(title = "The resource groups nodes are given to when the group has too many nodes.")
+    private List<String> transferTo;
+
+    /**
+     * The configuration of the resource group, the unset properties kept from the current one, if
+     * the group exists: Milvus replaces the whole configuration on update, and would otherwise
+     * request and limit 0 nodes.
+     */
+    ResourceGroupConfig config(ResourceGroupConfig current) {
+      Integer nextRequests =
+          requests != null ? requests : nodeNum(current == null ? null : current.getRequests());
+      Integer nextLimits =
+          limits != null ? limits : nodeNum(current == null ? null : current.getLimits());
+      if (nextLimits == null) {
+        nextLimits = nextRequests;
+      } else if (nextRequests != null && nextRequests > nextLimits) {
+        // the property that is set wins over the current value of the other one
+        if (limits == null) {
+          nextLimits = nextRequests;
+        } else if (requests == null) {
+          nextRequests = nextLimits;
+        }
+      }
+
+      ResourceGroupConfig.Builder builder = ResourceGroupConfig.newBuilder();
+      if (nextRequests != null) {
+        builder.withRequests(new ResourceGroupLimit(nextRequests));
+      }
+      if (nextLimits != null) {
+        builder.withLimits(new ResourceGroupLimit(nextLimits));
+      }
+      if (transferFrom != null) {
+        builder.withTransferFrom(transferFrom.stream().map(ResourceGroupTransfer::new).toList());
+      } else if (current != null && current.getTransferFrom() != null) {
+        builder.withTransferFrom(current.getTransferFrom());
+      }
+      if (transferTo != null) {
+        builder.withTransferTo(transferTo.stream().map(ResourceGroupTransfer::new).toList());
+      } else if (current != null && current.getTransferTo() != null) {
+        builder.withTransferTo(current.getTransferTo());
+      }
+      if (current != null && current.getNodeFilter() != null) {
+        builder.withNodeFilter(current.getNodeFilter());
+      }
+      return builder.build();
+    }
+
+    private static Integer nodeNum(ResourceGroupLimit limit) {
+      return limit == null ? null : limit.getNodeNum();
+    }
+  }
+
+  @Getter
+  @Builder
+  public static class Placement {
+
+    @Schema(title = "The number of replicas of the collection.")
+    private Integer replicas;
+
+    @Schema(title = "The number of loaded segments served by each query node.")
+    private Map<String, Integer> segmentsPerNode;
+
+    @Schema(title = "The time spent replicating and balancing the collection.")
+    private Duration duration;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The number of available query nodes of each scaled resource group.")
+    private Map<String, Integer> resourceGroups;
+
+    @Schema(title = "The placement of the replicas of each collection.")
+    private Map<String, Placement> collections;
+
+    @Schema(title = "The time spent scaling.")
+    private Duration duration;
+  }
+}
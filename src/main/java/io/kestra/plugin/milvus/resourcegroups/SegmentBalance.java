@@ -0,0 +1,50 @@
+package io.kestra.plugin.milvus.resourcegroups;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decides when the loaded segments of a collection are balanced over the query nodes: every
+ * segment is served by the expected number of replicas, and the number of segments per node has
+ * not changed for a number of consecutive observations, the balancer of Milvus moving segments
+ * one batch at a time.
+ */
+final class SegmentBalance {
+  private final int replicas;
+  private final int stableObservations;
+  private Map<Long, Integer> segmentsPerNode = Map.of();
+  private int stable;
+
+  SegmentBalance(int replicas, int stableObservations) {
+    this.replicas = replicas;
+    this.stableObservations = Math.max(1, stableObservations);
+  }
+
+  /** Records the nodes serving each loaded segment, and returns whether they are balanced. */
+  boolean observe(List<List<Long>> segmentNodes) {
+    Map<Long, Integer> observed = new TreeMap<>();
+    boolean replicated = true;
+    for (List<Long> nodes : segmentNodes) {
+      replicated &= nodes.size() >= replicas;
+      for (Long node : nodes) {
+        observed.merge(node, 1, Integer::sum);
+      }
+    }
+
+    if (!observed.equals(segmentsPerNode)) {
+      stable = 0;
+    }
+    segmentsPerNode = observed;
+    if (!replicated) {
+      stable = 0;
+      return false;
+    }
+    return ++stable >= stableObservations;
+  }
+
+  /** The number of segments per node at the last observation. */
+  Map<Long, Integer> segmentsPerNode() {
+    return segmentsPerNode;
+  }
+}
@@ -0,0 +1,8 @@
+@PluginSubGroup(
+    title = "Resource groups",
+    description =
+        "This sub-group of plugins contains tasks scaling the query nodes and replicas of Milvus.",
+    categories = PluginSubGroup.PluginCategory.DATABASE)
+package io.kestra.plugin.milvus.resourcegroups;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
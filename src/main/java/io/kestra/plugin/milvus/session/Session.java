@@ -0,0 +1,529 @@
+package io.kestra.plugin.milvus.session;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.milvus.MilvusConnection;
+import io.kestra.plugin.milvus.MilvusConnectionProperties;
+import io.kestra.plugin.milvus.collections.Compact;
+import io.kestra.plugin.milvus.collections.Indexes;
+import io.kestra.plugin.milvus.collections.LoadCollection;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.collection.request.LoadCollectionReq;
+import io.milvus.v2.service.collection.request.ReleaseCollectionReq;
+import io.milvus.v2.service.database.request.AlterDatabasePropertiesReq;
+import io.milvus.v2.service.database.request.CreateDatabaseReq;
+import io.milvus.v2.service.database.request.DropDatabasePropertiesReq;
+import io.milvus.v2.service.database.request.DropDatabaseReq;
+import io.milvus.v2.service.partition.request.CreatePartitionReq;
+import io.milvus.v2.service.partition.request.DropPartitionReq;
+import io.milvus.v2.service.partition.request.LoadPartitionsReq;
+import io.milvus.v2.service.partition.request.ReleasePartitionsReq;
+import io.milvus.v2.service.utility.request.AlterAliasReq;
+import io.milvus.v2.service.utility.request.CompactReq;
+import io.milvus.v2.service.utility.request.CreateAliasReq;
+import io.milvus.v2.service.utility.request.DropAliasReq;
+import io.milvus.v2.service.utility.request.FlushReq;
+import io.milvus.v2.service.utility.response.CompactResp;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import lombok.extern.jackson.Jacksonized;
+
+@SuperBuilder
+@ToString
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@Schema(
+    title = "This operation runs a script of Milvus operations over a single connection.",
+    description =
+        """
+            Each operation starts once the operations it depends on are complete. By default an operation depends on the previous one, so that the operations run in order; list the operations it really depends on in `dependsOn`, or none with `dependsOn: []`, to let independent operations run concurrently.
+            An operation may only depend on operations listed before it. When an operation fails, the operations depending on it are skipped, the others still run, then the task fails.
+            Collection, partition, index and alias operations apply to their `databaseName`, or to the database of the connection when it is not set; a database created by the session is reached this way.
+            The start and duration of every operation are returned.
+        """)
+@Plugin(
+    examples = {
+      @Example(
+          title = "Provision a tenant database with two collections created in parallel.",
+          full = true,
+          code =
+              """
+                id: milvus_provision_tenant
+                namespace: company.team
+
+                tasks:
+                  - id: provision
+                    type: io.kestra.plugin.milvus.session.Session
+                    url: "http://localhost:19530"
+                    operations:
+                      - id: database
+                        type: CREATE_DATABASE
+                        databaseName: tenant_a
+                        properties:
+                          database.diskQuota.mb: "10240"
+                      - id: documents
+                        type: CREATE_COLLECTION
+                        databaseName: tenant_a
+                        collectionName: documents
+                        dimension: 768
+                        dependsOn: [database]
+                      - id: images
+                        type: CREATE_COLLECTION
+                        databaseName: tenant_a
+                        collectionName: images
+                        dimension: 512
+                        dependsOn: [database]
+                      - id: alias
+                        type: CREATE_ALIAS
+                        databaseName: tenant_a
+                        collectionName: documents
+                        alias: docs
+                        dependsOn: [documents]
+              """)
+    })
+public class Session extends MilvusConnection implements RunnableTask<Session.Output> {
+  private static final Set<OperationType> DATABASE_OPERATIONS =
+      EnumSet.of(
+          OperationType.CREATE_DATABASE,
+          OperationType.DROP_DATABASE,
+          OperationType.ALTER_DATABASE_PROPERTIES,
+          OperationType.DROP_DATABASE_PROPERTIES);
+
+  @Schema(title = "The operations to run.")
+  @NotEmpty
+  private List<Operation> operations;
+
+  @Schema(title = "The maximum number of operations running concurrently.")
+  @Builder.Default
+  private Property<Integer> concurrency = Property.ofValue(4);
+
+  @Schema(title = "The maximum time to wait for a load, an index build or a compaction.")
+  @Builder.Default
+  private Property<Duration> timeout = Property.ofValue(Duration.ofMinutes(10));
+
+  @Override
+  public Output run(RunContext runContext) throws Exception {
+    MilvusClientV2 client = connect(runContext);
+
+    Semaphore permits =
+        new Semaphore(Math.max(1, runContext.render(concurrency).as(Integer.class).orElse(4)));
+    Duration renderedTimeout =
+        runContext.render(timeout).as(Duration.class).orElse(Duration.ofMinutes(10));
+
+    Clients clients = new Clients(runContext, this, client);
+    Map<String, Result> results = new ConcurrentHashMap<>();
+    Map<String, CompletableFuture<Void>> futures = new LinkedHashMap<>();
+    long start = System.nanoTime();
+    try (clients;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      String previous = null;
+      for (int i = 0; i < operations.size(); i++) {
+        Operation operation = operations.get(i);
+        String id =
+            operation.getId() != null
+                ? operation.getId()
+                : operation.getType().name().toLowerCase() + "_" + i;
+        if (futures.containsKey(id)) {
+          throw new IllegalArgumentException("Duplicate operation id '" + id + "'.");
+        }
+
+        List<String> dependsOn =
+            operation.getDependsOn() != null
+                ? operation.getDependsOn()
+                : previous == null ? List.of() : List.of(previous);
+        List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+        for (String dependency : dependsOn) {
+          if (!futures.containsKey(dependency)) {
+            throw new IllegalArgumentException(
+                "Operation '" + id + "' depends on '" + dependency + "', not listed before it.");
+          }
+          dependencies.add(futures.get(dependency));
+        }
+
+        futures.put(
+            id,
+            CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new))
+                .thenRunAsync(
+                    () -> {
+                      try {
+                        permits.acquire();
+                        try {
+                          results.put(
+                              id,
+                              execute(
+                                  runContext, clients, operation, id, renderedTimeout, start));
+                        } finally {
+                          permits.release();
+                        }
+                      } catch (Exception e) {
+                        results.put(
+                            id,
+                            Result.builder()
+                                .type(operation.getType())
+                                .status(Status.FAILED)
+                                .error(e.getMessage())
+                                .build());
+                        throw new CompletionException(e);
+                      }
+                    },
+                    executor));
+        previous = id;
+      }
+
+      CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+          .exceptionally(e -> null)
+          .join();
+    }
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+
+    Map<String, Result> ordered = new LinkedHashMap<>();
+    String failed = null;
+    int index = 0;
+    for (String id : futures.keySet()) {
+      Result result =
+          results.getOrDefault(
+              id,
+              Result.builder()
+                  .type(operations.get(index++).getType())
+                  .status(Status.SKIPPED)
+                  .build());
+      ordered.put(id, result);
+      runContext.logger().info("Operation {}: {} {}", id, result.getStatus(), result.getDuration());
+      if (failed == null && result.getStatus() == Status.FAILED) {
+        failed = id;
+      }
+    }
+
+    if (failed != null) {
+      throw new IllegalStateException(
+          "Operation '" + failed + "' failed: " + ordered.get(failed).getError());
+    }
+    return Output.builder().operations(ordered).duration(duration).build();
+  }
+
+  private static Result execute(
+      RunContext runContext,
+      Clients clients,
+      Operation operation,
+      String id,
+      Duration timeout,
+      long sessionStart)
+      throws Exception {
+    long start = System.nanoTime();
+
+    String databaseName = render(runContext, operation.getDatabaseName());
+    String collectionName = render(runContext, operation.getCollectionName());
+    String partitionName = render(runContext, operation.getPartitionName());
+    String alias = render(runContext, operation.getAlias());
+    Map<String, String> properties =
+        operation.getProperties() == null
+            ? Map.of()
+            : runContext.renderMap(operation.getProperties());
+    List<String> propertyKeys =
+        operation.getPropertyKeys() == null
+            ? List.of()
+            : runContext.render(operation.getPropertyKeys());
+    MilvusClientV2 client =
+        DATABASE_OPERATIONS.contains(operation.getType())
+            ? clients.connection()
+            : clients.database(databaseName);
+
+    switch (operation.getType()) {
+      case CREATE_DATABASE ->
+          client.createDatabase(
+              CreateDatabaseReq.builder()
+                  .databaseName(databaseName)
+                  .properties(properties)
+                  .build());
+      case DROP_DATABASE ->
+          client.dropDatabase(DropDatabaseReq.builder().databaseName(databaseName).build());
+      case ALTER_DATABASE_PROPERTIES ->
+          client.alterDatabaseProperties(
+              AlterDatabasePropertiesReq.builder()
+                  .databaseName(databaseName)
+                  .properties(properties)
+                  .build());
+      case DROP_DATABASE_PROPERTIES ->
+          client.dropDatabaseProperties(
+              DropDatabasePropertiesReq.builder()
+                  .databaseName(databaseName)
+                  .propertyKeys(propertyKeys)
+                  .build());
+      case CREATE_COLLECTION -> {
+        var request =
+            CreateCollectionReq.builder()
+                .collectionName(collectionName)
+                .dimension(operation.getDimension())
+                .properties(properties);
+        if (operation.getMetricType() != null) {
+          request.metricType(operation.getMetricType().name());
+        }
+        client.createCollection(request.build());
+      }
+      case DROP_COLLECTION ->
+          client.dropCollection(
+              DropCollectionReq.builder().collectionName(collectionName).build());
+      case LOAD_COLLECTION -> {
+        client.loadCollection(
+            LoadCollectionReq.builder().collectionName(collectionName).sync(false).build());
+        LoadCollection.awaitLoadState(client, collectionName, true, timeout);
+      }
+      case RELEASE_COLLECTION ->
+          client.releaseCollection(
+              ReleaseCollectionReq.builder().collectionName(collectionName).build());
+      case CREATE_PARTITION ->
+          client.createPartition(
+              CreatePartitionReq.builder()
+                  .collectionName(collectionName)
+                  .partitionName(partitionName)
+                  .build());
+      case DROP_PARTITION ->
+          client.dropPartition(
+              DropPartitionReq.builder()
+                  .collectionName(collectionName)
+                  .partitionName(partitionName)
+                  .build());
+      case LOAD_PARTITION ->
+          client.loadPartitions(
+              LoadPartitionsReq.builder()
+                  .collectionName(collectionName)
+                  .partitionNames(List.of(partitionName))
+                  .timeout(timeout.toMillis())
+                  .build());
+      case RELEASE_PARTITION ->
+          client.releasePartitions(
+              ReleasePartitionsReq.builder()
+                  .collectionName(collectionName)
+                  .partitionNames(List.of(partitionName))
+                  .build());
+      case CREATE_INDEX -> {
+        var indexParam =
+            IndexParam.builder()
+                .fieldName(render(runContext, operation.getFieldName()))
+                .indexType(operation.getIndexType());
+        if (operation.getMetricType() != null) {
+          indexParam.metricType(operation.getMetricType());
+        }
+        if (operation.getIndexParams() != null) {
+          indexParam.extraParams(runContext.render(operation.getIndexParams()));
+        }
+        Indexes.create(client, collectionName, List.of(indexParam.build()), timeout);
+      }
+      case FLUSH ->
+          client.flush(FlushReq.builder().collectionNames(List.of(collectionName)).build());
+      case COMPACT -> {
+        CompactResp compactResp =
+            client.compact(CompactReq.builder().collectionName(collectionName).build());
+        Compact.awaitCompaction(client, collectionName, compactResp.getCompactionID(), timeout);
+      }
+      case CREATE_ALIAS ->
+          client.createAlias(
+              CreateAliasReq.builder().collectionName(collectionName).alias(alias).build());
+      case ALTER_ALIAS ->
+          client.alterAlias(
+              AlterAliasReq.builder().collectionName(collectionName).alias(alias).build());
+      case DROP_ALIAS -> client.dropAlias(DropAliasReq.builder().alias(alias).build());
+    }
+
+    Duration duration = Duration.ofNanos(System.nanoTime() - start);
+    runContext.metric(
+        Timer.of(
+            "operation.duration", duration, "operation", id, "type", operation.getType().name()));
+    return Result.builder()
+        .type(operation.getType())
+        .status(Status.SUCCESS)
+        .start(Duration.ofNanos(start - sessionStart))
+        .duration(duration)
+        .build();
+  }
+
+  private static String render(RunContext runContext, String value) throws Exception {
+    return value == null ? null : runContext.render(value);
+  }
+
+  /**
+   * The client of the connection, and one client per other database the operations apply to. The
+   * database of a client is fixed, switching it with {@code useDatabase} would affect the
+   * operations running concurrently.
+   */
+  private static final class Clients implements AutoCloseable {
+    private final RunContext runContext;
+    private final MilvusConnection connection;
+    private final MilvusClientV2 client;
+    private final Map<String, MilvusClientV2> databases = new LinkedHashMap<>();
+
+    Clients(RunContext runContext, MilvusConnection connection, MilvusClientV2 client) {
+      this.runContext = runContext;
+      this.connection = connection;
+      this.client = client;
+    }
+
+    MilvusClientV2 connection() {
+      return client;
+    }
+
+    synchronized MilvusClientV2 database(String databaseName) throws Exception {
+      if (databaseName == null) {
+        return client;
+      }
+      MilvusClientV2 databaseClient = databases.get(databaseName);
+      if (databaseClient == null) {
+        databaseClient =
+            MilvusConnection.connect(
+                runContext,
+                MilvusConnectionProperties.builder()
+                    .url(connection.getUrl())
+                    .token(connection.getToken())
+                    .userName(connection.getUserName())
+                    .password(connection.getPassword())
+                    .dbName(Property.ofValue(databaseName))
+                    .build());
+        databases.put(databaseName, databaseClient);
+      }
+      return databaseClient;
+    }
+
+    @Override
+    public synchronized void close() {
+      databases.values().forEach(MilvusClientV2::close);
+    }
+  }
+
+  public enum OperationType {
+    CREATE_DATABASE,
+    DROP_DATABASE,
+    ALTER_DATABASE_PROPERTIES,
+    DROP_DATABASE_PROPERTIES,
+    CREATE_COLLECTION,
+    DROP_COLLECTION,
+    LOAD_COLLECTION,
+    RELEASE_COLLECTION,
+    CREATE_PARTITION,
+    DROP_PARTITION,
+    LOAD_PARTITION,
+    RELEASE_PARTITION,
+    CREATE_INDEX,
+    FLUSH,
+    COMPACT,
+    CREATE_ALIAS,
+    ALTER_ALIAS,
+    DROP_ALIAS
+  }
+
+  public enum Status {
+    SUCCESS,
+    FAILED,
+    SKIPPED
+  }
+
+  @Builder
+  @Getter
+  @Jacksonized
+  public static class Operation {
+
+    @Schema(
+        title = "The identifier of the operation, referenced by `dependsOn`.",
+        description = "The value defaults to the type of the operation followed by its index.")
+    private String id;
+
+    @Schema(title = "The type of the operation.")
+    @NotNull
+    private OperationType type;
+
+    @Schema(
+        title = "The identifiers of the operations that must be complete before this one starts.",
+        description = "If not set, the operation depends on the previous one.")
+    private List<String> dependsOn;
+
+    @Schema(
+        title = "The name of the database.",
+        description =
+            "For the other operations than the database ones, the database of the collection; the database of the connection if not set.")
+    private String databaseName;
+
+    @Schema(title = "The name of the collection.")
+    private String collectionName;
+
+    @Schema(title = "The name of the partition, for the partition operations.")
+    private String partitionName;
+
+    @Schema(title = "The alias, for the alias operations.")
+    private String alias;
+
+    @Schema(title = "The dimension of the vector field, for CREATE_COLLECTION.")
+    private Integer dimension;
+
+    @Schema(title = "The properties of the database or of the collection.")
+    private Map<String, String> properties;
+
+    @Schema(title = "The keys of the database properties to reset, for DROP_DATABASE_PROPERTIES.")
+    private List<String> propertyKeys;
+
+    @Schema(title = "The field to index, for CREATE_INDEX.")
+    private String fieldName;
+
+    @Schema(title = "The type of the index, for CREATE_INDEX.")
+    private IndexParam.IndexType indexType;
+
+    @Schema(title = "The metric of the index, for CREATE_INDEX and CREATE_COLLECTION.")
+    private IndexParam.MetricType metricType;
+
+    @Schema(title = "The build parameters of the index, for CREATE_INDEX.")
+    private Map<String, Object> indexParams;
+  }
+
+  @Getter
+  @Builder
+  public static class Result {
+
+    @Schema(title = "The type of the operation.")
+    private OperationType type;
+
+    @Schema(title = "Whether the operation succeeded, failed or was skipped after a failure.")
+    private Status status;
+
+    @Schema(title = "When the operation started, from the start of the session.")
+    private Duration start;
+
+    @Schema(title = "The time spent running the operation.")
+    private Duration duration;
+
+    @Schema(title = "The error of the operation, if it failed.")
+    private String error;
+  }
+
+  @Getter
+  @Builder
+  public static class Output implements io.kestra.core.models.tasks.Output {
+
+    @Schema(title = "The result of each operation, by identifier.")
+    private Map<String, Result> operations;
+
+    @Schema(title = "The time spent running the session.")
+    private Duration duration;
+  }
+}
@@ -0,0 +1,7 @@
+@PluginSubGroup(
+    title = "Session",
+    description = "This sub-group of plugins contains tasks running many Milvus operations at once.",
+    categories = PluginSubGroup.PluginCategory.DATABASE)
+package io.kestra.plugin.milvus.session;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
@@ -0,0 +1,43 @@
+package io.kestra.plugin.milvus.vector;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/** Plain loops, used whenever the Vector API is not available in the running JVM. */
+final class ScalarKernel implements VectorKernel {
+  private static final VarHandle LONGS =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  @Override
+  public float dot(float[] a, float[] b) {
+    float sum = 0f;
+    for (int i = 0; i < a.length; i++) {
+      sum += a[i] * b[i];
+    }
+    return sum;
+  }
+
+  @Override
+  public float l2Squared(float[] a, float[] b) {
+    float sum = 0f;
+    for (int i = 0; i < a.length; i++) {
+      float diff = a[i] - b[i];
+      sum += diff * diff;
+    }
+    return sum;
+  }
+
+  @Override
+  public int hamming(byte[] a, byte[] b) {
+    int distance = 0;
+    int i = 0;
+    for (; i + Long.BYTES <= a.length; i += Long.BYTES) {
+      distance += Long.bitCount((long) LONGS.get(a, i) ^ (long) LONGS.get(b, i));
+    }
+    for (; i < a.length; i++) {
+      distance += Integer.bitCount((a[i] ^ b[i]) & 0xff);
+    }
+    return distance;
+  }
+}
@@ -0,0 +1,10 @@
+package io.kestra.plugin.milvus.vector;
+
+/** The primitive operations every distance computation is built upon. */
+interface VectorKernel {
+  float dot(float[] a, float[] b);
+
+  float l2Squared(float[] a, float[] b);
+
+  int hamming(byte[] a, byte[] b);
+}
@@ -0,0 +1,120 @@
+package io.kestra.plugin.milvus.vector;
+
+import java.util.List;
+
+/**
+ * Client-side vector math used by the tasks that read, write or compare vectors.
+ *
+ * <p>The operations run on SIMD kernels written with the JDK Vector API whenever the JVM is
+ * started with {@code --add-modules jdk.incubator.vector}, and on plain loops otherwise. Setting
+ * the {@code kestra.milvus.vector.simd} system property to {@code false} forces the plain loops.
+ */
+public final class VectorMath {
+  private static final VectorKernel KERNEL = loadKernel();
+
+  private VectorMath() {}
+
+  /** Whether the SIMD kernels are in use. */
+  public static boolean isSimd() {
+    return !(KERNEL instanceof ScalarKernel);
+  }
+
+  public static float dot(float[] a, float[] b) {
+    checkSameDimension(a, b);
+    return KERNEL.dot(a, b);
+  }
+
+  public static float l2Squared(float[] a, float[] b) {
+    checkSameDimension(a, b);
+    return KERNEL.l2Squared(a, b);
+  }
+
+  public static float l2(float[] a, float[] b) {
+    return (float) Math.sqrt(l2Squared(a, b));
+  }
+
+  public static float norm(float[] a) {
+    return (float) Math.sqrt(KERNEL.dot(a, a));
+  }
+
+  /** The cosine similarity of two vectors, 0 if one of them is the zero vector. */
+  public static float cosine(float[] a, float[] b) {
+    float denominator = norm(a) * norm(b);
+    return denominator == 0f ? 0f : dot(a, b) / denominator;
+  }
+
+  /** Scales the vector to unit length, in place, and returns it. */
+  public static float[] normalize(float[] a) {
+    float norm = norm(a);
+    if (norm != 0f && norm != 1f) {
+      float inverse = 1f / norm;
+      for (int i = 0; i < a.length; i++) {
+        a[i] *= inverse;
+      }
+    }
+    return a;
+  }
+
+  /** The number of differing bits between two binary vectors packed 8 dimensions per byte. */
+  public static int hamming(byte[] a, byte[] b) {
+    if (a.length != b.length) {
+      throw new IllegalArgumentException(
+          "Vector dimension mismatch: " + a.length * 8 + " != " + b.length * 8);
+    }
+    return KERNEL.hamming(a, b);
+  }
+
+  public static void checkDimension(float[] vector, int dimension) {
+    checkDimension(vector.length, dimension);
+  }
+
+  /** Checks the length of a vector that is not decoded to a float array. */
+  public static void checkDimension(int length, int dimension) {
+    if (length != dimension) {
+      throw new IllegalArgumentException(
+          "Invalid vector dimension: expected " + dimension + " but got " + length);
+    }
+  }
+
+  /** Converts a vector as returned by the SDK or by a deserialized file to a float array. */
+  public static float[] toFloatArray(Object value) {
+    if (value instanceof float[] floats) {
+      return floats;
+    }
+    if (value instanceof List<?> list) {
+      float[] vector = new float[list.size()];
+      for (int i = 0; i < vector.length; i++) {
+        vector[i] = ((Number) list.get(i)).floatValue();
+      }
+      return vector;
+    }
+    throw new IllegalArgumentException(
+        "Expected a float vector but got "
+            + (value == null ? "null" : value.getClass().getSimpleName()));
+  }
+
+  private static void checkSameDimension(float[] a, float[] b) {
+    if (a.length != b.length) {
+      throw new IllegalArgumentException(
+          "Vector dimension mismatch: " + a.length + " != " + b.length);
+    }
+  }
+
+  private static VectorKernel loadKernel() {
+    if ("false".equalsIgnoreCase(System.getProperty("kestra.milvus.vector.simd"))
+        || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return new ScalarKernel();
+    }
+
+    // loaded by name, so that nothing else of the plugin links against the incubating module
+    try {
+      Class<?> simd = Class.forName(VectorMath.class.getPackageName() + ".SimdKernel");
+      if ((boolean) simd.getDeclaredMethod("isSupported").invoke(null)) {
+        return (VectorKernel) simd.getDeclaredConstructor().newInstance();
+      }
+    } catch (ReflectiveOperationException | LinkageError e) {
+      // the module is there but cannot be linked from the plugin class loader
+    }
+    return new ScalarKernel();
+  }
+}
@@ -0,0 +1,78 @@
+package io.kestra.plugin.milvus.vector;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels written with the incubating JDK Vector API.
+ *
+ * <p>This class lives in the {@code simd} source set, the only one compiled against the {@code
+ * jdk.incubator.vector} module. {@link VectorMath} loads it by name, and only once it has checked
+ * that the module is part of the boot layer.
+ */
+final class SimdKernel implements VectorKernel {
+  private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+  /** Whether the hardware offers wide enough registers for the Vector API to pay off. */
+  static boolean isSupported() {
+    return FLOATS.length() >= 4;
+  }
+
+  @Override
+  public float dot(float[] a, float[] b) {
+    FloatVector acc = FloatVector.zero(FLOATS);
+    int i = 0;
+    int bound = FLOATS.loopBound(a.length);
+    for (; i < bound; i += FLOATS.length()) {
+      acc = FloatVector.fromArray(FLOATS, a, i).fma(FloatVector.fromArray(FLOATS, b, i), acc);
+    }
+
+    float sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < a.length; i++) {
+      sum += a[i] * b[i];
+    }
+    return sum;
+  }
+
+  @Override
+  public float l2Squared(float[] a, float[] b) {
+    FloatVector acc = FloatVector.zero(FLOATS);
+    int i = 0;
+    int bound = FLOATS.loopBound(a.length);
+    for (; i < bound; i += FLOATS.length()) {
+      FloatVector diff =
+          FloatVector.fromArray(FLOATS, a, i).sub(FloatVector.fromArray(FLOATS, b, i));
+      acc = diff.fma(diff, acc);
+    }
+
+    float sum = acc.reduceLanes(VectorOperators.ADD);
+    for (; i < a.length; i++) {
+      float diff = a[i] - b[i];
+      sum += diff * diff;
+    }
+    return sum;
+  }
+
+  @Override
+  public int hamming(byte[] a, byte[] b) {
+    long distance = 0;
+    int i = 0;
+    int bound = BYTES.loopBound(a.length);
+    for (; i < bound; i += BYTES.length()) {
+      distance +=
+          ByteVector.fromArray(BYTES, a, i)
+              .lanewise(VectorOperators.XOR, ByteVector.fromArray(BYTES, b, i))
+              .reinterpretAsLongs()
+              .lanewise(VectorOperators.BIT_COUNT)
+              .reduceLanes(VectorOperators.ADD);
+    }
+
+    for (; i < a.length; i++) {
+      distance += Integer.bitCount((a[i] ^ b[i]) & 0xff);
+    }
+    return (int) distance;
+  }
+}
@@ -0,0 +1,35 @@
+package io.kestra.plugin.milvus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+
+public class MilvusJobsTest {
+
+  @Test
+  public void testJobRoundTrip() {
+    Instant submitted = Instant.parse("2024-05-01T10:15:30.123Z");
+    MilvusJobs.Job job =
+        MilvusJobs.Job.builder()
+            .id("job")
+            .type(MilvusJobs.Type.COMPACTION)
+            .url("http://localhost:19530")
+            .dbName("default")
+            .collectionName("documents")
+            .compactionId(451234567890123456L)
+            .submitted(submitted)
+            .deadline(submitted.plusSeconds(3600))
+            .build();
+
+    MilvusJobs.Job read = MilvusJobs.fromValue(MilvusJobs.toValue(job));
+
+    assertThat(read.getType(), is(MilvusJobs.Type.COMPACTION));
+    assertThat(read.getCollectionName(), is("documents"));
+    assertThat(read.getCompactionId(), is(451234567890123456L));
+    assertThat(read.getSubmitted(), is(submitted));
+    assertThat(read.getDeadline(), is(submitted.plusSeconds(3600)));
+    assertThat(read.getExecutionId(), nullValue());
+  }
+}
@@ -0,0 +1,117 @@
+package io.kestra.plugin.milvus;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.milvus.data.Search;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.utility.request.CreateAliasReq;
+import io.milvus.v2.service.utility.request.DropAliasReq;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SearchCacheTest extends MilvusConnectionTest {
+  private static final float[][] VECTORS = {{0.1f, 0.2f}, {0.3f, 0.4f}};
+  private static final List<Map<String, Object>> ROWS = List.of(Map.of("id", 1, "distance", 0.5));
+
+  @Inject private RunContextFactory runContextFactory;
+
+  private RunContext runContext;
+
+  @BeforeEach
+  public void runContext() {
+    SearchCache.clearLocal();
+    runContext =
+        TestsUtils.mockRunContext(
+            runContextFactory,
+            Search.builder()
+                .id("search")
+                .type(Search.class.getName())
+                .url(URL)
+                .collectionName(COLLECTION_NAME)
+                .build(),
+            Map.of());
+  }
+
+  @Test
+  public void testKey() throws Exception {
+    String collectionId = collectionId("key");
+    String key = SearchCache.key(runContext, collectionId, VECTORS, List.of(10, "vector"));
+
+    assertThat(key, startsWith("milvus_search_"));
+    assertThat(
+        SearchCache.key(runContext, collectionId, VECTORS, List.of(10, "vector")), is(key));
+    assertThat(
+        SearchCache.key(runContext, collectionId, VECTORS, List.of(20, "vector")), not(key));
+    assertThat(
+        SearchCache.key(
+            runContext, collectionId, new float[][] {{0.1f}, {0.2f, 0.3f, 0.4f}}, List.of(10)),
+        not(SearchCache.key(runContext, collectionId, VECTORS, List.of(10))));
+    assertThat(
+        SearchCache.key(runContext, collectionId("other"), VECTORS, List.of(10, "vector")),
+        not(key));
+  }
+
+  @Test
+  public void testPutAndGet() throws Exception {
+    String key = SearchCache.key(runContext, collectionId("get"), VECTORS, List.of(10));
+    assertThat(SearchCache.get(runContext, key).isPresent(), is(false));
+
+    SearchCache.put(runContext, key, ROWS, Duration.ofMinutes(5));
+    assertThat(SearchCache.get(runContext, key).orElseThrow(), is(ROWS));
+
+    // from the KV store once the in-JVM tier is gone, as on another worker
+    SearchCache.clearLocal();
+    assertThat(SearchCache.get(runContext, key).orElseThrow(), hasSize(1));
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    String collectionId = collectionId("invalidate");
+    String key = SearchCache.key(runContext, collectionId, VECTORS, List.of(10));
+    SearchCache.put(runContext, key, ROWS, Duration.ofMinutes(5));
+
+    SearchCache.invalidate(runContext, collectionId);
+
+    String next = SearchCache.key(runContext, collectionId, VECTORS, List.of(10));
+    assertThat(next, not(key));
+    assertThat(SearchCache.get(runContext, next).isPresent(), is(false));
+
+    // the new generation is read from the KV store by the other workers
+    SearchCache.clearLocal();
+    assertThat(SearchCache.key(runContext, collectionId, VECTORS, List.of(10)), is(next));
+  }
+
+  @Test
+  public void testAliasSharesTheCollectionId() throws Exception {
+    MilvusClientV2 client = client();
+    String alias = COLLECTION_NAME + "_cache_alias";
+    client.createCollection(
+        CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+    try {
+      client.createAlias(
+          CreateAliasReq.builder().collectionName(COLLECTION_NAME).alias(alias).build());
+      MilvusConnectionProperties connection = MilvusConnectionProperties.builder().url(URL).build();
+
+      assertThat(
+          SearchCache.collectionId(runContext, connection, client, alias),
+          is(SearchCache.collectionId(runContext, connection, client, COLLECTION_NAME)));
+    } finally {
+      client.dropAlias(DropAliasReq.builder().alias(alias).build());
+      client.dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
+  private static String collectionId(String name) {
+    return URL + "/default/" + name + "_" + System.nanoTime();
+  }
+}
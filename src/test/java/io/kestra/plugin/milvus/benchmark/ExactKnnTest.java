@@ -0,0 +1,47 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.milvus.param.MetricType;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class ExactKnnTest {
+
+  @Test
+  public void testL2AcrossBlocks() throws Exception {
+    float[][] queries = {{0f, 0f}, {10f, 10f}};
+
+    try (ExactKnn knn = new ExactKnn(queries, 2, MetricType.L2, 2)) {
+      knn.accept(List.of(1L, 2L), new float[][] {{1f, 1f}, {9f, 9f}});
+      knn.accept(List.of(3L, 4L), new float[][] {{0.5f, 0f}, {20f, 20f}});
+
+      List<List<Object>> result = knn.result();
+      assertThat(result.get(0), contains(3L, 1L));
+      assertThat(result.get(1), contains(2L, 1L));
+    }
+  }
+
+  @Test
+  public void testCosineIgnoresMagnitude() throws Exception {
+    float[][] queries = {{1f, 0f}};
+
+    try (ExactKnn knn = new ExactKnn(queries, 1, MetricType.COSINE, 1)) {
+      knn.accept(List.of("a", "b"), new float[][] {{100f, 100f}, {0.1f, 0f}});
+
+      assertThat(knn.result().get(0), contains("b"));
+    }
+  }
+
+  @Test
+  public void testRejectsBinaryMetrics() {
+    IllegalArgumentException e =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new ExactKnn(new float[][] {{1f}}, 1, MetricType.HAMMING, 1));
+
+    assertThat(e.getMessage(), containsString("HAMMING"));
+  }
+}
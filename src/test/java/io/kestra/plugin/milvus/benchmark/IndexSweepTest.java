@@ -0,0 +1,109 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.google.gson.JsonObject;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import io.kestra.plugin.milvus.Rows;
+import io.milvus.param.MetricType;
+import io.milvus.v2.common.IndexParam;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.collection.request.ReleaseCollectionReq;
+import io.milvus.v2.service.vector.request.InsertReq;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class IndexSweepTest extends MilvusConnectionTest {
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @Test
+  public void testSweepReleasedCollection() throws Exception {
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(8).build());
+    try {
+      List<JsonObject> rows = new ArrayList<>();
+      for (long id = 0; id < 300; id++) {
+        List<Float> vector = new ArrayList<>();
+        for (int d = 0; d < 8; d++) {
+          vector.add((float) Math.cos(id * 0.7 + d));
+        }
+        rows.add(Rows.toJson(Map.of("id", id, "vector", vector)));
+      }
+      client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+      // the queries are sampled before any index is built, which needs the collection loaded
+      client()
+          .releaseCollection(
+              ReleaseCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+
+      RunContext runContext = runContextFactory.of(Map.of("url", URL));
+      IndexSweep.Output output =
+          IndexSweep.builder()
+              .url(URL)
+              .collectionName(COLLECTION_NAME)
+              .topK(Property.ofValue(5))
+              .numQueries(Property.ofValue(10))
+              .grid(
+                  Property.ofValue(
+                      List.of(
+                          IndexSweep.IndexGrid.builder()
+                              .indexType(IndexParam.IndexType.HNSW)
+                              .metricType(MetricType.COSINE)
+                              .buildParams(Map.of("M", List.of(8, 16), "efConstruction", 64))
+                              .searchParams(Map.of("ef", List.of(16, 64)))
+                              .build())))
+              .build()
+              .run(runContext);
+
+      assertThat(output.getResults(), hasSize(4));
+      assertThat(output.getPareto(), not(empty()));
+      for (IndexSweep.Result result : output.getResults()) {
+        assertThat(result.getRecall(), greaterThan(0.0));
+      }
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
+  @Test
+  public void testExpandGrid() {
+    Map<String, Object> parameters = new LinkedHashMap<>();
+    parameters.put("M", List.of(8, 16));
+    parameters.put("efConstruction", List.of(128, 256));
+    parameters.put("nbits", 8);
+
+    List<Map<String, Object>> combinations = IndexSweep.expand(parameters);
+
+    assertThat(combinations, hasSize(4));
+    assertThat(combinations.get(0), is(Map.of("M", 8, "efConstruction", 128, "nbits", 8)));
+    assertThat(combinations.get(3), is(Map.of("M", 16, "efConstruction", 256, "nbits", 8)));
+    assertThat(IndexSweep.expand(null), contains(Map.of()));
+  }
+
+  @Test
+  public void testParetoFront() {
+    // recall, latency
+    double[] fast = {0.80, 1};
+    double[] balanced = {0.95, 3};
+    double[] dominated = {0.90, 4};
+    double[] accurate = {0.99, 9};
+    double[] slowerTie = {0.99, 12};
+
+    List<double[]> front =
+        ParetoFront.of(
+            List.of(dominated, accurate, fast, slowerTie, balanced), r -> r[0], r -> r[1]);
+
+    assertThat(front, contains(accurate, balanced, fast));
+  }
+}
@@ -0,0 +1,106 @@
+package io.kestra.plugin.milvus.benchmark;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import com.google.gson.JsonObject;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import io.kestra.plugin.milvus.Rows;
+import io.milvus.param.MetricType;
+import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.vector.request.InsertReq;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RecallEvalTest extends MilvusConnectionTest {
+  static final int DIMENSION = 8;
+  static final int ROWS = 500;
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @BeforeEach
+  public void createCollection() {
+    client()
+        .createCollection(
+            CreateCollectionReq.builder()
+                .collectionName(COLLECTION_NAME)
+                .dimension(DIMENSION)
+                .build());
+
+    List<JsonObject> rows = new ArrayList<>();
+    for (long id = 0; id < ROWS; id++) {
+      List<Float> vector = new ArrayList<>();
+      for (int d = 0; d < DIMENSION; d++) {
+        vector.add((float) Math.sin(id * 0.37 + d));
+      }
+      rows.add(Rows.toJson(Map.of("id", id, "vector", vector)));
+    }
+    client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+  }
+
+  @AfterEach
+  public void dropCollection() {
+    client().dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+  }
+
+  @Test
+  public void testRecallEval() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+
+    RecallEval.Output output =
+        RecallEval.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .metricType(Property.ofValue(MetricType.COSINE))
+            .topK(Property.ofValue(5))
+            .numQueries(Property.ofValue(20))
+            .build()
+            .run(runContext);
+
+    assertThat(output.getQueries(), is(20));
+    assertThat(output.getTopK(), is(5));
+    assertThat(output.getBaseVectors(), is((long) ROWS));
+    assertThat(output.getRecall(), allOf(greaterThan(0.5), lessThanOrEqualTo(1.0)));
+  }
+
+  @Test
+  public void testSampledQueriesAreNotTheirOwnNeighbours() throws Exception {
+    MilvusClientV2 client = client();
+    RecallBenchmark.Queries queries =
+        RecallBenchmark.sampleQueries(client, COLLECTION_NAME, "id", "vector", null, 10);
+
+    RecallBenchmark.GroundTruth groundTruth =
+        RecallBenchmark.groundTruth(
+            client, COLLECTION_NAME, "id", "vector", null, queries, 5, MetricType.COSINE, 2, 100);
+
+    assertThat(queries.size(), is(10));
+    for (int q = 0; q < queries.size(); q++) {
+      List<Object> neighbours = groundTruth.neighbours().get(q);
+      assertThat(neighbours, hasSize(5));
+      assertThat(neighbours, not(hasItem(queries.ids().get(q))));
+    }
+  }
+
+  @Test
+  public void testHeldOutQueriesKeepEveryNeighbour() {
+    RecallBenchmark.Queries queries =
+        RecallBenchmark.toQueries(List.of(List.of(1f, 0f), List.of(0f, 1f)));
+
+    assertThat(queries.ids(), nullValue());
+    assertThat(queries.neighbours(0, List.of(3L, 1L, 2L), id -> id, 2), contains(3L, 1L));
+    assertThat(
+        new RecallBenchmark.Queries(queries.vectors(), List.of(1L, 2L))
+            .neighbours(0, List.of(3L, 1L, 2L), id -> id, 2),
+        contains(3L, 2L));
+  }
+}
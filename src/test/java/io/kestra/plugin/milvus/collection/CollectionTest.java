@@ -1,17 +1,43 @@
 package io.kestra.plugin.milvus.collection;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
+import com.google.gson.JsonObject;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.milvus.MilvusConnectionProperties;
 import io.kestra.plugin.milvus.MilvusConnectionTest;
+import io.kestra.plugin.milvus.Rows;
+import io.kestra.plugin.milvus.collections.CollectionStats;
+import io.kestra.plugin.milvus.collections.Compact;
+import io.kestra.plugin.milvus.collections.CopyCollection;
+import io.kestra.plugin.milvus.collections.CreateCollection;
+import io.kestra.plugin.milvus.collections.LoadCollection;
+import io.kestra.plugin.milvus.collections.Reindex;
+import io.kestra.plugin.milvus.collections.ReleaseCollection;
 import io.kestra.plugin.milvus.database.*;
+import io.milvus.param.MetricType;
 import io.milvus.v2.client.ConnectConfig;
 import io.milvus.v2.client.MilvusClientV2;
+import io.milvus.v2.common.IndexParam;
 import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DescribeCollectionReq;
 import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.collection.response.DescribeCollectionResp;
 import io.milvus.v2.service.database.request.CreateDatabaseReq;
 import io.milvus.v2.service.database.request.DropDatabaseReq;
+import io.milvus.v2.service.index.request.DescribeIndexReq;
+import io.milvus.v2.service.utility.request.DescribeAliasReq;
+import io.milvus.v2.service.utility.request.DropAliasReq;
+import io.milvus.v2.service.utility.request.FlushReq;
+import io.milvus.v2.service.vector.request.InsertReq;
 import jakarta.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 public class CollectionTest extends MilvusConnectionTest {
@@ -72,6 +98,57 @@ public class CollectionTest extends MilvusConnectionTest {
             .build());
   }
 
+  @Test
+  public void testCreateCollectionTask() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    String ipCollection = COLLECTION_NAME + "_ip";
+    try {
+      CreateCollection.builder()
+          .url(URL)
+          .collectionName(COLLECTION_NAME)
+          .dimension(Property.ofValue(4))
+          .build()
+          .run(runContext);
+      CreateCollection.builder()
+          .url(URL)
+          .collectionName(ipCollection)
+          .dimension(Property.ofValue(4))
+          .metricType(Property.ofValue(MetricType.IP))
+          .enableDynamicField(Property.ofValue(false))
+          .build()
+          .run(runContext);
+
+      // the unset settings are left to the defaults of Milvus
+      DescribeCollectionResp defaults =
+          client()
+              .describeCollection(
+                  DescribeCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+      assertThat(defaults.getAutoID(), is(false));
+      assertThat(defaults.getEnableDynamicField(), is(true));
+      assertThat(vectorMetric(COLLECTION_NAME), is(IndexParam.MetricType.COSINE));
+
+      DescribeCollectionResp set =
+          client()
+              .describeCollection(
+                  DescribeCollectionReq.builder().collectionName(ipCollection).build());
+      assertThat(set.getEnableDynamicField(), is(false));
+      assertThat(vectorMetric(ipCollection), is(IndexParam.MetricType.IP));
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+      client().dropCollection(DropCollectionReq.builder().collectionName(ipCollection).build());
+    }
+  }
+
+  private IndexParam.MetricType vectorMetric(String collectionName) {
+    return client()
+        .describeIndex(
+            DescribeIndexReq.builder().collectionName(collectionName).fieldName("vector").build())
+        .getIndexDescriptions()
+        .getFirst()
+        .getMetricType();
+  }
+
   @Test
   public void testDropCollection() throws Exception {
     client()
@@ -92,6 +169,212 @@ public class CollectionTest extends MilvusConnectionTest {
                 .build());
   }
 
+  @Test
+  public void testLoadAndReleaseCollection() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+
+    try {
+      ReleaseCollection.Output releaseOutput =
+          ReleaseCollection.builder()
+              .url(URL)
+              .collectionName(COLLECTION_NAME)
+              .build()
+              .run(runContext);
+      assertThat(releaseOutput.getCollectionName(), is(COLLECTION_NAME));
+
+      LoadCollection.Output loadOutput =
+          LoadCollection.builder()
+              .url(URL)
+              .collectionName(COLLECTION_NAME)
+              .warmUp(
+                  Property.ofValue(
+                      LoadCollection.WarmUp.builder()
+                          .vectors(List.of(List.of(0.1f, 0.2f)))
+                          .rounds(2)
+                          .build()))
+              .build()
+              .run(runContext);
+      assertThat(loadOutput.getWarmUpQueries(), is(2));
+      assertThat(loadOutput.getWarmUpLatencies(), hasSize(2));
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
+  @Test
+  public void testCopyCollection() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    String targetCollection = COLLECTION_NAME + "_copy";
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(targetCollection).dimension(2).build());
+
+    try {
+      List<JsonObject> rows = new ArrayList<>();
+      // negative keys have a negative remainder, which the lanes must cover too
+      for (long id = -50; id < 50; id++) {
+        rows.add(Rows.toJson(Map.of("id", id, "vector", List.of(id * 0.1f, 1f))));
+      }
+      client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+
+      MilvusConnectionProperties connection = MilvusConnectionProperties.builder().url(URL).build();
+      CopyCollection.Output output =
+          CopyCollection.builder()
+              .source(connection)
+              .target(connection)
+              .sourceCollection(COLLECTION_NAME)
+              .targetCollection(targetCollection)
+              .batchSize(Property.ofValue(10))
+              .lanes(Property.ofValue(3))
+              .writers(Property.ofValue(2))
+              .bufferSize(Property.ofValue(2))
+              .build()
+              .run(runContext);
+      assertThat(output.getRows(), is(100L));
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(targetCollection).build());
+    }
+  }
+
+  @Test
+  public void testReindex() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    String alias = COLLECTION_NAME + "_alias";
+    String shadow = COLLECTION_NAME + "_hnsw";
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+
+    List<JsonObject> rows = new ArrayList<>();
+    for (long id = 0; id < 100; id++) {
+      rows.add(Rows.toJson(Map.of("id", id, "vector", List.of(id * 0.1f, 1f))));
+    }
+    client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+
+    try {
+      Reindex.Output output =
+          Reindex.builder()
+              .url(URL)
+              .alias(alias)
+              .sourceCollection(Property.ofValue(COLLECTION_NAME))
+              .shadowCollection(Property.ofValue(shadow))
+              .indexParams(
+                  Property.ofValue(
+                      List.of(
+                          IndexParam.builder()
+                              .fieldName("vector")
+                              .indexType(IndexParam.IndexType.HNSW)
+                              .metricType(IndexParam.MetricType.COSINE)
+                              .extraParams(Map.of("M", 8, "efConstruction", 64))
+                              .build())))
+              .validation(Reindex.Validation.builder().numQueries(10).minRecall(0.5).build())
+              .previousCollection(Property.ofValue(Reindex.PreviousCollection.DROP))
+              .build()
+              .run(runContext);
+
+      assertThat(output.getRows(), is(100L));
+      assertThat(output.getCollectionName(), is(shadow));
+      assertThat(output.getRecall(), greaterThanOrEqualTo(0.5));
+      assertThat(
+          output.getPhases().keySet(),
+          contains("create", "copy", "index", "load", "validate", "swap", "retire"));
+      assertThat(
+          client()
+              .describeAlias(DescribeAliasReq.builder().alias(alias).build())
+              .getCollectionName(),
+          is(shadow));
+    } finally {
+      client().dropAlias(DropAliasReq.builder().alias(alias).build());
+      client().dropCollection(DropCollectionReq.builder().collectionName(shadow).build());
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
+  @Test
+  public void testCollectionStats() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+
+    try {
+      List<JsonObject> rows = new ArrayList<>();
+      for (long id = 0; id < 100; id++) {
+        rows.add(Rows.toJson(Map.of("id", id, "vector", List.of(id * 0.1f, 1f))));
+      }
+      client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+      client().flush(FlushReq.builder().collectionNames(List.of(COLLECTION_NAME)).build());
+
+      CollectionStats.Output output =
+          CollectionStats.builder()
+              .url(URL)
+              .collectionNames(Property.ofValue(List.of(COLLECTION_NAME)))
+              .build()
+              .run(runContext);
+
+      CollectionStats.Stats stats = output.getCollections().get(COLLECTION_NAME);
+      assertThat(stats.getLoaded(), is(true));
+      assertThat(stats.getSegments().getRows(), is(100L));
+      assertThat(stats.getIndexes(), not(empty()));
+      assertThat(output.getRows(), is(100L));
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
+  @Test
+  public void testCompact() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+
+    try {
+      // one flushed segment per batch, and a last batch left in a growing segment
+      for (long batch = 0; batch < 4; batch++) {
+        List<JsonObject> rows = new ArrayList<>();
+        for (long id = batch * 25; id < (batch + 1) * 25; id++) {
+          rows.add(Rows.toJson(Map.of("id", id, "vector", List.of(id * 0.1f, 1f))));
+        }
+        client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+        if (batch < 3) {
+          client().flush(FlushReq.builder().collectionNames(List.of(COLLECTION_NAME)).build());
+        }
+      }
+
+      Compact.Output output =
+          Compact.builder()
+              .url(URL)
+              .collectionNames(Property.ofValue(List.of(COLLECTION_NAME)))
+              .timeout(Property.ofValue(Duration.ofMinutes(5)))
+              .build()
+              .run(runContext);
+
+      Compact.Result result = output.getCollections().get(COLLECTION_NAME);
+      assertThat(result.getCompactionId(), notNullValue());
+      assertThat(result.getBefore().getRows(), is(100L));
+      assertThat(result.getBefore().getSegments(), greaterThan(0L));
+      assertThat(result.getAfter().getRows(), is(100L));
+      assertThat(
+          result.getAfter().getSegments(), lessThanOrEqualTo(result.getBefore().getSegments()));
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
   @Test
   public void testCreateDatabase() throws Exception {
     client().createDatabase(CreateDatabaseReq.builder().databaseName(DB_NAME).build());
@@ -0,0 +1,47 @@
+package io.kestra.plugin.milvus.collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.milvus.v2.common.IndexBuildState;
+import io.milvus.v2.service.index.response.DescribeIndexResp;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class IndexesTest {
+
+  @Test
+  public void testIsBuilt() {
+    assertThat(Indexes.isBuilt("c.vector", List.of(index(IndexBuildState.Finished))), is(true));
+    assertThat(
+        Indexes.isBuilt(
+            "c.vector", List.of(index(IndexBuildState.Finished), index(IndexBuildState.InProgress))),
+        is(false));
+    assertThat(Indexes.isBuilt("c.vector", List.of(index(IndexBuildState.Unissued))), is(false));
+  }
+
+  @Test
+  public void testNoDescriptionIsNotBuilt() {
+    assertThat(Indexes.isBuilt("c.vector", List.of()), is(false));
+    assertThat(Indexes.isBuilt("c.vector", null), is(false));
+  }
+
+  @Test
+  public void testFailedBuild() {
+    IllegalStateException exception =
+        assertThrows(
+            IllegalStateException.class,
+            () -> Indexes.isBuilt("c.vector", List.of(index(IndexBuildState.Failed))));
+    assertThat(exception.getMessage(), containsString("out of memory"));
+  }
+
+  private static DescribeIndexResp.IndexDesc index(IndexBuildState state) {
+    return DescribeIndexResp.IndexDesc.builder()
+        .fieldName("vector")
+        .indexName("vector")
+        .indexState(state)
+        .indexFailedReason(state == IndexBuildState.Failed ? "out of memory" : "")
+        .build();
+  }
+}
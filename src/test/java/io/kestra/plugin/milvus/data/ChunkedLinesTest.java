@@ -0,0 +1,86 @@
+package io.kestra.plugin.milvus.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.plugin.milvus.Pipeline;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChunkedLinesTest {
+  private static final int LINES = 1000;
+
+  @TempDir Path directory;
+
+  @Test
+  void chunksEndAtLineBreaks() throws Exception {
+    Path path = file();
+    byte[] bytes = Files.readAllBytes(path);
+
+    ChunkedLines<Integer> lines = new ChunkedLines<>(path, 100, 10, Integer::valueOf);
+
+    assertThat(lines.chunks(), greaterThan(10));
+    int total = 0;
+    for (int chunk = 0; chunk < lines.chunks(); chunk++) {
+      total += lines.decode(chunk).size();
+    }
+    assertThat(total, is(LINES));
+    assertThat(lines.decodedBytes(), is((long) bytes.length));
+  }
+
+  @Test
+  void orderedKeepsTheOrderOfTheFile() throws Exception {
+    ChunkedLines<Integer> lines = new ChunkedLines<>(file(), 100, 7, Integer::valueOf);
+    List<Integer> values = new ArrayList<>();
+
+    Pipeline.run(List.of(lines.ordered(4)), 1, 4, values::addAll);
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < LINES; i++) {
+      expected.add(i);
+    }
+    assertThat(values, is(expected));
+  }
+
+  @Test
+  void unorderedDecodesEveryLine() throws Exception {
+    ChunkedLines<Integer> lines = new ChunkedLines<>(file(), 100, 7, Integer::valueOf);
+    List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+
+    Pipeline.run(lines.unordered(4), 2, 4, values::addAll);
+
+    assertThat(values, hasSize(LINES));
+    assertThat(values.stream().distinct().count(), is((long) LINES));
+  }
+
+  @Test
+  void emptyFile() throws Exception {
+    Path path = directory.resolve("empty.jsonl");
+    Files.writeString(path, "");
+
+    ChunkedLines<Integer> lines = new ChunkedLines<>(path, 100, 7, Integer::valueOf);
+    List<Integer> values = new ArrayList<>();
+    Pipeline.run(List.of(lines.ordered(2)), 1, 4, values::addAll);
+
+    assertThat(values, empty());
+  }
+
+  private Path file() throws Exception {
+    StringBuilder content = new StringBuilder();
+    for (int i = 0; i < LINES; i++) {
+      content.append(i).append('\n');
+      if (i % 100 == 0) {
+        content.append('\n');
+      }
+    }
+    Path path = directory.resolve("values.jsonl");
+    Files.writeString(path, content, StandardCharsets.UTF_8);
+    return path;
+  }
+}
@@ -0,0 +1,459 @@
+package io.kestra.plugin.milvus.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.JsonObject;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import io.kestra.plugin.milvus.NamespaceKv;
+import io.kestra.plugin.milvus.Rows;
+import io.kestra.plugin.milvus.SearchCache;
+import io.milvus.v2.common.ConsistencyLevel;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.partition.request.CreatePartitionReq;
+import io.milvus.v2.service.vector.request.InsertReq;
+import io.milvus.v2.service.vector.request.QueryReq;
+import io.milvus.v2.service.vector.response.QueryResp;
+import jakarta.inject.Inject;
+import java.io.BufferedWriter;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class DataTest extends MilvusConnectionTest {
+  static final int DIMENSION = 8;
+  static final int ROWS = 500;
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @BeforeEach
+  public void createCollection() {
+    client()
+        .createCollection(
+            CreateCollectionReq.builder()
+                .collectionName(COLLECTION_NAME)
+                .dimension(DIMENSION)
+                .build());
+
+    List<JsonObject> rows = new ArrayList<>();
+    for (long id = 0; id < ROWS; id++) {
+      List<Float> vector = new ArrayList<>();
+      for (int d = 0; d < DIMENSION; d++) {
+        vector.add((float) Math.sin(id + d));
+      }
+      rows.add(Rows.toJson(Map.of("id", id, "vector", vector, "title", "document " + id)));
+    }
+    client().insert(InsertReq.builder().collectionName(COLLECTION_NAME).data(rows).build());
+  }
+
+  @AfterEach
+  public void dropCollection() {
+    client().dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+  }
+
+  @Test
+  public void testExport() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+
+    Export.Output parquet =
+        Export.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .format(Property.ofValue(FileFormat.PARQUET))
+            .batchSize(Property.ofValue(100))
+            .build()
+            .run(runContext);
+    assertThat(parquet.getRows(), is((long) ROWS));
+    assertThat(parquet.getUri().toString(), endsWith(".parquet"));
+
+    Export.Output jsonl =
+        Export.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .format(Property.ofValue(FileFormat.JSONL))
+            .build()
+            .run(runContext);
+    assertThat(jsonl.getRows(), is((long) ROWS));
+    assertThat(parquet.getSize(), lessThan(jsonl.getSize()));
+
+    Export.Output filtered =
+        Export.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .filter(Property.ofValue("id < 10"))
+            .outputFields(Property.ofValue(List.of("id", "title")))
+            .build()
+            .run(runContext);
+    assertThat(filtered.getRows(), is(10L));
+  }
+
+  @Test
+  public void testExportAndRestoreParquet() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    String restoredCollection = COLLECTION_NAME + "_restored";
+
+    Export.Output export =
+        Export.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .format(Property.ofValue(FileFormat.PARQUET))
+            .rowGroupSize(Property.ofValue(4096L))
+            .build()
+            .run(runContext);
+
+    client()
+        .createCollection(
+            CreateCollectionReq.builder()
+                .collectionName(restoredCollection)
+                .dimension(DIMENSION)
+                .build());
+    try {
+      Insert.Output insert =
+          Insert.builder()
+              .url(URL)
+              .collectionName(restoredCollection)
+              .from(Property.ofValue(export.getUri().toString()))
+              .format(Property.ofValue(FileFormat.PARQUET))
+              .batchSize(Property.ofValue(64))
+              .threads(Property.ofValue(4))
+              .build()
+              .run(runContext);
+      assertThat(insert.getRows(), is((long) ROWS));
+    } finally {
+      client()
+          .dropCollection(DropCollectionReq.builder().collectionName(restoredCollection).build());
+    }
+  }
+
+  @Test
+  public void testSearchAndQuery() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+
+    Search.Output search =
+        Search.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .vectors(Property.ofValue(List.of(List.of(1f, 0f, 0f, 0f, 0f, 0f, 0f, 0f))))
+            .topK(Property.ofValue(5))
+            .outputFields(Property.ofValue(List.of("title")))
+            .build()
+            .run(runContext);
+    assertThat(search.getRows(), hasSize(5));
+    assertThat(search.getRows().getFirst(), hasKey("title"));
+    assertThat(search.getUri(), nullValue());
+
+    Query.Output stored =
+        Query.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .filter(Property.ofValue("id >= 100"))
+            .batchSize(Property.ofValue(50))
+            .build()
+            .run(runContext);
+    assertThat(stored.getSize(), is((long) ROWS - 100));
+    assertThat(stored.getUri(), notNullValue());
+    assertThat(stored.getRows(), nullValue());
+
+    Query.Output one =
+        Query.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .filter(Property.ofValue("id == 42"))
+            .outputFields(Property.ofValue(List.of("title")))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build()
+            .run(runContext);
+    assertThat(one.getRow(), hasEntry("title", "document 42"));
+  }
+
+  @Test
+  public void testSearchIterator() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+
+    Search.Output search =
+        Search.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .vectors(Property.ofValue(List.of(List.of(1f, 0f, 0f, 0f, 0f, 0f, 0f, 0f))))
+            .iterate(Property.ofValue(true))
+            .batchSize(Property.ofValue(50))
+            .limit(Property.ofValue(120L))
+            .build()
+            .run(runContext);
+    assertThat(search.getRows(), hasSize(120));
+    assertThat(search.getRows().get(119), hasEntry("rank", 119));
+    assertThat(
+        search.getRows().stream().map(row -> row.get("id")).distinct().count(), is(120L));
+    // the collection is indexed with COSINE, the closest hits have the highest scores
+    assertThat(
+        ((Number) search.getRows().get(0).get("score")).doubleValue(),
+        greaterThanOrEqualTo(((Number) search.getRows().get(119).get("score")).doubleValue()));
+
+    Search.Output range =
+        Search.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .vectors(Property.ofValue(List.of(List.of(1f, 0f, 0f, 0f, 0f, 0f, 0f, 0f))))
+            .radius(Property.ofValue(0.5))
+            .iterate(Property.ofValue(true))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build()
+            .run(runContext);
+    assertThat(range.getUri(), notNullValue());
+    assertThat(range.getSize(), lessThan((long) ROWS));
+  }
+
+  @Test
+  public void testRoutedInsert() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    for (String partition : List.of("red", "blue")) {
+      client()
+          .createPartition(
+              CreatePartitionReq.builder()
+                  .collectionName(COLLECTION_NAME)
+                  .partitionName(partition)
+                  .build());
+    }
+
+    Path path = runContext.workingDir().createTempFile(".jsonl");
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      for (long id = ROWS; id < ROWS + 30; id++) {
+        Map<String, Object> row =
+            Map.of(
+                "id", id,
+                "vector", List.of(1f, 0f, 0f, 0f, 0f, 0f, 0f, 0f),
+                "color", id % 3 == 0 ? "red" : "blue");
+        writer.write(JacksonMapper.ofJson().writeValueAsString(row));
+        writer.newLine();
+      }
+    }
+    URI uri = runContext.storage().putFile(path.toFile());
+
+    RoutedInsert.Output output =
+        RoutedInsert.builder()
+            .url(URL)
+            .from(Property.ofValue(uri.toString()))
+            .format(Property.ofValue(FileFormat.JSONL))
+            .routeField(Property.ofValue("color"))
+            .defaultDestination(
+                RoutedInsert.Destination.builder()
+                    .collectionName(COLLECTION_NAME)
+                    .partitionName("{{ route }}")
+                    .build())
+            .batchSize(Property.ofValue(4))
+            .build()
+            .run(runContext);
+
+    assertThat(output.getRows(), is(30L));
+    assertThat(output.getDestinations(), hasEntry(COLLECTION_NAME + "/red", 10L));
+    assertThat(output.getDestinations(), hasEntry(COLLECTION_NAME + "/blue", 20L));
+  }
+
+  @Test
+  public void testInsertWithGeneratedIds() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+
+    Path path = runContext.workingDir().createTempFile(".jsonl");
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      for (int i = 0; i < 30; i++) {
+        Map<String, Object> row = Map.of("vector", List.of(1f, 0f, 0f, 0f, 0f, 0f, 0f, (float) i));
+        writer.write(JacksonMapper.ofJson().writeValueAsString(row));
+        writer.newLine();
+      }
+    }
+    URI uri = runContext.storage().putFile(path.toFile());
+
+    Insert insert =
+        Insert.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .from(Property.ofValue(uri.toString()))
+            .format(Property.ofValue(FileFormat.JSONL))
+            .batchSize(Property.ofValue(7))
+            .idGeneration(Property.ofValue(Insert.IdGeneration.builder().runId(3L).build()))
+            .build();
+    assertThat(insert.run(runContext).getRunId(), is(3L));
+    // a retry of the whole task writes the same keys again
+    assertThat(insert.run(runContext).getRows(), is(30L));
+
+    QueryResp count =
+        client()
+            .query(
+                QueryReq.builder()
+                    .collectionName(COLLECTION_NAME)
+                    .filter("id >= " + (3L << 40))
+                    .outputFields(List.of("count(*)"))
+                    .consistencyLevel(ConsistencyLevel.STRONG)
+                    .build());
+    assertThat(count.getQueryResults().getFirst().getEntity().get("count(*)"), is(30L));
+  }
+
+  @Test
+  public void testInsertWithHashedRunId() throws Exception {
+    Insert insert =
+        Insert.builder()
+            .id("insert")
+            .type(Insert.class.getName())
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .build();
+    // two task runs of distinct executions
+    RunContext runContext = TestsUtils.mockRunContext(runContextFactory, insert, Map.of());
+    RunContext other = TestsUtils.mockRunContext(runContextFactory, insert, Map.of());
+
+    Path path = runContext.workingDir().createTempFile(".jsonl");
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      for (int i = 0; i < 10; i++) {
+        Map<String, Object> row = Map.of("vector", List.of(0f, 1f, 0f, 0f, 0f, 0f, 0f, (float) i));
+        writer.write(JacksonMapper.ofJson().writeValueAsString(row));
+        writer.newLine();
+      }
+    }
+    String uri = runContext.storage().putFile(path.toFile()).toString();
+    Insert hashed =
+        Insert.builder()
+            .id("insert")
+            .type(Insert.class.getName())
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .from(Property.ofValue(uri))
+            .format(Property.ofValue(FileFormat.JSONL))
+            .idGeneration(Property.ofValue(Insert.IdGeneration.builder().build()))
+            .build();
+
+    assertThat(hashed.run(runContext).getRunId(), is(RowIds.run(runContext)));
+    // the task run owns its run id, a retry writes the same keys again
+    assertThat(hashed.run(runContext).getRows(), is(10L));
+
+    // as if another task run had hashed to the same run id before
+    client()
+        .insert(
+            InsertReq.builder()
+                .collectionName(COLLECTION_NAME)
+                .data(
+                    List.of(
+                        Rows.toJson(
+                            Map.of(
+                                "id",
+                                new RowIds(RowIds.run(other)).id(0),
+                                "vector",
+                                List.of(1f, 1f, 1f, 1f, 1f, 1f, 1f, 1f)))))
+                .build());
+    IllegalStateException exception =
+        assertThrows(IllegalStateException.class, () -> hashed.run(other));
+    assertThat(exception.getMessage(), containsString("idGeneration.runId"));
+
+    // as if another task run had claimed the run id, but not written yet
+    RunContext third = TestsUtils.mockRunContext(runContextFactory, insert, Map.of());
+    NamespaceKv.of(third)
+        .put(
+            RowIds.claimKey(
+                SearchCache.collectionId(third, hashed, client(), COLLECTION_NAME),
+                RowIds.run(third)),
+            new KVValueAndMetadata(
+                new KVMetadata("Milvus run id owner", RowIds.CLAIM_TTL), "another/taskrun"));
+    exception = assertThrows(IllegalStateException.class, () -> hashed.run(third));
+    assertThat(exception.getMessage(), containsString("another/taskrun"));
+  }
+
+  @Test
+  public void testCreateAndLoad() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    String collectionName = COLLECTION_NAME + "_inferred";
+
+    Path path = runContext.workingDir().createTempFile(".jsonl");
+    try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+      for (long id = 0; id < 50; id++) {
+        List<Double> vector = new ArrayList<>();
+        for (int d = 0; d < DIMENSION; d++) {
+          vector.add(Math.sin(id + d));
+        }
+        Map<String, Object> row =
+            Map.of("id", id, "embedding", vector, "title", "document " + id, "score", id * 0.5);
+        writer.write(JacksonMapper.ofJson().writeValueAsString(row));
+        writer.newLine();
+      }
+    }
+    URI uri = runContext.storage().putFile(path.toFile());
+
+    try {
+      CreateAndLoad.Output output =
+          CreateAndLoad.builder()
+              .url(URL)
+              .collectionName(collectionName)
+              .from(Property.ofValue(uri.toString()))
+              .format(Property.ofValue(FileFormat.JSONL))
+              .sampleSize(Property.ofValue(10))
+              .batchSize(Property.ofValue(8))
+              .build()
+              .run(runContext);
+
+      assertThat(output.getRows(), is(50L));
+      assertThat(output.getPrimaryFieldName(), is("id"));
+      assertThat(output.getFields(), hasEntry("id", "Int64"));
+      assertThat(output.getFields(), hasEntry("embedding", "FloatVector(" + DIMENSION + ")"));
+      assertThat(output.getFields(), hasEntry("score", "Double"));
+      assertThat(output.getFields(), hasKey("title"));
+    } finally {
+      client().dropCollection(DropCollectionReq.builder().collectionName(collectionName).build());
+    }
+  }
+
+  @Test
+  public void testFilterTemplates() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    Map<String, Object> values = Map.of("ids", List.of(3, 5, 8, 13, 21, 34));
+
+    Query.Output query =
+        Query.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .filter(Property.ofValue("id in {ids}"))
+            .filterTemplateValues(Property.ofValue(values))
+            .outputFields(Property.ofValue(List.of("title")))
+            .batchSize(Property.ofValue(4))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext);
+    assertThat(query.getSize(), is(6L));
+    assertThat(query.getRows(), hasItem(hasEntry("title", "document 21")));
+
+    Search.Output search =
+        Search.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .vectors(Property.ofValue(List.of(List.of(1f, 0f, 0f, 0f, 0f, 0f, 0f, 0f))))
+            .filter(Property.ofValue("id in {ids}"))
+            .filterTemplateValues(Property.ofValue(values))
+            .topK(Property.ofValue(10))
+            .build()
+            .run(runContext);
+    assertThat(search.getSize(), is(6L));
+
+    Delete.Output delete =
+        Delete.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .filter(Property.ofValue("id in {ids}"))
+            .filterTemplateValues(Property.ofValue(values))
+            .build()
+            .run(runContext);
+    assertThat(delete.getDeleteCount(), is(6L));
+  }
+}
@@ -0,0 +1,81 @@
+package io.kestra.plugin.milvus.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.plugin.milvus.Pipeline;
+import io.milvus.v2.common.DataType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import org.junit.jupiter.api.Test;
+
+class DatasetGeneratorTest {
+
+  @Test
+  void rowsOnlyDependOnTheSeedAndTheIndex() throws Exception {
+    DatasetGenerator generator = generator(GenerateDataset.Distribution.GAUSSIAN_CLUSTERS, 7);
+
+    List<Map<String, Object>> ordered = new ArrayList<>();
+    Pipeline.run(List.of(generator.ordered(4, 7)), 1, 4, ordered::addAll);
+
+    assertThat(ordered, hasSize(100));
+    Map<String, Object> row = ordered.get(42);
+    assertThat(row.get("id"), is(42L));
+    assertThat(row.get("vector"), is(generator.rows(40, 10).get(2).get("vector")));
+
+    DatasetGenerator same = generator(GenerateDataset.Distribution.GAUSSIAN_CLUSTERS, 7);
+    assertThat(row.get("vector"), is(same.rows(42, 1).getFirst().get("vector")));
+    DatasetGenerator other = generator(GenerateDataset.Distribution.GAUSSIAN_CLUSTERS, 8);
+    assertThat(row.get("vector"), not(other.rows(42, 1).getFirst().get("vector")));
+  }
+
+  @Test
+  void normalizedVectorsHaveAUnitNorm() {
+    for (Map<String, Object> row :
+        generator(GenerateDataset.Distribution.NORMALIZED, 1).rows(0, 10)) {
+      double norm = 0;
+      for (float value : (float[]) row.get("vector")) {
+        norm += value * value;
+      }
+      assertThat(Math.sqrt(norm), closeTo(1, 1e-5));
+    }
+  }
+
+  @Test
+  void scalarAndSparseFields() {
+    for (Map<String, Object> row :
+        generator(GenerateDataset.Distribution.UNIFORM, 1).rows(90, 20)) {
+      assertThat((Integer) row.get("bucket"), allOf(greaterThanOrEqualTo(0), lessThan(5)));
+      assertThat((String) row.get("tag"), startsWith("tag_"));
+      SortedMap<?, ?> sparse = (SortedMap<?, ?>) row.get("sparse");
+      assertThat(sparse.size(), is(8));
+    }
+    assertThat(generator(GenerateDataset.Distribution.UNIFORM, 1).rows(90, 20), hasSize(10));
+  }
+
+  private static DatasetGenerator generator(GenerateDataset.Distribution distribution, long seed) {
+    return new DatasetGenerator(
+        seed,
+        100,
+        16,
+        distribution,
+        10,
+        0.1,
+        "id",
+        "vector",
+        List.of(
+            GenerateDataset.ScalarField.builder()
+                .name("bucket")
+                .type(DataType.Int32)
+                .cardinality(5)
+                .build(),
+            GenerateDataset.ScalarField.builder().name("tag").type(DataType.VarChar).build()),
+        GenerateDataset.SparseVector.builder()
+            .fieldName("sparse")
+            .dimension(100)
+            .nonZeros(8)
+            .build());
+  }
+}
@@ -0,0 +1,76 @@
+package io.kestra.plugin.milvus.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import io.milvus.v2.common.DataType;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class InsertTargetTest {
+  private static final Map<String, DataType> FIELD_TYPES =
+      Map.of("id", DataType.Int64, "vector", DataType.FloatVector);
+
+  @Test
+  void cosineVectorsAreNormalized() {
+    Insert.Target target =
+        new Insert.Target(FIELD_TYPES, null, false, Map.of("vector", 2), Set.of("vector"));
+
+    JsonArray vector =
+        target.toRow(Map.of("id", 1, "vector", List.of(3.0, 4.0))).getAsJsonArray("vector");
+
+    assertThat(vector.get(0).getAsDouble(), closeTo(0.6, 1e-6));
+    assertThat(vector.get(1).getAsDouble(), closeTo(0.8, 1e-6));
+  }
+
+  @Test
+  void otherVectorsAreKept() {
+    Insert.Target target =
+        new Insert.Target(FIELD_TYPES, null, false, Map.of("vector", 2), Set.of());
+
+    JsonArray vector =
+        target.toRow(Map.of("id", 1, "vector", List.of(3.0, 4.0))).getAsJsonArray("vector");
+
+    assertThat(vector.get(0).getAsDouble(), is(3.0));
+    assertThat(vector.get(1).getAsDouble(), is(4.0));
+  }
+
+  @Test
+  void dimensionIsChecked() {
+    Insert.Target target =
+        new Insert.Target(FIELD_TYPES, null, false, Map.of("vector", 2), Set.of());
+
+    IllegalArgumentException exception =
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> target.toRow(Map.of("id", 1, "vector", List.of(1.0, 2.0, 3.0))));
+    assertThat(exception.getMessage(), containsString("vector"));
+
+    JsonObject row = new JsonObject();
+    JsonArray vector = new JsonArray();
+    vector.add(1f);
+    row.add("vector", vector);
+    assertThrows(IllegalArgumentException.class, () -> target.checkVectors(row));
+  }
+
+  @Test
+  void parquetRowsAreNormalized() {
+    Insert.Target target =
+        new Insert.Target(FIELD_TYPES, null, false, Map.of("vector", 2), Set.of("vector"));
+    JsonObject row = new JsonObject();
+    JsonArray vector = new JsonArray();
+    vector.add(0f);
+    vector.add(2f);
+    row.add("vector", vector);
+
+    JsonArray normalized = target.checkVectors(row).getAsJsonArray("vector");
+
+    assertThat(normalized.get(0).getAsDouble(), is(0.0));
+    assertThat(normalized.get(1).getAsDouble(), is(1.0));
+  }
+}
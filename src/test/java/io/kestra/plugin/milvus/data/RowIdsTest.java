@@ -0,0 +1,31 @@
+package io.kestra.plugin.milvus.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class RowIdsTest {
+
+  @Test
+  void idsHoldTheRunAndTheOffset() {
+    RowIds ids = new RowIds(5);
+
+    assertThat(ids.id(0), is(5L << 40));
+    assertThat(ids.id(1), is((5L << 40) + 1));
+    assertThat(ids.id(RowIds.MAX_OFFSET) >>> RowIds.OFFSET_BITS, is(5L));
+    assertThat(new RowIds(6).id(0), greaterThan(ids.id(RowIds.MAX_OFFSET)));
+  }
+
+  @Test
+  void idsArePositive() {
+    assertThat(new RowIds(RowIds.MAX_RUN).id(RowIds.MAX_OFFSET), is(Long.MAX_VALUE));
+  }
+
+  @Test
+  void outOfRange() {
+    assertThrows(IllegalArgumentException.class, () -> new RowIds(RowIds.MAX_RUN + 1));
+    assertThrows(IllegalArgumentException.class, () -> new RowIds(1).id(RowIds.MAX_OFFSET + 1));
+  }
+}
@@ -0,0 +1,135 @@
+package io.kestra.plugin.milvus.data;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.milvus.v2.common.DataType;
+import io.milvus.v2.service.collection.request.AddFieldReq;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class SchemaInferenceTest {
+  private static final int MAX = SchemaInference.MAX_VARCHAR_LENGTH;
+
+  @Test
+  void infersFieldTypes() {
+    Map<String, Object> first = new HashMap<>();
+    first.put("id", 1L);
+    first.put("vector", List.of(0.5, 1, 0.25));
+    first.put("title", "abc");
+    first.put("score", 1);
+    first.put("active", true);
+    first.put("tags", List.of("a", "bc"));
+    first.put("meta", Map.of("k", "v"));
+    first.put("mixed", 1);
+    Map<String, Object> second = new HashMap<>();
+    second.put("id", 2L);
+    second.put("vector", List.of(0.1, 0.2, 0.3));
+    second.put("title", "héllo");
+    second.put("score", 2.5);
+    second.put("active", null);
+    second.put("tags", List.of("d"));
+    second.put("mixed", "one");
+
+    SchemaInference.Inferred inferred = SchemaInference.infer(List.of(first, second), null, 64);
+    Map<String, AddFieldReq> fields =
+        inferred.fields().stream()
+            .collect(Collectors.toMap(AddFieldReq::getFieldName, Function.identity()));
+
+    assertThat(inferred.primaryField(), is("id"));
+    assertThat(inferred.autoID(), is(false));
+    assertThat(inferred.fields().getFirst().getFieldName(), is("id"));
+    assertThat(fields.get("id").getDataType(), is(DataType.Int64));
+    assertThat(fields.get("id").getIsPrimaryKey(), is(true));
+
+    assertThat(inferred.vectorFields(), contains("vector"));
+    assertThat(fields.get("vector").getDataType(), is(DataType.FloatVector));
+    assertThat(fields.get("vector").getDimension(), is(3));
+
+    assertThat(fields.get("title").getDataType(), is(DataType.VarChar));
+    assertThat(fields.get("title").getMaxLength(), is(64));
+    assertThat(fields.get("score").getDataType(), is(DataType.Double));
+    assertThat(fields.get("active").getDataType(), is(DataType.Bool));
+    assertThat(fields.get("active").getIsNullable(), is(true));
+    assertThat(fields.get("tags").getDataType(), is(DataType.Array));
+    assertThat(fields.get("tags").getElementType(), is(DataType.VarChar));
+    assertThat(fields.get("tags").getMaxCapacity(), is(SchemaInference.MAX_ARRAY_CAPACITY));
+    assertThat(fields.get("meta").getDataType(), is(DataType.JSON));
+    assertThat(fields.get("meta").getIsNullable(), is(true));
+    assertThat(fields.get("mixed").getDataType(), is(DataType.JSON));
+  }
+
+  @Test
+  void generatesPrimaryKey() {
+    SchemaInference.Inferred inferred =
+        SchemaInference.infer(List.of(Map.of("embedding", List.of(0.5f, 0.5f))), null, MAX);
+
+    assertThat(inferred.autoID(), is(true));
+    assertThat(inferred.primaryField(), is("id"));
+    assertThat(inferred.fields().getFirst().getAutoID(), is(true));
+    assertThat(inferred.fields().getFirst().getDataType(), is(DataType.Int64));
+  }
+
+  @Test
+  void integerListsAreArrays() {
+    SchemaInference.Inferred inferred =
+        SchemaInference.infer(
+            List.of(Map.of("key", "a", "vector", List.of(0.5, 0.5), "counts", List.of(1, 2))),
+            "key",
+            MAX);
+
+    assertThat(inferred.primaryField(), is("key"));
+    assertThat(inferred.vectorFields(), contains("vector"));
+    AddFieldReq counts =
+        inferred.fields().stream()
+            .filter(field -> field.getFieldName().equals("counts"))
+            .findFirst()
+            .orElseThrow();
+    assertThat(counts.getDataType(), is(DataType.Array));
+    assertThat(counts.getElementType(), is(DataType.Int64));
+  }
+
+  @Test
+  void rejectsEntitiesWithoutVector() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SchemaInference.infer(List.of(Map.of("id", 1, "name", "a")), null, MAX));
+  }
+
+  @Test
+  void nestedListsAreJson() {
+    SchemaInference.Inferred inferred =
+        SchemaInference.infer(
+            List.of(
+                Map.of(
+                    "vector",
+                    List.of(0.5, 0.5),
+                    "vectors",
+                    List.of(List.of(0.5, 0.5), List.of(0.25, 0.75)),
+                    "objects",
+                    List.of(Map.of("k", "v")))),
+            null,
+            MAX);
+    Map<String, AddFieldReq> fields =
+        inferred.fields().stream()
+            .collect(Collectors.toMap(AddFieldReq::getFieldName, Function.identity()));
+
+    assertThat(inferred.vectorFields(), contains("vector"));
+    assertThat(fields.get("vectors").getDataType(), is(DataType.JSON));
+    assertThat(fields.get("objects").getDataType(), is(DataType.JSON));
+  }
+
+  @Test
+  void rejectsStringsLongerThanTheMaximumLength() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            SchemaInference.infer(
+                List.of(Map.of("vector", List.of(0.5, 0.5), "title", "abcdef")), null, 4));
+  }
+}
@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
 import io.kestra.plugin.milvus.MilvusConnectionTest;
@@ -14,6 +15,7 @@ import io.milvus.v2.service.database.response.DescribeDatabaseResp;
 import jakarta.inject.Inject;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -125,6 +127,57 @@ public class DatabaseTest extends MilvusConnectionTest {
     assertThat(alterOutput.getProperties(), is(properties));
   }
 
+  @Test
+  public void testAlterDatabasesByPattern() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    List<String> databases = List.of(DB_NAME + "_tenant_a", DB_NAME + "_tenant_b");
+
+    for (String database : databases) {
+      CreateDatabase.builder().url(URL).databaseName(database).build().run(runContext);
+    }
+    try {
+      AlterDatabaseProperties.Output alterOutput =
+          AlterDatabaseProperties.builder()
+              .url(URL)
+              .databasePattern(Property.ofValue(DB_NAME + "_tenant_.*"))
+              .properties(Property.ofValue(Map.of("database.diskQuota.mb", "1024")))
+              .build()
+              .run(runContext);
+
+      assertThat(alterOutput.getSuccess(), is(Boolean.TRUE));
+      assertThat(alterOutput.getDatabases().keySet(), containsInAnyOrder(databases.toArray()));
+      assertThat(alterOutput.getProperties(), nullValue());
+
+      DescribeDatabase.Output describeOutput =
+          DescribeDatabase.builder()
+              .url(URL)
+              .databaseNames(Property.ofValue(databases))
+              .fetchType(Property.ofValue(FetchType.FETCH))
+              .build()
+              .run(runContext);
+
+      assertThat(describeOutput.getSize(), is(2L));
+      for (String database : databases) {
+        assertThat(
+            describeOutput.getDatabases().get(database),
+            hasEntry("database.diskQuota.mb", "1024"));
+      }
+
+      // several databases are all output without an explicit fetch type
+      DescribeDatabase.Output patternOutput =
+          DescribeDatabase.builder()
+              .url(URL)
+              .databasePattern(Property.ofValue(DB_NAME + "_tenant_.*"))
+              .build()
+              .run(runContext);
+      assertThat(patternOutput.getDatabases().keySet(), containsInAnyOrder(databases.toArray()));
+    } finally {
+      for (String database : databases) {
+        client().dropDatabase(DropDatabaseReq.builder().databaseName(database).build());
+      }
+    }
+  }
+
   @Test
   public void testDropCollection() throws Exception {
     client().dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
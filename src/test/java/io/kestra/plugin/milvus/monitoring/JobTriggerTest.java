@@ -0,0 +1,83 @@
+package io.kestra.plugin.milvus.monitoring;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.Trigger;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import io.kestra.plugin.milvus.MilvusJobs;
+import io.kestra.plugin.milvus.collections.LoadCollection;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import io.milvus.v2.service.collection.request.ReleaseCollectionReq;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class JobTriggerTest extends MilvusConnectionTest {
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testAsyncLoadIsReported() throws Exception {
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(4).build());
+    client()
+        .releaseCollection(
+            ReleaseCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    try {
+      LoadCollection load =
+          LoadCollection.builder()
+              .id("load")
+              .type(LoadCollection.class.getName())
+              .url(URL)
+              .collectionName(COLLECTION_NAME)
+              .async(Property.ofValue(true))
+              .build();
+      RunContext runContext = TestsUtils.mockRunContext(runContextFactory, load, Map.of());
+      String jobId = load.run(runContext).getJobId();
+      assertThat(jobIds(runContext), hasItem(jobId));
+
+      // the trigger reads the KV store of the same namespace as the task
+      JobTrigger trigger =
+          JobTrigger.builder().id("jobs").type(JobTrigger.class.getName()).url(URL).build();
+      Map.Entry<ConditionContext, Trigger> context =
+          TestsUtils.mockTrigger(runContextFactory, trigger);
+      Optional<Execution> execution = Optional.empty();
+      for (int i = 0; i < 60 && execution.isEmpty(); i++) {
+        execution = trigger.evaluate(context.getKey(), context.getValue());
+        if (execution.isEmpty()) {
+          Thread.sleep(500);
+        }
+      }
+
+      assertThat(execution.isPresent(), is(true));
+      List<Map<String, Object>> jobs =
+          (List<Map<String, Object>>) execution.get().getTrigger().getVariables().get("jobs");
+      Map<String, Object> job =
+          jobs.stream()
+              .filter(
+                  finished -> jobId.equals(((Map<String, Object>) finished.get("job")).get("id")))
+              .findFirst()
+              .orElseThrow();
+      assertThat(job.get("state"), is("COMPLETED"));
+      assertThat(jobIds(runContext), not(hasItem(jobId)));
+    } finally {
+      client().dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+    }
+  }
+
+  private static List<String> jobIds(RunContext runContext) throws Exception {
+    return MilvusJobs.pending(runContext).stream().map(MilvusJobs.Job::getId).toList();
+  }
+}
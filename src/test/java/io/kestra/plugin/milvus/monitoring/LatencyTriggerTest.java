@@ -0,0 +1,105 @@
+package io.kestra.plugin.milvus.monitoring;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.Trigger;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class LatencyTriggerTest extends MilvusConnectionTest {
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBreach() throws Exception {
+    LatencyTrigger trigger = trigger("latency_breach", Duration.ZERO);
+    Map.Entry<ConditionContext, Trigger> context =
+        TestsUtils.mockTrigger(runContextFactory, trigger);
+
+    Optional<Execution> execution = trigger.evaluate(context.getKey(), context.getValue());
+
+    assertThat(execution.isPresent(), is(true));
+    List<String> breaches =
+        (List<String>) execution.get().getTrigger().getVariables().get("breaches");
+    assertThat(breaches, hasItem(startsWith("listDatabases p95 of")));
+    assertThat(execution.get().getTrigger().getVariables().get("state"), is("DEGRADED"));
+  }
+
+  @Test
+  public void testLastingBreachTriggersOnce() throws Exception {
+    LatencyTrigger degraded = trigger("latency_lasting", Duration.ZERO, false);
+    Map.Entry<ConditionContext, Trigger> context =
+        TestsUtils.mockTrigger(runContextFactory, degraded);
+
+    assertThat(degraded.evaluate(context.getKey(), context.getValue()).isPresent(), is(true));
+    for (int i = 0; i < 3; i++) {
+      assertThat(degraded.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+    }
+
+    // the same trigger, back under its threshold
+    LatencyTrigger healthy = trigger("latency_lasting", Duration.ofMinutes(1), true);
+    Optional<Execution> recovery = healthy.evaluate(context.getKey(), context.getValue());
+    assertThat(recovery.isPresent(), is(true));
+    assertThat(recovery.get().getTrigger().getVariables().get("state"), is("RECOVERED"));
+    assertThat(healthy.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+    assertThat(degraded.evaluate(context.getKey(), context.getValue()).isPresent(), is(true));
+  }
+
+  @Test
+  public void testHealthyInstance() throws Exception {
+    LatencyTrigger trigger = trigger("latency_healthy", Duration.ofMinutes(1));
+    Map.Entry<ConditionContext, Trigger> context =
+        TestsUtils.mockTrigger(runContextFactory, trigger);
+
+    assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+  }
+
+  @Test
+  public void testStaleWindowsAreEvicted() throws Exception {
+    LatencyTrigger trigger = trigger("latency_evicted", Duration.ofMinutes(1));
+    Map.Entry<ConditionContext, Trigger> context =
+        TestsUtils.mockTrigger(runContextFactory, trigger);
+    trigger.evaluate(context.getKey(), context.getValue());
+    assertThat(windowKeys(), hasItem(endsWith("/latency_evicted")));
+
+    LatencyTrigger.evictStale(Instant.now().plus(Duration.ofMinutes(30)));
+    assertThat(windowKeys(), hasItem(endsWith("/latency_evicted")));
+
+    // ten intervals of one minute, but at least an hour
+    LatencyTrigger.evictStale(Instant.now().plus(Duration.ofHours(2)));
+    assertThat(windowKeys(), not(hasItem(endsWith("/latency_evicted"))));
+  }
+
+  private static LatencyTrigger trigger(String id, Duration threshold) {
+    return trigger(id, threshold, false);
+  }
+
+  private static LatencyTrigger trigger(String id, Duration threshold, boolean fireOnRecovery) {
+    return LatencyTrigger.builder()
+        .id(id)
+        .type(LatencyTrigger.class.getName())
+        .url(URL)
+        .p95Threshold(Property.ofValue(threshold))
+        .minSamples(Property.ofValue(1))
+        .fireOnRecovery(Property.ofValue(fireOnRecovery))
+        .build();
+  }
+
+  private static List<String> windowKeys() {
+    return List.copyOf(LatencyTrigger.WINDOWS.keySet());
+  }
+}
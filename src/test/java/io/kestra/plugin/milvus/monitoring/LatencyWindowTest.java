@@ -0,0 +1,39 @@
+package io.kestra.plugin.milvus.monitoring;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class LatencyWindowTest {
+
+  @Test
+  void percentiles() {
+    LatencyWindow window = new LatencyWindow(100);
+    assertThat(window.percentile(95), nullValue());
+
+    for (int i = 100; i >= 1; i--) {
+      window.add(Duration.ofMillis(i));
+    }
+    assertThat(window.size(), is(100));
+    assertThat(window.percentile(50), is(Duration.ofMillis(50)));
+    assertThat(window.percentile(95), is(Duration.ofMillis(95)));
+    assertThat(window.percentile(100), is(Duration.ofMillis(100)));
+  }
+
+  @Test
+  void keepsTheLatestLatencies() {
+    LatencyWindow window = new LatencyWindow(10);
+    for (int i = 1; i <= 25; i++) {
+      window.add(Duration.ofMillis(i));
+    }
+    assertThat(window.size(), is(10));
+    assertThat(window.percentile(0), is(Duration.ofMillis(16)));
+
+    window.resize(5);
+    assertThat(window.size(), is(5));
+    assertThat(window.percentile(0), is(Duration.ofMillis(21)));
+    assertThat(window.percentile(100), is(Duration.ofMillis(25)));
+  }
+}
@@ -0,0 +1,85 @@
+package io.kestra.plugin.milvus.partitions;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import io.milvus.v2.service.collection.request.CreateCollectionReq;
+import io.milvus.v2.service.collection.request.DropCollectionReq;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PartitionTest extends MilvusConnectionTest {
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @BeforeEach
+  public void createCollection() {
+    client()
+        .createCollection(
+            CreateCollectionReq.builder().collectionName(COLLECTION_NAME).dimension(2).build());
+  }
+
+  @AfterEach
+  public void dropCollection() {
+    client().dropCollection(DropCollectionReq.builder().collectionName(COLLECTION_NAME).build());
+  }
+
+  @Test
+  public void testPartitionLifecycle() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    List<String> days = List.of("day_20250101", "day_20250102", "day_20250103");
+
+    CreatePartitions.Output createOutput =
+        CreatePartitions.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .partitionNames(Property.ofValue(days))
+            .build()
+            .run(runContext);
+    assertThat(createOutput.getPartitionNames(), is(days));
+
+    ListPartitions.Output listOutput =
+        ListPartitions.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .partitionPattern(Property.ofValue("day_\\d{8}"))
+            .build()
+            .run(runContext);
+    assertThat(listOutput.getPartitionNames(), containsInAnyOrder(days.toArray()));
+
+    LoadPartitions.Output loadOutput =
+        LoadPartitions.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .partitionPattern(Property.ofValue("day_2025010[12]"))
+            .build()
+            .run(runContext);
+    assertThat(loadOutput.getLoadDurations().keySet(), hasSize(2));
+
+    ReleasePartitions.Output releaseOutput =
+        ReleasePartitions.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .partitionNames(Property.ofValue(List.of("day_20250101")))
+            .build()
+            .run(runContext);
+    assertThat(releaseOutput.getPartitionNames(), contains("day_20250101"));
+
+    DropPartitions.Output dropOutput =
+        DropPartitions.builder()
+            .url(URL)
+            .collectionName(COLLECTION_NAME)
+            .partitionPattern(Property.ofValue("day_.*"))
+            .build()
+            .run(runContext);
+    assertThat(dropOutput.getPartitionNames(), hasSize(3));
+  }
+}
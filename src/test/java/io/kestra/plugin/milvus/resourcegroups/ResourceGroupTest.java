@@ -0,0 +1,55 @@
+package io.kestra.plugin.milvus.resourcegroups;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.milvus.common.resourcegroup.ResourceGroupConfig;
+import io.milvus.common.resourcegroup.ResourceGroupLimit;
+import io.milvus.common.resourcegroup.ResourceGroupTransfer;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ResourceGroupTest {
+  private static final ResourceGroupConfig CURRENT =
+      ResourceGroupConfig.newBuilder()
+          .withRequests(new ResourceGroupLimit(2))
+          .withLimits(new ResourceGroupLimit(4))
+          .withTransferFrom(List.of(new ResourceGroupTransfer("__default_resource_group")))
+          .build();
+
+  @Test
+  void newGroupLimitsDefaultToRequests() {
+    ResourceGroupConfig config =
+        Scale.ResourceGroup.builder().name("serving").requests(3).build().config(null);
+
+    assertThat(config.getRequests().getNodeNum(), is(3));
+    assertThat(config.getLimits().getNodeNum(), is(3));
+  }
+
+  @Test
+  void updateKeepsUnsetRequests() {
+    ResourceGroupConfig config =
+        Scale.ResourceGroup.builder().name("serving").limits(3).build().config(CURRENT);
+
+    assertThat(config.getRequests().getNodeNum(), is(2));
+    assertThat(config.getLimits().getNodeNum(), is(3));
+    assertThat(config.getTransferFrom(), is(CURRENT.getTransferFrom()));
+  }
+
+  @Test
+  void updateKeepsUnsetLimits() {
+    ResourceGroupConfig config =
+        Scale.ResourceGroup.builder().name("serving").requests(3).build().config(CURRENT);
+
+    assertThat(config.getRequests().getNodeNum(), is(3));
+    assertThat(config.getLimits().getNodeNum(), is(4));
+
+    // the requested nodes raise the current limit
+    config = Scale.ResourceGroup.builder().name("serving").requests(6).build().config(CURRENT);
+    assertThat(config.getLimits().getNodeNum(), is(6));
+
+    // and a lower limit lowers the current requests
+    config = Scale.ResourceGroup.builder().name("serving").limits(1).build().config(CURRENT);
+    assertThat(config.getRequests().getNodeNum(), is(1));
+  }
+}
@@ -0,0 +1,34 @@
+package io.kestra.plugin.milvus.resourcegroups;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SegmentBalanceTest {
+
+  @Test
+  void waitsForReplicas() {
+    SegmentBalance balance = new SegmentBalance(2, 1);
+
+    assertThat(balance.observe(List.of(List.of(1L, 2L), List.of(1L))), is(false));
+    assertThat(balance.observe(List.of(List.of(1L, 2L), List.of(1L, 3L))), is(true));
+    assertThat(balance.segmentsPerNode(), hasEntry(1L, 2));
+    assertThat(balance.segmentsPerNode(), hasEntry(3L, 1));
+  }
+
+  @Test
+  void waitsForStableDistribution() {
+    SegmentBalance balance = new SegmentBalance(1, 2);
+
+    assertThat(balance.observe(List.of(List.of(1L), List.of(1L))), is(false));
+    assertThat(balance.observe(List.of(List.of(1L), List.of(2L))), is(false));
+    assertThat(balance.observe(List.of(List.of(1L), List.of(2L))), is(true));
+  }
+
+  @Test
+  void emptyCollectionIsBalanced() {
+    assertThat(new SegmentBalance(3, 1).observe(List.of()), is(true));
+  }
+}
@@ -0,0 +1,129 @@
+package io.kestra.plugin.milvus.session;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.milvus.MilvusConnectionTest;
+import jakarta.inject.Inject;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class SessionTest extends MilvusConnectionTest {
+
+  @Inject private RunContextFactory runContextFactory;
+
+  @Test
+  public void testSession() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+    String otherCollection = COLLECTION_NAME + "_other";
+
+    Session.Output output =
+        Session.builder()
+            .url(URL)
+            .operations(
+                List.of(
+                    Session.Operation.builder()
+                        .id("database")
+                        .type(Session.OperationType.CREATE_DATABASE)
+                        .databaseName(DB_NAME)
+                        .dependsOn(List.of())
+                        .build(),
+                    Session.Operation.builder()
+                        .id("collection")
+                        .type(Session.OperationType.CREATE_COLLECTION)
+                        .collectionName(COLLECTION_NAME)
+                        .dimension(4)
+                        .dependsOn(List.of())
+                        .build(),
+                    Session.Operation.builder()
+                        .id("other")
+                        .type(Session.OperationType.CREATE_COLLECTION)
+                        .collectionName(otherCollection)
+                        .dimension(4)
+                        .dependsOn(List.of())
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.CREATE_PARTITION)
+                        .collectionName(COLLECTION_NAME)
+                        .partitionName("recent")
+                        .dependsOn(List.of("collection"))
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.DROP_COLLECTION)
+                        .collectionName(otherCollection)
+                        .dependsOn(List.of("other"))
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.DROP_COLLECTION)
+                        .collectionName(COLLECTION_NAME)
+                        .dependsOn(List.of("create_partition_3"))
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.DROP_DATABASE)
+                        .databaseName(DB_NAME)
+                        .dependsOn(List.of("database"))
+                        .build()))
+            .build()
+            .run(runContext);
+
+    assertThat(output.getOperations(), aMapWithSize(7));
+    assertThat(
+        output.getOperations().values().stream().map(Session.Result::getStatus).toList(),
+        everyItem(is(Session.Status.SUCCESS)));
+    assertThat(output.getOperations().get("create_partition_3").getDuration(), notNullValue());
+  }
+
+  @Test
+  public void testOperationsInADatabaseCreatedBySession() throws Exception {
+    RunContext runContext = runContextFactory.of(Map.of("url", URL));
+
+    Session.Output output =
+        Session.builder()
+            .url(URL)
+            .operations(
+                List.of(
+                    Session.Operation.builder()
+                        .id("database")
+                        .type(Session.OperationType.CREATE_DATABASE)
+                        .databaseName(DB_NAME)
+                        .build(),
+                    Session.Operation.builder()
+                        .id("collection")
+                        .type(Session.OperationType.CREATE_COLLECTION)
+                        .databaseName(DB_NAME)
+                        .collectionName(COLLECTION_NAME)
+                        .dimension(4)
+                        .build(),
+                    Session.Operation.builder()
+                        .id("alias")
+                        .type(Session.OperationType.CREATE_ALIAS)
+                        .databaseName(DB_NAME)
+                        .collectionName(COLLECTION_NAME)
+                        .alias(COLLECTION_NAME + "_alias")
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.DROP_ALIAS)
+                        .databaseName(DB_NAME)
+                        .alias(COLLECTION_NAME + "_alias")
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.DROP_COLLECTION)
+                        .databaseName(DB_NAME)
+                        .collectionName(COLLECTION_NAME)
+                        .build(),
+                    Session.Operation.builder()
+                        .type(Session.OperationType.DROP_DATABASE)
+                        .databaseName(DB_NAME)
+                        .build()))
+            .build()
+            .run(runContext);
+
+    // a database holding a collection cannot be dropped, nor a collection of another database
+    assertThat(
+        output.getOperations().values().stream().map(Session.Result::getStatus).toList(),
+        everyItem(is(Session.Status.SUCCESS)));
+  }
+}
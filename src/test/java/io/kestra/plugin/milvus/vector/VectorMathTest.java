@@ -0,0 +1,73 @@
+package io.kestra.plugin.milvus.vector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class VectorMathTest {
+
+  @Test
+  public void testSimdWhenTheModuleIsResolved() {
+    // the test JVM is started with --add-modules jdk.incubator.vector, and no opt-out
+    assertThat(VectorMath.isSimd(), is(SimdKernel.isSupported()));
+  }
+
+  @Test
+  public void testSimdMatchesScalar() {
+    ScalarKernel scalar = new ScalarKernel();
+    SimdKernel simd = new SimdKernel();
+    SplittableRandom random = new SplittableRandom(7);
+
+    // odd dimensions exercise the scalar tail of the SIMD loops
+    for (int dimension : new int[] {1, 3, 17, 128, 769}) {
+      float[] a = new float[dimension];
+      float[] b = new float[dimension];
+      for (int i = 0; i < dimension; i++) {
+        a[i] = (float) random.nextDouble(-1, 1);
+        b[i] = (float) random.nextDouble(-1, 1);
+      }
+
+      assertThat((double) simd.dot(a, b), closeTo(scalar.dot(a, b), 1e-3));
+      assertThat((double) simd.l2Squared(a, b), closeTo(scalar.l2Squared(a, b), 1e-3));
+
+      byte[] bitsA = new byte[dimension];
+      byte[] bitsB = new byte[dimension];
+      random.nextBytes(bitsA);
+      random.nextBytes(bitsB);
+      assertThat(simd.hamming(bitsA, bitsB), is(scalar.hamming(bitsA, bitsB)));
+    }
+  }
+
+  @Test
+  public void testDistances() {
+    float[] a = {1f, 0f};
+    float[] b = {0f, 2f};
+
+    assertThat(VectorMath.dot(a, b), is(0f));
+    assertThat(VectorMath.l2Squared(a, b), is(5f));
+    assertThat((double) VectorMath.cosine(a, new float[] {3f, 0f}), closeTo(1, 1e-6));
+    assertThat(VectorMath.hamming(new byte[] {0b0101}, new byte[] {0b0110}), is(2));
+  }
+
+  @Test
+  public void testNormalize() {
+    float[] vector = VectorMath.normalize(new float[] {3f, 4f});
+
+    assertThat((double) vector[0], closeTo(0.6, 1e-6));
+    assertThat((double) vector[1], closeTo(0.8, 1e-6));
+    assertThat(VectorMath.normalize(new float[] {0f, 0f}), is(new float[] {0f, 0f}));
+  }
+
+  @Test
+  public void testDimensionChecks() {
+    assertThrows(
+        IllegalArgumentException.class, () -> VectorMath.dot(new float[2], new float[3]));
+    assertThrows(
+        IllegalArgumentException.class, () -> VectorMath.checkDimension(new float[2], 3));
+    assertThat(VectorMath.toFloatArray(List.of(1, 2.5)), is(new float[] {1f, 2.5f}));
+  }
+}